@@ -0,0 +1,135 @@
+package com.bancogvm.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador em modelo aberto: as requisições partem em instantes fixos (taxa constante),
+ * independentemente de as anteriores já terem respondido.
+ * A latência é medida a partir do instante planejado, não do envio real, o que corrige
+ * a omissão coordenada: se o gerador ou o servidor atrasar, a espera entra na conta.
+ */
+class GeradorCarga {
+
+    // latências em microssegundos, até 1 minuto, com 3 dígitos significativos
+    private static final long MAIOR_LATENCIA_US = TimeUnit.MINUTES.toMicros(1);
+
+    static class Resultado {
+        final Histogram corrigida = new ConcurrentHistogram(MAIOR_LATENCIA_US, 3);
+        final Histogram servico = new ConcurrentHistogram(MAIOR_LATENCIA_US, 3);
+        final AtomicLong erros = new AtomicLong();
+    }
+
+    private final HttpClient http;
+    private final String base;
+    private final List<Semeador.Correntista> correntistas;
+    private final SplittableRandom aleatorio;
+    private final Map<Operacao, Resultado> resultados = new EnumMap<>(Operacao.class);
+
+    GeradorCarga(HttpClient http, String base, List<Semeador.Correntista> correntistas, long semente) {
+        this.http = http;
+        this.base = base;
+        this.correntistas = correntistas;
+        this.aleatorio = new SplittableRandom(semente);
+        for (Operacao op : Operacao.values()) {
+            resultados.put(op, new Resultado());
+        }
+    }
+
+    /**
+     * Dispara {@code taxa} requisições por segundo durante {@code duracao}.
+     * Só registra nos histogramas quando {@code registrar} é true (fase de aquecimento).
+     */
+    Map<Operacao, Resultado> executar(int taxa, Duration duracao, boolean registrar) {
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long total = duracao.toSeconds() * taxa;
+        ConcurrentLinkedQueue<CompletableFuture<?>> pendentes = new ConcurrentLinkedQueue<>();
+        int pesoTotal = Operacao.pesoTotal();
+
+        long inicio = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long planejado = inicio + i * intervalo;
+            long espera = planejado - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            Operacao op = Operacao.sortear(aleatorio.nextInt(pesoTotal));
+            pendentes.add(disparar(op, planejado, registrar));
+            if (i % taxa == 0) {
+                pendentes.removeIf(CompletableFuture::isDone);
+            }
+        }
+        pendentes.forEach(CompletableFuture::join);
+        return resultados;
+    }
+
+    private CompletableFuture<?> disparar(Operacao op, long planejado, boolean registrar) {
+        HttpRequest requisicao = montar(op);
+        long enviado = System.nanoTime();
+        return http.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                .handle((resposta, erro) -> {
+                    long fim = System.nanoTime();
+                    if (!registrar) {
+                        return null;
+                    }
+                    Resultado r = resultados.get(op);
+                    if (erro != null || resposta.statusCode() >= 400) {
+                        r.erros.incrementAndGet();
+                    }
+                    r.corrigida.recordValue(Math.min(MAIOR_LATENCIA_US, (fim - planejado) / 1_000));
+                    r.servico.recordValue(Math.min(MAIOR_LATENCIA_US, (fim - enviado) / 1_000));
+                    return null;
+                });
+    }
+
+    private HttpRequest montar(Operacao op) {
+        Semeador.Correntista a = sortearCorrentista();
+        return switch (op) {
+            case TRANSFERENCIA -> {
+                Semeador.Correntista b = sortearCorrentista();
+                while (b.contaId() == a.contaId() && correntistas.size() > 1) {
+                    b = sortearCorrentista();
+                }
+                yield post("/api/transacoes", """
+                        {"tipoTransacao": "TRANSFERENCIA", "valor": 1.00,
+                         "contaOrigemId": %d, "contaDestinoId": %d}
+                        """.formatted(a.contaId(), b.contaId()));
+            }
+            case EXTRATO -> HttpRequest.newBuilder(URI.create(base + "/api/transacoes/extrato/" + a.contaId()))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            case EMPRESTIMO -> post("/api/emprestimos", """
+                    {"clienteId": %d, "contaCreditoId": %d, "valorSolicitado": 5000.00,
+                     "taxaJurosMensal": 0.02, "numeroParcelas": 12}
+                    """.formatted(a.clienteId(), a.contaId()));
+        };
+    }
+
+    private HttpRequest post(String caminho, String json) {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private Semeador.Correntista sortearCorrentista() {
+        return correntistas.get(aleatorio.nextInt(correntistas.size()));
+    }
+}
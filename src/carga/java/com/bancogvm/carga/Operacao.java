@@ -0,0 +1,38 @@
+package com.bancogvm.carga;
+
+/**
+ * Operações do mix de carga, com o peso de cada uma no sorteio.
+ */
+enum Operacao {
+
+    TRANSFERENCIA("POST /api/transacoes", 70),
+    EXTRATO("GET /api/transacoes/extrato/{id}", 25),
+    EMPRESTIMO("POST /api/emprestimos", 5);
+
+    final String rotulo;
+    final int peso;
+
+    Operacao(String rotulo, int peso) {
+        this.rotulo = rotulo;
+        this.peso = peso;
+    }
+
+    static Operacao sortear(int valor) {
+        int acumulado = 0;
+        for (Operacao op : values()) {
+            acumulado += op.peso;
+            if (valor < acumulado) {
+                return op;
+            }
+        }
+        return TRANSFERENCIA;
+    }
+
+    static int pesoTotal() {
+        int total = 0;
+        for (Operacao op : values()) {
+            total += op.peso;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bancogvm.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cria clientes e contas correntes pela própria API REST, como um usuário faria.
+ */
+class Semeador {
+
+    record Correntista(long clienteId, long contaId) {
+    }
+
+    private final HttpClient http;
+    private final String base;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    Semeador(HttpClient http, String base) {
+        this.http = http;
+        this.base = base;
+    }
+
+    List<Correntista> semear(int quantidade) throws IOException, InterruptedException {
+        List<Correntista> correntistas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            long clienteId = criar("/api/clientes", """
+                    {"nome": "Cliente Carga %d", "cpf": "%011d", "email": "carga%d@bancogvm.com",
+                     "dataNascimento": "1990-01-01", "loginUsuario": "carga%d"}
+                    """.formatted(i, 90_000_000_000L + i, i, i));
+            // saldo alto: a carga mede o caminho feliz, saldo insuficiente é exceção
+            long contaId = criar("/api/contas/corrente", """
+                    {"numeroConta": "C%06d", "agencia": "0001", "saldo": 1000000000.00,
+                     "statusConta": "ATIVA", "limiteChequeEspecial": 0}
+                    """.formatted(i));
+            correntistas.add(new Correntista(clienteId, contaId));
+        }
+        return correntistas;
+    }
+
+    private long criar(String caminho, String json) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(URI.create(base + caminho))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Falha ao semear " + caminho + ": " + resposta.statusCode() + " " + resposta.body());
+        }
+        return mapper.readTree(resposta.body()).get("id").asLong();
+    }
+}
@@ -0,0 +1,102 @@
+package com.bancogvm.carga;
+
+import com.bancogvm.BancoGvmApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Teste de carga reprodutível: sobe a aplicação com o perfil de teste (H2 em memória),
+ * semeia correntistas pela API e aplica uma taxa constante de transferências, extratos
+ * e empréstimos. Imprime vazão e p50/p99/p999 por endpoint e grava as distribuições
+ * completas em target/carga/.
+ *
+ * mvn -P carga -DskipTests verify -Dcarga.taxa=100 -Dcarga.duracao=60
+ */
+public class TesteCarga {
+
+    public static void main(String[] args) throws Exception {
+        int clientes = Integer.getInteger("carga.clientes", 100);
+        int taxa = Integer.getInteger("carga.taxa", 50);
+        int duracao = Integer.getInteger("carga.duracao", 30);
+        int aquecimento = Integer.getInteger("carga.aquecimento", 10);
+        long semente = Long.getLong("carga.semente", 42L);
+        Path saida = Path.of(System.getProperty("carga.saida", "target/carga"));
+
+        ServletWebServerApplicationContext contexto = (ServletWebServerApplicationContext) SpringApplication.run(
+                BancoGvmApplication.class,
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            String base = "http://localhost:" + contexto.getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            List<Semeador.Correntista> correntistas = new Semeador(http, base).semear(clientes);
+            GeradorCarga gerador = new GeradorCarga(http, base, correntistas, semente);
+
+            System.out.printf("Aquecimento: %d req/s por %ds%n", taxa, aquecimento);
+            gerador.executar(taxa, Duration.ofSeconds(aquecimento), false);
+
+            System.out.printf("Medição: %d req/s por %ds, %d clientes, semente %d%n", taxa, duracao, clientes, semente);
+            long inicio = System.nanoTime();
+            Map<Operacao, GeradorCarga.Resultado> resultados = gerador.executar(taxa, Duration.ofSeconds(duracao), true);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            relatorio(resultados, segundos, System.out);
+            gravar(resultados, saida);
+        } finally {
+            executor.shutdownNow();
+            contexto.close();
+        }
+    }
+
+    private static void relatorio(Map<Operacao, GeradorCarga.Resultado> resultados, double segundos, PrintStream out) {
+        out.printf("%n%-34s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req", "erros", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        resultados.forEach((op, r) -> {
+            Histogram h = r.corrigida;
+            out.printf("%-34s %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    op.rotulo, h.getTotalCount(), r.erros.get(), h.getTotalCount() / segundos,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        });
+        out.println("(latências a partir do instante planejado; sem correção em target/carga/*-servico.hgrm)");
+    }
+
+    private static void gravar(Map<Operacao, GeradorCarga.Resultado> resultados, Path saida) throws IOException {
+        Files.createDirectories(saida);
+        for (Map.Entry<Operacao, GeradorCarga.Resultado> e : resultados.entrySet()) {
+            String nome = e.getKey().name().toLowerCase();
+            gravar(e.getValue().corrigida, saida.resolve(nome + ".hgrm"));
+            gravar(e.getValue().servico, saida.resolve(nome + "-servico.hgrm"));
+        }
+    }
+
+    private static void gravar(Histogram h, Path arquivo) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(arquivo))) {
+            // valores em µs, saída em ms
+            h.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
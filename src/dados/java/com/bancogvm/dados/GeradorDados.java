@@ -0,0 +1,575 @@
+package com.bancogvm.dados;
+
+import com.bancogvm.BancoGvmApplication;
+import com.bancogvm.repository.importacao.CargaStaging;
+import com.bancogvm.service.importacao.Cpf;
+import org.postgresql.PGConnection;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Massa sintética grande para teste de desempenho, gravada direto no banco (COPY no
+ * PostgreSQL, INSERT em lotes no H2) por várias conexões em paralelo: clientes, contas
+ * (4 em 5 correntes), titulares e transações com atividade Zipf por conta, isto é,
+ * poucas contas concentram boa parte dos lançamentos, como em produção.
+ *
+ * Os dados respeitam o modelo: toda conta tem titular principal, transações só entre
+ * contas correntes e o saldo gravado é exatamente o efeito das transações CONCLUIDA.
+ * Cada corrente abre com um depósito "Saldo de abertura" que cobre todas as suas saídas,
+ * então o saldo não fica negativo em ponto nenhum do histórico. Para isso as transações
+ * são sorteadas duas vezes com as mesmas sementes: a primeira passada só acumula entradas
+ * e saídas por conta, a segunda grava.
+ *
+ * Reprodutível: a mesma semente gera as mesmas linhas com qualquer número de threads
+ * (cada lote de linhas tem semente própria). Os ids continuam do maior existente; ao final
+ * identities e sequências são reposicionadas. No PostgreSQL as partições mensais de
+ * transacao da janela são criadas antes da carga.
+ *
+ * mvn -P dados -DskipTests verify -Ddados.url=jdbc:postgresql://localhost:5432/postgres \
+ *     -Ddados.clientes=10000000 -Ddados.contas=15000000 -Ddados.transacoes=1000000000
+ */
+public class GeradorDados {
+
+    // linhas por conexão/commit e por semente
+    private static final int LOTE = 100_000;
+    // ranks mais ativos somados em arrays locais ao lote antes de ir às AtomicLongArray
+    private static final int QUENTES = 1024;
+    // primo maior que qualquer quantidade de contas: rank -> conta corrente é bijeção
+    private static final long PASSO = 2_654_435_761L;
+
+    // fluxos de sementes independentes por tabela
+    private static final long CLIENTE = 1;
+    private static final long CONTA = 2;
+    private static final long TITULAR = 3;
+    private static final long ABERTURA = 4;
+    private static final long TRANSACAO = 5;
+
+    private static final double LOG_MIN_CENTAVOS = Math.log(100);        // R$ 1,00
+    private static final double LOG_MAX_CENTAVOS = Math.log(2_000_000);  // R$ 20.000,00
+
+    private static final String[] NOMES = {
+            "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Henrique", "Isabela", "João",
+            "Larissa", "Lucas", "Mariana", "Mateus", "Natália", "Pedro", "Rafaela", "Rodrigo", "Sofia", "Thiago"};
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa"};
+    private static final String[] DESCRICOES_DEPOSITO = {null, "Depósito", "Salário", "Pix recebido"};
+    private static final String[] DESCRICOES_SAQUE = {null, "Saque", "Saque 24h"};
+    private static final String[] DESCRICOES_TRANSFERENCIA = {null, "Transferência", "Pix", "Aluguel", "TED"};
+    private static final BigDecimal[] LIMITES = {
+            BigDecimal.ZERO.setScale(2), BigDecimal.ZERO.setScale(2), new BigDecimal("500.00"), new BigDecimal("2000.00")};
+    private static final BigDecimal TAXA_POUPANCA = new BigDecimal("0.06");
+
+    private final DataSource dataSource;
+    private final Parametros p;
+    private final int correntes;
+    private final Zipf zipf;
+    private final long deslocamento;
+    private final Instant inicio;
+    private final double passoMicros;
+
+    private boolean postgres;
+    private long clienteBase;
+    private long contaBase;
+    private long titularBase;
+    private long transacaoBase;
+    // por conta corrente (índice k), em centavos, só transações CONCLUIDA
+    private AtomicLongArray entradas;
+    private AtomicLongArray saidas;
+
+    public static void main(String[] args) throws Exception {
+        Parametros p = Parametros.doSistema();
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + p.url(),
+                "--spring.datasource.username=" + p.usuario(),
+                "--spring.datasource.password=" + p.senha(),
+                "--spring.datasource.hikari.maximum-pool-size=" + (p.threads() + 1),
+                "--spring.jpa.show-sql=false",
+                // nada de job mexendo na massa enquanto ela é gravada
+                "--bancogvm.particoes.habilitado=false",
+                "--bancogvm.arquivo.habilitado=false",
+                "--bancogvm.outbox.habilitado=false",
+                "--logging.level.root=WARN"));
+        if (p.url().startsWith("jdbc:h2:")) {
+            argumentos.add("--spring.datasource.driver-class-name=org.h2.Driver");
+            argumentos.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+            argumentos.add("--spring.sql.init.mode=never");
+        }
+        // a aplicação sobe só para criar/atualizar o esquema (ddl-auto e db/schema-postgresql.sql)
+        try (ConfigurableApplicationContext contexto = SpringApplication.run(
+                BancoGvmApplication.class, argumentos.toArray(String[]::new))) {
+            new GeradorDados(contexto.getBean(DataSource.class), p).gerar();
+        }
+    }
+
+    GeradorDados(DataSource dataSource, Parametros p) {
+        this.dataSource = dataSource;
+        this.p = p;
+        long contas = p.contas();
+        this.correntes = Math.toIntExact(contas / 5 * 4 + Math.min(contas % 5, 4));
+        this.zipf = new Zipf(correntes, p.zipf());
+        this.deslocamento = Math.floorMod(p.semente(), correntes);
+        this.inicio = p.ate().minusMonths(p.meses()).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant fim = p.ate().atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        this.passoMicros = ChronoUnit.MICROS.between(inicio, fim) / (double) (p.transacoes() + 1);
+    }
+
+    void gerar() throws Exception {
+        try (Connection c = dataSource.getConnection()) {
+            postgres = c.isWrapperFor(PGConnection.class);
+            clienteBase = maximo(c, "cliente");
+            contaBase = maximo(c, "conta");
+            titularBase = maximo(c, "titular_conta");
+            transacaoBase = maximo(c, "transacao");
+            if (postgres) {
+                criarParticoes(c);
+            }
+        }
+        System.out.printf("Gerando %,d clientes, %,d contas (%,d correntes), %,d transações de %s a %s, "
+                        + "zipf %.2f, semente %d, %d threads%n",
+                p.clientes(), p.contas(), correntes, p.transacoes(), p.ate().minusMonths(p.meses()),
+                p.ate().minusMonths(1), p.zipf(), p.semente(), p.threads());
+        entradas = new AtomicLongArray(correntes);
+        saidas = new AtomicLongArray(correntes);
+
+        ExecutorService executor = Executors.newFixedThreadPool(p.threads());
+        try {
+            etapa("cliente", p.clientes(), executor, this::clientes);
+            etapa("saldos (sem gravar)", p.transacoes(), executor, this::acumular);
+            etapa("conta", p.contas(), executor, this::contas);
+            etapa("titular_conta", p.contas(), executor, this::titulares);
+            etapa("transacao (abertura)", correntes, executor, this::aberturas);
+            etapa("transacao", p.transacoes(), executor, this::transacoes);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (Connection c = dataSource.getConnection()) {
+            for (String tabela : List.of("cliente", "conta", "titular_conta", "transacao")) {
+                reposicionarIdentidade(c, tabela);
+            }
+            if (postgres) {
+                try (Statement st = c.createStatement()) {
+                    st.execute("ANALYZE cliente, conta, conta_corrente_entity, conta_poupanca_entity, "
+                            + "titular_conta, transacao");
+                }
+            }
+            if (p.conferir()) {
+                conferir(c);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- etapas
+
+    private void clientes(long desde, long ate) throws SQLException {
+        emTransacao(c -> {
+            try (CargaStaging carga = CargaStaging.abrir(c, "cliente", "id", "cpf", "nome", "email",
+                    "data_nascimento", "telefone", "endereco", "login_usuario", "data_cadastro")) {
+                for (long i = desde; i < ate; i++) {
+                    SplittableRandom r = aleatorio(CLIENTE, i);
+                    long id = clienteBase + i + 1;
+                    carga.linha(id,
+                            Cpf.comDigitos(100_000_000L + id),
+                            NOMES[r.nextInt(NOMES.length)] + " " + SOBRENOMES[r.nextInt(SOBRENOMES.length)]
+                                    + " " + SOBRENOMES[r.nextInt(SOBRENOMES.length)],
+                            "cliente" + id + "@exemplo.com.br",
+                            LocalDate.of(1950, 1, 1).plusDays(r.nextInt(20_000)),
+                            String.format("(%02d) 9%04d-%04d", 11 + r.nextInt(89), r.nextInt(10_000), r.nextInt(10_000)),
+                            "Rua " + SOBRENOMES[r.nextInt(SOBRENOMES.length)] + ", " + (1 + r.nextInt(3000)),
+                            "cliente" + id,
+                            utc(inicio.minus(r.nextInt(3650), ChronoUnit.DAYS)));
+                }
+                carga.concluir();
+            }
+        });
+    }
+
+    /** Primeira passada sobre as transações: só soma entradas e saídas por conta. */
+    private void acumular(long desde, long ate) {
+        SplittableRandom r = aleatorio(TRANSACAO, desde / LOTE);
+        Sorteio s = new Sorteio();
+        long[] entradasQuentes = new long[QUENTES + 1];
+        long[] saidasQuentes = new long[QUENTES + 1];
+        for (long g = desde; g < ate; g++) {
+            sortear(r, s);
+            if (s.falhou) {
+                continue;
+            }
+            if (s.tipo == 'D') {
+                somar(s.origem, s.centavos, entradasQuentes, entradas);
+            } else {
+                somar(s.origem, s.centavos, saidasQuentes, saidas);
+                if (s.tipo == 'T') {
+                    somar(s.destino, s.centavos, entradasQuentes, entradas);
+                }
+            }
+        }
+        for (int rank = 1; rank <= Math.min(QUENTES, correntes); rank++) {
+            entradas.addAndGet(corrente(rank), entradasQuentes[rank]);
+            saidas.addAndGet(corrente(rank), saidasQuentes[rank]);
+        }
+    }
+
+    private void contas(long desde, long ate) throws SQLException {
+        emTransacao(c -> {
+            try (CargaStaging carga = CargaStaging.abrir(c, "conta", "id", "tipo_conta", "agencia",
+                    "numero_conta", "saldo", "data_abertura", "status_conta")) {
+                for (long j = desde; j < ate; j++) {
+                    Conta conta = conta(j);
+                    long saldo = conta.corrente()
+                            ? saldoBase(indiceCorrente(j)) + entradas.get(indiceCorrente(j))
+                            : conta.saldoPoupanca();
+                    carga.linha(conta.id(), conta.corrente() ? "CORRENTE" : "POUPANCA", conta.agencia(),
+                            String.format("%08d", conta.id()), centavos(saldo), utc(conta.abertura()), "A");
+                }
+                carga.concluir();
+            }
+            // herança JOINED: a linha da subclasse usa o mesmo id
+            try (CargaStaging carga = CargaStaging.abrir(c, "conta_corrente_entity", "id", "limite_cheque_especial")) {
+                for (long j = desde; j < ate; j++) {
+                    Conta conta = conta(j);
+                    if (conta.corrente()) {
+                        carga.linha(conta.id(), conta.limite());
+                    }
+                }
+                carga.concluir();
+            }
+            try (CargaStaging carga = CargaStaging.abrir(c, "conta_poupanca_entity", "id",
+                    "taxa_rendimento_anual", "data_aniversario")) {
+                for (long j = desde; j < ate; j++) {
+                    Conta conta = conta(j);
+                    if (!conta.corrente()) {
+                        carga.linha(conta.id(), TAXA_POUPANCA, LocalDate.ofInstant(conta.abertura(), ZoneOffset.UTC));
+                    }
+                }
+                carga.concluir();
+            }
+        });
+    }
+
+    /**
+     * Conta j: as primeiras vão uma para cada cliente (todo cliente tem conta), as demais
+     * para clientes sorteados; 1 em 20 ganha também um titular secundário.
+     */
+    private void titulares(long desde, long ate) throws SQLException {
+        emTransacao(c -> {
+            try (CargaStaging carga = CargaStaging.abrir(c, "titular_conta", "id", "cliente_id", "conta_id",
+                    "tipo_titularidade", "data_associacao")) {
+                for (long j = desde; j < ate; j++) {
+                    SplittableRandom r = aleatorio(TITULAR, j);
+                    Conta conta = conta(j);
+                    long principal = j < p.clientes() ? j : r.nextLong(p.clientes());
+                    OffsetDateTime associacao = utc(conta.abertura());
+                    carga.linha(titularBase + 2 * j + 1, clienteBase + principal + 1, conta.id(), "P", associacao);
+                    if (r.nextInt(20) == 0) {
+                        long secundario = r.nextLong(p.clientes());
+                        if (secundario != principal) {
+                            carga.linha(titularBase + 2 * j + 2, clienteBase + secundario + 1, conta.id(), "S", associacao);
+                        }
+                    }
+                }
+                carga.concluir();
+            }
+        });
+    }
+
+    private void aberturas(long desde, long ate) throws SQLException {
+        emTransacao(c -> {
+            try (CargaStaging carga = abrirTransacoes(c)) {
+                OffsetDateTime dataHora = utc(inicio);
+                for (long k = desde; k < ate; k++) {
+                    int corrente = (int) k;
+                    carga.linha(transacaoBase + k + 1, centavos(saldoBase(corrente) + saidas.get(corrente)), dataHora,
+                            "D", "C", "Saldo de abertura", contaDaCorrente(corrente), null);
+                }
+                carga.concluir();
+            }
+        });
+    }
+
+    /** Segunda passada: mesmas sementes por lote, mesmas transações que acumular somou. */
+    private void transacoes(long desde, long ate) throws SQLException {
+        emTransacao(c -> {
+            try (CargaStaging carga = abrirTransacoes(c)) {
+                SplittableRandom r = aleatorio(TRANSACAO, desde / LOTE);
+                Sorteio s = new Sorteio();
+                for (long g = desde; g < ate; g++) {
+                    sortear(r, s);
+                    carga.linha(transacaoBase + correntes + g + 1,
+                            centavos(s.centavos),
+                            utc(inicio.plus((long) ((g + 1) * passoMicros), ChronoUnit.MICROS)),
+                            String.valueOf(s.tipo),
+                            s.falhou ? "F" : "C",
+                            s.descricao,
+                            contaDaCorrente(corrente(s.origem)),
+                            s.tipo == 'T' ? contaDaCorrente(corrente(s.destino)) : null);
+                }
+                carga.concluir();
+            }
+        });
+    }
+
+    private static CargaStaging abrirTransacoes(Connection c) throws SQLException {
+        return CargaStaging.abrir(c, "transacao", "id", "valor", "data_hora", "tipo_transacao",
+                "status_transacao", "descricao", "conta_origem_id", "conta_destino_id");
+    }
+
+    // ---------------------------------------------------------------- sorteios
+
+    /** Um lançamento sorteado, reaproveitado linha a linha. Origem e destino são ranks Zipf. */
+    private static final class Sorteio {
+        char tipo;
+        boolean falhou;
+        int origem;
+        int destino;
+        long centavos;
+        String descricao;
+    }
+
+    // 30% depósitos, 20% saques, 50% transferências; 1% dos débitos FALHOU (sem efeito no saldo)
+    private void sortear(SplittableRandom r, Sorteio s) {
+        int tipo = r.nextInt(100);
+        s.origem = zipf.amostra(r);
+        s.centavos = (long) Math.exp(r.nextDouble(LOG_MIN_CENTAVOS, LOG_MAX_CENTAVOS));
+        if (tipo < 30) {
+            s.tipo = 'D';
+            s.descricao = DESCRICOES_DEPOSITO[r.nextInt(DESCRICOES_DEPOSITO.length)];
+        } else if (tipo < 50 || correntes < 2) {
+            s.tipo = 'S';
+            s.descricao = DESCRICOES_SAQUE[r.nextInt(DESCRICOES_SAQUE.length)];
+        } else {
+            s.tipo = 'T';
+            do {
+                s.destino = zipf.amostra(r);
+            } while (s.destino == s.origem);
+            s.descricao = DESCRICOES_TRANSFERENCIA[r.nextInt(DESCRICOES_TRANSFERENCIA.length)];
+        }
+        s.falhou = s.tipo != 'D' && r.nextInt(100) == 0;
+    }
+
+    private void somar(int rank, long centavos, long[] quentes, AtomicLongArray todas) {
+        if (rank <= QUENTES) {
+            quentes[rank] += centavos;
+        } else {
+            todas.addAndGet(corrente(rank), centavos);
+        }
+    }
+
+    private record Conta(long id, boolean corrente, String agencia, Instant abertura,
+                         BigDecimal limite, long saldoPoupanca) {
+    }
+
+    // sorteada de novo a cada etapa que precisa dela (conta, subclasse, titular): sai sempre igual
+    private Conta conta(long j) {
+        SplittableRandom r = aleatorio(CONTA, j);
+        return new Conta(contaBase + j + 1, j % 5 != 4,
+                String.format("%04d", 1 + r.nextInt(50)),
+                inicio.minus(r.nextInt(5 * 365), ChronoUnit.DAYS),
+                LIMITES[r.nextInt(LIMITES.length)],
+                r.nextLong(0, 5_000_000));
+    }
+
+    // saldo antes de todo o histórico, R$ 100 a R$ 10.000
+    private long saldoBase(int corrente) {
+        return aleatorio(ABERTURA, corrente).nextLong(10_000, 1_000_000);
+    }
+
+    // rank Zipf -> índice da conta corrente; o deslocamento muda as contas quentes com a semente
+    private int corrente(int rank) {
+        return (int) (((rank - 1) * PASSO + deslocamento) % correntes);
+    }
+
+    // as contas j com j % 5 == 4 são poupanças; as correntes são numeradas sem elas
+    private static int indiceCorrente(long j) {
+        return (int) (j / 5 * 4 + j % 5);
+    }
+
+    private long contaDaCorrente(int k) {
+        return contaBase + (long) k / 4 * 5 + k % 4 + 1;
+    }
+
+    private SplittableRandom aleatorio(long fluxo, long n) {
+        return new SplittableRandom(p.semente() * 0x9E3779B97F4A7C15L + fluxo * 0xBF58476D1CE4E5B9L + n);
+    }
+
+    private static BigDecimal centavos(long valor) {
+        return BigDecimal.valueOf(valor, 2);
+    }
+
+    private static OffsetDateTime utc(Instant instante) {
+        return instante.atOffset(ZoneOffset.UTC);
+    }
+
+    // ---------------------------------------------------------------- infraestrutura
+
+    @FunctionalInterface
+    private interface Faixa {
+        void executar(long desde, long ate) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface ComConexao {
+        void executar(Connection conexao) throws SQLException;
+    }
+
+    private void emTransacao(ComConexao trabalho) throws SQLException {
+        try (Connection c = dataSource.getConnection()) {
+            c.setAutoCommit(false);
+            trabalho.executar(c);
+            c.commit();
+        }
+    }
+
+    /** Divide [0, total) em lotes de LOTE linhas, um por tarefa, e mostra o andamento. */
+    private void etapa(String nome, long total, ExecutorService executor, Faixa faixa) throws Exception {
+        long comeco = System.nanoTime();
+        AtomicLong feitas = new AtomicLong();
+        long intervalo = Math.max(total / 10, LOTE);
+        AtomicLong proximoAviso = new AtomicLong(intervalo);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (long desde = 0; desde < total; desde += LOTE) {
+            long inicioLote = desde;
+            long fimLote = Math.min(total, desde + LOTE);
+            tarefas.add(executor.submit(() -> {
+                faixa.executar(inicioLote, fimLote);
+                long agora = feitas.addAndGet(fimLote - inicioLote);
+                long aviso = proximoAviso.get();
+                if (agora >= aviso && agora < total && proximoAviso.compareAndSet(aviso, aviso + intervalo)) {
+                    System.out.printf("  %s: %d%% (%,d linhas/s)%n", nome, agora * 100 / total, porSegundo(agora, comeco));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        System.out.printf("%s: %,d linhas em %.1fs (%,d linhas/s)%n",
+                nome, total, (System.nanoTime() - comeco) / 1e9, porSegundo(total, comeco));
+    }
+
+    private static long porSegundo(long linhas, long comeco) {
+        return (long) (linhas / Math.max((System.nanoTime() - comeco) / 1e9, 1e-3));
+    }
+
+    private static long maximo(Connection c, String tabela) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("select max(id) from " + tabela)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // mesmas faixas de ManutencaoParticoesTransacao; sem isso tudo cairia em transacao_padrao
+    private void criarParticoes(Connection c) throws SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("select relkind from pg_class where oid = 'transacao'::regclass")) {
+            if (!rs.next() || !"p".equals(rs.getString(1))) {
+                return;
+            }
+        }
+        for (YearMonth mes = p.ate().minusMonths(p.meses()); mes.isBefore(p.ate()); mes = mes.plusMonths(1)) {
+            try (Statement st = c.createStatement()) {
+                st.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS transacao_p%d%02d PARTITION OF transacao FOR VALUES FROM ('%s') TO ('%s')",
+                        mes.getYear(), mes.getMonthValue(),
+                        mes.atDay(1) + " 00:00:00+00", mes.plusMonths(1).atDay(1) + " 00:00:00+00"));
+            } catch (SQLException e) {
+                // ex.: a partição padrão já tem linhas desse mês; a carga vai para ela
+                System.out.printf("Partição de %s não criada: %s%n", mes, e.getMessage());
+            }
+        }
+    }
+
+    // ids gravados explicitamente: o próximo INSERT da aplicação precisa começar depois deles
+    private void reposicionarIdentidade(Connection c, String tabela) throws SQLException {
+        long maior = maximo(c, tabela);
+        if (maior == 0) {
+            return;
+        }
+        try (Statement st = c.createStatement()) {
+            if (postgres) {
+                // cobre identity e a transacao_id_global_seq da tabela particionada (OWNED BY transacao.id)
+                st.execute("select setval(pg_get_serial_sequence('" + tabela + "', 'id'), " + maior + ")");
+            } else {
+                st.execute("alter table " + tabela + " alter column id restart with " + (maior + 1));
+            }
+        }
+    }
+
+    /** Contas correntes geradas cujo saldo difere da soma das transações CONCLUIDA. */
+    private void conferir(Connection c) throws SQLException {
+        String sql = """
+                select count(*) from conta c
+                join conta_corrente_entity cc on cc.id = c.id
+                left join (
+                    select conta_id, sum(efeito) as total from (
+                        select conta_origem_id as conta_id,
+                               case when tipo_transacao = 'D' then valor else -valor end as efeito
+                        from transacao where status_transacao = 'C'
+                        union all
+                        select conta_destino_id, valor
+                        from transacao where status_transacao = 'C' and tipo_transacao = 'T'
+                    ) e group by conta_id
+                ) m on m.conta_id = c.id
+                where c.id > %d and c.id <= %d and c.saldo <> coalesce(m.total, 0)
+                """.formatted(contaBase, contaBase + p.contas());
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            long divergentes = rs.getLong(1);
+            System.out.printf("Conferência: %,d contas correntes com saldo diferente das transações%n", divergentes);
+            if (divergentes > 0) {
+                throw new IllegalStateException("Saldos inconsistentes em " + divergentes + " contas");
+            }
+        }
+    }
+
+    record Parametros(String url, String usuario, String senha, long clientes, long contas, long transacoes,
+                      int meses, YearMonth ate, long semente, int threads, double zipf, boolean conferir) {
+
+        Parametros {
+            if (clientes < 1 || contas < 1 || transacoes < 0 || meses < 1 || threads < 1) {
+                throw new IllegalArgumentException("Parâmetros inválidos: clientes e contas >= 1, "
+                        + "transações >= 0, meses e threads >= 1");
+            }
+        }
+
+        static Parametros doSistema() {
+            String ate = System.getProperty("dados.ate", "");
+            return new Parametros(
+                    System.getProperty("dados.url", "jdbc:h2:file:./target/dados/bancogvm"),
+                    System.getProperty("dados.usuario", "sa"),
+                    System.getProperty("dados.senha", ""),
+                    Long.getLong("dados.clientes", 10_000),
+                    Long.getLong("dados.contas", 15_000),
+                    Long.getLong("dados.transacoes", 1_000_000),
+                    Integer.getInteger("dados.meses", 12),
+                    ate.isBlank() ? YearMonth.now(ZoneOffset.UTC) : YearMonth.parse(ate),
+                    Long.getLong("dados.semente", 42L),
+                    Integer.getInteger("dados.threads", Runtime.getRuntime().availableProcessors()),
+                    Double.parseDouble(System.getProperty("dados.zipf", "1.0")),
+                    Boolean.getBoolean("dados.conferir"));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bancogvm.dados;
+
+import java.util.SplittableRandom;
+
+/**
+ * Amostrador Zipf em [1, n] por rejeição-inversão (Hörmann e Derflinger, 1996):
+ * P(k) proporcional a 1/k^expoente, tempo constante e sem tabela de n posições,
+ * o que importa com dezenas de milhões de contas. Expoente 0 é uniforme.
+ */
+final class Zipf {
+
+    private final int n;
+    private final double expoente;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    Zipf(int n, double expoente) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf precisa de ao menos um elemento: " + n);
+        }
+        if (expoente < 0) {
+            throw new IllegalArgumentException("Expoente Zipf negativo: " + expoente);
+        }
+        this.n = n;
+        this.expoente = expoente;
+        this.hIntegralX1 = hIntegral(1.5) - 1d;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2d - hIntegralInversa(hIntegral(2.5) - h(2));
+    }
+
+    /** Rank sorteado, 1 é o mais frequente. */
+    int amostra(SplittableRandom aleatorio) {
+        while (true) {
+            double u = hIntegralN + aleatorio.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInversa(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return auxiliar2((1d - expoente) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-expoente * Math.log(x));
+    }
+
+    private double hIntegralInversa(double x) {
+        double t = x * (1d - expoente);
+        if (t < -1d) {
+            // só por arredondamento; o valor exato nunca passa de -1
+            t = -1d;
+        }
+        return Math.exp(auxiliar1(t) * x);
+    }
+
+    // log(1 + x) / x, estável perto de zero
+    private static double auxiliar1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1d - x * (0.5 - x * (1d / 3 - 0.25 * x));
+    }
+
+    // (exp(x) - 1) / x, estável perto de zero
+    private static double auxiliar2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1d + x * 0.5 * (1d + x / 3 * (1d + 0.25 * x));
+    }
+}
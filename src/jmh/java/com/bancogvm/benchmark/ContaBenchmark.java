@@ -0,0 +1,64 @@
+package com.bancogvm.benchmark;
+
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaPoupancaEntity;
+import com.bancogvm.service.model.Dinheiro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aritmética das contas: saque com cheque especial e rendimento da poupança.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContaBenchmark {
+
+    private static final Dinheiro SALDO_INICIAL = Dinheiro.de("15234.57");
+
+    private ContaCorrenteEntity corrente;
+    private ContaPoupancaEntity poupanca;
+    private final Dinheiro valorSaque = Dinheiro.de("12.34");
+
+    // o saldo é reposto a cada iteração para o saque nunca esbarrar no limite
+    @Setup(Level.Iteration)
+    public void setUp() {
+        corrente = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.de("500.00"))
+                .build();
+        corrente.setSaldo(Dinheiro.de(1_000_000_000_000L));
+
+        poupanca = ContaPoupancaEntity.builder()
+                .taxaRendimentoAnual(new BigDecimal("0.0617"))
+                .dataAniversario(LocalDate.of(2024, 1, 10))
+                .build();
+    }
+
+    @Benchmark
+    public boolean sacar() {
+        return corrente.sacar(valorSaque);
+    }
+
+    @Benchmark
+    public Dinheiro calcularRendimentoMensal() {
+        poupanca.setSaldo(SALDO_INICIAL);
+        poupanca.calcularRendimentoMensal();
+        return poupanca.getSaldo();
+    }
+}
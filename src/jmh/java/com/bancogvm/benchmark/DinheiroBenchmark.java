@@ -0,0 +1,82 @@
+package com.bancogvm.benchmark;
+
+import com.bancogvm.service.model.Dinheiro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lançamento de uma transferência (confere saldo, debita e credita) com o BigDecimal
+ * de antes e com {@link Dinheiro}. Ida e volta do mesmo valor para o saldo não variar.
+ * Alocação por operação em gc.alloc.rate.norm (o perfil benchmark roda com -prof gc).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DinheiroBenchmark {
+
+    private static final int VALORES = 1024;
+
+    private final BigDecimal[] valoresBigDecimal = new BigDecimal[VALORES];
+    private final Dinheiro[] valoresDinheiro = new Dinheiro[VALORES];
+    private int indice;
+
+    private BigDecimal origemBigDecimal;
+    private BigDecimal destinoBigDecimal;
+    private Dinheiro origemDinheiro;
+    private Dinheiro destinoDinheiro;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        for (int i = 0; i < VALORES; i++) {
+            long centavos = aleatorio.nextLong(1, 500_000);
+            valoresBigDecimal[i] = BigDecimal.valueOf(centavos, 2);
+            valoresDinheiro[i] = Dinheiro.deCentavos(centavos);
+        }
+        origemBigDecimal = new BigDecimal("152345.67");
+        destinoBigDecimal = new BigDecimal("98765.43");
+        origemDinheiro = Dinheiro.de(origemBigDecimal);
+        destinoDinheiro = Dinheiro.de(destinoBigDecimal);
+    }
+
+    @Benchmark
+    public boolean transferenciaBigDecimal() {
+        BigDecimal valor = valoresBigDecimal[indice++ & (VALORES - 1)];
+        if (origemBigDecimal.compareTo(valor) < 0) {
+            return false;
+        }
+        origemBigDecimal = origemBigDecimal.subtract(valor);
+        destinoBigDecimal = destinoBigDecimal.add(valor);
+        destinoBigDecimal = destinoBigDecimal.subtract(valor);
+        origemBigDecimal = origemBigDecimal.add(valor);
+        return true;
+    }
+
+    @Benchmark
+    public boolean transferenciaDinheiro() {
+        Dinheiro valor = valoresDinheiro[indice++ & (VALORES - 1)];
+        if (origemDinheiro.menorQue(valor)) {
+            return false;
+        }
+        origemDinheiro = origemDinheiro.subtrair(valor);
+        destinoDinheiro = destinoDinheiro.somar(valor);
+        destinoDinheiro = destinoDinheiro.subtrair(valor);
+        origemDinheiro = origemDinheiro.somar(valor);
+        return true;
+    }
+}
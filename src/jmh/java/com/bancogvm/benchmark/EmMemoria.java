@@ -0,0 +1,71 @@
+package com.bancogvm.benchmark;
+
+import com.bancogvm.config.EventosTempoRealProperties;
+import com.bancogvm.config.LimitesVelocidadeProperties;
+import com.bancogvm.repository.CartaoDebitoRepository;
+import com.bancogvm.service.EventosTempoReal;
+import com.bancogvm.service.LimitesVelocidade;
+import com.bancogvm.service.MetricasNegocio;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Substitutos em memória para repositórios e EntityManager, só para os benchmarks:
+ * mede-se a lógica do serviço, não o banco.
+ */
+final class EmMemoria {
+
+    private EmMemoria() {
+    }
+
+    /**
+     * Repositório Spring Data em que save devolve a própria entidade e nada mais é suportado.
+     */
+    @SuppressWarnings("unchecked")
+    static <R> R repositorio(Class<R> tipo) {
+        return (R) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, args) -> {
+            if (metodo.getName().equals("save")) {
+                return args[0];
+            }
+            if (metodo.getDeclaringClass() == Object.class) {
+                return metodo.getName().equals("toString") ? tipo.getSimpleName() + "EmMemoria" : null;
+            }
+            throw new UnsupportedOperationException(metodo.getName());
+        });
+    }
+
+    /**
+     * EntityManager que atende find(classe, id) a partir de um mapa fixo.
+     * contains devolve false para o serviço seguir pelo caminho do find; lock e
+     * refresh não fazem nada, as entidades do mapa já são o estado "do banco".
+     */
+    static EntityManager entityManager(Map<Long, ?> entidades) {
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class}, (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "contains" -> false;
+                    case "find" -> entidades.get((Long) args[1]);
+                    case "flush", "lock", "refresh" -> null;
+                    default -> throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+
+    static MetricasNegocio metricas() {
+        return new MetricasNegocio(new SimpleMeterRegistry());
+    }
+
+    // sem assinantes: transacao/cartao/emprestimo retornam antes de montar o evento
+    static EventosTempoReal eventos() {
+        return new EventosTempoReal(new EventosTempoRealProperties(), null, new ObjectMapper(), metricas());
+    }
+
+    // ligados, as janelas guardariam cada iteração das últimas 24 h
+    static LimitesVelocidade limitesDesligados() {
+        LimitesVelocidadeProperties props = new LimitesVelocidadeProperties();
+        props.setHabilitado(false);
+        return new LimitesVelocidade(null, repositorio(CartaoDebitoRepository.class), props);
+    }
+}
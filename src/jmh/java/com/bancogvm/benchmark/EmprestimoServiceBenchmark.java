@@ -0,0 +1,53 @@
+package com.bancogvm.benchmark;
+
+import com.bancogvm.repository.EmprestimoRepository;
+import com.bancogvm.service.EmprestimoServiceImpl;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.EmprestimoEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmprestimoServiceImpl.solicitar: cálculo de juros compostos e parcela.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmprestimoServiceBenchmark {
+
+    @Param({"12", "48"})
+    private int numeroParcelas;
+
+    private EmprestimoServiceImpl service;
+    private final Dinheiro valorSolicitado = Dinheiro.de("25000.00");
+    private final BigDecimal taxaJurosMensal = new BigDecimal("0.0199");
+
+    @Setup
+    public void setUp() {
+        service = new EmprestimoServiceImpl(EmMemoria.repositorio(EmprestimoRepository.class), EmMemoria.metricas(), EmMemoria.eventos());
+    }
+
+    @Benchmark
+    public EmprestimoEntity solicitar() {
+        return service.solicitar(EmprestimoEntity.builder()
+                .valorSolicitado(valorSolicitado)
+                .taxaJurosMensal(taxaJurosMensal)
+                .numeroParcelas(numeroParcelas)
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.bancogvm.benchmark;
+
+import com.bancogvm.repository.arquivo.RegistroArquivado;
+import com.bancogvm.repository.arquivo.SegmentoTransacoes;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extrato de uma conta lido de um mês arquivado: busca no índice, inflate do bloco e
+ * decodificação das colunas. 200 mil transações sobre 10 mil contas (~40 linhas por conta).
+ * O tamanho do arquivo sai no console do setup, para comparar com o espaço no banco.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentoTransacoesBenchmark {
+
+    private static final int CONTAS = 10_000;
+    private static final int TRANSACOES = 200_000;
+
+    private Path arquivo;
+    private SegmentoTransacoes segmento;
+    private SplittableRandom aleatorio;
+
+    @Setup
+    public void setUp() throws IOException {
+        YearMonth mes = YearMonth.of(2023, 1);
+        Instant inicio = mes.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        SplittableRandom gerador = new SplittableRandom(42);
+        TipoTransacao[] tipos = TipoTransacao.values();
+
+        List<RegistroArquivado> registros = new ArrayList<>(TRANSACOES);
+        for (int i = 0; i < TRANSACOES; i++) {
+            TipoTransacao tipo = tipos[gerador.nextInt(tipos.length)];
+            long origem = gerador.nextLong(1, CONTAS + 1);
+            registros.add(new RegistroArquivado(
+                    (long) i + 1,
+                    inicio.plusMillis(i * 13_000L),
+                    Dinheiro.deCentavos(gerador.nextLong(1, 500_000)),
+                    tipo,
+                    StatusTransacao.CONCLUIDA,
+                    origem,
+                    tipo == TipoTransacao.TRANSFERENCIA ? gerador.nextLong(1, CONTAS + 1) : null,
+                    gerador.nextInt(4) == 0 ? null : "Lançamento " + tipo));
+        }
+        arquivo = Files.createTempFile("segmento-bench", ".seg");
+        SegmentoTransacoes.gravar(arquivo, mes, registros);
+        segmento = SegmentoTransacoes.abrir(arquivo);
+        aleatorio = new SplittableRandom(7);
+        System.out.printf("%nSegmento: %d transações, %d contas, %d bytes%n",
+                TRANSACOES, segmento.getContas(), Files.size(arquivo));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public List<RegistroArquivado> extratoDaConta() {
+        return segmento.porConta(aleatorio.nextLong(1, CONTAS + 1));
+    }
+}
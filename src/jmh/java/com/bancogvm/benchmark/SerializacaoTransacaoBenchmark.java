@@ -0,0 +1,84 @@
+package com.bancogvm.benchmark;
+
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de listas de TransacaoEntity, como no GET /api/transacoes e no extrato.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoTransacaoBenchmark {
+
+    @Param({"10", "1000"})
+    private int quantidade;
+
+    private ObjectMapper mapper;
+    private List<TransacaoEntity> transacoes;
+
+    @Setup
+    public void setUp() {
+        // mesmos módulos que o Spring Boot registra (jsr310 para Instant)
+        mapper = JsonMapper.builder().findAndAddModules().build();
+
+        ContaCorrenteEntity origem = conta(1L, "10001-1");
+        ContaCorrenteEntity destino = conta(2L, "10002-2");
+        transacoes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            transacoes.add(TransacaoEntity.builder()
+                    .id((long) i)
+                    .valor(Dinheiro.deCentavos(10_000 + i))
+                    .dataHora(Instant.parse("2024-01-01T12:00:00Z").plusSeconds(i))
+                    .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                    .statusTransacao(StatusTransacao.CONCLUIDA)
+                    .descricao("Transferência " + i)
+                    .contaOrigem(origem)
+                    .contaDestino(destino)
+                    .build());
+        }
+    }
+
+    private static ContaCorrenteEntity conta(Long id, String numero) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setId(id);
+        conta.setNumeroConta(numero);
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de("1500.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
+        conta.setDataAbertura(Instant.parse("2023-06-01T00:00:00Z"));
+        return conta;
+    }
+
+    @Benchmark
+    public byte[] serializar() throws Exception {
+        return mapper.writeValueAsBytes(transacoes);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bancogvm.benchmark;
+
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.EventoOutboxRepository;
+import com.bancogvm.repository.TotalDiarioTransacaoRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.repository.arquivo.ArquivoTransacoes;
+import com.bancogvm.service.Outbox;
+import com.bancogvm.service.ProjecaoAtividadeRecente;
+import com.bancogvm.service.TransacaoServiceImpl;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransacaoServiceImpl.registrar por tipo, com repositórios e EntityManager em memória.
+ * Inclui a trava das contas, a regra de saldo e a métrica de lançamento.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransacaoServiceBenchmark {
+
+    @Param({"DEPOSITO", "SAQUE", "TRANSFERENCIA"})
+    private TipoTransacao tipo;
+
+    private TransacaoServiceImpl service;
+    private ContaCorrenteEntity origem;
+    private ContaCorrenteEntity destino;
+    private final Dinheiro valor = Dinheiro.de("1.00");
+
+    @Setup
+    public void setUp() {
+        // saldo alto o bastante para nenhuma iteração cair em saldo insuficiente
+        origem = conta(1L);
+        destino = conta(2L);
+        Outbox outbox = new Outbox(EmMemoria.repositorio(EventoOutboxRepository.class), new ObjectMapper().findAndRegisterModules());
+        service = new TransacaoServiceImpl(
+                EmMemoria.repositorio(TransacaoRepository.class),
+                EmMemoria.repositorio(ContaRepository.class),
+                EmMemoria.entityManager(Map.of(1L, origem, 2L, destino)),
+                EmMemoria.metricas(),
+                // diretório inexistente: arquivo frio vazio, registrar não o usa
+                new ArquivoTransacoes(Path.of("target", "jmh-arquivo")),
+                outbox,
+                EmMemoria.repositorio(TotalDiarioTransacaoRepository.class),
+                new ProjecaoAtividadeRecente(outbox),
+                EmMemoria.eventos(),
+                EmMemoria.limitesDesligados());
+    }
+
+    private static ContaCorrenteEntity conta(Long id) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setId(id);
+        conta.setSaldo(Dinheiro.de(1_000_000_000_000L));
+        conta.setStatusConta(StatusConta.ATIVA);
+        return conta;
+    }
+
+    @Benchmark
+    public TransacaoEntity registrar() {
+        TransacaoEntity t = service.registrar(TransacaoEntity.builder()
+                .tipoTransacao(tipo)
+                .valor(valor)
+                .contaOrigem(origem)
+                .contaDestino(tipo == TipoTransacao.TRANSFERENCIA ? destino : null)
+                .build());
+        // registrar não lança: uma falha vira FALHOU e o benchmark mediria o log de erro
+        if (t.getStatusTransacao() != StatusTransacao.CONCLUIDA) {
+            throw new IllegalStateException("Lançamento " + tipo + " não concluído: " + t.getStatusTransacao());
+        }
+        return t;
+    }
+}
@@ -0,0 +1,9 @@
+package com.bancogvm.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AgendamentosProperties.class)
+public class AgendamentosConfig {
+}
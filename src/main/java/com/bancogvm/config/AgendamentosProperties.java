@@ -0,0 +1,45 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Execução de transferências agendadas (ExecutorAgendamentos).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.agendamentos")
+public class AgendamentosProperties {
+
+    // desligado, nada é reservado nem executado sozinho; reservar()/executarVencidos() podem ser chamados à mão
+    private boolean habilitado;
+
+    // identifica o nó nas reservas; estável entre reinícios para recarregar as próprias. Vazio: hostname
+    private String no = "";
+
+    // de quanto em quanto tempo o nó reserva mais itens no banco
+    private long intervaloMs = 1000;
+
+    // só reserva o que vence até agora + horizonte
+    private Duration horizonte = Duration.ofMinutes(5);
+
+    // depois disso a reserva de um nó que caiu pode ser pega por outro; maior que horizonte
+    private Duration validadeReserva = Duration.ofMinutes(15);
+
+    // linhas por SELECT ... FOR UPDATE SKIP LOCKED
+    private int lote = 1000;
+
+    // itens reservados e ainda não executados por nó; o resto do backlog fica para os outros nós
+    private int capacidade = 50_000;
+
+    // precisão da roda de temporização e baldes por nível
+    private long tiqueMs = 100;
+    private int baldes = 512;
+
+    // threads que executam; cada uma leva loteExecucao itens vencidos por vez
+    private int threads = 4;
+    private int loteExecucao = 100;
+}
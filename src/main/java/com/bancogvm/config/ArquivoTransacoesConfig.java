@@ -0,0 +1,16 @@
+package com.bancogvm.config;
+
+import com.bancogvm.repository.arquivo.ArquivoTransacoes;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ArquivoTransacoesProperties.class)
+public class ArquivoTransacoesConfig {
+
+    @Bean
+    public ArquivoTransacoes arquivoTransacoes(ArquivoTransacoesProperties props) {
+        return new ArquivoTransacoes(props.getDiretorio(), props.getTamanhoMaximoSegmento().toBytes());
+    }
+}
@@ -0,0 +1,36 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Arquivo frio de transações (segmentos colunares em disco).
+ * A leitura está sempre ligada; {@code habilitado} liga só a exportação agendada.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.arquivo")
+public class ArquivoTransacoesProperties {
+
+    private boolean habilitado;
+
+    // com mais de um nó, um diretório compartilhado (NFS, EFS...): os segmentos que um nó grava os outros leem
+    private Path diretorio = Path.of("dados", "arquivo-transacoes");
+
+    // meses fechados mais antigos que isto saem do banco para o arquivo
+    private int retencaoMeses = 24;
+
+    // de quanto em quanto tempo cada nó abre os segmentos gravados por outro nó
+    private long sincronizacaoMs = 60_000;
+
+    // reserva do nó que está arquivando, renovada a cada mês; se ele cair, outro assume depois disto
+    private Duration validadeReserva = Duration.ofMinutes(30);
+
+    // um mês maior que isto vira várias partes; cada uma é um mapeamento, que não passa de 2 GiB
+    private DataSize tamanhoMaximoSegmento = DataSize.ofGigabytes(1);
+}
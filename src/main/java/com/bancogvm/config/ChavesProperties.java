@@ -0,0 +1,25 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Índice em memória das chaves de pagamento (DiretorioChaves).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.chaves")
+public class ChavesProperties {
+
+    // de quanto em quanto tempo cada nó lê as chaves alteradas pelos outros
+    private long sincronizacaoMs = 5_000;
+
+    // releitura para trás a cada sincronização: pega o que foi confirmado depois de carimbado
+    private Duration margem = Duration.ofSeconds(30);
+
+    // posições iniciais da tabela; dimensionar para o número de chaves evita redimensionar na subida
+    private int capacidadeInicial = 1 << 16;
+}
@@ -0,0 +1,26 @@
+package com.bancogvm.config;
+
+/**
+ * Classes de carga da API, cada uma com vagas e pool de conexões próprios
+ * ({@link Compartimentos}, {@link PoolsCompartimentos}): relatórios lentos e cargas
+ * em massa esgotam só o próprio compartimento, sem travar lançamentos nem consultas pontuais.
+ */
+public enum Compartimento {
+
+    // lançamentos e demais alterações: padrão dos métodos que não são GET/HEAD
+    ESCRITA,
+
+    // consultas pontuais: padrão de GET/HEAD
+    LEITURA,
+
+    // listagens completas, extratos e exportações, marcados com @NoCompartimento
+    RELATORIO,
+
+    // cargas em massa (importação, folha) marcadas com @NoCompartimento e tudo o que roda
+    // fora de requisição: agendadores, relay, liquidação, arquivamento
+    LOTE;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
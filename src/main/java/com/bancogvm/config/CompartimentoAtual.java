@@ -0,0 +1,28 @@
+package com.bancogvm.config;
+
+/**
+ * Compartimento da requisição em andamento na thread atual; é por ele que o
+ * {@link CompartimentosDataSource} escolhe o pool. Fora de requisição (agendadores,
+ * inicialização) vale {@link Compartimento#LOTE}: um pico de trabalho de fundo disputa
+ * conexões com as cargas em massa, não com os lançamentos da API.
+ */
+public final class CompartimentoAtual {
+
+    private static final ThreadLocal<Compartimento> ATUAL = new ThreadLocal<>();
+
+    private CompartimentoAtual() {
+    }
+
+    public static void fixar(Compartimento compartimento) {
+        ATUAL.set(compartimento);
+    }
+
+    public static Compartimento atual() {
+        Compartimento compartimento = ATUAL.get();
+        return compartimento != null ? compartimento : Compartimento.LOTE;
+    }
+
+    public static void limpar() {
+        ATUAL.remove();
+    }
+}
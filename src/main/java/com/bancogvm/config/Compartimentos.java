@@ -0,0 +1,108 @@
+package com.bancogvm.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vagas por compartimento. Cada um tem um semáforo com {@code vagas} permissões e uma
+ * fila limitada: quem não acha vaga espera até {@code espera}, se houver lugar na fila;
+ * senão é recusado na hora. Assim um compartimento saturado prende no máximo
+ * {@code vagas + fila} threads do Tomcat, e as demais seguem livres para os outros.
+ *
+ * As vagas são fixadas na subida: mudar {@code bancogvm.compartimentos.*.vagas} exige reiniciar.
+ */
+public class Compartimentos {
+
+    private final CompartimentosProperties props;
+    private final Map<Compartimento, Baia> baias = new EnumMap<>(Compartimento.class);
+
+    public Compartimentos(CompartimentosProperties props, MeterRegistry registry) {
+        this.props = props;
+        for (Compartimento compartimento : Compartimento.values()) {
+            CompartimentosProperties.Limites limites = props.limites(compartimento);
+            if (limites.getVagas() < 1 || limites.getFila() < 0) {
+                throw new IllegalArgumentException("Compartimento " + compartimento.tag() + " inválido: "
+                        + limites.getVagas() + " vagas, fila " + limites.getFila());
+            }
+            Baia baia = new Baia(limites, Counter.builder("bancogvm.compartimento.rejeitados")
+                    .description("Requisições recusadas com 503 por compartimento cheio")
+                    .tag("compartimento", compartimento.tag())
+                    .register(registry));
+            Tags tags = Tags.of("compartimento", compartimento.tag());
+            Gauge.builder("bancogvm.compartimento.capacidade", baia, b -> b.vagas)
+                    .description("Vagas do compartimento")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("bancogvm.compartimento.ocupados", baia, b -> b.vagas - b.semaforo.availablePermits())
+                    .description("Vagas ocupadas no compartimento")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("bancogvm.compartimento.aguardando", baia, b -> b.aguardando.get())
+                    .description("Requisições na fila do compartimento")
+                    .tags(tags)
+                    .register(registry);
+            baias.put(compartimento, baia);
+        }
+    }
+
+    /**
+     * Ocupa uma vaga, esperando na fila se couber. Devolve false se o compartimento está
+     * cheio ou a espera acabou; nesse caso não há o que devolver em {@link #sair}.
+     */
+    public boolean entrar(Compartimento compartimento) {
+        Baia baia = baias.get(compartimento);
+        if (baia.semaforo.tryAcquire()) {
+            return true;
+        }
+        if (baia.aguardando.incrementAndGet() > baia.fila) {
+            baia.aguardando.decrementAndGet();
+            baia.rejeitados.increment();
+            return false;
+        }
+        try {
+            if (baia.semaforo.tryAcquire(baia.esperaNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            baia.aguardando.decrementAndGet();
+        }
+        baia.rejeitados.increment();
+        return false;
+    }
+
+    public void sair(Compartimento compartimento) {
+        baias.get(compartimento).semaforo.release();
+    }
+
+    public boolean isHabilitado() {
+        return props.isHabilitado();
+    }
+
+    private static final class Baia {
+
+        final int vagas;
+        final int fila;
+        final long esperaNanos;
+        final Semaphore semaforo;
+        final AtomicInteger aguardando = new AtomicInteger();
+        final Counter rejeitados;
+
+        Baia(CompartimentosProperties.Limites limites, Counter rejeitados) {
+            this.vagas = limites.getVagas();
+            this.fila = limites.getFila();
+            this.esperaNanos = limites.getEspera().toNanos();
+            this.semaforo = new Semaphore(vagas);
+            this.rejeitados = rejeitados;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.bancogvm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Compartimentos (bulkheads) da API: vagas por classe de carga no interceptor e um pool
+ * de conexões por compartimento, usado tanto com banco único
+ * ({@link CompartimentosDataSourceConfig}) quanto com réplica ({@link RoteamentoDataSourceConfig}).
+ */
+@Configuration
+@EnableConfigurationProperties(CompartimentosProperties.class)
+public class CompartimentosConfig implements WebMvcConfigurer {
+
+    private final CompartimentosProperties props;
+    private final MeterRegistry registry;
+    private final ObjectMapper json;
+
+    public CompartimentosConfig(CompartimentosProperties props, MeterRegistry registry, ObjectMapper json) {
+        this.props = props;
+        this.registry = registry;
+        this.json = json;
+    }
+
+    @Bean
+    public Compartimentos compartimentos() {
+        return new Compartimentos(props, registry);
+    }
+
+    @Bean
+    public PoolsCompartimentos poolsCompartimentos(Environment ambiente) {
+        return new PoolsCompartimentos(props, ambiente, registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new CompartimentosInterceptor(compartimentos(), json));
+    }
+}
@@ -0,0 +1,39 @@
+package com.bancogvm.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Escolhe o pool pelo compartimento da requisição ({@link CompartimentoAtual}). A conexão
+ * é pega no início da transação, já dentro do controller, quando o compartimento está fixado.
+ */
+public class CompartimentosDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<Compartimento, HikariDataSource> pools;
+
+    public CompartimentosDataSource(Map<Compartimento, HikariDataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Compartimento.LOTE));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CompartimentoAtual.atual();
+    }
+
+    public DataSource pool(Compartimento compartimento) {
+        return pools.get(compartimento);
+    }
+
+    // os pools não são beans: fecham junto com este
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
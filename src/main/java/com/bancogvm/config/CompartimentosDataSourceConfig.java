@@ -0,0 +1,24 @@
+package com.bancogvm.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Banco único ({@code spring.datasource}), sem réplica: o pool vem de
+ * {@link PoolsCompartimentos}. Com réplica, quem monta os pools é {@link RoteamentoDataSourceConfig}.
+ */
+@Configuration
+@ConditionalOnExpression("'${bancogvm.datasource.replica.url:}' == ''")
+public class CompartimentosDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties props, PoolsCompartimentos pools) {
+        return pools.criar(props.initializeDataSourceBuilder().type(HikariDataSource.class).build(),
+                "spring.datasource.hikari");
+    }
+}
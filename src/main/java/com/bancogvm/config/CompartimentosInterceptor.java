@@ -0,0 +1,102 @@
+package com.bancogvm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Põe cada requisição da API no seu compartimento antes do controller: pela anotação
+ * {@link NoCompartimento} do método ou da classe, ou pelo método HTTP. Sem vaga, 503.
+ *
+ * É interceptor e não filtro porque o compartimento depende do método de controller,
+ * que só é conhecido depois do mapeamento. A vaga é devolvida ao fim da requisição ou,
+ * nas assíncronas (SSE), assim que a thread do Tomcat é liberada.
+ */
+public class CompartimentosInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATRIBUTO = CompartimentosInterceptor.class.getName() + ".compartimento";
+
+    private final Compartimentos compartimentos;
+    private final ObjectMapper json;
+
+    public CompartimentosInterceptor(Compartimentos compartimentos, ObjectMapper json) {
+        this.compartimentos = compartimentos;
+        this.json = json;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod metodo)
+                || request.getDispatcherType() != DispatcherType.REQUEST
+                || !request.getRequestURI().startsWith("/api/")) {
+            return true;
+        }
+        Compartimento compartimento = compartimento(metodo, request.getMethod());
+        CompartimentoAtual.fixar(compartimento);
+        if (!compartimentos.isHabilitado()) {
+            return true;
+        }
+        if (!compartimentos.entrar(compartimento)) {
+            CompartimentoAtual.limpar();
+            recusar(response, compartimento);
+            return false;
+        }
+        request.setAttribute(ATRIBUTO, compartimento);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        sair(request);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sair(request);
+    }
+
+    static Compartimento compartimento(HandlerMethod metodo, String metodoHttp) {
+        NoCompartimento anotacao = AnnotatedElementUtils.findMergedAnnotation(metodo.getMethod(), NoCompartimento.class);
+        if (anotacao == null) {
+            anotacao = AnnotatedElementUtils.findMergedAnnotation(metodo.getBeanType(), NoCompartimento.class);
+        }
+        if (anotacao != null) {
+            return anotacao.value();
+        }
+        return "GET".equals(metodoHttp) || "HEAD".equals(metodoHttp) ? Compartimento.LEITURA : Compartimento.ESCRITA;
+    }
+
+    private void sair(HttpServletRequest request) {
+        CompartimentoAtual.limpar();
+        if (request.getAttribute(ATRIBUTO) instanceof Compartimento compartimento) {
+            request.removeAttribute(ATRIBUTO);
+            compartimentos.sair(compartimento);
+        }
+    }
+
+    private void recusar(HttpServletResponse response, Compartimento compartimento) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", "Compartimento " + compartimento.tag() + " sobrecarregado; tente de novo em instantes");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        json.writeValue(response.getWriter(), body);
+    }
+}
@@ -0,0 +1,65 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Compartimentos (bulkheads) da API: vagas e pool de conexões por classe de carga.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.compartimentos")
+public class CompartimentosProperties {
+
+    // desligado, as requisições não disputam vagas por compartimento
+    private boolean habilitado = true;
+
+    // um pool Hikari por compartimento; desligado, todos usam o pool único de spring.datasource.hikari
+    private boolean poolsSeparados = true;
+
+    private Limites escrita = new Limites(40, 20, Duration.ofMillis(200), 10);
+    private Limites leitura = new Limites(60, 40, Duration.ofMillis(100), 10);
+    private Limites relatorio = new Limites(8, 4, Duration.ZERO, 3);
+
+    // as conexões além das vagas ficam para os agendadores, que não passam pelas vagas
+    private Limites lote = new Limites(2, 2, Duration.ZERO, 6);
+
+    public Limites limites(Compartimento compartimento) {
+        return switch (compartimento) {
+            case ESCRITA -> escrita;
+            case LEITURA -> leitura;
+            case RELATORIO -> relatorio;
+            case LOTE -> lote;
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Limites {
+
+        // requisições atendidas ao mesmo tempo (threads do Tomcat ocupadas)
+        private int vagas;
+
+        // requisições esperando vaga; além disso, 503 na hora
+        private int fila;
+
+        // quanto uma requisição da fila espera antes do 503
+        private Duration espera;
+
+        // tamanho do pool de conexões do compartimento
+        private int conexoes;
+
+        public Limites() {
+        }
+
+        public Limites(int vagas, int fila, Duration espera, int conexoes) {
+            this.vagas = vagas;
+            this.fila = fila;
+            this.espera = espera;
+            this.conexoes = conexoes;
+        }
+    }
+}
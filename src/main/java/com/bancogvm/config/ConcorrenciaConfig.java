@@ -0,0 +1,32 @@
+package com.bancogvm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Limite adaptativo de escritas simultâneas na API.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcorrenciaProperties.class)
+public class ConcorrenciaConfig {
+
+    @Bean
+    public LimiteAdaptativo limiteAdaptativo(ConcorrenciaProperties props) {
+        return new LimiteAdaptativo(props, System::nanoTime);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LimiteConcorrenciaFilter> limiteConcorrenciaFilter(
+            LimiteAdaptativo limite, ConcorrenciaProperties props, ObjectMapper json, MeterRegistry registry) {
+        FilterRegistrationBean<LimiteConcorrenciaFilter> registro =
+                new FilterRegistrationBean<>(new LimiteConcorrenciaFilter(limite, props, json, registry));
+        // depois das cotas: quem já estourou a própria cota não ocupa vaga
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registro;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limite adaptativo de escritas simultâneas na API (LimiteAdaptativo).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.concorrencia")
+public class ConcorrenciaProperties {
+
+    // desligado, escritas entram sem limite
+    private boolean habilitado = true;
+
+    // escritas simultâneas na subida; o limite anda daqui entre minimo e maximo
+    private int limiteInicial = 20;
+    private int minimo = 4;
+    private int maximo = 200;
+
+    // resposta mais lenta que isso vezes o tempo de base conta como sobrecarga
+    private double tolerancia = 2.0;
+
+    // fator aplicado ao limite a cada sobrecarga (no máximo uma vez por tempo de resposta)
+    private double reducao = 0.9;
+
+    // o tempo de base é o menor observado nessa janela; ao fim dela recomeça do atual
+    private Duration janelaBase = Duration.ofSeconds(30);
+
+    // parte do limite que operações em lote podem ocupar: o resto fica para escritas unitárias
+    private double fracaoLote = 0.5;
+
+    // caminhos em lote: longos por natureza, ocupam vaga mas não entram na medição do tempo
+    private List<String> lote = new ArrayList<>(List.of("/api/folhas/**", "/api/importacoes/**"));
+}
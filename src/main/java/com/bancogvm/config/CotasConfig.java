@@ -0,0 +1,37 @@
+package com.bancogvm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cotas de requisições por cliente na API.
+ */
+@Configuration
+@EnableConfigurationProperties(CotasProperties.class)
+public class CotasConfig {
+
+    @Bean
+    public LimitadorRequisicoes limitadorRequisicoes(CotasProperties props, MeterRegistry registry) {
+        return new LimitadorRequisicoes(props, registry, System::nanoTime);
+    }
+
+    @Bean
+    public CotasEndpoint cotasEndpoint(LimitadorRequisicoes limitador) {
+        return new CotasEndpoint(limitador);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LimitadorRequisicoesFilter> limitadorRequisicoesFilter(
+            LimitadorRequisicoes limitador, CotasProperties props, ObjectMapper json) {
+        FilterRegistrationBean<LimitadorRequisicoesFilter> registro =
+                new FilterRegistrationBean<>(new LimitadorRequisicoesFilter(limitador, props, json));
+        // recusa antes da medição de SQL e da fixação de leitura: 429 não custa nada além disso
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
@@ -0,0 +1,81 @@
+package com.bancogvm.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cotas em vigor e troca sem reiniciar, em /actuator/cotas. Fica fora da API: um cliente
+ * com cota não pode aumentar a própria. Não é exposto por padrão; para usar, incluir
+ * {@code cotas} em management.endpoints.web.exposure.include, de preferência com
+ * management.server.port numa porta só da rede interna.
+ *
+ * POST com {@code capacidade} e {@code porSegundo} troca a cota padrão; com {@code padrao}
+ * (e {@code metodo}, opcional) troca a rota de mesmo método e caminho ou acrescenta uma no
+ * fim. DELETE com {@code padrao} e {@code metodo} remove a rota (404 se não houver). Vale só neste nó, até a
+ * próxima subida; os baldes recomeçam cheios a cada troca.
+ */
+@Endpoint(id = "cotas")
+public class CotasEndpoint {
+
+    private final LimitadorRequisicoes limitador;
+
+    public CotasEndpoint(LimitadorRequisicoes limitador) {
+        this.limitador = limitador;
+    }
+
+    @ReadOperation
+    public LimitadorRequisicoes.Cotas cotas() {
+        return limitador.cotas();
+    }
+
+    @WriteOperation
+    public LimitadorRequisicoes.Cotas definir(@Nullable String metodo, @Nullable String padrao,
+                                              int capacidade, double porSegundo) {
+        LimitadorRequisicoes.Cotas atuais = limitador.cotas();
+        RegraCota nova = new RegraCota(metodo, padrao, capacidade, porSegundo);
+        if (padrao == null) {
+            limitador.recarregar(new LimitadorRequisicoes.Cotas(nova, atuais.rotas()));
+            return limitador.cotas();
+        }
+        List<RegraCota> rotas = new ArrayList<>(atuais.rotas());
+        int i = posicao(rotas, metodo, padrao);
+        if (i >= 0) {
+            rotas.set(i, nova);
+        } else {
+            rotas.add(nova);
+        }
+        limitador.recarregar(new LimitadorRequisicoes.Cotas(atuais.padrao(), rotas));
+        return limitador.cotas();
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<LimitadorRequisicoes.Cotas> remover(@Nullable String metodo, String padrao) {
+        LimitadorRequisicoes.Cotas atuais = limitador.cotas();
+        List<RegraCota> rotas = new ArrayList<>(atuais.rotas());
+        int i = posicao(rotas, metodo, padrao);
+        if (i < 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        rotas.remove(i);
+        limitador.recarregar(new LimitadorRequisicoes.Cotas(atuais.padrao(), rotas));
+        return new WebEndpointResponse<>(limitador.cotas());
+    }
+
+    private static int posicao(List<RegraCota> rotas, String metodo, String padrao) {
+        for (int i = 0; i < rotas.size(); i++) {
+            RegraCota r = rotas.get(i);
+            if (padrao.equals(r.padrao()) && Objects.equals(metodo, r.metodo())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
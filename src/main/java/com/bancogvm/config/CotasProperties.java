@@ -0,0 +1,43 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cotas de requisições da API por cliente (LimitadorRequisicoes). Os valores daqui são
+ * os da subida; o endpoint /actuator/cotas (CotasEndpoint) troca padrão e rotas sem reiniciar.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.cotas")
+public class CotasProperties {
+
+    // desligado, o filtro deixa tudo passar
+    private boolean habilitado = true;
+
+    // integrações identificadas por chave têm cota própria; as demais requisições contam pelo IP
+    private String cabecalhoChave = "X-Api-Key";
+
+    // só chaves conhecidas: uma chave qualquer no cabeçalho não pode servir para ganhar cota nova
+    private List<String> chavesConhecidas = new ArrayList<>();
+
+    // atrás de proxy/balanceador: o cliente é o primeiro endereço de X-Forwarded-For
+    private boolean confiarEncaminhado;
+
+    // clientes com balde em memória; acima disso os menos usados saem
+    private int maximoClientes = 100_000;
+
+    // balde parado por esse tempo sai do mapa; manter acima do tempo de reposição completa das cotas
+    private Duration ociosidade = Duration.ofMinutes(10);
+
+    // cota de quem não cai em nenhuma rota
+    private RegraCota padrao = new RegraCota(null, null, 100, 50);
+
+    // a primeira que casar com método e caminho vale
+    private List<RegraCota> rotas = new ArrayList<>();
+}
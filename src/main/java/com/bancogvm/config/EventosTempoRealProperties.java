@@ -0,0 +1,28 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Stream SSE de /api/eventos (EventosTempoReal).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.eventos")
+public class EventosTempoRealProperties {
+
+    // eventos pendentes por conexão; estourou, o assinante lento é desconectado
+    private int buffer = 256;
+
+    // comentário SSE periódico: mantém proxies abertos e detecta conexões mortas
+    private long heartbeatMs = 15_000;
+
+    // o navegador reconecta sozinho (EventSource) ao fim do prazo
+    private Duration timeout = Duration.ofMinutes(30);
+
+    // threads que escrevem nas conexões; as ociosas não ocupam nenhuma
+    private int despachantes = 2;
+}
@@ -0,0 +1,9 @@
+package com.bancogvm.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FolhaPagamentoProperties.class)
+public class FolhaPagamentoConfig {
+}
@@ -0,0 +1,20 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Processamento de folhas de pagamento (ProcessadorFolhaPagamento).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.folha")
+public class FolhaPagamentoProperties {
+
+    // linhas creditadas por transação; cada lote confirmado sobrevive a uma queda
+    private int lote = 500;
+
+    // na subida, termina as folhas que ficaram RECEBIDA ou DEBITADA
+    private boolean retomarNaSubida = true;
+}
@@ -0,0 +1,60 @@
+package com.bancogvm.config;
+
+import com.bancogvm.service.ImportacaoCarteira;
+import com.bancogvm.service.model.ResultadoImportacao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Importação de carteira pela linha de comando, sem passar o arquivo por HTTP:
+ *
+ * java -jar bancogvm.jar --spring.main.web-application-type=none --importar=/caminho/carteira
+ *
+ * Lê clientes.csv, contas.csv e titulares.csv do diretório (os que existirem), importa
+ * e encerra a aplicação com código 0, ou 1 se a importação falhar.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportacaoCarteiraRunner implements ApplicationRunner {
+
+    private final ImportacaoCarteira importacao;
+    private final ConfigurableApplicationContext contexto;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("importar")) {
+            return;
+        }
+        Path diretorio = Path.of(args.getOptionValues("importar").get(0));
+        int codigo = 0;
+        try (Reader clientes = abrir(diretorio.resolve("clientes.csv"));
+             Reader contas = abrir(diretorio.resolve("contas.csv"));
+             Reader titulares = abrir(diretorio.resolve("titulares.csv"))) {
+            ResultadoImportacao resultado = importacao.importar(clientes, contas, titulares);
+            if (resultado.arquivoRejeitados() != null) {
+                log.warn("Linhas rejeitadas em {}", resultado.arquivoRejeitados());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Importação de {} falhou: {}", diretorio, e.getMessage(), e);
+            codigo = 1;
+        }
+        int saida = codigo;
+        System.exit(SpringApplication.exit(contexto, () -> saida));
+    }
+
+    private static Reader abrir(Path arquivo) throws IOException {
+        return Files.isRegularFile(arquivo) ? Files.newBufferedReader(arquivo, StandardCharsets.UTF_8) : null;
+    }
+}
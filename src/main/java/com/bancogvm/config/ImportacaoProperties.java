@@ -0,0 +1,22 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Importação de carteira em massa (ImportacaoCarteira).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.importacao")
+public class ImportacaoProperties {
+
+    // um CSV de rejeitados por importação, com arquivo, linha e motivo
+    private Path diretorioRejeitados = Path.of("dados", "importacao");
+
+    // a cada quantas linhas lidas sai uma linha de progresso no log
+    private int progressoLinhas = 100_000;
+}
@@ -0,0 +1,82 @@
+package com.bancogvm.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Fixação "read-your-writes": enquanto fixada, leituras read-only da thread atual vão
+ * ao primário em vez da réplica. Vale para a requisição que escreveu e, pelo cookie
+ * {@link #COOKIE}, para as seguintes do mesmo cliente até a réplica alcançar a escrita.
+ */
+public final class LeituraPrimaria {
+
+    public static final String HEADER = "X-Ler-Primario";
+
+    // instante (epoch ms) até o qual as leituras do cliente ficam no primário
+    public static final String COOKIE = "ler-primario-ate";
+
+    private static final String LEMBRADA = LeituraPrimaria.class.getName() + ".lembrada";
+
+    private static final ThreadLocal<Boolean> FIXADA = new ThreadLocal<>();
+
+    private LeituraPrimaria() {
+    }
+
+    public static void fixar() {
+        FIXADA.set(Boolean.TRUE);
+    }
+
+    public static boolean fixada() {
+        return FIXADA.get() != null;
+    }
+
+    public static void limpar() {
+        FIXADA.remove();
+    }
+
+    /**
+     * Se a requisição pede leitura no primário: header {@link #HEADER} ou cookie
+     * {@link #COOKIE} ainda no prazo.
+     */
+    public static boolean pedida(HttpServletRequest request) {
+        if (Boolean.parseBoolean(request.getHeader(HEADER))) {
+            return true;
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Manda o cookie {@link #COOKIE} com o prazo {@code duracao} a partir de agora, uma vez
+     * por requisição. Chamado no início da transação de escrita, antes de a resposta sair.
+     */
+    public static void lembrar(ServletRequestAttributes requisicao, Duration duracao) {
+        HttpServletResponse response = requisicao.getResponse();
+        if (response == null || response.isCommitted()
+                || requisicao.getAttribute(LEMBRADA, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        requisicao.setAttribute(LEMBRADA, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + duracao.toMillis()));
+        cookie.setPath("/");
+        cookie.setMaxAge((int) Math.max(1, duracao.toSeconds() + 1));
+        cookie.setHttpOnly(true);
+        cookie.setAttribute("SameSite", "Lax");
+        response.addCookie(cookie);
+    }
+}
@@ -0,0 +1,33 @@
+package com.bancogvm.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Delimita a fixação de {@link LeituraPrimaria} ao ciclo da requisição. Fixa no
+ * primário quando o cliente escreveu há pouco (cookie {@code ler-primario-ate},
+ * posto pela escrita e devolvido pelo navegador sozinho) ou quando manda
+ * {@code X-Ler-Primario: true}, para clientes da API que não guardam cookies.
+ * Sem isso o GET logo após a escrita iria à réplica atrasada e a lista velha
+ * sairia com o ETag novo.
+ */
+public class LeituraPrimariaFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (LeituraPrimaria.pedida(request)) {
+            LeituraPrimaria.fixar();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            LeituraPrimaria.limpar();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.bancogvm.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de fichas por cliente e rota, sem trava: o estado de cada balde é um único long
+ * em AtomicLong, o instante teórico da próxima ficha (GCRA, equivalente ao balde de
+ * fichas). Cada ficha vale {@code 1/porSegundo} s; a requisição passa se o instante
+ * teórico não está mais que {@code capacidade - 1} fichas à frente do relógio, e um
+ * compareAndSet o empurra uma ficha adiante.
+ *
+ * Os baldes ficam num cache limitado (maximo-clientes) com expiração por ociosidade,
+ * então IPs e chaves que somem não se acumulam. Recarregar as regras zera os baldes.
+ */
+@Slf4j
+public class LimitadorRequisicoes {
+
+    /**
+     * Padrão e rotas em vigor, na forma de /actuator/cotas.
+     */
+    public record Cotas(RegraCota padrao, List<RegraCota> rotas) {
+    }
+
+    private record Compilada(RegraCota regra, PathPattern caminho, long intervaloNanos, long toleranciaNanos,
+                             Counter rejeitadas) {
+    }
+
+    private record Regras(Compilada padrao, List<Compilada> rotas) {
+    }
+
+    private static final Tags PADRAO = Tags.of("rota", "padrao", "metodo", "*");
+
+    private final MeterRegistry registry;
+    private final LongSupplier relogio;
+    private final Cache<String, AtomicLong> baldes;
+    private final MultiGauge limites;
+
+    private volatile Regras regras;
+
+    public LimitadorRequisicoes(CotasProperties props, MeterRegistry registry, LongSupplier relogioNanos) {
+        this.registry = registry;
+        this.relogio = relogioNanos;
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(props.getMaximoClientes())
+                .expireAfterAccess(props.getOciosidade())
+                .build();
+        this.limites = MultiGauge.builder("bancogvm.cotas.limite")
+                .description("Fichas por segundo de cada cota em vigor")
+                .register(registry);
+        Gauge.builder("bancogvm.cotas.clientes", baldes, Cache::estimatedSize)
+                .description("Baldes de cota em memória (cliente e rota)")
+                .register(registry);
+        recarregar(new Cotas(props.getPadrao(), props.getRotas()));
+    }
+
+    /**
+     * Consome uma ficha do cliente na rota do pedido.
+     *
+     * @return 0 se passou; senão quantos nanossegundos até a próxima ficha
+     */
+    public long adquirir(String cliente, String metodo, String caminho) {
+        Regras atuais = regras;
+        Compilada regra = atuais.padrao();
+        int indice = -1;
+        PathContainer path = PathContainer.parsePath(caminho);
+        for (int i = 0; i < atuais.rotas().size(); i++) {
+            Compilada rota = atuais.rotas().get(i);
+            if ((rota.regra().metodo() == null || rota.regra().metodo().equalsIgnoreCase(metodo))
+                    && rota.caminho().matches(path)) {
+                regra = rota;
+                indice = i;
+                break;
+            }
+        }
+        AtomicLong balde = baldes.get(indice + "|" + cliente, k -> new AtomicLong(Long.MIN_VALUE));
+        long agora = relogio.getAsLong();
+        while (true) {
+            long previsto = balde.get();
+            long inicio = Math.max(previsto, agora);
+            long espera = inicio - agora - regra.toleranciaNanos();
+            if (espera > 0) {
+                regra.rejeitadas().increment();
+                return espera;
+            }
+            if (balde.compareAndSet(previsto, inicio + regra.intervaloNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Troca padrão e rotas de uma vez; quem está no meio de uma requisição termina com as antigas.
+     *
+     * @throws IllegalArgumentException se alguma regra é inválida (nada muda)
+     */
+    public synchronized void recarregar(Cotas cotas) {
+        if (cotas == null || cotas.padrao() == null) {
+            throw new IllegalArgumentException("Cota padrão obrigatória");
+        }
+        Compilada padrao = compilar(new RegraCota(null, "/**", cotas.padrao().capacidade(), cotas.padrao().porSegundo()),
+                PADRAO);
+        List<Compilada> rotas = new ArrayList<>();
+        for (RegraCota r : cotas.rotas() != null ? cotas.rotas() : List.<RegraCota>of()) {
+            rotas.add(compilar(r, tags(r)));
+        }
+        regras = new Regras(padrao, List.copyOf(rotas));
+        baldes.invalidateAll();
+
+        List<MultiGauge.Row<?>> linhas = new ArrayList<>();
+        linhas.add(MultiGauge.Row.of(PADRAO, padrao.regra().porSegundo()));
+        for (Compilada c : rotas) {
+            linhas.add(MultiGauge.Row.of(tags(c.regra()), c.regra().porSegundo()));
+        }
+        limites.register(linhas, true);
+        log.info("Cotas em vigor: padrão {}/s (rajada {}), {} rotas",
+                padrao.regra().porSegundo(), padrao.regra().capacidade(), rotas.size());
+    }
+
+    public Cotas cotas() {
+        Regras atuais = regras;
+        RegraCota p = atuais.padrao().regra();
+        return new Cotas(new RegraCota(null, null, p.capacidade(), p.porSegundo()),
+                atuais.rotas().stream().map(Compilada::regra).toList());
+    }
+
+    private Compilada compilar(RegraCota r, Tags tags) {
+        if (r.padrao() == null || r.padrao().isBlank()) {
+            throw new IllegalArgumentException("Rota de cota sem padrão de caminho");
+        }
+        // nesses limites a tolerância (intervalo x capacidade) cabe num long de nanossegundos
+        if (r.capacidade() < 1 || r.capacidade() > 1_000_000 || !(r.porSegundo() >= 0.001)) {
+            throw new IllegalArgumentException("Cota inválida em " + r.padrao()
+                    + ": capacidade de 1 a 1.000.000 e porSegundo a partir de 0,001");
+        }
+        PathPattern caminho;
+        try {
+            caminho = PathPatternParser.defaultInstance.parse(r.padrao());
+        } catch (PatternParseException e) {
+            throw new IllegalArgumentException("Padrão de caminho inválido: " + r.padrao());
+        }
+        long intervalo = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / r.porSegundo()));
+        Counter rejeitadas = Counter.builder("bancogvm.cotas.rejeitadas")
+                .description("Requisições recusadas com 429 por falta de cota")
+                .tags(tags)
+                .register(registry);
+        return new Compilada(r, caminho, intervalo, intervalo * (r.capacidade() - 1L), rejeitadas);
+    }
+
+    private static Tags tags(RegraCota r) {
+        return Tags.of("rota", r.padrao(), "metodo", r.metodo() != null ? r.metodo().toUpperCase() : "*");
+    }
+}
@@ -0,0 +1,78 @@
+package com.bancogvm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica as cotas de {@link LimitadorRequisicoes} antes de qualquer outro filtro da API.
+ * O cliente é a chave de integração ({@code X-Api-Key}, se for uma das conhecidas) ou o
+ * IP. Sem ficha, responde 429 com {@code Retry-After} em segundos, sem chegar ao controller.
+ */
+public class LimitadorRequisicoesFilter extends OncePerRequestFilter {
+
+    private static final String ENCAMINHADO = "X-Forwarded-For";
+
+    private final LimitadorRequisicoes limitador;
+    private final CotasProperties props;
+    private final ObjectMapper json;
+
+    public LimitadorRequisicoesFilter(LimitadorRequisicoes limitador, CotasProperties props, ObjectMapper json) {
+        this.limitador = limitador;
+        this.props = props;
+        this.json = json;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !props.isHabilitado() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long espera = limitador.adquirir(cliente(request), request.getMethod(), request.getRequestURI());
+        if (espera == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Cota de requisições esgotada; tente de novo em " + segundos + " s");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        json.writeValue(response.getWriter(), body);
+    }
+
+    private String cliente(HttpServletRequest request) {
+        String chave = request.getHeader(props.getCabecalhoChave());
+        if (chave != null && props.getChavesConhecidas().contains(chave)) {
+            return "chave:" + chave;
+        }
+        if (props.isConfiarEncaminhado()) {
+            String encaminhado = request.getHeader(ENCAMINHADO);
+            if (encaminhado != null && !encaminhado.isBlank()) {
+                int virgula = encaminhado.indexOf(',');
+                return "ip:" + (virgula < 0 ? encaminhado : encaminhado.substring(0, virgula)).trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
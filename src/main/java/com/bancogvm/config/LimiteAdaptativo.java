@@ -0,0 +1,113 @@
+package com.bancogvm.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de requisições simultâneas que se ajusta pelo tempo de resposta (AIMD).
+ *
+ * O tempo de base é o menor observado na janela corrente. Resposta acima de
+ * {@code tolerancia} vezes a base, ou com erro, é sinal de fila no banco: o limite é
+ * multiplicado por {@code reducao}, no máximo uma vez por tempo de resposta, para uma
+ * rajada de lentas não derrubar o limite de uma vez. Resposta rápida com o limite em uso
+ * (ao menos metade ocupada) soma {@code 1/limite}, cerca de uma vaga a mais por rodada.
+ * Ao fim da janela a base recomeça da amostra atual: se o banco ficou mais lento de vez,
+ * o limite volta a subir a partir do novo patamar.
+ *
+ * Entrar é um compareAndSet no contador; só a atualização do limite sincroniza.
+ */
+public class LimiteAdaptativo {
+
+    /**
+     * Vaga ocupada e o instante de entrada. O relógio em nanos tem origem arbitrária e
+     * pode ser negativo: nenhum valor dele serve para dizer "sem vaga".
+     */
+    public record Vaga(long entrada) {
+    }
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final double reducao;
+    private final long janelaBaseNanos;
+    private final LongSupplier relogio;
+
+    private volatile double limite;
+
+    // protegidos por this
+    private long base = Long.MAX_VALUE;
+    private long baseDesde;
+    private long ultimaReducao;
+
+    public LimiteAdaptativo(ConcorrenciaProperties props, LongSupplier relogioNanos) {
+        if (props.getMinimo() < 1 || props.getMaximo() < props.getMinimo()) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos: " + props.getMinimo() + " a " + props.getMaximo());
+        }
+        this.minimo = props.getMinimo();
+        this.maximo = props.getMaximo();
+        this.tolerancia = props.getTolerancia();
+        this.reducao = props.getReducao();
+        this.janelaBaseNanos = props.getJanelaBase().toNanos();
+        this.relogio = relogioNanos;
+        this.limite = Math.max(minimo, Math.min(maximo, props.getLimiteInicial()));
+        this.baseDesde = relogioNanos.getAsLong();
+        this.ultimaReducao = baseDesde - janelaBaseNanos;
+    }
+
+    /**
+     * Ocupa uma vaga se houver, dentro de {@code fracao} do limite atual.
+     *
+     * @return a vaga, para {@link #liberar}, ou null se não há
+     */
+    public Vaga adquirir(double fracao) {
+        int vagas = Math.max(1, (int) (limite * fracao));
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= vagas) {
+                return null;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return new Vaga(relogio.getAsLong());
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga. Com {@code medir}, o tempo desde a entrada ajusta o limite.
+     *
+     * @param falhou resposta 5xx ou exceção: conta como sobrecarga qualquer que seja o tempo
+     */
+    public void liberar(Vaga vaga, boolean medir, boolean falhou) {
+        int ocupadas = emAndamento.getAndDecrement();
+        if (!medir) {
+            return;
+        }
+        long agora = relogio.getAsLong();
+        long tempo = Math.max(1, agora - vaga.entrada());
+        synchronized (this) {
+            if (agora - baseDesde > janelaBaseNanos) {
+                base = tempo;
+                baseDesde = agora;
+            } else if (!falhou) {
+                base = Math.min(base, tempo);
+            }
+            if (falhou || tempo > base * tolerancia) {
+                if (agora - ultimaReducao >= tempo) {
+                    limite = Math.max(minimo, limite * reducao);
+                    ultimaReducao = agora;
+                }
+            } else if (ocupadas * 2 >= limite) {
+                limite = Math.min(maximo, limite + 1 / limite);
+            }
+        }
+    }
+
+    public double getLimite() {
+        return limite;
+    }
+
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+}
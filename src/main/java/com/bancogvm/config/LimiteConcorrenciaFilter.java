@@ -0,0 +1,106 @@
+package com.bancogvm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Põe as escritas da API atrás do {@link LimiteAdaptativo}. Sem vaga, responde 503 na
+ * hora em vez de deixar a thread do Tomcat esperando conexão do pool atrás das outras.
+ *
+ * Leituras (GET, HEAD, OPTIONS) não passam pelo limite: continuam respondendo quando as
+ * escritas estão sendo recusadas. Operações em lote ficam com no máximo
+ * {@code fracao-lote} do limite e são as primeiras a ser recusadas; por serem longas por
+ * natureza, não entram na medição que ajusta o limite.
+ */
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private final LimiteAdaptativo limite;
+    private final ConcorrenciaProperties props;
+    private final ObjectMapper json;
+    private final List<PathPattern> lote;
+    private final Counter rejeitadasEscrita;
+    private final Counter rejeitadasLote;
+
+    public LimiteConcorrenciaFilter(LimiteAdaptativo limite, ConcorrenciaProperties props, ObjectMapper json,
+                                    MeterRegistry registry) {
+        this.limite = limite;
+        this.props = props;
+        this.json = json;
+        this.lote = props.getLote().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        Gauge.builder("bancogvm.concorrencia.limite", limite, LimiteAdaptativo::getLimite)
+                .description("Escritas simultâneas admitidas agora")
+                .register(registry);
+        Gauge.builder("bancogvm.concorrencia.em.andamento", limite, LimiteAdaptativo::getEmAndamento)
+                .description("Escritas em andamento")
+                .register(registry);
+        this.rejeitadasEscrita = rejeitadas(registry, "escrita");
+        this.rejeitadasLote = rejeitadas(registry, "lote");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        return !props.isHabilitado()
+                || !request.getRequestURI().startsWith("/api/")
+                || "GET".equals(metodo) || "HEAD".equals(metodo) || "OPTIONS".equals(metodo);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PathContainer caminho = PathContainer.parsePath(request.getRequestURI());
+        boolean emLote = lote.stream().anyMatch(p -> p.matches(caminho));
+        LimiteAdaptativo.Vaga vaga = limite.adquirir(emLote ? props.getFracaoLote() : 1.0);
+        if (vaga == null) {
+            (emLote ? rejeitadasLote : rejeitadasEscrita).increment();
+            recusar(response);
+            return;
+        }
+        boolean falhou = true;
+        try {
+            chain.doFilter(request, response);
+            falhou = response.getStatus() >= 500;
+        } finally {
+            limite.liberar(vaga, !emLote, falhou);
+        }
+    }
+
+    private void recusar(HttpServletResponse response) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", "Serviço sobrecarregado; tente de novo em instantes");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        json.writeValue(response.getWriter(), body);
+    }
+
+    private static Counter rejeitadas(MeterRegistry registry, String classe) {
+        return Counter.builder("bancogvm.concorrencia.rejeitadas")
+                .description("Escritas recusadas com 503 por falta de vaga")
+                .tag("classe", classe)
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limites de frequência e de valor acumulado por conta (LimitesVelocidade). Valem
+ * separadamente para saques e para transferências (internas e externas) de cada conta.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.limites")
+public class LimitesVelocidadeProperties {
+
+    // desligado, registrar não confere nem conta nada
+    private boolean habilitado = true;
+
+    // lançamentos por conta e categoria em cada janela deslizante
+    private int maximoPorMinuto = 10;
+    private int maximoPorHora = 100;
+    private int maximoPorDia = 500;
+
+    // limiteSaque/limiteTransferencia do cartão de débito são relidos depois disso (outro nó pode ter emitido um cartão)
+    private Duration validadeCartoes = Duration.ofMinutes(1);
+
+    // intervalo da varredura que tira do mapa as contas sem lançamento no último dia
+    private long limpezaMs = 600_000;
+}
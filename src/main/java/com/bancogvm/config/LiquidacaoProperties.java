@@ -0,0 +1,28 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Janelas de liquidação das transferências externas (LiquidacaoInterbancaria).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.liquidacao")
+public class LiquidacaoProperties {
+
+    // desligado, as janelas só fecham quando fecharJanela()/enviarGeradas() são chamados à mão
+    private boolean habilitado;
+
+    // duração da janela: tudo o que ficou pendente nesse intervalo sai numa mensagem por banco
+    private long intervaloMs = 60_000;
+
+    // transferências lidas por vez no fechamento; acima disso a janela gera mais de uma mensagem por banco
+    private int lote = 100_000;
+
+    // onde o substituto local da câmara (CamaraCompensacaoArquivo) grava as mensagens
+    private Path diretorio = Path.of("dados", "liquidacao");
+}
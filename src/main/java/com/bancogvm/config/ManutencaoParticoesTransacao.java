@@ -0,0 +1,124 @@
+package com.bancogvm.config;
+
+import com.bancogvm.service.VersaoRecursos;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Mantém as partições mensais de {@code transacao}: cria as dos próximos meses
+ * antes que sejam necessárias e desanexa as mais antigas que a retenção,
+ * movendo-as para o esquema de arquivo (continuam consultáveis, fora da tabela quente).
+ *
+ * Roda na subida e uma vez por dia. Partições são nomeadas transacao_pAAAAMM
+ * e cobrem [dia 1 00:00 UTC, dia 1 do mês seguinte).
+ */
+@Slf4j
+public class ManutencaoParticoesTransacao {
+
+    static final String PREFIXO = "transacao_p";
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern IDENTIFICADOR = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbc;
+    private final ParticoesTransacaoProperties props;
+    private final VersaoRecursos versoes;
+    private final Clock relogio;
+
+    public ManutencaoParticoesTransacao(JdbcTemplate jdbc, ParticoesTransacaoProperties props,
+                                        VersaoRecursos versoes, Clock relogio) {
+        // o nome do esquema entra direto no DDL
+        if (!IDENTIFICADOR.matcher(props.getEsquemaArquivo()).matches()) {
+            throw new IllegalArgumentException("Esquema de arquivo inválido: " + props.getEsquemaArquivo());
+        }
+        this.jdbc = jdbc;
+        this.props = props;
+        this.versoes = versoes;
+        this.relogio = relogio;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        executar();
+    }
+
+    @Scheduled(cron = "${bancogvm.particoes.cron:0 15 3 * * *}", zone = "UTC")
+    public void executar() {
+        YearMonth atual = YearMonth.now(relogio.withZone(ZoneOffset.UTC));
+        criarFuturas(atual);
+        arquivarAntigas(atual);
+    }
+
+    void criarFuturas(YearMonth atual) {
+        for (int i = 0; i <= props.getMesesFuturos(); i++) {
+            YearMonth mes = atual.plusMonths(i);
+            try {
+                jdbc.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF transacao FOR VALUES FROM ('%s') TO ('%s')",
+                        nome(mes), limite(mes), limite(mes.plusMonths(1))));
+            } catch (DataAccessException e) {
+                // ex.: a partição padrão já recebeu linhas desse mês; precisa de intervenção manual
+                log.warn("Não foi possível criar a partição {}: {}", nome(mes), e.getMessage());
+            }
+        }
+    }
+
+    void arquivarAntigas(YearMonth atual) {
+        YearMonth corte = atual.minusMonths(props.getRetencaoMeses());
+        List<String> particoes = jdbc.queryForList("""
+                select c.relname from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = 'transacao'::regclass""", String.class);
+
+        int arquivadas = 0;
+        for (String particao : particoes) {
+            YearMonth mes = mesDa(particao);
+            if (mes == null || !mes.isBefore(corte)) {
+                continue;
+            }
+            if (arquivadas == 0) {
+                jdbc.execute("CREATE SCHEMA IF NOT EXISTS " + props.getEsquemaArquivo());
+            }
+            // DETACH ... CONCURRENTLY não é permitido com partição padrão: trava curta na tabela mãe
+            jdbc.execute("ALTER TABLE transacao DETACH PARTITION " + particao);
+            jdbc.execute("ALTER TABLE " + particao + " SET SCHEMA " + props.getEsquemaArquivo());
+            log.info("Partição {} arquivada em {}", particao, props.getEsquemaArquivo());
+            arquivadas++;
+        }
+        if (arquivadas > 0) {
+            // as linhas somem das listagens e do extrato
+            versoes.incrementar(VersaoRecursos.TRANSACOES);
+        }
+    }
+
+    static String nome(YearMonth mes) {
+        return PREFIXO + SUFIXO.format(mes);
+    }
+
+    // null para partições fora do padrão (ex.: transacao_padrao)
+    static YearMonth mesDa(String particao) {
+        if (!particao.startsWith(PREFIXO)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(particao.substring(PREFIXO.length()), SUFIXO);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String limite(YearMonth mes) {
+        return mes.atDay(1) + " 00:00:00+00";
+    }
+}
@@ -0,0 +1,76 @@
+package com.bancogvm.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contadores de SQL da requisição corrente (thread-local): comandos
+ * preparados, entidades carregadas e tempo gasto executando no banco.
+ * Alimentado pelo {@link MedicaoSqlInspector} e pelo {@link MedicaoSqlSessionListener};
+ * fora de uma requisição HTTP não há medição ativa e os eventos são ignorados.
+ */
+public final class MedicaoSql {
+
+    private static final ThreadLocal<MedicaoSql> ATUAL = new ThreadLocal<>();
+
+    private int comandos;
+    private long entidades;
+    private long tempoNanos;
+    private final Map<String, Integer> porComando = new HashMap<>();
+
+    private MedicaoSql() {
+    }
+
+    public static MedicaoSql iniciar() {
+        MedicaoSql medicao = new MedicaoSql();
+        ATUAL.set(medicao);
+        return medicao;
+    }
+
+    public static MedicaoSql atual() {
+        return ATUAL.get();
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    void comando(String sql) {
+        comandos++;
+        porComando.merge(sql, 1, Integer::sum);
+    }
+
+    void entidadeCarregada() {
+        entidades++;
+    }
+
+    void tempo(long nanos) {
+        tempoNanos += nanos;
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public long getEntidades() {
+        return entidades;
+    }
+
+    public long getTempoNanos() {
+        return tempoNanos;
+    }
+
+    /**
+     * Comandos idênticos executados pelo menos {@code minimo} vezes: o sinal típico de N+1.
+     */
+    public Map<String, Integer> repetidos(int minimo) {
+        Map<String, Integer> suspeitos = new LinkedHashMap<>();
+        porComando.forEach((sql, vezes) -> {
+            if (vezes >= minimo) {
+                suspeitos.put(sql, vezes);
+            }
+        });
+        return suspeitos;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bancogvm.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instrumentação de SQL por requisição (substitui o show-sql em produção).
+ */
+@Configuration
+@EnableConfigurationProperties(MedicaoSqlProperties.class)
+public class MedicaoSqlConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer medicaoSqlHibernate() {
+        return props -> {
+            props.put(AvailableSettings.STATEMENT_INSPECTOR, new MedicaoSqlInspector());
+            props.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, MedicaoSqlSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public InitializingBean medicaoSqlEntidades(EntityManagerFactory emf) {
+        return () -> emf.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+                    MedicaoSql medicao = MedicaoSql.atual();
+                    if (medicao != null) {
+                        medicao.entidadeCarregada();
+                    }
+                });
+    }
+
+    @Bean
+    public FilterRegistrationBean<MedicaoSqlFilter> medicaoSqlFilter(MedicaoSqlProperties props, MeterRegistry registry) {
+        return new FilterRegistrationBean<>(new MedicaoSqlFilter(props, registry));
+    }
+}
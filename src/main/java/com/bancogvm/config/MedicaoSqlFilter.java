@@ -0,0 +1,91 @@
+package com.bancogvm.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abre uma {@link MedicaoSql} por requisição da API e, ao final, publica
+ * comandos/entidades/tempo de banco como métricas e, com {@code bancogvm.sql.cabecalhos}
+ * (teste e perfil dev), como cabeçalhos ({@code X-Sql-Comandos}, {@code X-Sql-Entidades},
+ * {@code X-Sql-Tempo-Ms}).
+ * Só requisições acima do orçamento vão para o log, com os comandos repetidos.
+ */
+@Slf4j
+public class MedicaoSqlFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_COMANDOS = "X-Sql-Comandos";
+    public static final String HEADER_ENTIDADES = "X-Sql-Entidades";
+    public static final String HEADER_TEMPO = "X-Sql-Tempo-Ms";
+
+    private final MedicaoSqlProperties props;
+    private final MeterRegistry registry;
+
+    public MedicaoSqlFilter(MedicaoSqlProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // o stream SSE não pode ser bufferizado e não tem fim para medir
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") || uri.startsWith("/api/eventos");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        MedicaoSql medicao = MedicaoSql.iniciar();
+        ContentCachingResponseWrapper buffer = props.isCabecalhos() ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffer != null ? buffer : response);
+        } finally {
+            MedicaoSql.encerrar();
+            registrar(request, medicao);
+            if (buffer != null) {
+                buffer.setHeader(HEADER_COMANDOS, String.valueOf(medicao.getComandos()));
+                buffer.setHeader(HEADER_ENTIDADES, String.valueOf(medicao.getEntidades()));
+                buffer.setHeader(HEADER_TEMPO, String.valueOf(TimeUnit.NANOSECONDS.toMillis(medicao.getTempoNanos())));
+                buffer.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, MedicaoSql medicao) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+        String metodo = request.getMethod();
+
+        DistributionSummary.builder("bancogvm.sql.comandos")
+                .description("Comandos SQL por requisição")
+                .tags("uri", uri, "method", metodo)
+                .register(registry)
+                .record(medicao.getComandos());
+        Timer.builder("bancogvm.sql.tempo")
+                .description("Tempo de execução no banco por requisição")
+                .tags("uri", uri, "method", metodo)
+                .register(registry)
+                .record(medicao.getTempoNanos(), TimeUnit.NANOSECONDS);
+
+        if (medicao.getComandos() > props.getOrcamentoComandos()) {
+            Map<String, Integer> repetidos = medicao.repetidos(props.getRepeticoesSuspeitas());
+            log.warn("Orçamento de SQL excedido em {} {}: {} comandos, {} entidades, {} ms no banco{}",
+                    metodo, uri, medicao.getComandos(), medicao.getEntidades(),
+                    TimeUnit.NANOSECONDS.toMillis(medicao.getTempoNanos()),
+                    repetidos.isEmpty() ? "" : "; possível N+1: " + repetidos);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bancogvm.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta cada comando SQL que o Hibernate prepara na requisição corrente.
+ * Não altera o SQL.
+ */
+public class MedicaoSqlInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        MedicaoSql medicao = MedicaoSql.atual();
+        if (medicao != null) {
+            medicao.comando(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.sql")
+public class MedicaoSqlProperties {
+
+    // requisições acima deste número de comandos são registradas em log
+    private int orcamentoComandos = 20;
+
+    // mesmo comando repetido este número de vezes na requisição é reportado como suspeita de N+1
+    private int repeticoesSuspeitas = 5;
+
+    // publica X-Sql-* na resposta; exige bufferizar o corpo até o fim da requisição e expõe
+    // detalhes do banco a qualquer cliente: só em teste e desenvolvimento (perfil dev)
+    private boolean cabecalhos = false;
+}
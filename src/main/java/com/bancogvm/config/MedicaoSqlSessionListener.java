@@ -0,0 +1,40 @@
+package com.bancogvm.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mede o tempo de execução JDBC (comandos e lotes) de cada sessão Hibernate e
+ * soma na medição da requisição. Instanciado pelo Hibernate a cada sessão.
+ */
+public class MedicaoSqlSessionListener implements SessionEventListener {
+
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        acumular();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        acumular();
+    }
+
+    private void acumular() {
+        MedicaoSql medicao = MedicaoSql.atual();
+        if (medicao != null && inicio != 0) {
+            medicao.tempo(System.nanoTime() - inicio);
+        }
+        inicio = 0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.bancogvm.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Mede periodicamente o atraso de replicação e diz se a réplica ainda está
+ * dentro da tolerância configurada. Falha ao medir = réplica fora de uso.
+ */
+@Slf4j
+public class MonitorReplica {
+
+    private final JdbcTemplate replica;
+    private final ReplicaProperties props;
+    private volatile double atrasoSegundos;
+    private volatile boolean disponivel = true;
+
+    public MonitorReplica(DataSource replica, ReplicaProperties props) {
+        this.replica = new JdbcTemplate(replica);
+        this.props = props;
+    }
+
+    @Scheduled(fixedDelayString = "${bancogvm.datasource.replica.intervalo-verificacao-ms:2000}")
+    public void verificar() {
+        if (props.getLagQuery() == null || props.getLagQuery().isBlank()) {
+            atrasoSegundos = 0;
+            disponivel = true;
+            return;
+        }
+        try {
+            Double atraso = replica.queryForObject(props.getLagQuery(), Double.class);
+            atrasoSegundos = atraso != null ? atraso : 0;
+            disponivel = true;
+        } catch (Exception e) {
+            if (disponivel) {
+                log.warn("Réplica indisponível, leituras seguem para o primário: {}", e.getMessage());
+            }
+            disponivel = false;
+        }
+    }
+
+    public boolean emDia() {
+        return disponivel && atrasoSegundos * 1000 <= props.getMaxLag().toMillis();
+    }
+
+    public double getAtrasoSegundos() {
+        return atrasoSegundos;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bancogvm.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Põe o método de controller (ou o controller inteiro) num compartimento diferente do
+ * padrão pelo método HTTP. Uso típico: {@code @NoCompartimento(Compartimento.RELATORIO)}
+ * nas listagens e extratos que varrem muitas linhas, {@code LOTE} nas cargas em massa.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NoCompartimento {
+
+    Compartimento value();
+}
@@ -0,0 +1,37 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Relay do outbox transacional (RelayOutbox) e projeções alimentadas por ele.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.outbox")
+public class OutboxProperties {
+
+    // desligado, o outbox continua sendo gravado e drenar() pode ser chamado à mão
+    private boolean habilitado;
+
+    private long intervaloMs = 500;
+
+    // eventos por transação de projeção
+    private int lote = 500;
+
+    // quanto esperar por um id que falta antes de concluir que foi rollback e pular
+    private Duration esperaLacuna = Duration.ofSeconds(10);
+
+    // identifica o nó no checkpoint das projeções em memória (atividade recente). Vazio: pid@host
+    private String no = "";
+
+    // checkpoint de projeção em memória parado há mais que isto é de um nó que saiu: deixa de segurar a poda
+    private Duration vidaNo = Duration.ofMinutes(1);
+
+    // transações concluídas a partir deste valor geram alerta
+    private BigDecimal alertaValorMinimo = new BigDecimal("10000.00");
+}
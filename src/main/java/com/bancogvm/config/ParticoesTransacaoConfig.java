@@ -0,0 +1,27 @@
+package com.bancogvm.config;
+
+import com.bancogvm.service.VersaoRecursos;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+
+/**
+ * Liga a {@link ManutencaoParticoesTransacao} quando {@code bancogvm.particoes.habilitado=true}.
+ * A conversão da tabela para particionada fica em db/schema-postgresql.sql.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bancogvm.particoes", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(ParticoesTransacaoProperties.class)
+public class ParticoesTransacaoConfig {
+
+    @Bean
+    public ManutencaoParticoesTransacao manutencaoParticoesTransacao(JdbcTemplate jdbc,
+                                                                     ParticoesTransacaoProperties props,
+                                                                     VersaoRecursos versoes) {
+        return new ManutencaoParticoesTransacao(jdbc, props, versoes, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,25 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Manutenção das partições mensais de {@code transacao} (PostgreSQL).
+ * Desligada nos testes: o H2 não tem particionamento declarativo.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.particoes")
+public class ParticoesTransacaoProperties {
+
+    private boolean habilitado;
+
+    // partições criadas à frente do mês corrente; um lançamento nunca deve cair na partição padrão
+    private int mesesFuturos = 3;
+
+    // meses mantidos na tabela quente; os anteriores são desanexados para o esquema de arquivo
+    private int retencaoMeses = 24;
+
+    private String esquemaArquivo = "arquivo";
+}
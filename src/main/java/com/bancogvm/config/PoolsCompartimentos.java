@@ -0,0 +1,58 @@
+package com.bancogvm.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Monta o pool de um banco a partir das propriedades Hikari dele: um pool só ou, com
+ * {@code pools-separados}, um por compartimento com {@code conexoes} do compartimento
+ * como tamanho e nome {@code <pool>-<compartimento>} (tag {@code pool} das métricas hikaricp).
+ *
+ * Os pools separados não são beans; as métricas hikaricp são ligadas aqui.
+ */
+public class PoolsCompartimentos {
+
+    private final CompartimentosProperties props;
+    private final Environment ambiente;
+    private final MeterRegistry registry;
+
+    public PoolsCompartimentos(CompartimentosProperties props, Environment ambiente, MeterRegistry registry) {
+        this.props = props;
+        this.ambiente = ambiente;
+        this.registry = registry;
+    }
+
+    /**
+     * @param base   url, usuário e driver já preenchidos
+     * @param prefixo propriedades Hikari do banco, ex.: {@code spring.datasource.hikari}
+     */
+    public DataSource criar(HikariDataSource base, String prefixo) {
+        Binder.get(ambiente).bind(prefixo, Bindable.ofInstance(base));
+        if (!props.isPoolsSeparados()) {
+            return base;
+        }
+        String nome = base.getPoolName() != null ? base.getPoolName() : "bancogvm";
+        Map<Compartimento, HikariDataSource> pools = new EnumMap<>(Compartimento.class);
+        for (Compartimento compartimento : Compartimento.values()) {
+            HikariConfig config = new HikariConfig();
+            base.copyStateTo(config);
+            config.setPoolName(nome + "-" + compartimento.tag());
+            config.setMaximumPoolSize(props.limites(compartimento).getConexoes());
+            if (config.getMinimumIdle() > config.getMaximumPoolSize()) {
+                config.setMinimumIdle(config.getMaximumPoolSize());
+            }
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            pools.put(compartimento, new HikariDataSource(config));
+        }
+        return new CompartimentosDataSource(pools);
+    }
+}
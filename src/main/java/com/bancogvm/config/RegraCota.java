@@ -0,0 +1,9 @@
+package com.bancogvm.config;
+
+/**
+ * Cota de requisições por cliente: rajada de até {@code capacidade} e reposição de
+ * {@code porSegundo} fichas por segundo. Numa rota, {@code metodo} nulo vale para todos
+ * e {@code padrao} segue a sintaxe de caminhos do Spring MVC ({@code /api/contas/{id}}, {@code /api/**}).
+ */
+public record RegraCota(String metodo, String padrao, int capacidade, double porSegundo) {
+}
@@ -0,0 +1,34 @@
+package com.bancogvm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réplica de leitura usada por métodos {@code @Transactional(readOnly = true)}.
+ * Só é ativada quando {@code bancogvm.datasource.replica.url} está definida.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bancogvm.datasource.replica")
+public class ReplicaProperties {
+
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+
+    // acima deste atraso as leituras voltam para o primário
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // atraso em segundos; vazio = réplica considerada sempre em dia (ex.: H2 local)
+    private String lagQuery = """
+            select case
+                     when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                     else extract(epoch from now() - pg_last_xact_replay_timestamp())
+                   end""";
+
+    private long intervaloVerificacaoMs = 2000;
+}
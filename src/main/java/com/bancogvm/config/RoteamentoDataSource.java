@@ -0,0 +1,65 @@
+package com.bancogvm.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escolhe o pool pela transação corrente: {@code readOnly = true} vai para a
+ * réplica, a menos que a leitura esteja fixada no primário ou a réplica esteja
+ * atrasada demais. Uma transação de escrita dentro de uma requisição fixa o
+ * restante dela no primário (read-your-writes) e, por cookie, as requisições
+ * seguintes do cliente durante {@code fixacao}.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    private enum Destino { PRIMARIO, REPLICA }
+
+    private final MonitorReplica monitor;
+    private final Duration fixacao;
+    private final AtomicLong leiturasReplica = new AtomicLong();
+    private final AtomicLong leiturasDesviadas = new AtomicLong();
+
+    /**
+     * @param fixacao quanto as leituras do cliente ficam no primário depois de uma escrita:
+     *                o atraso máximo aceito na réplica mais o intervalo entre medições
+     */
+    public RoteamentoDataSource(DataSource primario, DataSource replica, MonitorReplica monitor, Duration fixacao) {
+        this.monitor = monitor;
+        this.fixacao = fixacao;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requisicao) {
+                LeituraPrimaria.fixar();
+                LeituraPrimaria.lembrar(requisicao, fixacao);
+            }
+            return Destino.PRIMARIO;
+        }
+        if (LeituraPrimaria.fixada() || !monitor.emDia()) {
+            leiturasDesviadas.incrementAndGet();
+            return Destino.PRIMARIO;
+        }
+        leiturasReplica.incrementAndGet();
+        return Destino.REPLICA;
+    }
+
+    public long getLeiturasReplica() {
+        return leiturasReplica.get();
+    }
+
+    public long getLeiturasDesviadas() {
+        return leiturasDesviadas.get();
+    }
+}
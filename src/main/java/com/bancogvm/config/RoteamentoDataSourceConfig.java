@@ -0,0 +1,85 @@
+package com.bancogvm.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Roteamento leitura/escrita: transações {@code readOnly = true} vão para a
+ * réplica, o resto para o primário ({@code spring.datasource}).
+ *
+ * O {@link LazyConnectionDataSourceProxy} só pega a conexão física no primeiro
+ * comando, quando o Spring já registrou se a transação é read-only; é isso
+ * que permite escolher o pool pela transação. Para o mesmo motivo valer com
+ * open-in-view, o Hibernate devolve a conexão ao fim de cada transação.
+ *
+ * Teste local com duas instâncias: ver application-replica.yml.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bancogvm.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class RoteamentoDataSourceConfig {
+
+    // um pool por compartimento, se separados (CompartimentosConfig); a réplica fica com pool único
+    @Bean
+    public DataSource primarioDataSource(DataSourceProperties props, PoolsCompartimentos pools) {
+        return pools.criar(props.initializeDataSourceBuilder().type(HikariDataSource.class).build(),
+                "spring.datasource.hikari");
+    }
+
+    @Bean
+    @ConfigurationProperties("bancogvm.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaProperties props) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(props.getUrl())
+                .username(props.getUsername())
+                .password(props.getPassword())
+                .driverClassName(props.getDriverClassName())
+                .build();
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(@Qualifier("replicaDataSource") DataSource replica, ReplicaProperties props) {
+        return new MonitorReplica(replica, props);
+    }
+
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(@Qualifier("primarioDataSource") DataSource primario,
+                                                     @Qualifier("replicaDataSource") DataSource replica,
+                                                     MonitorReplica monitor, ReplicaProperties props) {
+        return new RoteamentoDataSource(primario, replica, monitor,
+                props.getMaxLag().plusMillis(props.getIntervaloVerificacaoMs()));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamento) {
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAoFimDaTransacao() {
+        return props -> props.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LeituraPrimariaFilter> leituraPrimariaFilter() {
+        return new FilterRegistrationBean<>(new LeituraPrimariaFilter());
+    }
+}
@@ -0,0 +1,67 @@
+package com.bancogvm.controller;
+
+import com.bancogvm.controller.model.AgendamentoRequest;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.service.AgendamentoService;
+import com.bancogvm.service.model.AgendamentoTransferenciaEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/agendamentos")
+@AllArgsConstructor
+public class AgendamentoController {
+
+    private final AgendamentoService service;
+    private final ContaRepository contaRepo;
+
+    /**
+     * Agenda uma TRANSFERENCIA entre contas correntes para {@code dataExecucao}.
+     * O saldo só é conferido na execução; sem saldo, o agendamento termina FALHOU.
+     */
+    @PostMapping
+    public ResponseEntity<AgendamentoTransferenciaEntity> agendar(@RequestBody AgendamentoRequest req) {
+        if (req.getContaOrigemId() == null || req.getContaDestinoId() == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "campos contaOrigemId e contaDestinoId são obrigatórios");
+        }
+        AgendamentoTransferenciaEntity a = AgendamentoTransferenciaEntity.builder()
+                .contaOrigem(corrente(req.getContaOrigemId(), "Conta origem não encontrada"))
+                .contaDestino(corrente(req.getContaDestinoId(), "Conta destino não encontrada"))
+                .valor(req.getValor())
+                .descricao(req.getDescricao())
+                .dataExecucao(req.getDataExecucao())
+                .build();
+        return ResponseEntity.ok(service.agendar(a));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AgendamentoTransferenciaEntity>> porConta(@RequestParam Long contaId) {
+        return ResponseEntity.ok(service.listarPorConta(contaId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AgendamentoTransferenciaEntity> porId(@PathVariable Long id) {
+        return ResponseEntity.ok(service.buscarPorId(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<AgendamentoTransferenciaEntity> cancelar(@PathVariable Long id) {
+        return ResponseEntity.ok(service.cancelar(id));
+    }
+
+    private ContaCorrenteEntity corrente(Long id, String naoEncontrada) {
+        ContaEntity conta = contaRepo.findById(id).orElseThrow(() -> new RuntimeException(naoEncontrada));
+        if (!(conta instanceof ContaCorrenteEntity corrente)) {
+            throw new IllegalArgumentException("Agendamento só entre contas correntes");
+        }
+        return corrente;
+    }
+}
@@ -1,12 +1,16 @@
 package com.bancogvm.controller;
 
+import com.bancogvm.config.Compartimento;
+import com.bancogvm.config.NoCompartimento;
 import com.bancogvm.service.CartaoService;
+import com.bancogvm.service.VersaoRecursos;
 import com.bancogvm.service.model.CartaoCreditoEntity;
 import com.bancogvm.service.model.CartaoDebitoEntity;
 import com.bancogvm.service.model.CartaoEntity;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +20,7 @@ import java.util.List;
 public class CartaoController {
 
     private final CartaoService service;
+    private final VersaoRecursos versoes;
 
     @PostMapping("/credito")
     public ResponseEntity<CartaoCreditoEntity> criarCredito(@RequestBody CartaoCreditoEntity cc) {
@@ -27,8 +32,12 @@ public class CartaoController {
         return ResponseEntity.ok(service.emitirDebito(cd));
     }
 
+    @NoCompartimento(Compartimento.RELATORIO)
     @GetMapping
-    public ResponseEntity<List<CartaoEntity>> listar() {
+    public ResponseEntity<List<CartaoEntity>> listar(WebRequest request) {
+        if (request.checkNotModified(versoes.etag(VersaoRecursos.CARTOES, VersaoRecursos.CONTAS))) {
+            return null;
+        }
         return ResponseEntity.ok(service.listarTodos());
     }
 
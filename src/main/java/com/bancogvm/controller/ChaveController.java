@@ -0,0 +1,85 @@
+package com.bancogvm.controller;
+
+import com.bancogvm.controller.model.ChaveRequest;
+import com.bancogvm.controller.model.TransferenciaChaveRequest;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.service.BeneficiarioService;
+import com.bancogvm.service.ChaveService;
+import com.bancogvm.service.ClienteService;
+import com.bancogvm.service.chave.ChaveResolvida;
+import com.bancogvm.service.model.ChaveEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.TipoChave;
+import com.bancogvm.service.model.TransacaoEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@AllArgsConstructor
+public class ChaveController {
+
+    private final ChaveService service;
+    private final ClienteService clienteService;
+    private final BeneficiarioService beneficiarioService;
+    private final ContaRepository contaRepo;
+
+    @PostMapping("/chaves")
+    public ResponseEntity<ChaveEntity> registrar(@RequestBody ChaveRequest req) {
+        if (req.getContaId() == null || req.getClienteId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "campos contaId e clienteId são obrigatórios");
+        }
+        return ResponseEntity.ok(service.registrar(TipoChave.de(req.getTipoChave()),
+                corrente(req.getContaId(), "Conta não encontrada"), clienteService.buscarPorId(req.getClienteId())));
+    }
+
+    @GetMapping("/chaves")
+    public ResponseEntity<List<ChaveEntity>> porConta(@RequestParam Long contaId) {
+        return ResponseEntity.ok(service.listarPorConta(contaId));
+    }
+
+    @DeleteMapping("/chaves/{id}")
+    public ResponseEntity<ChaveEntity> remover(@PathVariable Long id) {
+        return ResponseEntity.ok(service.remover(id));
+    }
+
+    /**
+     * Resolve pelo índice em memória, sem banco. Chave ausente é resposta comum aqui:
+     * 404 direto, sem exceção.
+     */
+    @GetMapping("/chaves/resolver")
+    public ResponseEntity<ChaveResolvida> resolver(@RequestParam String chave) {
+        return service.resolver(chave)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/transferencias-chave")
+    public ResponseEntity<TransacaoEntity> transferir(@RequestBody TransferenciaChaveRequest req) {
+        boolean porChave = req.getChave() != null && !req.getChave().isBlank();
+        if (req.getContaOrigemId() == null || porChave == (req.getBeneficiarioId() != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "campo contaOrigemId e um entre chave e beneficiarioId são obrigatórios");
+        }
+        ContaCorrenteEntity origem = corrente(req.getContaOrigemId(), "Conta origem não encontrada");
+        TransacaoEntity t = porChave
+                ? service.transferir(origem, req.getChave(), req.getValor(), req.getDescricao())
+                : service.transferirParaBeneficiario(origem, beneficiarioService.buscarPorId(req.getBeneficiarioId()),
+                        req.getValor(), req.getDescricao());
+        return ResponseEntity.ok(t);
+    }
+
+    private ContaCorrenteEntity corrente(Long id, String naoEncontrada) {
+        ContaEntity conta = contaRepo.findById(id).orElseThrow(() -> new RuntimeException(naoEncontrada));
+        if (!(conta instanceof ContaCorrenteEntity corrente)) {
+            throw new IllegalArgumentException("Chaves e transferências por chave só em conta corrente");
+        }
+        return corrente;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bancogvm.controller;
 
+import com.bancogvm.config.Compartimento;
+import com.bancogvm.config.NoCompartimento;
 import com.bancogvm.service.ClienteService;
 import com.bancogvm.service.model.ClienteEntity;
 import lombok.AllArgsConstructor;
@@ -21,6 +23,7 @@ public class ClienteController {
         return ResponseEntity.ok(criado);
     }
 
+    @NoCompartimento(Compartimento.RELATORIO)
     @GetMapping
     public ResponseEntity<List<ClienteEntity>> listar() {
         return ResponseEntity.ok(service.listarTodos());
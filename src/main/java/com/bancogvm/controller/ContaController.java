@@ -1,12 +1,16 @@
 package com.bancogvm.controller;
 
+import com.bancogvm.config.Compartimento;
+import com.bancogvm.config.NoCompartimento;
 import com.bancogvm.service.ContaService;
+import com.bancogvm.service.VersaoRecursos;
 import com.bancogvm.service.model.ContaCorrenteEntity;
 import com.bancogvm.service.model.ContaEntity;
 import com.bancogvm.service.model.ContaPoupancaEntity;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +20,7 @@ import java.util.List;
 public class ContaController {
 
     private final ContaService service;
+    private final VersaoRecursos versoes;
 
     @PostMapping("/corrente")
     public ResponseEntity<ContaCorrenteEntity> criarCorrente(@RequestBody ContaCorrenteEntity cc) {
@@ -27,8 +32,13 @@ public class ContaController {
         return ResponseEntity.ok(service.criarPoupanca(cp));
     }
 
+    @NoCompartimento(Compartimento.RELATORIO)
     @GetMapping
-    public ResponseEntity<List<ContaEntity>> listar() {
+    public ResponseEntity<List<ContaEntity>> listar(WebRequest request) {
+        // 304 só com a leitura da versão, sem montar a listagem, quando nada mudou desde o último GET
+        if (request.checkNotModified(versoes.etag(VersaoRecursos.CONTAS))) {
+            return null;
+        }
         return ResponseEntity.ok(service.listarTodas());
     }
 
@@ -1,14 +1,19 @@
 package com.bancogvm.controller;
 
+import com.bancogvm.config.Compartimento;
+import com.bancogvm.config.NoCompartimento;
 import com.bancogvm.controller.model.EmprestimoRequest;
 import com.bancogvm.repository.ClienteRepository;
 import com.bancogvm.repository.ContaRepository;
 import com.bancogvm.service.EmprestimoService;
+import com.bancogvm.service.VersaoRecursos;
 import com.bancogvm.service.model.ClienteEntity;
 import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
 import com.bancogvm.service.model.EmprestimoEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,11 +26,14 @@ public class EmprestimoController {
     private final EmprestimoService service;
     private final ClienteRepository clienteRepository;
     private final ContaRepository contaRepository;
+    private final VersaoRecursos versoes;
 
-    public EmprestimoController(EmprestimoService service, ClienteRepository clienteRepository, ContaRepository contaRepository) {
+    public EmprestimoController(EmprestimoService service, ClienteRepository clienteRepository, ContaRepository contaRepository,
+                                VersaoRecursos versoes) {
         this.service = service;
         this.clienteRepository = clienteRepository;
         this.contaRepository = contaRepository;
+        this.versoes = versoes;
     }
 
     @PostMapping
@@ -64,7 +72,7 @@ public class EmprestimoController {
             valorAprovado = new BigDecimal(valorObj.toString());
         }
 
-        return ResponseEntity.ok(service.aprovar(id, valorAprovado));
+        return ResponseEntity.ok(service.aprovar(id, Dinheiro.de(valorAprovado)));
     }
 
     @PostMapping("/{id}/rejeitar")
@@ -76,8 +84,15 @@ public class EmprestimoController {
         return ResponseEntity.ok(service.rejeitar(id, motivo));
     }
 
+    @NoCompartimento(Compartimento.RELATORIO)
     @GetMapping
-    public ResponseEntity<List<EmprestimoEntity>> listar() {
+    public ResponseEntity<List<EmprestimoEntity>> listar(WebRequest request) {
+        // o cliente serializado carrega beneficiários e titularidades
+        String etag = versoes.etag(VersaoRecursos.EMPRESTIMOS, VersaoRecursos.CLIENTES, VersaoRecursos.CONTAS,
+                VersaoRecursos.TITULARES, VersaoRecursos.BENEFICIARIOS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return ResponseEntity.ok(service.listarTodos());
     }
 
@@ -0,0 +1,30 @@
+package com.bancogvm.controller;
+
+import com.bancogvm.service.EventosTempoReal;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/eventos")
+@AllArgsConstructor
+public class EventoController {
+
+    private final EventosTempoReal eventos;
+
+    /**
+     * Stream SSE com os eventos saldo, transacao, cartao e emprestimo.
+     * Sem parâmetros recebe tudo; {@code contas} e {@code cliente} restringem.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinar(@RequestParam(required = false) List<Long> contas,
+                              @RequestParam(required = false) Long cliente) {
+        return eventos.assinar(contas, cliente);
+    }
+}
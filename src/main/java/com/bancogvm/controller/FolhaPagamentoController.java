@@ -0,0 +1,76 @@
+package com.bancogvm.controller;
+
+import com.bancogvm.config.Compartimento;
+import com.bancogvm.config.NoCompartimento;
+import com.bancogvm.controller.model.FolhaPagamentoRequest;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.service.FolhaPagamentoService;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.FolhaPagamentoEntity;
+import com.bancogvm.service.model.LinhaFolhaPagamentoEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/folhas")
+@AllArgsConstructor
+public class FolhaPagamentoController {
+
+    private final FolhaPagamentoService service;
+    private final ContaRepository contaRepo;
+
+    /**
+     * Recebe e processa a folha: um débito na origem pelo total e um crédito, com a sua
+     * TRANSFERENCIA, por linha válida. A resposta traz a folha já CONCLUIDA ou FALHOU;
+     * o resultado de cada linha sai em GET /api/folhas/{id}/linhas.
+     */
+    @NoCompartimento(Compartimento.LOTE)
+    @PostMapping
+    public ResponseEntity<FolhaPagamentoEntity> pagar(@RequestBody FolhaPagamentoRequest req) {
+        if (req.getContaOrigemId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "campo contaOrigemId é obrigatório");
+        }
+        ContaEntity conta = contaRepo.findById(req.getContaOrigemId())
+                .orElseThrow(() -> new RuntimeException("Conta origem não encontrada"));
+        if (!(conta instanceof ContaCorrenteEntity origem)) {
+            throw new IllegalArgumentException("Folha só pode sair de conta corrente");
+        }
+        List<LinhaFolhaPagamentoEntity> linhas = req.getLinhas() == null ? List.of() : req.getLinhas().stream()
+                .map(l -> LinhaFolhaPagamentoEntity.builder()
+                        .contaDestinoId(l.getContaDestinoId())
+                        .valor(l.getValor())
+                        .build())
+                .toList();
+        FolhaPagamentoEntity folha = service.receber(FolhaPagamentoEntity.builder()
+                .contaOrigem(origem)
+                .descricao(req.getDescricao())
+                .build(), linhas);
+        return ResponseEntity.ok(service.processar(folha.getId()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<FolhaPagamentoEntity> porId(@PathVariable Long id) {
+        return ResponseEntity.ok(service.buscarPorId(id));
+    }
+
+    @NoCompartimento(Compartimento.RELATORIO)
+    @GetMapping("/{id}/linhas")
+    public ResponseEntity<List<LinhaFolhaPagamentoEntity>> linhas(@PathVariable Long id) {
+        return ResponseEntity.ok(service.linhas(id));
+    }
+
+    /**
+     * Continua uma folha interrompida (queda no meio dos créditos); em folha terminada não faz nada.
+     */
+    @NoCompartimento(Compartimento.LOTE)
+    @PostMapping("/{id}/retomar")
+    public ResponseEntity<FolhaPagamentoEntity> retomar(@PathVariable Long id) {
+        return ResponseEntity.ok(service.processar(id));
+    }
+}
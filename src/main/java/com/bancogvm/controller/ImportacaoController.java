@@ -0,0 +1,47 @@
+package com.bancogvm.controller;
+
+import com.bancogvm.config.Compartimento;
+import com.bancogvm.config.NoCompartimento;
+import com.bancogvm.service.ImportacaoCarteira;
+import com.bancogvm.service.model.ResultadoImportacao;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@NoCompartimento(Compartimento.LOTE)
+@RequestMapping("/api/importacoes")
+@AllArgsConstructor
+public class ImportacaoController {
+
+    private final ImportacaoCarteira importacao;
+
+    /**
+     * Multipart com os CSVs (UTF-8) em {@code clientes}, {@code contas} e/ou {@code titulares}.
+     * Responde quando a carteira inteira foi fundida; linhas rejeitadas ficam no arquivo indicado.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResultadoImportacao> importar(@RequestParam(required = false) MultipartFile clientes,
+                                                        @RequestParam(required = false) MultipartFile contas,
+                                                        @RequestParam(required = false) MultipartFile titulares)
+            throws IOException {
+        try (Reader c = leitor(clientes); Reader k = leitor(contas); Reader t = leitor(titulares)) {
+            return ResponseEntity.ok(importacao.importar(c, k, t));
+        }
+    }
+
+    private static Reader leitor(MultipartFile arquivo) throws IOException {
+        return arquivo == null || arquivo.isEmpty() ? null
+                : new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,6 +1,7 @@
 package com.bancogvm.controller;
 
 import com.bancogvm.service.TitularContaService;
+import com.bancogvm.service.model.TipoTitularidade;
 import com.bancogvm.service.model.TitularContaEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,7 +25,7 @@ public class TitularContaController {
     ) {
         Long clienteId = Long.valueOf(body.get("clienteId").toString());
         Long contaId   = Long.valueOf(body.get("contaId").toString());
-        String tipo    = body.get("tipoTitularidade").toString();
+        TipoTitularidade tipo = TipoTitularidade.de(String.valueOf(body.get("tipoTitularidade")));
         return ResponseEntity.ok(service.vincular(clienteId, contaId, tipo));
     }
 
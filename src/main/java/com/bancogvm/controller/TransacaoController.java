@@ -1,18 +1,28 @@
 package com.bancogvm.controller;
 
 
+import com.bancogvm.config.Compartimento;
+import com.bancogvm.config.NoCompartimento;
 import com.bancogvm.controller.model.TransacaoRequest;
 import com.bancogvm.repository.ContaRepository;
 import com.bancogvm.service.TransacaoService;
+import com.bancogvm.service.VersaoRecursos;
 import com.bancogvm.service.model.ContaCorrenteEntity;
 import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TotalDiarioTransacaoEntity;
 import com.bancogvm.service.model.TransacaoEntity;
+import com.bancogvm.service.model.TransacaoRegistrada;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @RestController
@@ -22,18 +32,19 @@ public class TransacaoController {
 
     private final TransacaoService service;
     private final ContaRepository contaRepo;
+    private final VersaoRecursos versoes;
 
     @PostMapping
     public ResponseEntity<TransacaoEntity> criar(@RequestBody TransacaoRequest req) {
         TransacaoEntity t = new TransacaoEntity();
         t.setValor(req.getValor());
-        t.setTipoTransacao(req.getTipoTransacao());
         t.setDescricao(req.getDescricao());
 
-        String tipoTransacao = req.getTipoTransacao().toUpperCase();
+        TipoTransacao tipoTransacao = TipoTransacao.de(req.getTipoTransacao());
+        t.setTipoTransacao(tipoTransacao);
 
         // Para DEPOSITO, o dinheiro VAI PARA a conta (contaDestino)
-        if ("DEPOSITO".equals(tipoTransacao)) {
+        if (tipoTransacao == TipoTransacao.DEPOSITO) {
             if (req.getContaDestinoId() == null) {
                 throw new ResponseStatusException(
                         HttpStatus.BAD_REQUEST, "campo contaDestinoId é obrigatório para DEPOSITO");
@@ -43,7 +54,7 @@ public class TransacaoController {
             t.setContaOrigem(conta); // Internamente usamos contaOrigem para processar
         }
         // Para SAQUE, o dinheiro SAI da conta (contaOrigem)
-        else if ("SAQUE".equals(tipoTransacao)) {
+        else if (tipoTransacao == TipoTransacao.SAQUE) {
             if (req.getContaOrigemId() == null) {
                 throw new ResponseStatusException(
                         HttpStatus.BAD_REQUEST, "campo contaOrigemId é obrigatório para SAQUE");
@@ -53,7 +64,7 @@ public class TransacaoController {
             t.setContaOrigem(conta);
         }
         // Para TRANSFERENCIA, usamos ambas as contas
-        else if ("TRANSFERENCIA".equals(tipoTransacao)) {
+        else if (tipoTransacao == TipoTransacao.TRANSFERENCIA) {
             if (req.getContaOrigemId() == null || req.getContaDestinoId() == null) {
                 throw new ResponseStatusException(
                         HttpStatus.BAD_REQUEST, "campos contaOrigemId e contaDestinoId são obrigatórios para TRANSFERENCIA");
@@ -65,13 +76,22 @@ public class TransacaoController {
             t.setContaOrigem(origem);
             t.setContaDestino(destino);
         }
+        // precisa do beneficiário para a liquidação
+        else if (tipoTransacao == TipoTransacao.TRANSFERENCIA_EXTERNA) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "TRANSFERENCIA_EXTERNA é feita por /api/transferencias-externas");
+        }
 
         TransacaoEntity salvo = service.registrar(t);
         return ResponseEntity.ok(salvo);
     }
 
+    @NoCompartimento(Compartimento.RELATORIO)
     @GetMapping
-    public ResponseEntity<List<TransacaoEntity>> listar() {
+    public ResponseEntity<List<TransacaoEntity>> listar(WebRequest request) {
+        if (request.checkNotModified(versoes.etag(VersaoRecursos.TRANSACOES, VersaoRecursos.CONTAS))) {
+            return null;
+        }
         return ResponseEntity.ok(service.listarTodas());
     }
 
@@ -80,8 +100,43 @@ public class TransacaoController {
         return ResponseEntity.ok(service.buscarPorId(id));
     }
 
+    /**
+     * Extrato completo ou, com {@code de}/{@code ate} (datas ISO, UTC, ambas inclusivas),
+     * só do período, lendo apenas as partições mensais envolvidas.
+     */
+    @NoCompartimento(Compartimento.RELATORIO)
     @GetMapping("/extrato/{contaId}")
-    public ResponseEntity<List<TransacaoEntity>> extrato(@PathVariable Long contaId) {
-        return ResponseEntity.ok(service.extratoPorConta(contaId));
+    public ResponseEntity<List<TransacaoEntity>> extrato(@PathVariable Long contaId,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+                                                         WebRequest request) {
+        if (request.checkNotModified(versoes.etag(VersaoRecursos.TRANSACOES, VersaoRecursos.CONTAS))) {
+            return null;
+        }
+        if (de == null && ate == null) {
+            return ResponseEntity.ok(service.extratoPorConta(contaId));
+        }
+        if (de == null || ate == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "parâmetros de e ate devem ser informados juntos");
+        }
+        return ResponseEntity.ok(service.extratoPorConta(contaId,
+                de.atStartOfDay().toInstant(ZoneOffset.UTC),
+                ate.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC)));
+    }
+
+    /**
+     * Projeções alimentadas pelo outbox: podem estar alguns instantes atrás dos lançamentos.
+     */
+    @NoCompartimento(Compartimento.RELATORIO)
+    @GetMapping("/totais-diarios")
+    public ResponseEntity<List<TotalDiarioTransacaoEntity>> totaisDiarios(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return ResponseEntity.ok(service.totaisDiarios(de, ate));
+    }
+
+    @GetMapping("/recentes/{contaId}")
+    public ResponseEntity<List<TransacaoRegistrada>> recentes(@PathVariable Long contaId) {
+        return ResponseEntity.ok(service.recentes(contaId));
     }
-}
\ No newline at end of file
+}
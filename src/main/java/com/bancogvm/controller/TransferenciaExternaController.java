@@ -0,0 +1,60 @@
+package com.bancogvm.controller;
+
+import com.bancogvm.controller.model.TransferenciaExternaRequest;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.LiquidacaoRepository;
+import com.bancogvm.service.BeneficiarioService;
+import com.bancogvm.service.TransferenciaExternaService;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.LiquidacaoEntity;
+import com.bancogvm.service.model.PagamentoExternoEntity;
+import com.bancogvm.service.model.TransacaoEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@AllArgsConstructor
+public class TransferenciaExternaController {
+
+    private final TransferenciaExternaService service;
+    private final BeneficiarioService beneficiarioService;
+    private final ContaRepository contaRepo;
+    private final LiquidacaoRepository liquidacaoRepo;
+
+    /**
+     * Transferência para um beneficiário cadastrado. A origem é debitada na hora; o crédito
+     * sai na próxima janela de liquidação, junto com as outras para o mesmo banco.
+     */
+    @PostMapping("/transferencias-externas")
+    public ResponseEntity<TransacaoEntity> transferir(@RequestBody TransferenciaExternaRequest req) {
+        if (req.getContaOrigemId() == null || req.getBeneficiarioId() == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "campos contaOrigemId e beneficiarioId são obrigatórios");
+        }
+        ContaEntity conta = contaRepo.findById(req.getContaOrigemId())
+                .orElseThrow(() -> new RuntimeException("Conta origem não encontrada"));
+        if (!(conta instanceof ContaCorrenteEntity origem)) {
+            throw new IllegalArgumentException("Transferência externa só sai de conta corrente");
+        }
+        return ResponseEntity.ok(service.transferir(origem, beneficiarioService.buscarPorId(req.getBeneficiarioId()),
+                req.getValor(), req.getDescricao()));
+    }
+
+    @GetMapping("/transferencias-externas")
+    public ResponseEntity<List<PagamentoExternoEntity>> porConta(@RequestParam Long contaId) {
+        return ResponseEntity.ok(service.listarPorConta(contaId));
+    }
+
+    // últimas 100 liquidações (uma por banco por janela)
+    @GetMapping("/liquidacoes")
+    public ResponseEntity<List<LiquidacaoEntity>> liquidacoes() {
+        return ResponseEntity.ok(liquidacaoRepo.findTop100ByOrderByIdDesc());
+    }
+}
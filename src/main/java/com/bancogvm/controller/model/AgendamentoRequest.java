@@ -0,0 +1,16 @@
+package com.bancogvm.controller.model;
+
+import com.bancogvm.service.model.Dinheiro;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class AgendamentoRequest {
+    private Long contaOrigemId;
+    private Long contaDestinoId;
+    private Dinheiro valor;
+    private String descricao;
+    // ISO-8601 com fuso, ex.: 2025-07-05T09:00:00-03:00
+    private Instant dataExecucao;
+}
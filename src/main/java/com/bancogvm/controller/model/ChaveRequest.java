@@ -0,0 +1,10 @@
+package com.bancogvm.controller.model;
+
+import lombok.Data;
+
+@Data
+public class ChaveRequest {
+    private String tipoChave;
+    private Long contaId;
+    private Long clienteId;
+}
@@ -1,12 +1,13 @@
 package com.bancogvm.controller.model;
 
+import com.bancogvm.service.model.Dinheiro;
 import lombok.Data;
 
 import java.math.BigDecimal;
 
 @Data
 public class EmprestimoRequest {
-    private BigDecimal valorSolicitado;
+    private Dinheiro valorSolicitado;
     private BigDecimal taxaJurosMensal;
     private Integer numeroParcelas;
     private Long clienteId;
@@ -0,0 +1,19 @@
+package com.bancogvm.controller.model;
+
+import com.bancogvm.service.model.Dinheiro;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class FolhaPagamentoRequest {
+    private Long contaOrigemId;
+    private String descricao;
+    private List<Linha> linhas;
+
+    @Data
+    public static class Linha {
+        private Long contaDestinoId;
+        private Dinheiro valor;
+    }
+}
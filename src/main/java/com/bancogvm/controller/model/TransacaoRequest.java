@@ -1,16 +1,16 @@
 package com.bancogvm.controller.model;
 
+import com.bancogvm.service.model.Dinheiro;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 
 @Getter
 @Setter
 public class TransacaoRequest {
     private Long contaOrigemId;
     private Long contaDestinoId;
-    private BigDecimal valor;
+    private Dinheiro valor;
     private String tipoTransacao;
     private String descricao;
 }
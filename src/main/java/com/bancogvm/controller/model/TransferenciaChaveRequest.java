@@ -0,0 +1,16 @@
+package com.bancogvm.controller.model;
+
+import com.bancogvm.service.model.Dinheiro;
+import lombok.Data;
+
+/**
+ * Destino por chave ou por beneficiário cadastrado (o CPF/CNPJ dele como chave): um dos dois.
+ */
+@Data
+public class TransferenciaChaveRequest {
+    private Long contaOrigemId;
+    private String chave;
+    private Long beneficiarioId;
+    private Dinheiro valor;
+    private String descricao;
+}
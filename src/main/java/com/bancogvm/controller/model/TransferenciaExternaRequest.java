@@ -0,0 +1,12 @@
+package com.bancogvm.controller.model;
+
+import com.bancogvm.service.model.Dinheiro;
+import lombok.Data;
+
+@Data
+public class TransferenciaExternaRequest {
+    private Long contaOrigemId;
+    private Long beneficiarioId;
+    private Dinheiro valor;
+    private String descricao;
+}
@@ -0,0 +1,39 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.AgendamentoTransferenciaEntity;
+import com.bancogvm.service.model.StatusAgendamento;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consultas da API. Reserva e execução vão por SQL direto em ExecutorAgendamentos
+ * (FOR UPDATE SKIP LOCKED, atualizações em lote).
+ */
+public interface AgendamentoTransferenciaRepository extends JpaRepository<AgendamentoTransferenciaEntity, Long> {
+
+    @EntityGraph(AgendamentoTransferenciaEntity.GRAFO_CONTAS)
+    @Query("""
+            select a from AgendamentoTransferenciaEntity a
+            where a.contaOrigem.id = :contaId or a.contaDestino.id = :contaId
+            order by a.dataExecucao, a.id""")
+    List<AgendamentoTransferenciaEntity> findByConta(@Param("contaId") Long contaId);
+
+    @EntityGraph(AgendamentoTransferenciaEntity.GRAFO_CONTAS)
+    Optional<AgendamentoTransferenciaEntity> findComContasById(Long id);
+
+    // condicional: só o que ainda não foi executado; limpa a reserva para o executor pular o item
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update AgendamentoTransferenciaEntity a
+            set a.statusAgendamento = :cancelado, a.reservadoPor = null, a.reservadoAte = null, a.reserva = null
+            where a.id = :id and a.statusAgendamento in :pendentes""")
+    int cancelar(@Param("id") Long id, @Param("cancelado") StatusAgendamento cancelado,
+                 @Param("pendentes") Collection<StatusAgendamento> pendentes);
+}
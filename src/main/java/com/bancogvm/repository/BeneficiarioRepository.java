@@ -1,7 +1,19 @@
 package com.bancogvm.repository;
 
 import com.bancogvm.service.model.BeneficiarioEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface BeneficiarioRepository extends JpaRepository<BeneficiarioEntity, Long> {
+
+    @EntityGraph(BeneficiarioEntity.GRAFO_CLIENTE)
+    @Query("select b from BeneficiarioEntity b")
+    List<BeneficiarioEntity> findAllComCliente();
+
+    @EntityGraph(BeneficiarioEntity.GRAFO_CLIENTE)
+    Optional<BeneficiarioEntity> findComClienteById(Long id);
 }
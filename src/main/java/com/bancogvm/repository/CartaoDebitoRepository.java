@@ -3,5 +3,10 @@ package com.bancogvm.repository;
 import com.bancogvm.service.model.CartaoDebitoEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface CartaoDebitoRepository  extends JpaRepository<CartaoDebitoEntity,  Long> {
-}
\ No newline at end of file
+
+    // limites acumulados da conta (LimitesVelocidade), inclusive de cartão bloqueado
+    List<CartaoDebitoEntity> findByContaId(Long contaId);
+}
@@ -1,7 +1,19 @@
 package com.bancogvm.repository;
 
 import com.bancogvm.service.model.CartaoEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface CartaoRepository extends JpaRepository<CartaoEntity, Long> {
-}
\ No newline at end of file
+
+    @EntityGraph(CartaoEntity.GRAFO_CONTA)
+    @Query("select c from CartaoEntity c")
+    List<CartaoEntity> findAllComConta();
+
+    @EntityGraph(CartaoEntity.GRAFO_CONTA)
+    Optional<CartaoEntity> findComContaById(Long id);
+}
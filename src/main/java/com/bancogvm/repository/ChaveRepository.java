@@ -0,0 +1,18 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.ChaveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cadastro das chaves. A resolução não passa por aqui: vai ao índice em memória
+ * (DiretorioChaves), que lê a tabela por SQL direto.
+ */
+public interface ChaveRepository extends JpaRepository<ChaveEntity, Long> {
+
+    Optional<ChaveEntity> findByChave(String chave);
+
+    List<ChaveEntity> findByConta_IdAndAtivaTrueOrderById(Long contaId);
+}
@@ -0,0 +1,20 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.CheckpointProjecaoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CheckpointProjecaoRepository extends JpaRepository<CheckpointProjecaoEntity, String> {
+
+    // com mais de uma instância, só um relay avança cada projeção por vez; nativo porque o
+    // PESSIMISTIC_WRITE do dialeto PostgreSQL vira FOR NO KEY UPDATE, que o H2 dos testes recusa
+    @Query(value = "select * from checkpoint_projecao where projecao = :projecao for update", nativeQuery = true)
+    Optional<CheckpointProjecaoEntity> findParaAvancar(@Param("projecao") String projecao);
+
+    // checkpoints por nó de uma projeção em memória: "nome@"
+    List<CheckpointProjecaoEntity> findByProjecaoStartingWith(String prefixo);
+}
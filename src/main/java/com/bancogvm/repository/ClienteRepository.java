@@ -1,10 +1,17 @@
 package com.bancogvm.repository;
 
 import com.bancogvm.service.model.ClienteEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
 import java.util.Optional;
 
 public interface ClienteRepository extends JpaRepository<ClienteEntity, Long> {
+    // cache de consultas: invalidado pelo Hibernate a cada escrita na tabela cliente
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ClienteEntity> findByLoginUsuario(String loginUsuario);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ClienteEntity> findByCpf(String cpf);
 }
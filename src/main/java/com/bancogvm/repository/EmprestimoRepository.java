@@ -1,7 +1,19 @@
 package com.bancogvm.repository;
 
 import com.bancogvm.service.model.EmprestimoEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface EmprestimoRepository extends JpaRepository<EmprestimoEntity, Long> {
+
+    @EntityGraph(EmprestimoEntity.GRAFO_CLIENTE_CONTA)
+    @Query("select e from EmprestimoEntity e")
+    List<EmprestimoEntity> findAllComClienteEConta();
+
+    @EntityGraph(EmprestimoEntity.GRAFO_CLIENTE_CONTA)
+    Optional<EmprestimoEntity> findComClienteEContaById(Long id);
 }
@@ -0,0 +1,22 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.EventoOutboxEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutboxEntity, Long> {
+
+    List<EventoOutboxEntity> findByIdGreaterThanOrderById(Long id, Pageable lote);
+
+    // eventos que todas as projeções já aplicaram
+    @Transactional
+    @Modifying
+    @Query("delete from EventoOutboxEntity e where e.id <= :id")
+    int deleteAteId(@Param("id") Long id);
+}
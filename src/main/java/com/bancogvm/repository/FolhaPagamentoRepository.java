@@ -0,0 +1,16 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.FolhaPagamentoEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Consultas da API. Débito e créditos vão por SQL direto em ProcessadorFolhaPagamento.
+ */
+public interface FolhaPagamentoRepository extends JpaRepository<FolhaPagamentoEntity, Long> {
+
+    @EntityGraph(FolhaPagamentoEntity.GRAFO_CONTA)
+    Optional<FolhaPagamentoEntity> findComContaById(Long id);
+}
@@ -0,0 +1,11 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.LinhaFolhaPagamentoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LinhaFolhaPagamentoRepository extends JpaRepository<LinhaFolhaPagamentoEntity, Long> {
+
+    List<LinhaFolhaPagamentoEntity> findByFolhaIdOrderByLinha(Long folhaId);
+}
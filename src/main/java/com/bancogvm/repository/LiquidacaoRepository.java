@@ -0,0 +1,11 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.LiquidacaoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LiquidacaoRepository extends JpaRepository<LiquidacaoEntity, Long> {
+
+    List<LiquidacaoEntity> findTop100ByOrderByIdDesc();
+}
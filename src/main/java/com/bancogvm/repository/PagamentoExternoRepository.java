@@ -0,0 +1,16 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.PagamentoExternoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Consultas da API. Fechamento das janelas vai por SQL direto em LiquidacaoInterbancaria.
+ */
+public interface PagamentoExternoRepository extends JpaRepository<PagamentoExternoEntity, Long> {
+
+    List<PagamentoExternoEntity> findByContaOrigemIdOrderByIdDesc(Long contaId);
+
+    List<PagamentoExternoEntity> findByLiquidacaoIdOrderById(Long liquidacaoId);
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
 public interface TitularContaRepository extends JpaRepository<TitularContaEntity, Long> {
+    // um SELECT só em titular_conta: quem usa compara getCliente().getId(), que o proxy LAZY já tem
     List<TitularContaEntity> findByClienteId(Long clienteId);
     List<TitularContaEntity> findByContaId(Long contaId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.bancogvm.repository;
+
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TotalDiarioTransacaoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface TotalDiarioTransacaoRepository extends JpaRepository<TotalDiarioTransacaoEntity, Long> {
+
+    Optional<TotalDiarioTransacaoEntity> findByDataAndTipoTransacao(LocalDate data, TipoTransacao tipoTransacao);
+
+    List<TotalDiarioTransacaoEntity> findByDataBetweenOrderByDataAscTipoTransacaoAsc(LocalDate de, LocalDate ate);
+}
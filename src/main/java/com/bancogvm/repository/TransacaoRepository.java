@@ -1,10 +1,52 @@
 package com.bancogvm.repository;
 
 import com.bancogvm.service.model.TransacaoEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 public interface TransacaoRepository extends JpaRepository<TransacaoEntity, Long> {
+
+    @EntityGraph(TransacaoEntity.GRAFO_CONTAS)
     List<TransacaoEntity> findByContaOrigemId(Long contaId);
+
+    @EntityGraph(TransacaoEntity.GRAFO_CONTAS)
     List<TransacaoEntity> findByContaDestinoId(Long contaId);
+
+    // intervalo [de, ate) sobre data_hora: no PostgreSQL só as partições do período são lidas
+    @EntityGraph(TransacaoEntity.GRAFO_CONTAS)
+    @Query("select t from TransacaoEntity t where t.contaOrigem.id = :contaId and t.dataHora >= :de and t.dataHora < :ate")
+    List<TransacaoEntity> findByContaOrigemIdNoPeriodo(@Param("contaId") Long contaId,
+                                                       @Param("de") Instant de, @Param("ate") Instant ate);
+
+    @EntityGraph(TransacaoEntity.GRAFO_CONTAS)
+    @Query("select t from TransacaoEntity t where t.contaDestino.id = :contaId and t.dataHora >= :de and t.dataHora < :ate")
+    List<TransacaoEntity> findByContaDestinoIdNoPeriodo(@Param("contaId") Long contaId,
+                                                        @Param("de") Instant de, @Param("ate") Instant ate);
+
+    @EntityGraph(TransacaoEntity.GRAFO_CONTAS)
+    @Query("select t from TransacaoEntity t")
+    List<TransacaoEntity> findAllComContas();
+
+    @EntityGraph(TransacaoEntity.GRAFO_CONTAS)
+    Optional<TransacaoEntity> findComContasById(Long id);
+
+    // carga inicial do cache de atividade recente; só ids das contas, sem grafo
+    List<TransacaoEntity> findTop20ByContaOrigemIdOrContaDestinoIdOrderByIdDesc(Long contaOrigemId, Long contaDestinoId);
+
+    @Query("select min(t.dataHora) from TransacaoEntity t")
+    Instant findMenorDataHora();
+
+    // até ultimoId: o que entrar no período depois da exportação continua no banco
+    @Transactional
+    @Modifying
+    @Query("delete from TransacaoEntity t where t.dataHora >= :de and t.dataHora < :ate and t.id <= :ultimoId")
+    int deleteArquivadas(@Param("de") Instant de, @Param("ate") Instant ate, @Param("ultimoId") Long ultimoId);
 }
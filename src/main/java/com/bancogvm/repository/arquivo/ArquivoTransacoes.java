@@ -0,0 +1,260 @@
+package com.bancogvm.repository.arquivo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Arquivo frio de transações: cada mês fechado em um ou mais {@link SegmentoTransacoes}
+ * (transacoes-AAAAMM-NNNN.seg; transacoes-AAAAMM.seg dos arquivos antigos vale como parte 0)
+ * num diretório, mapeados em memória na subida. Com mais de um nó o diretório tem de ser
+ * compartilhado (NFS, EFS...): um nó grava, os outros abrem as partes novas com
+ * {@link #recarregar(YearMonth)}.
+ *
+ * As partes de um mês não se reescrevem: cada arquivamento acrescenta as suas, e um mês
+ * grande se divide em várias antes de uma chegar a {@code tamanhoMaximoSegmento}, abaixo
+ * dos 2 GiB que um mapeamento alcança. Dentro de uma gravação as partes dividem o mês por
+ * faixa de conta; entre gravações a mesma transação pode aparecer duas vezes (queda antes
+ * do DELETE) e a busca fica com uma.
+ *
+ * Meses são em UTC, como as partições de {@code transacao}. Uma transação
+ * arquivada não está mais no banco; quem junta as duas fontes é o
+ * TransacaoServiceImpl.
+ */
+@Slf4j
+public class ArquivoTransacoes {
+
+    // bem abaixo do limite de um mapeamento, para um bloco de conta grande não estourar a parte
+    public static final long TAMANHO_MAXIMO_PADRAO = 1L << 30;
+
+    private static final String PREFIXO = "transacoes-";
+    private static final String EXTENSAO = ".seg";
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final Comparator<RegistroArquivado> POR_DATA =
+            Comparator.comparing(RegistroArquivado::dataHora).thenComparing(RegistroArquivado::id);
+
+    private final Path diretorio;
+    private final long tamanhoMaximoSegmento;
+    private final ConcurrentSkipListMap<YearMonth, List<SegmentoTransacoes>> segmentos = new ConcurrentSkipListMap<>();
+
+    public ArquivoTransacoes(Path diretorio) {
+        this(diretorio, TAMANHO_MAXIMO_PADRAO);
+    }
+
+    public ArquivoTransacoes(Path diretorio, long tamanhoMaximoSegmento) {
+        if (tamanhoMaximoSegmento <= 0 || tamanhoMaximoSegmento > SegmentoTransacoes.TAMANHO_MAXIMO) {
+            throw new IllegalArgumentException("Tamanho máximo de segmento fora de (0, 2 GiB]: " + tamanhoMaximoSegmento);
+        }
+        this.diretorio = diretorio;
+        this.tamanhoMaximoSegmento = tamanhoMaximoSegmento;
+        if (!Files.isDirectory(diretorio)) {
+            return;
+        }
+        Map<YearMonth, List<SegmentoTransacoes>> porMes = new TreeMap<>();
+        for (Path arquivo : listar(PREFIXO + "*" + EXTENSAO)) {
+            SegmentoTransacoes segmento = SegmentoTransacoes.abrir(arquivo);
+            porMes.computeIfAbsent(segmento.getMes(), m -> new ArrayList<>()).add(segmento);
+        }
+        porMes.forEach((mes, partes) -> segmentos.put(mes, List.copyOf(partes)));
+        log.info("Arquivo de transações: {} meses em {}", segmentos.size(), diretorio);
+    }
+
+    public boolean isVazio() {
+        return segmentos.isEmpty();
+    }
+
+    public NavigableSet<YearMonth> meses() {
+        return segmentos.keySet();
+    }
+
+    public List<RegistroArquivado> buscar(long contaId) {
+        return buscar(contaId, segmentos.values(), null, null);
+    }
+
+    /**
+     * Só os meses que cruzam [de, ate) são abertos; dentro deles, filtra pelo instante.
+     */
+    public List<RegistroArquivado> buscar(long contaId, Instant de, Instant ate) {
+        if (segmentos.isEmpty()) {
+            return List.of();
+        }
+        YearMonth primeiro = YearMonth.from(de.atZone(ZoneOffset.UTC));
+        YearMonth ultimo = YearMonth.from(ate.minusNanos(1).atZone(ZoneOffset.UTC));
+        if (ultimo.isBefore(primeiro)) {
+            return List.of();
+        }
+        return buscar(contaId, segmentos.subMap(primeiro, true, ultimo, true).values(), de, ate);
+    }
+
+    /**
+     * Registros das partes do mês que este nó está servindo; 0 se não há nenhuma.
+     */
+    public long registros(YearMonth mes) {
+        List<SegmentoTransacoes> partes = segmentos.get(mes);
+        return partes == null ? 0 : partes.stream().mapToLong(SegmentoTransacoes::getRegistros).sum();
+    }
+
+    /**
+     * Começa a acrescentar partes ao mês. As linhas chegam pela {@link Gravacao} e vão para o
+     * disco conta a conta; só {@link Gravacao#concluir()} passa a servi-las.
+     */
+    public Gravacao gravacao(YearMonth mes) {
+        int ultimaParte = -1;
+        for (Path arquivo : listar(PREFIXO + SUFIXO.format(mes) + "*" + EXTENSAO)) {
+            ultimaParte = Math.max(ultimaParte, parte(arquivo));
+        }
+        return new Gravacao(mes, ultimaParte + 1);
+    }
+
+    /**
+     * Reabre do disco as partes do mês (novas ou gravadas por outro nó). Devolve os
+     * registros que passam a ser servidos; os de antes se não há parte neste diretório.
+     */
+    public synchronized long recarregar(YearMonth mes) {
+        List<SegmentoTransacoes> partes = new ArrayList<>();
+        for (Path arquivo : listar(PREFIXO + SUFIXO.format(mes) + "*" + EXTENSAO)) {
+            partes.add(SegmentoTransacoes.abrir(arquivo));
+        }
+        if (!partes.isEmpty()) {
+            segmentos.put(mes, List.copyOf(partes));
+        }
+        return registros(mes);
+    }
+
+    private Path arquivo(YearMonth mes, int parte) {
+        return diretorio.resolve(PREFIXO + SUFIXO.format(mes) + "-" + String.format("%04d", parte) + EXTENSAO);
+    }
+
+    // transacoes-AAAAMM.seg é a parte 0
+    private static int parte(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        int inicio = PREFIXO.length() + 6;
+        return nome.charAt(inicio) == '-'
+                ? Integer.parseInt(nome.substring(inicio + 1, nome.length() - EXTENSAO.length()))
+                : 0;
+    }
+
+    private List<Path> listar(String padrao) {
+        if (!Files.isDirectory(diretorio)) {
+            return List.of();
+        }
+        List<Path> arquivos = new ArrayList<>();
+        try (DirectoryStream<Path> encontrados = Files.newDirectoryStream(diretorio, padrao)) {
+            encontrados.forEach(arquivos::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return arquivos;
+    }
+
+    private static List<RegistroArquivado> buscar(long contaId, Collection<List<SegmentoTransacoes>> meses,
+                                                  Instant de, Instant ate) {
+        List<RegistroArquivado> encontrados = new ArrayList<>();
+        for (List<SegmentoTransacoes> partes : meses) {
+            int inicioMes = encontrados.size();
+            Set<Long> vistos = partes.size() > 1 ? new HashSet<>() : null;
+            for (SegmentoTransacoes segmento : partes) {
+                for (RegistroArquivado r : segmento.porConta(contaId)) {
+                    if ((de == null || (!r.dataHora().isBefore(de) && r.dataHora().isBefore(ate)))
+                            && (vistos == null || vistos.add(r.id()))) {
+                        encontrados.add(r);
+                    }
+                }
+            }
+            if (vistos != null) {
+                encontrados.subList(inicioMes, encontrados.size()).sort(POR_DATA);
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Uma gravação de partes de um mês. Recebe as linhas em ordem de conta, e de data e id
+     * dentro da conta, uma vez para cada conta envolvida (uma transferência vem duas vezes).
+     * Em memória fica só a conta corrente; a parte em andamento é fechada e outra aberta
+     * quando passa de {@code tamanhoMaximoSegmento}. Partes já fechadas ficam no disco
+     * mesmo se a gravação não concluir: as linhas continuam no banco e o extrato fica com a dele.
+     */
+    public final class Gravacao implements AutoCloseable {
+        private final YearMonth mes;
+        private final List<RegistroArquivado> linhas = new ArrayList<>();
+        private int proximaParte;
+        private long contaAtual;
+        private SegmentoTransacoes.Gravador gravador;
+
+        private Gravacao(YearMonth mes, int proximaParte) {
+            this.mes = mes;
+            this.proximaParte = proximaParte;
+        }
+
+        public void adicionar(long contaId, RegistroArquivado registro) {
+            if (!linhas.isEmpty() && contaId != contaAtual) {
+                descarregar();
+            }
+            contaAtual = contaId;
+            linhas.add(registro);
+        }
+
+        /**
+         * Fecha a última parte e passa a servir o mês. Devolve os registros de todas as
+         * partes do mês, as de antes inclusive.
+         */
+        public long concluir() {
+            descarregar();
+            fecharParte();
+            return recarregar(mes);
+        }
+
+        private void descarregar() {
+            if (linhas.isEmpty()) {
+                return;
+            }
+            if (gravador == null) {
+                gravador = SegmentoTransacoes.gravador(arquivo(mes, proximaParte++), mes);
+            }
+            gravador.conta(contaAtual, linhas);
+            linhas.clear();
+            if (gravador.getTamanho() >= tamanhoMaximoSegmento) {
+                fecharParte();
+            }
+        }
+
+        private void fecharParte() {
+            if (gravador == null) {
+                return;
+            }
+            try (SegmentoTransacoes.Gravador fechando = gravador) {
+                gravador = null;
+                fechando.concluir();
+            }
+        }
+
+        // sem concluir: descarta a parte em andamento
+        @Override
+        public void close() {
+            if (gravador != null) {
+                gravador.close();
+                gravador = null;
+            }
+        }
+    }
+}
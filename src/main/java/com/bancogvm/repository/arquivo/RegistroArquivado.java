@@ -0,0 +1,21 @@
+package com.bancogvm.repository.arquivo;
+
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+
+import java.time.Instant;
+
+/**
+ * Linha de transação como é gravada no arquivo frio: só ids das contas, sem entidades.
+ * O ArquivamentoTransacoes a monta direto do cursor, sem passar pelo contexto de persistência.
+ */
+public record RegistroArquivado(Long id,
+                                Instant dataHora,
+                                Dinheiro valor,
+                                TipoTransacao tipoTransacao,
+                                StatusTransacao statusTransacao,
+                                Long contaOrigemId,
+                                Long contaDestinoId,
+                                String descricao) {
+}
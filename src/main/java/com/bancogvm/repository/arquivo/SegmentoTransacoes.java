@@ -0,0 +1,473 @@
+package com.bancogvm.repository.arquivo;
+
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Um mês de transações arquivadas (ou uma parte dele, ver ArquivoTransacoes) em um arquivo só,
+ * lido por memory-map.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * cabeçalho  magic "BGVA" | versão u16 | reservado u16 | ano*100+mês i32 | contas i32 | registros i64
+ * índice     por conta, ordenado por id: conta i64 | offset i64 | comprimido i32 | original i32 | linhas i32
+ * blocos     um por conta, Deflate (sem cabeçalho zlib), colunar por dentro
+ * </pre>
+ * Dentro do bloco as linhas vêm em ordem de data/id e cada coluna é gravada inteira antes
+ * da próxima: id e instante em delta zigzag varint, valor em centavos zigzag varint, tipo e
+ * status em um byte (o código do enum), contas em varint (destino 0 = sem destino) e
+ * descrição como comprimento+1 varint (0 = nula) seguido de UTF-8. Uma transferência entre
+ * duas contas arquivadas aparece no bloco de cada uma: o extrato de uma conta lê um bloco só.
+ * {@code registros} conta só as linhas em que a conta do bloco é a origem: cada transação
+ * uma vez, mesmo com a outra ponta da transferência em outro segmento do mês.
+ */
+public final class SegmentoTransacoes {
+
+    private static final int MAGIC = 0x42475641;
+    private static final short VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 24;
+    private static final int TAMANHO_ENTRADA = 28;
+
+    // um MappedByteBuffer endereça com int: o Gravador recusa passar disto
+    public static final long TAMANHO_MAXIMO = Integer.MAX_VALUE;
+
+    private static final TipoTransacao.Conversor TIPOS = new TipoTransacao.Conversor();
+    private static final StatusTransacao.Conversor STATUS = new StatusTransacao.Conversor();
+
+    private final YearMonth mes;
+    private final MappedByteBuffer mapa;
+    private final int contas;
+    private final long registros;
+
+    private SegmentoTransacoes(YearMonth mes, MappedByteBuffer mapa, int contas, long registros) {
+        this.mes = mes;
+        this.mapa = mapa;
+        this.contas = contas;
+        this.registros = registros;
+    }
+
+    public static SegmentoTransacoes abrir(Path arquivo) {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (canal.size() > TAMANHO_MAXIMO) {
+                throw new IllegalStateException("Arquivo de transações maior que um mapeamento (2 GiB): " + arquivo);
+            }
+            // o mapeamento continua válido depois de fechar o canal
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            mapa.order(ByteOrder.BIG_ENDIAN);
+            if (mapa.capacity() < TAMANHO_CABECALHO || mapa.getInt(0) != MAGIC) {
+                throw new IllegalStateException("Arquivo de transações inválido: " + arquivo);
+            }
+            if (mapa.getShort(4) != VERSAO) {
+                throw new IllegalStateException("Versão de arquivo não suportada em " + arquivo + ": " + mapa.getShort(4));
+            }
+            int anoMes = mapa.getInt(8);
+            return new SegmentoTransacoes(YearMonth.of(anoMes / 100, anoMes % 100), mapa, mapa.getInt(12), mapa.getLong(16));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Grava um mês que cabe em memória (testes, benchmark, carga de dados); o arquivamento
+     * usa o {@link Gravador}, conta a conta.
+     */
+    public static void gravar(Path arquivo, YearMonth mes, List<RegistroArquivado> registros) {
+        List<RegistroArquivado> ordenados = new ArrayList<>(registros);
+        ordenados.sort(Comparator.comparing(RegistroArquivado::dataHora).thenComparing(RegistroArquivado::id));
+
+        Map<Long, List<RegistroArquivado>> porConta = new TreeMap<>();
+        for (RegistroArquivado r : ordenados) {
+            porConta.computeIfAbsent(r.contaOrigemId(), c -> new ArrayList<>()).add(r);
+            if (r.contaDestinoId() != null && !r.contaDestinoId().equals(r.contaOrigemId())) {
+                porConta.computeIfAbsent(r.contaDestinoId(), c -> new ArrayList<>()).add(r);
+            }
+        }
+        try (Gravador gravador = gravador(arquivo, mes)) {
+            porConta.forEach(gravador::conta);
+            gravador.concluir();
+        }
+    }
+
+    public static Gravador gravador(Path arquivo, YearMonth mes) {
+        return new Gravador(arquivo, mes);
+    }
+
+    public YearMonth getMes() {
+        return mes;
+    }
+
+    public int getContas() {
+        return contas;
+    }
+
+    public long getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Transações em que a conta é origem ou destino; busca binária no índice e um bloco lido.
+     */
+    public List<RegistroArquivado> porConta(long contaId) {
+        int baixo = 0;
+        int alto = contas - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            int entrada = TAMANHO_CABECALHO + meio * TAMANHO_ENTRADA;
+            long conta = mapa.getLong(entrada);
+            if (conta < contaId) {
+                baixo = meio + 1;
+            } else if (conta > contaId) {
+                alto = meio - 1;
+            } else {
+                return lerBloco(entrada);
+            }
+        }
+        return List.of();
+    }
+
+    private List<RegistroArquivado> lerBloco(int entrada) {
+        long offset = mapa.getLong(entrada + 8);
+        int comprimido = mapa.getInt(entrada + 16);
+        int original = mapa.getInt(entrada + 20);
+        int linhas = mapa.getInt(entrada + 24);
+
+        byte[] bloco = new byte[original];
+        Inflater inflater = new Inflater(true);
+        try {
+            // slice é uma visão própria: leituras concorrentes não disputam a posição do mapa
+            inflater.setInput(mapa.slice(Math.toIntExact(offset), comprimido));
+            int lidos = inflater.inflate(bloco);
+            if (lidos != original) {
+                throw new IllegalStateException("Bloco truncado no arquivo de " + mes);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bloco corrompido no arquivo de " + mes, e);
+        } finally {
+            inflater.end();
+        }
+        return decodificar(ByteBuffer.wrap(bloco), linhas);
+    }
+
+    private static byte[] codificar(List<RegistroArquivado> linhas) {
+        Saida saida = new Saida(linhas.size() * 24);
+        long anterior = 0;
+        for (RegistroArquivado r : linhas) {
+            saida.zigzag(r.id() - anterior);
+            anterior = r.id();
+        }
+        anterior = 0;
+        for (RegistroArquivado r : linhas) {
+            long micros = micros(r.dataHora());
+            saida.zigzag(micros - anterior);
+            anterior = micros;
+        }
+        for (RegistroArquivado r : linhas) {
+            saida.zigzag(r.valor().getCentavos());
+        }
+        for (RegistroArquivado r : linhas) {
+            saida.octeto(r.tipoTransacao().getCodigo());
+        }
+        for (RegistroArquivado r : linhas) {
+            saida.octeto(r.statusTransacao().getCodigo());
+        }
+        for (RegistroArquivado r : linhas) {
+            saida.varint(r.contaOrigemId());
+        }
+        for (RegistroArquivado r : linhas) {
+            saida.varint(r.contaDestinoId() == null ? 0 : r.contaDestinoId());
+        }
+        for (RegistroArquivado r : linhas) {
+            if (r.descricao() == null) {
+                saida.varint(0);
+            } else {
+                byte[] texto = r.descricao().getBytes(StandardCharsets.UTF_8);
+                saida.varint(texto.length + 1L);
+                saida.bytes(texto);
+            }
+        }
+        return saida.paraArray();
+    }
+
+    private static List<RegistroArquivado> decodificar(ByteBuffer entrada, int linhas) {
+        long[] ids = new long[linhas];
+        long[] micros = new long[linhas];
+        long[] centavos = new long[linhas];
+        for (int i = 0; i < linhas; i++) {
+            ids[i] = (i == 0 ? 0 : ids[i - 1]) + lerZigzag(entrada);
+        }
+        for (int i = 0; i < linhas; i++) {
+            micros[i] = (i == 0 ? 0 : micros[i - 1]) + lerZigzag(entrada);
+        }
+        for (int i = 0; i < linhas; i++) {
+            centavos[i] = lerZigzag(entrada);
+        }
+        byte[] tipos = new byte[linhas];
+        byte[] status = new byte[linhas];
+        entrada.get(tipos);
+        entrada.get(status);
+        long[] origens = new long[linhas];
+        long[] destinos = new long[linhas];
+        for (int i = 0; i < linhas; i++) {
+            origens[i] = lerVarint(entrada);
+        }
+        for (int i = 0; i < linhas; i++) {
+            destinos[i] = lerVarint(entrada);
+        }
+
+        List<RegistroArquivado> registros = new ArrayList<>(linhas);
+        for (int i = 0; i < linhas; i++) {
+            int tamanho = (int) lerVarint(entrada);
+            String descricao = null;
+            if (tamanho > 0) {
+                descricao = new String(entrada.array(), entrada.position(), tamanho - 1, StandardCharsets.UTF_8);
+                entrada.position(entrada.position() + tamanho - 1);
+            }
+            registros.add(new RegistroArquivado(
+                    ids[i],
+                    instante(micros[i]),
+                    Dinheiro.deCentavos(centavos[i]),
+                    TIPOS.convertToEntityAttribute((char) tipos[i]),
+                    STATUS.convertToEntityAttribute((char) status[i]),
+                    origens[i],
+                    destinos[i] == 0 ? null : destinos[i],
+                    descricao));
+        }
+        return registros;
+    }
+
+    // o banco guarda microssegundos (timestamp(6)); é a precisão que vale preservar
+    private static long micros(Instant instante) {
+        return Math.addExact(Math.multiplyExact(instante.getEpochSecond(), 1_000_000L), instante.getNano() / 1_000);
+    }
+
+    private static Instant instante(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static long lerZigzag(ByteBuffer entrada) {
+        long v = lerVarint(entrada);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static long lerVarint(ByteBuffer entrada) {
+        long valor = 0;
+        for (int deslocamento = 0; ; deslocamento += 7) {
+            byte b = entrada.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+    }
+
+    private static byte[] comprimir(Deflater deflater, byte[] original) {
+        deflater.reset();
+        deflater.setInput(original);
+        deflater.finish();
+        byte[] destino = new byte[Math.max(64, original.length + original.length / 8 + 64)];
+        int tamanho = 0;
+        while (!deflater.finished()) {
+            if (tamanho == destino.length) {
+                destino = Arrays.copyOf(destino, destino.length * 2);
+            }
+            tamanho += deflater.deflate(destino, tamanho, destino.length - tamanho);
+        }
+        return Arrays.copyOf(destino, tamanho);
+    }
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer dados) throws IOException {
+        while (dados.hasRemaining()) {
+            canal.write(dados);
+        }
+    }
+
+    /**
+     * Grava um segmento conta a conta, em ordem crescente de conta, sem o mês em memória: cada
+     * bloco é comprimido e vai para um arquivo de blocos ao lado do destino, e só o índice
+     * (28 bytes por conta) fica em memória. {@link #concluir()} monta cabeçalho, índice e
+     * blocos num temporário e o move por cima do destino só depois do fsync: um leitor nunca
+     * vê arquivo pela metade. Sem concluir, {@link #close()} descarta tudo.
+     */
+    public static final class Gravador implements AutoCloseable {
+        private final Path arquivo;
+        private final YearMonth mes;
+        private final Path blocos;
+        private final FileChannel canalBlocos;
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private ByteBuffer indice = ByteBuffer.allocate(64 * TAMANHO_ENTRADA);
+        private int contas;
+        private long registros;
+        private long tamanhoBlocos;
+        private long ultimaConta;
+
+        private Gravador(Path arquivo, YearMonth mes) {
+            this.arquivo = arquivo;
+            this.mes = mes;
+            this.blocos = arquivo.resolveSibling(arquivo.getFileName() + ".blocos");
+            try {
+                Files.createDirectories(arquivo.getParent());
+                this.canalBlocos = FileChannel.open(blocos, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                deflater.end();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Linhas da conta em ordem de data e id; uma transferência vai no bloco de cada ponta.
+         */
+        public void conta(long contaId, List<RegistroArquivado> linhas) {
+            if (contas > 0 && contaId <= ultimaConta) {
+                throw new IllegalArgumentException("Conta " + contaId + " fora de ordem no segmento de " + mes
+                        + ": a anterior foi " + ultimaConta);
+            }
+            if (linhas.isEmpty()) {
+                return;
+            }
+            byte[] original = codificar(linhas);
+            byte[] comprimido = comprimir(deflater, original);
+            if (getTamanho() + TAMANHO_ENTRADA + comprimido.length > TAMANHO_MAXIMO) {
+                throw new IllegalStateException("Segmento de " + mes + " passaria de 2 GiB na conta " + contaId);
+            }
+            try {
+                escreverTudo(canalBlocos, ByteBuffer.wrap(comprimido));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!indice.hasRemaining()) {
+                indice = ByteBuffer.allocate(indice.capacity() * 2).put(indice.flip());
+            }
+            indice.putLong(contaId).putLong(tamanhoBlocos)
+                    .putInt(comprimido.length).putInt(original.length).putInt(linhas.size());
+            tamanhoBlocos += comprimido.length;
+            contas++;
+            ultimaConta = contaId;
+            for (RegistroArquivado r : linhas) {
+                if (r.contaOrigemId() == contaId) {
+                    registros++;
+                }
+            }
+        }
+
+        /**
+         * Tamanho que o arquivo teria se fosse concluído agora.
+         */
+        public long getTamanho() {
+            return TAMANHO_CABECALHO + (long) contas * TAMANHO_ENTRADA + tamanhoBlocos;
+        }
+
+        public long getRegistros() {
+            return registros;
+        }
+
+        public void concluir() {
+            // offsets do índice eram relativos ao arquivo de blocos
+            long inicioBlocos = TAMANHO_CABECALHO + (long) contas * TAMANHO_ENTRADA;
+            for (int i = 0; i < contas; i++) {
+                int posicao = i * TAMANHO_ENTRADA + 8;
+                indice.putLong(posicao, indice.getLong(posicao) + inicioBlocos);
+            }
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO)
+                    .putInt(MAGIC).putShort(VERSAO).putShort((short) 0)
+                    .putInt(mes.getYear() * 100 + mes.getMonthValue())
+                    .putInt(contas).putLong(registros);
+
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            try {
+                try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    escreverTudo(canal, cabecalho.flip());
+                    escreverTudo(canal, indice.flip());
+                    for (long copiados = 0; copiados < tamanhoBlocos; ) {
+                        copiados += canalBlocos.transferTo(copiados, tamanhoBlocos - copiados, canal);
+                    }
+                    canal.force(true);
+                }
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            deflater.end();
+            try {
+                canalBlocos.close();
+                Files.deleteIfExists(blocos);
+                Files.deleteIfExists(arquivo.resolveSibling(arquivo.getFileName() + ".tmp"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ByteArrayOutputStream sem sincronização e com varint
+    private static final class Saida {
+        private byte[] dados;
+        private int tamanho;
+
+        Saida(int capacidade) {
+            dados = new byte[Math.max(16, capacidade)];
+        }
+
+        void zigzag(long valor) {
+            varint((valor << 1) ^ (valor >> 63));
+        }
+
+        void varint(long valor) {
+            garantir(10);
+            while ((valor & ~0x7FL) != 0) {
+                dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            dados[tamanho++] = (byte) valor;
+        }
+
+        void octeto(int valor) {
+            garantir(1);
+            dados[tamanho++] = (byte) valor;
+        }
+
+        void bytes(byte[] origem) {
+            garantir(origem.length);
+            System.arraycopy(origem, 0, dados, tamanho, origem.length);
+            tamanho += origem.length;
+        }
+
+        byte[] paraArray() {
+            return Arrays.copyOf(dados, tamanho);
+        }
+
+        private void garantir(int adicional) {
+            if (tamanho + adicional > dados.length) {
+                dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + adicional));
+            }
+        }
+    }
+}
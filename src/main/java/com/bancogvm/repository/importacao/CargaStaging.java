@@ -0,0 +1,149 @@
+package com.bancogvm.repository.importacao;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * Carga de linhas numa tabela de staging. No PostgreSQL vai por COPY FROM STDIN (CSV),
+ * em blocos de 64 KB: sem um INSERT por linha e sem o arquivo inteiro em memória.
+ * Em outros bancos (H2 dos testes) cai para INSERT em lotes.
+ */
+public abstract class CargaStaging implements AutoCloseable {
+
+    private long linhas;
+
+    public static CargaStaging abrir(Connection conexao, String tabela, String... colunas) throws SQLException {
+        if (conexao.isWrapperFor(PGConnection.class)) {
+            return new Copy(conexao.unwrap(PGConnection.class), tabela, colunas);
+        }
+        return new Lote(conexao, tabela, colunas);
+    }
+
+    public void linha(Object... valores) throws SQLException {
+        escrever(valores);
+        linhas++;
+    }
+
+    /** Envia o que falta e devolve quantas linhas entraram. */
+    public long concluir() throws SQLException {
+        finalizar();
+        return linhas;
+    }
+
+    protected abstract void escrever(Object[] valores) throws SQLException;
+
+    protected abstract void finalizar() throws SQLException;
+
+    /** Sem concluir, descarta a carga (o COPY é cancelado). */
+    @Override
+    public abstract void close() throws SQLException;
+
+    private static final class Copy extends CargaStaging {
+
+        private static final int BLOCO = 64 * 1024;
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(BLOCO + 1024);
+
+        Copy(PGConnection conexao, String tabela, String[] colunas) throws SQLException {
+            this.copy = conexao.getCopyAPI().copyIn(
+                    "COPY " + tabela + " (" + String.join(", ", colunas) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        protected void escrever(Object[] valores) throws SQLException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object valor = valores[i];
+                if (valor instanceof String texto) {
+                    // entre aspas: vazio "" é texto vazio; campo sem nada é NULL
+                    buffer.append('"');
+                    for (int j = 0; j < texto.length(); j++) {
+                        char c = texto.charAt(j);
+                        if (c == '"') {
+                            buffer.append('"');
+                        }
+                        buffer.append(c);
+                    }
+                    buffer.append('"');
+                } else if (valor instanceof BigDecimal numero) {
+                    buffer.append(numero.toPlainString());
+                } else if (valor != null) {
+                    buffer.append(valor);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= BLOCO) {
+                enviar();
+            }
+        }
+
+        private void enviar() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        protected void finalizar() throws SQLException {
+            if (!buffer.isEmpty()) {
+                enviar();
+            }
+            copy.endCopy();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static final class Lote extends CargaStaging {
+
+        private static final int TAMANHO = 1000;
+
+        private final PreparedStatement insert;
+        private int pendentes;
+
+        Lote(Connection conexao, String tabela, String[] colunas) throws SQLException {
+            this.insert = conexao.prepareStatement("insert into " + tabela + " (" + String.join(", ", colunas)
+                    + ") values (" + String.join(", ", Collections.nCopies(colunas.length, "?")) + ")");
+        }
+
+        @Override
+        protected void escrever(Object[] valores) throws SQLException {
+            for (int i = 0; i < valores.length; i++) {
+                insert.setObject(i + 1, valores[i]);
+            }
+            insert.addBatch();
+            if (++pendentes == TAMANHO) {
+                insert.executeBatch();
+                pendentes = 0;
+            }
+        }
+
+        @Override
+        protected void finalizar() throws SQLException {
+            if (pendentes > 0) {
+                insert.executeBatch();
+                pendentes = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            insert.close();
+        }
+    }
+}
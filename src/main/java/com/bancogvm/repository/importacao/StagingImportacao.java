@@ -0,0 +1,178 @@
+package com.bancogvm.repository.importacao;
+
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Tabelas de staging da importação de carteira e o SQL que as funde nas tabelas
+ * definitivas, tudo na conexão (e transação) do chamador.
+ *
+ * As tabelas são temporárias da sessão e somem no commit ou rollback. Cada etapa de
+ * fusão primeiro separa o que conflita com o banco (rejeitar: lista e apaga do staging)
+ * e depois insere o restante com um único INSERT ... SELECT.
+ */
+public class StagingImportacao {
+
+    public static final String CLIENTES = "stg_cliente";
+    public static final String CONTAS = "stg_conta";
+    public static final String TITULARES = "stg_titular";
+
+    public static final String[] COLUNAS_CLIENTE = {
+            "linha", "cpf", "nome", "email", "data_nascimento", "telefone", "endereco", "login_usuario"};
+    public static final String[] COLUNAS_CONTA = {
+            "linha", "agencia", "numero_conta", "tipo_conta", "saldo", "status_conta",
+            "limite_cheque_especial", "taxa_rendimento_anual", "data_aniversario"};
+    public static final String[] COLUNAS_TITULAR = {
+            "linha", "cpf", "agencia", "numero_conta", "tipo_titularidade"};
+
+    @FunctionalInterface
+    public interface Rejeicao {
+        void rejeitar(long linha, String registro) throws SQLException;
+    }
+
+    private final Connection conexao;
+    private final boolean postgres;
+
+    public StagingImportacao(Connection conexao) throws SQLException {
+        this.conexao = conexao;
+        this.postgres = conexao.isWrapperFor(PGConnection.class);
+    }
+
+    public void criarTabelas() throws SQLException {
+        criar(CLIENTES, """
+                linha bigint not null,
+                cpf varchar(11) not null,
+                nome varchar(255) not null,
+                email varchar(255),
+                data_nascimento date,
+                telefone varchar(255),
+                endereco varchar(255),
+                login_usuario varchar(255)""");
+        criar(CONTAS, """
+                linha bigint not null,
+                agencia varchar(255) not null,
+                numero_conta varchar(255) not null,
+                tipo_conta varchar(31) not null,
+                saldo numeric(38,2) not null,
+                status_conta char(1) not null,
+                limite_cheque_especial numeric(38,2),
+                taxa_rendimento_anual numeric(38,2),
+                data_aniversario date""");
+        criar(TITULARES, """
+                linha bigint not null,
+                cpf varchar(11) not null,
+                agencia varchar(255) not null,
+                numero_conta varchar(255) not null,
+                tipo_titularidade char(1) not null""");
+    }
+
+    private void criar(String tabela, String colunas) throws SQLException {
+        // o H2 faria commit implícito no CREATE (e o ON COMMIT DROP levaria as anteriores)
+        try (Statement st = conexao.createStatement()) {
+            st.execute("create local temporary table " + tabela + " (" + colunas + ") on commit drop"
+                    + (postgres ? "" : " transactional"));
+        }
+    }
+
+    public CargaStaging carga(String tabela, String... colunas) throws SQLException {
+        return CargaStaging.abrir(conexao, tabela, colunas);
+    }
+
+    /** Índices depois da carga: mais barato que mantê-los linha a linha durante o COPY. */
+    public void indexar() throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            st.execute("create index ix_stg_cliente_cpf on " + CLIENTES + " (cpf)");
+            st.execute("create index ix_stg_conta_numero on " + CONTAS + " (agencia, numero_conta)");
+            if (postgres) {
+                st.execute("analyze " + CLIENTES);
+                st.execute("analyze " + CONTAS);
+                st.execute("analyze " + TITULARES);
+            }
+        }
+    }
+
+    public long fundirClientes(Instant agora, Rejeicao rejeitados) throws SQLException {
+        rejeitar(CLIENTES, "s.cpf",
+                "exists (select 1 from cliente c where c.cpf = s.cpf)", rejeitados);
+        return atualizar("""
+                insert into cliente (cpf, nome, email, data_nascimento, telefone, endereco, login_usuario, data_cadastro)
+                select s.cpf, s.nome, s.email, s.data_nascimento, s.telefone, s.endereco, s.login_usuario, ?
+                from stg_cliente s""", agora);
+    }
+
+    public long fundirContas(Instant agora, Rejeicao rejeitados) throws SQLException {
+        rejeitar(CONTAS, "s.agencia || '/' || s.numero_conta",
+                "exists (select 1 from conta c where c.agencia = s.agencia and c.numero_conta = s.numero_conta)",
+                rejeitados);
+        long inseridas = atualizar("""
+                insert into conta (agencia, numero_conta, saldo, data_abertura, status_conta, tipo_conta)
+                select s.agencia, s.numero_conta, s.saldo, ?, s.status_conta, s.tipo_conta
+                from stg_conta s""", agora);
+        // herança JOINED: a linha da subclasse pega o id gerado pela (agência, número) recém-inserida
+        atualizar("""
+                insert into conta_corrente_entity (id, limite_cheque_especial)
+                select c.id, s.limite_cheque_especial
+                from stg_conta s
+                join conta c on c.agencia = s.agencia and c.numero_conta = s.numero_conta
+                where s.tipo_conta = 'CORRENTE'""");
+        atualizar("""
+                insert into conta_poupanca_entity (id, taxa_rendimento_anual, data_aniversario)
+                select c.id, s.taxa_rendimento_anual, s.data_aniversario
+                from stg_conta s
+                join conta c on c.agencia = s.agencia and c.numero_conta = s.numero_conta
+                where s.tipo_conta = 'POUPANCA'""");
+        return inseridas;
+    }
+
+    public long fundirTitulares(Instant agora, Rejeicao clienteInexistente, Rejeicao contaInexistente,
+                                Rejeicao jaVinculado) throws SQLException {
+        String chave = "s.cpf || ' ' || s.agencia || '/' || s.numero_conta";
+        rejeitar(TITULARES, chave,
+                "not exists (select 1 from cliente c where c.cpf = s.cpf)", clienteInexistente);
+        rejeitar(TITULARES, chave,
+                "not exists (select 1 from conta k where k.agencia = s.agencia and k.numero_conta = s.numero_conta)",
+                contaInexistente);
+        rejeitar(TITULARES, chave, """
+                exists (select 1 from titular_conta t
+                        join cliente c on c.id = t.cliente_id
+                        join conta k on k.id = t.conta_id
+                        where c.cpf = s.cpf and k.agencia = s.agencia and k.numero_conta = s.numero_conta)""",
+                jaVinculado);
+        return atualizar("""
+                insert into titular_conta (cliente_id, conta_id, tipo_titularidade, data_associacao)
+                select c.id, k.id, s.tipo_titularidade, ?
+                from stg_titular s
+                join cliente c on c.cpf = s.cpf
+                join conta k on k.agencia = s.agencia and k.numero_conta = s.numero_conta""", agora);
+    }
+
+    private void rejeitar(String tabela, String registro, String condicao, Rejeicao rejeitados) throws SQLException {
+        try (PreparedStatement select = conexao.prepareStatement(
+                "select s.linha, " + registro + " from " + tabela + " s where " + condicao + " order by s.linha")) {
+            // em lotes do cursor: pode ser a carteira inteira numa reimportação
+            select.setFetchSize(10_000);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    rejeitados.rejeitar(rs.getLong(1), rs.getString(2));
+                }
+            }
+        }
+        atualizar("delete from " + tabela + " s where " + condicao);
+    }
+
+    private long atualizar(String sql, Instant... agora) throws SQLException {
+        try (PreparedStatement st = conexao.prepareStatement(sql)) {
+            for (int i = 0; i < agora.length; i++) {
+                st.setTimestamp(i + 1, Timestamp.from(agora[i]));
+            }
+            return st.executeLargeUpdate();
+        }
+    }
+}
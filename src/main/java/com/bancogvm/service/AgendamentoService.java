@@ -0,0 +1,13 @@
+package com.bancogvm.service;
+
+import com.bancogvm.service.model.AgendamentoTransferenciaEntity;
+
+import java.util.List;
+
+public interface AgendamentoService {
+
+    AgendamentoTransferenciaEntity agendar(AgendamentoTransferenciaEntity a);
+    List<AgendamentoTransferenciaEntity> listarPorConta(Long contaId);
+    AgendamentoTransferenciaEntity buscarPorId(Long id);
+    AgendamentoTransferenciaEntity cancelar(Long id);
+}
@@ -0,0 +1,66 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.AgendamentoTransferenciaRepository;
+import com.bancogvm.service.model.AgendamentoTransferenciaEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusAgendamento;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class AgendamentoServiceImpl implements AgendamentoService {
+
+    private final AgendamentoTransferenciaRepository repo;
+
+    @Override
+    @Transactional
+    public AgendamentoTransferenciaEntity agendar(AgendamentoTransferenciaEntity a) {
+        if (a.getValor() == null || !a.getValor().maiorQue(Dinheiro.ZERO)) {
+            throw new IllegalArgumentException("Valor do agendamento deve ser positivo");
+        }
+        Instant agora = Instant.now();
+        if (a.getDataExecucao() == null || !a.getDataExecucao().isAfter(agora)) {
+            throw new IllegalArgumentException("Data de execução deve ser futura");
+        }
+        if (a.getContaOrigem().getId().equals(a.getContaDestino().getId())) {
+            throw new IllegalArgumentException("Conta de origem e de destino devem ser diferentes");
+        }
+        a.setStatusAgendamento(StatusAgendamento.AGENDADO);
+        a.setCriadoEm(agora);
+        return repo.save(a);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AgendamentoTransferenciaEntity> listarPorConta(Long contaId) {
+        return repo.findByConta(contaId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AgendamentoTransferenciaEntity buscarPorId(Long id) {
+        return repo.findComContasById(id)
+                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado"));
+    }
+
+    /**
+     * Cancela o que ainda não saiu, inclusive se já reservado por um nó: o UPDATE espera a
+     * execução em andamento terminar e, se ela concluiu, não encontra mais o agendamento pendente.
+     */
+    @Override
+    @Transactional
+    public AgendamentoTransferenciaEntity cancelar(Long id) {
+        int cancelados = repo.cancelar(id, StatusAgendamento.CANCELADO,
+                List.of(StatusAgendamento.AGENDADO, StatusAgendamento.RESERVADO));
+        if (cancelados == 0) {
+            AgendamentoTransferenciaEntity a = buscarPorId(id);
+            throw new IllegalArgumentException("Agendamento " + a.getStatusAgendamento() + " não pode ser cancelado");
+        }
+        return buscarPorId(id);
+    }
+}
@@ -0,0 +1,282 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.ArquivoTransacoesProperties;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.repository.arquivo.ArquivoTransacoes;
+import com.bancogvm.repository.arquivo.RegistroArquivado;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Exporta meses fechados de transações para o {@link ArquivoTransacoes} e os apaga do banco.
+ *
+ * Ordem segura: o segmento é gravado (fsync + rename) antes do DELETE. Uma queda entre os
+ * dois deixa o mês nos dois lugares por um tempo; o extrato descarta a cópia arquivada e a
+ * próxima execução grava outra parte com as mesmas linhas e termina o DELETE.
+ *
+ * O mês sai do banco por um cursor em ordem de conta direto para o gravador do segmento:
+ * em memória ficam só um lote do cursor e as linhas de uma conta, não o mês.
+ *
+ * Com vários nós, só um arquiva por vez: reserva a linha de reserva_tarefa com
+ * SELECT ... FOR UPDATE SKIP LOCKED e validade, como o ExecutorAgendamentos; os outros
+ * pulam a execução. O DELETE de cada mês confere a reserva e grava em mes_arquivado
+ * quantos registros o segmento tem, na mesma transação. Os segmentos ficam num diretório
+ * compartilhado; cada nó confere o seu contra mes_arquivado de tempos em tempos e abre os
+ * segmentos novos. Um nó que não enxerga um mês já apagado do banco (diretório local, não
+ * compartilhado, montagem fora do ar) sobe assim mesmo e registra o erro no log, na subida
+ * e a cada sincronização, até enxergar; enquanto isso não arquiva.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ArquivamentoTransacoes {
+
+    static final String TAREFA = "arquivo-transacoes";
+
+    private static final String SQL_CRIAR_RESERVA = """
+            insert into reserva_tarefa (tarefa)
+            select ? where not exists (select 1 from reserva_tarefa where tarefa = ?)""";
+
+    private static final String SQL_RESERVAR = """
+            select tarefa from reserva_tarefa
+            where tarefa = ? and (reservado_ate is null or reservado_ate < ? or reservado_por = ?)
+            for update skip locked""";
+
+    private static final String SQL_CONFERIR_RESERVA = """
+            select tarefa from reserva_tarefa
+            where tarefa = ? and reservado_por = ?
+            for update""";
+
+    private static final String SQL_MARCAR = "update reserva_tarefa set reservado_por = ?, reservado_ate = ? where tarefa = ?";
+
+    private static final String SQL_LIBERAR = """
+            update reserva_tarefa set reservado_por = null, reservado_ate = null
+            where tarefa = ? and reservado_por = ?""";
+
+    private static final String SQL_ATUALIZAR_MES =
+            "update mes_arquivado set registros = ?, arquivado_em = ?, arquivado_por = ? where mes = ?";
+
+    private static final String SQL_INSERIR_MES =
+            "insert into mes_arquivado (mes, registros, arquivado_em, arquivado_por) values (?, ?, ?, ?)";
+
+    // uma linha por conta envolvida, na ordem do segmento: a transferência sai uma vez por ponta
+    private static final String SQL_POR_CONTA = """
+            select t.conta_origem_id, t.id, t.data_hora, t.valor, t.tipo_transacao, t.status_transacao,
+                   t.conta_origem_id, t.conta_destino_id, t.descricao
+            from transacao t
+            where t.data_hora >= ? and t.data_hora < ?
+            union all
+            select t.conta_destino_id, t.id, t.data_hora, t.valor, t.tipo_transacao, t.status_transacao,
+                   t.conta_origem_id, t.conta_destino_id, t.descricao
+            from transacao t
+            where t.data_hora >= ? and t.data_hora < ?
+              and t.conta_destino_id is not null and t.conta_destino_id <> t.conta_origem_id
+            order by 1, 3, 2""";
+
+    // linhas por ida ao banco; o cursor nunca traz o mês inteiro
+    private static final int LOTE_CURSOR = 10_000;
+
+    private static final TipoTransacao.Conversor TIPOS = new TipoTransacao.Conversor();
+    private static final StatusTransacao.Conversor STATUS = new StatusTransacao.Conversor();
+
+    private final TransacaoRepository repo;
+    private final ArquivoTransacoes arquivo;
+    private final ArquivoTransacoesProperties props;
+    private final VersaoRecursos versoes;
+    private final TransactionTemplate transacoes;
+    private final JdbcTemplate jdbc;
+    // pid@host: dois processos no mesmo host não se confundem
+    private final String no = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Scheduled(cron = "${bancogvm.arquivo.cron:0 45 2 * * *}", zone = "UTC")
+    public void executar() {
+        if (props.isHabilitado()) {
+            arquivarAntesDe(YearMonth.now(ZoneOffset.UTC).minusMonths(props.getRetencaoMeses()));
+        }
+    }
+
+    /**
+     * Um mês apagado do banco que este nó não enxerga sai do extrato sem as arquivadas. Não
+     * derruba a subida (o resto do banco continua servindo, e a montagem pode voltar); fica
+     * no log até {@link #sincronizar()} encontrar o mês.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void conferirNaSubida() {
+        sincronizar();
+    }
+
+    @Scheduled(fixedDelayString = "${bancogvm.arquivo.sincronizacao-ms:60000}")
+    public void sincronizar() {
+        List<YearMonth> faltando = faltando();
+        if (!faltando.isEmpty()) {
+            log.error("Meses arquivados ausentes de {}: {}. O extrato destes meses sai sem as transações arquivadas"
+                            + " e este nó não arquiva; com mais de um nó, bancogvm.arquivo.diretorio precisa ser compartilhado",
+                    props.getDiretorio().toAbsolutePath(), faltando);
+        }
+    }
+
+    /**
+     * Arquiva todos os meses anteriores a {@code limite}. Devolve quantas transações saíram do banco;
+     * 0 se outro nó está arquivando.
+     */
+    public int arquivarAntesDe(YearMonth limite) {
+        return comReserva(() -> {
+            Instant menor = repo.findMenorDataHora();
+            if (menor == null) {
+                return 0;
+            }
+            int total = 0;
+            for (YearMonth mes = YearMonth.from(menor.atZone(ZoneOffset.UTC)); mes.isBefore(limite); mes = mes.plusMonths(1)) {
+                total += arquivar(mes);
+            }
+            return total;
+        });
+    }
+
+    public int arquivarMes(YearMonth mes) {
+        return comReserva(() -> arquivar(mes));
+    }
+
+    private int comReserva(IntSupplier tarefa) {
+        if (!reservar()) {
+            log.info("Arquivamento de transações em andamento em outro nó; execução pulada");
+            return 0;
+        }
+        try {
+            // um nó que não enxerga o diretório compartilhado gravaria onde os outros não leem
+            List<YearMonth> faltando = faltando();
+            if (!faltando.isEmpty()) {
+                throw new IllegalStateException("Meses arquivados ausentes de " + props.getDiretorio().toAbsolutePath()
+                        + ": " + faltando + ". Com mais de um nó, bancogvm.arquivo.diretorio precisa ser compartilhado");
+            }
+            return tarefa.getAsInt();
+        } finally {
+            jdbc.update(SQL_LIBERAR, TAREFA, no);
+        }
+    }
+
+    private int arquivar(YearMonth mes) {
+        Instant de = mes.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant ate = mes.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        long[] exportadas = {0};
+        long[] ultimoId = {0};
+        long noSegmento;
+        try (ArquivoTransacoes.Gravacao gravacao = arquivo.gravacao(mes)) {
+            // transação de escrita de propósito: a leitura vai ao primário, nunca a uma réplica
+            // atrasada; e o PostgreSQL só usa o fetch size como cursor com autocommit desligado
+            transacoes.executeWithoutResult(s -> jdbc.query(con -> {
+                PreparedStatement select = con.prepareStatement(SQL_POR_CONTA);
+                select.setFetchSize(LOTE_CURSOR);
+                select.setObject(1, utc(de));
+                select.setObject(2, utc(ate));
+                select.setObject(3, utc(de));
+                select.setObject(4, utc(ate));
+                return select;
+            }, rs -> {
+                long conta = rs.getLong(1);
+                RegistroArquivado registro = registro(rs);
+                gravacao.adicionar(conta, registro);
+                ultimoId[0] = Math.max(ultimoId[0], registro.id());
+                if (conta == registro.contaOrigemId()) {
+                    exportadas[0]++;
+                }
+            }));
+            if (exportadas[0] == 0) {
+                return 0;
+            }
+            noSegmento = gravacao.concluir();
+        }
+
+        Integer apagadas = transacoes.execute(s -> {
+            // reserva vencida e tomada por outro nó: o mês fica no banco e ele termina o trabalho
+            if (jdbc.queryForList(SQL_CONFERIR_RESERVA, String.class, TAREFA, no).isEmpty()) {
+                throw new IllegalStateException("Reserva do arquivamento perdida antes de apagar " + mes);
+            }
+            Instant agora = Instant.now();
+            jdbc.update(SQL_MARCAR, no, utc(agora.plus(props.getValidadeReserva())), TAREFA);
+            int codigo = mes.getYear() * 100 + mes.getMonthValue();
+            if (jdbc.update(SQL_ATUALIZAR_MES, noSegmento, utc(agora), no, codigo) == 0) {
+                jdbc.update(SQL_INSERIR_MES, codigo, noSegmento, utc(agora), no);
+            }
+            int n = repo.deleteArquivadas(de, ate, ultimoId[0]);
+            versoes.incrementar(VersaoRecursos.TRANSACOES);
+            return n;
+        });
+
+        log.info("Transações de {} arquivadas: {} exportadas, {} removidas do banco", mes, exportadas[0], apagadas);
+        return apagadas == null ? 0 : apagadas;
+    }
+
+    private boolean reservar() {
+        try {
+            jdbc.update(SQL_CRIAR_RESERVA, TAREFA, TAREFA);
+        } catch (DuplicateKeyException e) {
+            // criada por outro nó
+        }
+        Instant agora = Instant.now();
+        Boolean reservado = transacoes.execute(s -> {
+            if (jdbc.queryForList(SQL_RESERVAR, String.class, TAREFA, utc(agora), no).isEmpty()) {
+                return false;
+            }
+            jdbc.update(SQL_MARCAR, no, utc(agora.plus(props.getValidadeReserva())), TAREFA);
+            return true;
+        });
+        return Boolean.TRUE.equals(reservado);
+    }
+
+    /**
+     * Meses de mes_arquivado que este nó serve com menos registros do que o banco diz ter
+     * arquivado, depois de reabrir do disco os que mudaram. Mais registros é normal: um
+     * rearquivamento interrompido antes do DELETE, e o extrato fica com a linha do banco.
+     */
+    private List<YearMonth> faltando() {
+        List<YearMonth> faltando = new ArrayList<>();
+        jdbc.query("select mes, registros from mes_arquivado order by mes", rs -> {
+            YearMonth mes = YearMonth.of(rs.getInt(1) / 100, rs.getInt(1) % 100);
+            long registros = rs.getLong(2);
+            if (arquivo.registros(mes) < registros && arquivo.recarregar(mes) < registros) {
+                faltando.add(mes);
+            }
+        });
+        return faltando;
+    }
+
+    private static RegistroArquivado registro(ResultSet rs) throws SQLException {
+        return new RegistroArquivado(
+                rs.getLong(2),
+                rs.getObject(3, OffsetDateTime.class).toInstant(),
+                Dinheiro.de(rs.getBigDecimal(4)),
+                TIPOS.convertToEntityAttribute(rs.getString(5).charAt(0)),
+                STATUS.convertToEntityAttribute(rs.getString(6).charAt(0)),
+                rs.getLong(7),
+                rs.getObject(8, Long.class),
+                rs.getString(9));
+    }
+
+    private static OffsetDateTime utc(Instant instante) {
+        return instante.atOffset(ZoneOffset.UTC);
+    }
+}
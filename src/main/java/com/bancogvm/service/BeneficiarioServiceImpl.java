@@ -5,6 +5,7 @@ import com.bancogvm.service.model.BeneficiarioEntity;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,13 +22,15 @@ public class BeneficiarioServiceImpl implements BeneficiarioService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BeneficiarioEntity> listarTodos() {
-        return repo.findAll();
+        return repo.findAllComCliente();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BeneficiarioEntity buscarPorId(Long id) {
-        return repo.findById(id)
+        return repo.findComClienteById(id)
                 .orElseThrow(() -> new RuntimeException("Beneficiário não encontrado"));
     }
 }
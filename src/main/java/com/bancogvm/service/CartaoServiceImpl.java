@@ -4,9 +4,11 @@ import com.bancogvm.repository.CartaoRepository;
 import com.bancogvm.service.model.CartaoCreditoEntity;
 import com.bancogvm.service.model.CartaoDebitoEntity;
 import com.bancogvm.service.model.CartaoEntity;
+import com.bancogvm.service.model.StatusCartao;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -17,43 +19,54 @@ import java.util.List;
 public class CartaoServiceImpl implements CartaoService{
 
     private final CartaoRepository repo;
+    private final MetricasNegocio metricas;
+    private final EventosTempoReal eventos;
+    private final LimitesVelocidade limites;
 
     @Override
     public CartaoCreditoEntity emitirCredito(CartaoCreditoEntity cc) {
         cc.setDataEmissao(Instant.now());
-        cc.setStatusCartao("ATIVO");
+        cc.setStatusCartao(StatusCartao.ATIVO);
         return repo.save(cc);
     }
 
     @Override
     public CartaoDebitoEntity emitirDebito(CartaoDebitoEntity cd) {
         cd.setDataEmissao(Instant.now());
-        cd.setStatusCartao("ATIVO");
-        return repo.save(cd);
+        cd.setStatusCartao(StatusCartao.ATIVO);
+        CartaoDebitoEntity salvo = repo.save(cd);
+        limites.cartaoAlterado(salvo.getConta().getId());
+        return salvo;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CartaoEntity> listarTodos() {
-        return repo.findAll();
+        return repo.findAllComConta();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CartaoEntity buscarPorId(Long id) {
-        return repo.findById(id)
+        return repo.findComContaById(id)
                 .orElseThrow(() -> new RuntimeException("Cartão não encontrado"));
     }
 
     @Override
+    @Transactional
     public void bloquear(Long id) {
         CartaoEntity c = buscarPorId(id);
         c.bloquear();
-        repo.save(c);
+        eventos.cartao(repo.save(c));
+        metricas.cartaoStatus("BLOQUEIO");
     }
 
     @Override
+    @Transactional
     public void desbloquear(Long id) {
         CartaoEntity c = buscarPorId(id);
         c.desbloquear();
-        repo.save(c);
+        eventos.cartao(repo.save(c));
+        metricas.cartaoStatus("DESBLOQUEIO");
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.bancogvm.service;
+
+import com.bancogvm.service.chave.ChaveResolvida;
+import com.bancogvm.service.model.BeneficiarioEntity;
+import com.bancogvm.service.model.ChaveEntity;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.TipoChave;
+import com.bancogvm.service.model.TransacaoEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ChaveService {
+
+    ChaveEntity registrar(TipoChave tipo, ContaCorrenteEntity conta, ClienteEntity cliente);
+    ChaveEntity remover(Long id);
+    List<ChaveEntity> listarPorConta(Long contaId);
+    Optional<ChaveResolvida> resolver(String chave);
+    TransacaoEntity transferir(ContaCorrenteEntity origem, String chave, Dinheiro valor, String descricao);
+    TransacaoEntity transferirParaBeneficiario(ContaCorrenteEntity origem, BeneficiarioEntity beneficiario,
+                                               Dinheiro valor, String descricao);
+}
@@ -0,0 +1,164 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.ChaveRepository;
+import com.bancogvm.repository.TitularContaRepository;
+import com.bancogvm.service.chave.ChaveResolvida;
+import com.bancogvm.service.chave.ChavesPagamento;
+import com.bancogvm.service.model.BeneficiarioEntity;
+import com.bancogvm.service.model.ChaveEntity;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.TipoChave;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@AllArgsConstructor
+public class ChaveServiceImpl implements ChaveService {
+
+    private final ChaveRepository repo;
+    private final TitularContaRepository titularRepo;
+    private final DiretorioChaves diretorio;
+    private final TransacaoService transacaoService;
+    private final TransactionTemplate transacoes;
+
+    /**
+     * O valor da chave vem do cadastro do cliente (ou é gerado, se ALEATORIA), e o cliente
+     * precisa ser titular da conta. O índice deste nó é atualizado depois do commit; os
+     * outros nós veem a chave na próxima sincronização.
+     */
+    @Override
+    public ChaveEntity registrar(TipoChave tipo, ContaCorrenteEntity conta, ClienteEntity cliente) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de chave obrigatório");
+        }
+        if (conta.getStatusConta() != StatusConta.ATIVA) {
+            throw new IllegalArgumentException("Conta " + conta.getId() + " não está ativa");
+        }
+        String valor = switch (tipo) {
+            case CPF, CNPJ -> cliente.getCpf();
+            case EMAIL -> cliente.getEmail();
+            case TELEFONE -> cliente.getTelefone();
+            case ALEATORIA -> UUID.randomUUID().toString();
+        };
+        String chave = ChavesPagamento.paraRegistro(tipo, valor);
+        ChaveEntity salva;
+        try {
+            salva = transacoes.execute(status -> gravar(tipo, chave, conta, cliente));
+        } catch (DataIntegrityViolationException e) {
+            // outro registro da mesma chave confirmou entre a consulta e o insert
+            throw new IllegalArgumentException("Chave já registrada");
+        }
+        diretorio.atualizar(salva);
+        return salva;
+    }
+
+    @Override
+    public ChaveEntity remover(Long id) {
+        ChaveEntity removida = transacoes.execute(status -> {
+            ChaveEntity c = repo.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Chave não encontrada"));
+            if (c.isAtiva()) {
+                c.setAtiva(false);
+                c.setAtualizadaEm(Instant.now());
+            }
+            return c;
+        });
+        diretorio.atualizar(removida);
+        return removida;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChaveEntity> listarPorConta(Long contaId) {
+        return repo.findByConta_IdAndAtivaTrueOrderById(contaId);
+    }
+
+    @Override
+    public Optional<ChaveResolvida> resolver(String chave) {
+        return diretorio.resolver(chave);
+    }
+
+    /**
+     * Transferência interna para a conta da chave. O destino sai do índice e vai para
+     * registrar só com o id: a única leitura dele é a do SELECT ... FOR UPDATE.
+     */
+    @Override
+    public TransacaoEntity transferir(ContaCorrenteEntity origem, String chave, Dinheiro valor, String descricao) {
+        ChaveResolvida destino = diretorio.resolver(chave)
+                .orElseThrow(() -> new RuntimeException("Chave não encontrada"));
+        if (destino.contaId() == origem.getId()) {
+            throw new IllegalArgumentException("Conta de origem e de destino devem ser diferentes");
+        }
+        if (valor == null || !valor.maiorQue(Dinheiro.ZERO)) {
+            throw new IllegalArgumentException("Valor da transferência deve ser positivo");
+        }
+        ContaCorrenteEntity contaDestino = new ContaCorrenteEntity();
+        contaDestino.setId(destino.contaId());
+        return transacaoService.registrar(TransacaoEntity.builder()
+                .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                .valor(valor)
+                .descricao(descricao)
+                .contaOrigem(origem)
+                .contaDestino(contaDestino)
+                .build());
+    }
+
+    /**
+     * Beneficiário cadastrado com CPF/CNPJ que é chave neste banco: vira transferência
+     * interna pela chave, sem passar pela liquidação.
+     */
+    @Override
+    public TransacaoEntity transferirParaBeneficiario(ContaCorrenteEntity origem, BeneficiarioEntity b,
+                                                      Dinheiro valor, String descricao) {
+        if (b.getCpfCnpjFavorecido() == null || b.getCpfCnpjFavorecido().isBlank()) {
+            throw new IllegalArgumentException("Beneficiário sem CPF/CNPJ");
+        }
+        Long clienteId = b.getCliente().getId();
+        boolean titular = titularRepo.findByContaId(origem.getId()).stream()
+                .anyMatch(t -> t.getCliente().getId().equals(clienteId));
+        if (!titular) {
+            throw new IllegalArgumentException("Beneficiário não é de um titular da conta de origem");
+        }
+        return transferir(origem, b.getCpfCnpjFavorecido(), valor, descricao);
+    }
+
+    private ChaveEntity gravar(TipoChave tipo, String chave, ContaCorrenteEntity conta, ClienteEntity cliente) {
+        Long clienteId = cliente.getId();
+        boolean titular = titularRepo.findByContaId(conta.getId()).stream()
+                .anyMatch(t -> t.getCliente().getId().equals(clienteId));
+        if (!titular) {
+            throw new IllegalArgumentException("Cliente não é titular da conta");
+        }
+        Instant agora = Instant.now();
+        ChaveEntity c = repo.findByChave(chave).orElse(null);
+        if (c == null) {
+            c = ChaveEntity.builder()
+                    .chave(chave)
+                    .hashChave(ChavesPagamento.hash(chave))
+                    .criadaEm(agora)
+                    .build();
+        } else if (c.isAtiva()) {
+            throw new IllegalArgumentException("Chave já registrada");
+        }
+        // chave removida antes: a mesma linha volta, possivelmente para outra conta
+        c.setTipoChave(tipo);
+        c.setConta(conta);
+        c.setCliente(cliente);
+        c.setAtiva(true);
+        c.setAtualizadaEm(agora);
+        return repo.saveAndFlush(c);
+    }
+}
@@ -5,6 +5,7 @@ import com.bancogvm.service.model.ClienteEntity;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -17,6 +18,7 @@ public class ClienteServiceImpl implements ClienteService {
     private final ClienteRepository repo;
 
     @Override
+    @Transactional
     public ClienteEntity cadastrar(ClienteEntity cliente) {
         // Validar CPF duplicado
         if (repo.findByCpf(cliente.getCpf()).isPresent()) {
@@ -29,11 +31,13 @@ public class ClienteServiceImpl implements ClienteService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ClienteEntity> listarTodos() {
         return repo.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ClienteEntity buscarPorId(Long id) {
         return repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
@@ -6,6 +6,7 @@ import com.bancogvm.service.model.ContaEntity;
 import com.bancogvm.service.model.ContaPoupancaEntity;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -29,11 +30,13 @@ public class ContaServiceImpl implements ContaService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ContaEntity> listarTodas() {
         return contaRepo.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ContaEntity buscarPorId(Long id) {
         return contaRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Conta não encontrada"));
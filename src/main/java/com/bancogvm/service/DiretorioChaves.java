@@ -0,0 +1,130 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.ChavesProperties;
+import com.bancogvm.service.chave.ChaveResolvida;
+import com.bancogvm.service.chave.ChavesPagamento;
+import com.bancogvm.service.chave.IndiceChaves;
+import com.bancogvm.service.model.ChaveEntity;
+import com.bancogvm.service.model.TipoChave;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * Diretório de chaves de pagamento em memória: cada nó guarda todas as chaves ativas num
+ * IndiceChaves e resolve sem ir ao banco. A tabela chave_pagamento continua sendo a fonte;
+ * o índice é carregado inteiro na subida e depois mantido de dois jeitos:
+ * <ul>
+ *   <li>o ChaveService aplica aqui o que registrou ou removeu, logo depois do commit;</li>
+ *   <li>a cada sincronizacao-ms, relê as linhas com atualizada_em recente, o que traz as
+ *       alterações feitas pelos outros nós.</li>
+ * </ul>
+ * A releitura volta {@code margem} antes da anterior e reaplica linhas já vistas, o que é
+ * inofensivo: por linha, o estado lido é o último confirmado.
+ */
+@Component
+@Slf4j
+public class DiretorioChaves {
+
+    private static final String SQL_ATIVAS = """
+            select hash_chave, conta_id, tipo_chave from chave_pagamento
+            where ativa = true""";
+
+    private static final String SQL_ALTERADAS = """
+            select hash_chave, conta_id, tipo_chave, ativa from chave_pagamento
+            where atualizada_em >= ?""";
+
+    private static final TipoChave.Conversor TIPOS = new TipoChave.Conversor();
+
+    private final JdbcTemplate jdbc;
+    private final ChavesProperties props;
+    private final IndiceChaves indice;
+
+    // início da última leitura; null até a carga da subida terminar
+    private volatile Instant sincronizadoEm;
+
+    public DiretorioChaves(JdbcTemplate jdbc, ChavesProperties props, MetricasNegocio metricas) {
+        this.jdbc = jdbc;
+        this.props = props;
+        this.indice = new IndiceChaves(props.getCapacidadeInicial());
+        metricas.chavesIndexadas(indice::tamanho);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Instant inicio = Instant.now();
+        jdbc.query(SQL_ATIVAS, rs -> {
+            indice.colocar(rs.getLong(1), IndiceChaves.valor(rs.getLong(2), rs.getString(3).charAt(0)));
+        });
+        sincronizadoEm = inicio;
+        log.info("Índice de chaves carregado: {} chaves", indice.tamanho());
+    }
+
+    /**
+     * Aplica as linhas alteradas desde a última leitura (menos a margem). Devolve quantas leu.
+     */
+    @Scheduled(fixedDelayString = "${bancogvm.chaves.sincronizacao-ms:5000}",
+            initialDelayString = "${bancogvm.chaves.sincronizacao-ms:5000}")
+    public int sincronizar() {
+        Instant desde = sincronizadoEm;
+        if (desde == null) {
+            return 0;
+        }
+        Instant inicio = Instant.now();
+        int[] lidas = {0};
+        jdbc.query(SQL_ALTERADAS, rs -> {
+            aplicar(rs);
+            lidas[0]++;
+        }, desde.minus(props.getMargem()).atOffset(ZoneOffset.UTC));
+        sincronizadoEm = inicio;
+        return lidas[0];
+    }
+
+    /**
+     * Chamado depois do commit de um registro ou remoção.
+     */
+    public void atualizar(ChaveEntity chave) {
+        if (chave.isAtiva()) {
+            indice.colocar(chave.getHashChave(), IndiceChaves.valor(chave.getContaId(), chave.getTipoChave().getCodigo()));
+        } else {
+            indice.remover(chave.getHashChave());
+        }
+    }
+
+    /**
+     * Só memória: normaliza, calcula a impressão e consulta o índice.
+     *
+     * @throws IllegalArgumentException se o texto não tem forma de chave
+     */
+    public Optional<ChaveResolvida> resolver(String chave) {
+        String normalizada = ChavesPagamento.normalizar(chave);
+        long valor = indice.buscar(ChavesPagamento.hash(normalizada));
+        if (valor == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new ChaveResolvida(normalizada,
+                TIPOS.convertToEntityAttribute(IndiceChaves.tipo(valor)), IndiceChaves.conta(valor)));
+    }
+
+    public int tamanho() {
+        return indice.tamanho();
+    }
+
+    private void aplicar(ResultSet rs) throws SQLException {
+        long hash = rs.getLong(1);
+        if (rs.getBoolean(4)) {
+            indice.colocar(hash, IndiceChaves.valor(rs.getLong(2), rs.getString(3).charAt(0)));
+        } else {
+            indice.remover(hash);
+        }
+    }
+}
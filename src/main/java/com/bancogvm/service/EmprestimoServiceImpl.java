@@ -1,12 +1,16 @@
 package com.bancogvm.service;
 
 import com.bancogvm.repository.EmprestimoRepository;
+import com.bancogvm.service.model.Dinheiro;
 import com.bancogvm.service.model.EmprestimoEntity;
+import com.bancogvm.service.model.StatusEmprestimo;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.List;
 
@@ -16,59 +20,75 @@ import java.util.List;
 public class EmprestimoServiceImpl implements EmprestimoService {
 
     private final EmprestimoRepository repo;
+    private final MetricasNegocio metricas;
+    private final EventosTempoReal eventos;
 
     public EmprestimoEntity solicitar(EmprestimoEntity e) {
         e.setDataSolicitacao(Instant.now());
-        e.setStatusEmprestimo("PENDENTE");
+        e.setStatusEmprestimo(StatusEmprestimo.PENDENTE);
 
         // Calcular juros compostos: VF = VP * (1 + i)^n
         if (e.getValorSolicitado() != null && e.getTaxaJurosMensal() != null && e.getNumeroParcelas() != null) {
-            double valorSolicitado = e.getValorSolicitado().doubleValue();
+            double valorSolicitado = e.getValorSolicitado().toBigDecimal().doubleValue();
             double taxaJuros = e.getTaxaJurosMensal().doubleValue();
             int numeroParcelas = e.getNumeroParcelas();
 
             // Fórmula de juros compostos
             double valorTotal = valorSolicitado * Math.pow((1 + taxaJuros), numeroParcelas);
-            e.setValorTotal(BigDecimal.valueOf(valorTotal));
+            e.setValorTotal(Dinheiro.de(BigDecimal.valueOf(valorTotal), RoundingMode.HALF_EVEN));
 
             // Calcular valor da parcela
             double valorParcela = valorTotal / numeroParcelas;
-            e.setValorParcela(BigDecimal.valueOf(valorParcela));
+            e.setValorParcela(Dinheiro.de(BigDecimal.valueOf(valorParcela), RoundingMode.HALF_EVEN));
         }
 
-        return repo.save(e);
+        EmprestimoEntity salvo = repo.save(e);
+        metricas.emprestimoTransicao(null, StatusEmprestimo.PENDENTE);
+        return salvo;
     }
 
-    public EmprestimoEntity aprovar(Long id, BigDecimal valorAprovado) {
-        EmprestimoEntity e = repo.findById(id)
+    @Transactional
+    public EmprestimoEntity aprovar(Long id, Dinheiro valorAprovado) {
+        EmprestimoEntity e = repo.findComClienteEContaById(id)
                 .orElseThrow(() -> new RuntimeException("Empréstimo não encontrado"));
+        StatusEmprestimo anterior = e.getStatusEmprestimo();
         e.setValorAprovado(valorAprovado);
         e.setDataAprovacao(Instant.now());
-        e.setStatusEmprestimo("APROVADO");
+        e.setStatusEmprestimo(StatusEmprestimo.APROVADO);
         e.setMotivoRejeicao(null);
-        return repo.save(e);
+        EmprestimoEntity salvo = repo.save(e);
+        metricas.emprestimoTransicao(anterior, StatusEmprestimo.APROVADO);
+        eventos.emprestimo(salvo);
+        return salvo;
     }
 
+    @Transactional
     public EmprestimoEntity rejeitar(Long id, String motivo) {
         // Validar motivo obrigatório
         if (motivo == null || motivo.trim().isEmpty()) {
             throw new IllegalArgumentException("Motivo de rejeição é obrigatório");
         }
 
-        EmprestimoEntity e = repo.findById(id)
+        EmprestimoEntity e = repo.findComClienteEContaById(id)
                 .orElseThrow(() -> new RuntimeException("Empréstimo não encontrado"));
-        e.setStatusEmprestimo("REJEITADO");
+        StatusEmprestimo anterior = e.getStatusEmprestimo();
+        e.setStatusEmprestimo(StatusEmprestimo.REJEITADO);
         e.setMotivoRejeicao(motivo);
         e.setDataAprovacao(Instant.now());
-        return repo.save(e);
+        EmprestimoEntity salvo = repo.save(e);
+        metricas.emprestimoTransicao(anterior, StatusEmprestimo.REJEITADO);
+        eventos.emprestimo(salvo);
+        return salvo;
     }
 
+    @Transactional(readOnly = true)
     public List<EmprestimoEntity> listarTodos() {
-        return repo.findAll();
+        return repo.findAllComClienteEConta();
     }
 
+    @Transactional(readOnly = true)
     public EmprestimoEntity buscarPorId(Long id) {
-        return repo.findById(id)
+        return repo.findComClienteEContaById(id)
                 .orElseThrow(() -> new RuntimeException("Empréstimo não encontrado"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,346 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.EventosTempoRealProperties;
+import com.bancogvm.service.model.CartaoEntity;
+import com.bancogvm.service.model.EmprestimoEntity;
+import com.bancogvm.service.model.EventoTempoReal;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import com.bancogvm.service.model.TransacaoRegistrada;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Empurra para /api/eventos (SSE) o que acabou de ser confirmado: saldos, lançamentos,
+ * status de cartão e decisões de empréstimo.
+ *
+ * A conexão é uma requisição assíncrona do servlet: enquanto não há evento ela não ocupa
+ * thread nenhuma. Quem escreve nos sockets é um pool pequeno de despachantes; cada
+ * assinante tem uma fila limitada e, se ela enche (cliente lento ou parado), a conexão é
+ * encerrada em vez de acumular memória ou atrasar os demais. O EventSource do navegador
+ * reconecta sozinho e o front relê as listas.
+ *
+ * Entrega no máximo uma vez e só depois do commit: evento de transação desfeita não sai.
+ */
+@Component
+@Slf4j
+public class EventosTempoReal {
+
+    // limite de mensagens por vez na thread do despachante, para um assinante cheio não monopolizá-la
+    private static final int RAJADA = 64;
+
+    private static final Set<DataWithMediaType> ABERTURA = SseEmitter.event().comment("conectado").build();
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    private final EventosTempoRealProperties props;
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final MetricasNegocio metricas;
+    private final ExecutorService despacho;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final Set<Assinante> semFiltro = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Assinante>> porConta = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinante>> porCliente = new ConcurrentHashMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    public EventosTempoReal(EventosTempoRealProperties props, JdbcTemplate jdbc, ObjectMapper objectMapper,
+                            MetricasNegocio metricas) {
+        this.props = props;
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.metricas = metricas;
+        AtomicInteger numero = new AtomicInteger();
+        this.despacho = Executors.newFixedThreadPool(props.getDespachantes(), r -> {
+            Thread t = new Thread(r, "sse-despacho-" + numero.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        metricas.eventosAssinantes(assinantes);
+    }
+
+    /**
+     * Nova assinatura. Sem filtro recebe tudo; com contas e/ou cliente recebe o que toca
+     * essas contas, as contas de que o cliente é titular e os empréstimos do cliente.
+     */
+    public SseEmitter assinar(Collection<Long> contas, Long clienteId) {
+        Set<Long> filtro = new HashSet<>();
+        if (contas != null) {
+            filtro.addAll(contas);
+        }
+        if (clienteId != null) {
+            // JDBC direto: uma consulta JPA prenderia a conexão do open-in-view durante todo o stream
+            filtro.addAll(jdbc.queryForList("select conta_id from titular_conta where cliente_id = ?",
+                    Long.class, clienteId));
+        }
+        SseEmitter emitter = new SseEmitter(props.getTimeout().toMillis());
+        try {
+            // guardado até o MVC iniciar a resposta; sem ele os cabeçalhos só sairiam no primeiro evento
+            emitter.send(ABERTURA);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return registrar(emitter, filtro, clienteId);
+    }
+
+    SseEmitter registrar(SseEmitter emitter, Set<Long> contas, Long clienteId) {
+        Assinante assinante = new Assinante(emitter, Set.copyOf(contas), clienteId);
+        emitter.onCompletion(assinante::fechado);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> assinante.fechado());
+
+        assinantes.add(assinante);
+        if (contas.isEmpty() && clienteId == null) {
+            semFiltro.add(assinante);
+        }
+        contas.forEach(c -> porConta.computeIfAbsent(c, k -> ConcurrentHashMap.newKeySet()).add(assinante));
+        if (clienteId != null) {
+            porCliente.computeIfAbsent(clienteId, k -> ConcurrentHashMap.newKeySet()).add(assinante);
+        }
+        return emitter;
+    }
+
+    public int getAssinantes() {
+        return assinantes.size();
+    }
+
+    /**
+     * Lançamento gravado; com status CONCLUIDA também o novo saldo de cada conta envolvida.
+     * As contas precisam estar carregadas (travadas por registrar).
+     */
+    public void transacao(TransacaoEntity t) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        TransacaoRegistrada registrada = TransacaoRegistrada.de(t);
+        Set<Long> contas = new HashSet<>();
+        contas.add(registrada.contaOrigemId());
+        if (registrada.contaDestinoId() != null) {
+            contas.add(registrada.contaDestinoId());
+        }
+        publicar(new EventoTempoReal(EventoTempoReal.TRANSACAO, contas, null, registrada));
+        if (t.getStatusTransacao() == StatusTransacao.CONCLUIDA) {
+            publicar(new EventoTempoReal(EventoTempoReal.SALDO, Set.of(registrada.contaOrigemId()), null,
+                    new EventoTempoReal.Saldo(registrada.contaOrigemId(), t.getContaOrigem().getSaldo(), t.getId())));
+            if (registrada.contaDestinoId() != null) {
+                publicar(new EventoTempoReal(EventoTempoReal.SALDO, Set.of(registrada.contaDestinoId()), null,
+                        new EventoTempoReal.Saldo(registrada.contaDestinoId(), t.getContaDestino().getSaldo(), t.getId())));
+            }
+        }
+    }
+
+    public void cartao(CartaoEntity c) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        Long contaId = c.getConta() != null ? c.getConta().getId() : null;
+        publicar(new EventoTempoReal(EventoTempoReal.CARTAO, contaId != null ? Set.of(contaId) : Set.of(), null,
+                new EventoTempoReal.Cartao(c.getId(), contaId, c.getStatusCartao())));
+    }
+
+    public void emprestimo(EmprestimoEntity e) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        Long clienteId = e.getCliente() != null ? e.getCliente().getId() : null;
+        Long contaId = e.getContaCredito() != null ? e.getContaCredito().getId() : null;
+        publicar(new EventoTempoReal(EventoTempoReal.EMPRESTIMO, contaId != null ? Set.of(contaId) : Set.of(), clienteId,
+                new EventoTempoReal.Emprestimo(e.getId(), clienteId, contaId, e.getStatusEmprestimo(),
+                        e.getValorAprovado(), e.getMotivoRejeicao())));
+    }
+
+    /**
+     * Dentro de uma transação o evento espera o commit (e some no rollback); fora dela
+     * o dado já está confirmado e o evento sai na hora.
+     */
+    public void publicar(EventoTempoReal evento) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    distribuir(evento);
+                }
+            });
+        } else {
+            distribuir(evento);
+        }
+    }
+
+    private void distribuir(EventoTempoReal evento) {
+        Set<Assinante> destinos = new HashSet<>(semFiltro);
+        for (Long conta : evento.contas()) {
+            destinos.addAll(porConta.getOrDefault(conta, Set.of()));
+        }
+        if (evento.clienteId() != null) {
+            destinos.addAll(porCliente.getOrDefault(evento.clienteId(), Set.of()));
+        }
+        if (destinos.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> mensagem;
+        try {
+            // serializa uma vez para todos os destinos
+            mensagem = SseEmitter.event()
+                    .id(Long.toString(sequencia.incrementAndGet()))
+                    .name(evento.tipo())
+                    .data(objectMapper.writeValueAsString(evento.dados()))
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.error("Evento {} não serializável: {}", evento.tipo(), e.getMessage());
+            return;
+        }
+        destinos.forEach(a -> a.entregar(mensagem));
+    }
+
+    @Scheduled(fixedDelayString = "${bancogvm.eventos.heartbeat-ms:15000}")
+    public void heartbeat() {
+        // conexão morta só aparece ao escrever; o comentário também mantém proxies abertos
+        assinantes.forEach(a -> a.entregar(HEARTBEAT));
+    }
+
+    /**
+     * Fecha os streams no início do desligamento: o Tomcat espera as requisições em andamento
+     * (shutdown gracioso) e uma conexão SSE aberta o seguraria até o timeout da fase.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void aoDesligar() {
+        assinantes.forEach(a -> a.encerrar("desligamento"));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        aoDesligar();
+        despacho.shutdown();
+    }
+
+    private void remover(Assinante assinante) {
+        if (!assinantes.remove(assinante)) {
+            return;
+        }
+        semFiltro.remove(assinante);
+        assinante.contas.forEach(c -> porConta.computeIfPresent(c, (k, s) -> {
+            s.remove(assinante);
+            return s.isEmpty() ? null : s;
+        }));
+        if (assinante.clienteId != null) {
+            porCliente.computeIfPresent(assinante.clienteId, (k, s) -> {
+                s.remove(assinante);
+                return s.isEmpty() ? null : s;
+            });
+        }
+    }
+
+    /**
+     * Fila própria e no máximo uma tarefa por assinante no pool: as mensagens saem na
+     * ordem em que foram distribuídas.
+     */
+    private final class Assinante implements Runnable {
+
+        final SseEmitter emitter;
+        final Set<Long> contas;
+        final Long clienteId;
+        final ArrayBlockingQueue<Set<DataWithMediaType>> fila;
+        final AtomicBoolean agendado = new AtomicBoolean();
+        volatile boolean encerrado;
+
+        Assinante(SseEmitter emitter, Set<Long> contas, Long clienteId) {
+            this.emitter = emitter;
+            this.contas = contas;
+            this.clienteId = clienteId;
+            this.fila = new ArrayBlockingQueue<>(props.getBuffer());
+        }
+
+        void entregar(Set<DataWithMediaType> mensagem) {
+            if (encerrado) {
+                return;
+            }
+            if (!fila.offer(mensagem)) {
+                encerrar("lento");
+                return;
+            }
+            agendar();
+        }
+
+        /**
+         * Tira o assinante dos índices já; o complete do emitter fica com o despachante,
+         * que pode estar no meio de um send bloqueado (o timeout de escrita do Tomcat o solta).
+         */
+        void encerrar(String motivo) {
+            if (encerrado) {
+                return;
+            }
+            encerrado = true;
+            fila.clear();
+            remover(this);
+            metricas.eventoAssinanteEncerrado(motivo);
+            agendar();
+        }
+
+        // conexão terminou (timeout, erro de escrita, cliente fechou)
+        void fechado() {
+            encerrado = true;
+            fila.clear();
+            remover(this);
+        }
+
+        private void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                try {
+                    despacho.execute(this);
+                } catch (RuntimeException e) {
+                    // pool já desligado
+                    agendado.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Set<DataWithMediaType> mensagem;
+                int enviadas = 0;
+                while (!encerrado && enviadas++ < RAJADA && (mensagem = fila.poll()) != null) {
+                    emitter.send(mensagem);
+                }
+                if (encerrado) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                if (!encerrado) {
+                    metricas.eventoAssinanteEncerrado("desconectado");
+                }
+                fechado();
+            } finally {
+                agendado.set(false);
+                if (!encerrado && !fila.isEmpty()) {
+                    agendar();
+                }
+            }
+        }
+    }
+}
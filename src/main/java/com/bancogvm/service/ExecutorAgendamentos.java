@@ -0,0 +1,337 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.AgendamentosProperties;
+import com.bancogvm.service.agendamento.RodaTemporizacao;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusAgendamento;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa as transferências agendadas na hora marcada, com vários nós ao mesmo tempo.
+ *
+ * A cada intervalo o nó reserva no banco um lote do que vence dentro do horizonte com
+ * SELECT ... FOR UPDATE SKIP LOCKED (dois nós nunca pegam a mesma linha e nenhum espera
+ * pelo outro), marca RESERVADO com token e validade e guarda os itens numa roda de
+ * temporização em memória. Ao vencer, saem em lotes para um pool de threads. Cada item
+ * é uma transação própria: trava a linha do agendamento, confere o token e registra a
+ * TRANSFERENCIA pelo TransacaoService; agendamento e lançamento são confirmados juntos.
+ *
+ * Se o nó cai, as reservas dele vencem e outro nó as pega; se volta com o mesmo nome,
+ * recarrega as próprias na subida. Quem perdeu a reserva (token trocado) pula o item.
+ * O backlog de uma manhã de pagamento se divide entre os nós pela capacidade: cada um só
+ * reserva mais quando a roda e a fila esvaziam.
+ */
+@Component
+@Slf4j
+public class ExecutorAgendamentos {
+
+    private static final String SQL_RESERVAR = """
+            select id, data_execucao from agendamento_transferencia
+            where status_agendamento in ('A', 'R') and data_execucao <= ?
+              and (status_agendamento = 'A' or reservado_ate < ?)
+            order by data_execucao
+            limit ?
+            for update skip locked""";
+
+    private static final String SQL_MARCAR = """
+            update agendamento_transferencia
+            set status_agendamento = 'R', reservado_por = ?, reservado_ate = ?, reserva = ?
+            where id = ?""";
+
+    private static final String SQL_TRAVAR = """
+            select conta_origem_id, conta_destino_id, valor, descricao from agendamento_transferencia
+            where id = ? and status_agendamento = 'R' and reserva = ?
+            for update""";
+
+    private static final String SQL_CONCLUIR = """
+            update agendamento_transferencia
+            set status_agendamento = ?, transacao_id = ?, executado_em = ?,
+                reservado_por = null, reservado_ate = null, reserva = null
+            where id = ?""";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transacoes;
+    private final TransacaoService transacaoService;
+    private final AgendamentosProperties props;
+    private final MetricasNegocio metricas;
+    private final String no;
+
+    // roda e prontos (vencidos ao entrar) protegidos pelo monitor da roda
+    private final RodaTemporizacao<Reservado> roda;
+    private final List<Reservado> prontos = new ArrayList<>();
+    // reservados por este nó: na roda, na fila do pool ou executando
+    private final AtomicInteger pendentes = new AtomicInteger();
+
+    private ScheduledExecutorService relogio;
+    private ExecutorService disparo;
+
+    record Reservado(long id, long reserva, Instant dataExecucao) {
+    }
+
+    public ExecutorAgendamentos(JdbcTemplate jdbc, TransactionTemplate transacoes, TransacaoService transacaoService,
+                                AgendamentosProperties props, MetricasNegocio metricas) {
+        this.jdbc = jdbc;
+        this.transacoes = transacoes;
+        this.transacaoService = transacaoService;
+        this.props = props;
+        this.metricas = metricas;
+        this.no = props.getNo().isBlank() ? hostname() : props.getNo();
+        this.roda = new RodaTemporizacao<>(props.getTiqueMs(), props.getBaldes(), System.currentTimeMillis());
+        metricas.agendamentosPendentes(pendentes::get);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!props.isHabilitado()) {
+            return;
+        }
+        int recarregados = recarregar();
+        if (recarregados > 0) {
+            log.info("{} agendamentos reservados por {} recarregados", recarregados, no);
+        }
+        disparo = Executors.newFixedThreadPool(props.getThreads(), fabrica("agendamentos-"));
+        relogio = Executors.newSingleThreadScheduledExecutor(fabrica("agendamentos-roda"));
+        relogio.scheduleAtFixedRate(this::tique, props.getTiqueMs(), props.getTiqueMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${bancogvm.agendamentos.intervalo-ms:1000}")
+    public void executar() {
+        if (props.isHabilitado()) {
+            reservar();
+        }
+    }
+
+    /**
+     * Reserva lotes do que vence dentro do horizonte até encher a capacidade. Devolve
+     * quantos itens entraram na roda.
+     */
+    public int reservar() {
+        int total = 0;
+        int vagas;
+        while ((vagas = props.getCapacidade() - pendentes.get()) > 0) {
+            List<Reservado> lote = reservarLote(Math.min(vagas, props.getLote()));
+            enfileirar(lote);
+            total += lote.size();
+            if (lote.size() < Math.min(vagas, props.getLote())) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Põe de volta na roda o que este nó tinha reservado antes de reiniciar. Reservas já
+     * vencidas podem ter ido para outro nó: aí o token não confere e o item é pulado.
+     */
+    public int recarregar() {
+        List<Reservado> meus = jdbc.query("""
+                        select id, reserva, data_execucao from agendamento_transferencia
+                        where status_agendamento = 'R' and reservado_por = ?""",
+                (rs, i) -> new Reservado(rs.getLong(1), rs.getLong(2), rs.getObject(3, OffsetDateTime.class).toInstant()),
+                no);
+        enfileirar(meus);
+        return meus.size();
+    }
+
+    /**
+     * Executa agora, na thread chamadora, o que já venceu. Devolve quantas transferências
+     * foram registradas (concluídas ou com falha).
+     */
+    public int executarVencidos() {
+        return executarLote(vencidos(System.currentTimeMillis()));
+    }
+
+    public int getPendentes() {
+        return pendentes.get();
+    }
+
+    public String getNo() {
+        return no;
+    }
+
+    /**
+     * Para de disparar, espera o que está executando e devolve as reservas ainda não
+     * executadas para que outro nó as pegue sem esperar a validade.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        if (relogio == null) {
+            return;
+        }
+        relogio.shutdownNow();
+        disparo.shutdown();
+        if (!disparo.awaitTermination(30, TimeUnit.SECONDS)) {
+            disparo.shutdownNow();
+        }
+        // em execução ainda, o item está travado: o UPDATE espera e não o encontra mais RESERVADO
+        int liberados = jdbc.update("""
+                update agendamento_transferencia
+                set status_agendamento = 'A', reservado_por = null, reservado_ate = null, reserva = null
+                where status_agendamento = 'R' and reservado_por = ?""", no);
+        log.info("{} agendamentos reservados por {} liberados no desligamento", liberados, no);
+    }
+
+    private List<Reservado> reservarLote(int quantidade) {
+        Instant agora = Instant.now();
+        long reserva = ThreadLocalRandom.current().nextLong();
+        OffsetDateTime validade = utc(agora.plus(props.getValidadeReserva()));
+        return transacoes.execute(status -> {
+            List<Reservado> itens = jdbc.query(SQL_RESERVAR,
+                    (rs, i) -> new Reservado(rs.getLong(1), reserva, rs.getObject(2, OffsetDateTime.class).toInstant()),
+                    utc(agora.plus(props.getHorizonte())), utc(agora), quantidade);
+            if (!itens.isEmpty()) {
+                jdbc.batchUpdate(SQL_MARCAR, itens, itens.size(), (ps, item) -> {
+                    ps.setString(1, no);
+                    ps.setObject(2, validade);
+                    ps.setLong(3, reserva);
+                    ps.setLong(4, item.id());
+                });
+            }
+            return itens;
+        });
+    }
+
+    private void enfileirar(List<Reservado> itens) {
+        if (itens.isEmpty()) {
+            return;
+        }
+        pendentes.addAndGet(itens.size());
+        synchronized (roda) {
+            for (Reservado item : itens) {
+                roda.agendar(item, item.dataExecucao().toEpochMilli(), prontos);
+            }
+        }
+    }
+
+    private List<Reservado> vencidos(long agoraMs) {
+        synchronized (roda) {
+            List<Reservado> vencidos = new ArrayList<>(prontos);
+            prontos.clear();
+            vencidos.addAll(roda.avancar(agoraMs));
+            return vencidos;
+        }
+    }
+
+    private void tique() {
+        try {
+            List<Reservado> vencidos = vencidos(System.currentTimeMillis());
+            for (int i = 0; i < vencidos.size(); i += props.getLoteExecucao()) {
+                List<Reservado> lote = List.copyOf(
+                        vencidos.subList(i, Math.min(vencidos.size(), i + props.getLoteExecucao())));
+                disparo.execute(() -> executarLote(lote));
+            }
+        } catch (RuntimeException e) {
+            // uma exceção cancelaria o scheduleAtFixedRate
+            log.error("Falha no tique da roda de agendamentos: {}", e.getMessage(), e);
+        }
+    }
+
+    private int executarLote(List<Reservado> lote) {
+        int executados = 0;
+        for (Reservado item : lote) {
+            try {
+                if (executar(item)) {
+                    executados++;
+                }
+            } catch (RuntimeException e) {
+                // nada foi confirmado: continua RESERVADO e volta quando a reserva vencer
+                log.warn("Agendamento {} não executado; nova tentativa após a validade da reserva: {}",
+                        item.id(), e.getMessage());
+            } finally {
+                pendentes.decrementAndGet();
+            }
+        }
+        return executados;
+    }
+
+    private boolean executar(Reservado item) {
+        StatusAgendamento resultado = transacoes.execute(status -> {
+            Agendado agendado = jdbc.query(SQL_TRAVAR, rs -> rs.next()
+                            ? new Agendado(rs.getLong(1), rs.getLong(2), Dinheiro.de(rs.getBigDecimal(3)), rs.getString(4))
+                            : null,
+                    item.id(), item.reserva());
+            if (agendado == null) {
+                // cancelado, já executado ou reservado de novo por outro nó
+                return null;
+            }
+            // disparo do banco, sem limites de velocidade: numa manhã de pagamentos os agendamentos
+            // da conta passariam do máximo por minuto e terminariam FALHOU, sem nova tentativa
+            TransacaoEntity transacao = transacaoService.registrarSemLimites(TransacaoEntity.builder()
+                    .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                    .valor(agendado.valor())
+                    .descricao(agendado.descricao())
+                    .contaOrigem(referencia(agendado.origem()))
+                    .contaDestino(referencia(agendado.destino()))
+                    .build());
+            StatusAgendamento situacao = transacao.getStatusTransacao() == StatusTransacao.CONCLUIDA
+                    ? StatusAgendamento.EXECUTADO
+                    : StatusAgendamento.FALHOU;
+            jdbc.update(SQL_CONCLUIR, String.valueOf(situacao.getCodigo()), transacao.getId(),
+                    utc(transacao.getDataHora()), item.id());
+            return situacao;
+        });
+        if (resultado == null) {
+            return false;
+        }
+        metricas.agendamentoExecutado(resultado, Duration.between(item.dataExecucao(), Instant.now()));
+        return true;
+    }
+
+    private record Agendado(long origem, long destino, Dinheiro valor, String descricao) {
+    }
+
+    // só o id: registrar relê e trava a conta no banco
+    private static ContaCorrenteEntity referencia(long id) {
+        ContaCorrenteEntity conta = new ContaCorrenteEntity();
+        conta.setId(id);
+        return conta;
+    }
+
+    private static OffsetDateTime utc(Instant instante) {
+        return instante.atOffset(ZoneOffset.UTC);
+    }
+
+    private static ThreadFactory fabrica(String prefixo) {
+        AtomicInteger numero = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefixo + numero.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "no-" + ProcessHandle.current().pid();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.bancogvm.service;
+
+import com.bancogvm.service.model.FolhaPagamentoEntity;
+import com.bancogvm.service.model.LinhaFolhaPagamentoEntity;
+
+import java.util.List;
+
+public interface FolhaPagamentoService {
+
+    FolhaPagamentoEntity receber(FolhaPagamentoEntity folha, List<LinhaFolhaPagamentoEntity> linhas);
+    FolhaPagamentoEntity processar(Long id);
+    FolhaPagamentoEntity buscarPorId(Long id);
+    List<LinhaFolhaPagamentoEntity> linhas(Long id);
+}
@@ -0,0 +1,154 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.FolhaPagamentoRepository;
+import com.bancogvm.repository.LinhaFolhaPagamentoRepository;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.FolhaPagamentoEntity;
+import com.bancogvm.service.model.LinhaFolhaPagamentoEntity;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusFolha;
+import com.bancogvm.service.model.StatusLinhaFolha;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+public class FolhaPagamentoServiceImpl implements FolhaPagamentoService {
+
+    private static final String SQL_INSERIR_LINHA = """
+            insert into linha_folha_pagamento (folha_id, linha, conta_destino_id, valor, status_linha, motivo)
+            values (?, ?, ?, ?, ?, ?)""";
+
+    private final FolhaPagamentoRepository repo;
+    private final LinhaFolhaPagamentoRepository linhaRepo;
+    private final ContaRepository contaRepository;
+    private final JdbcTemplate jdbc;
+    private final EntityManager entityManager;
+    private final ProcessadorFolhaPagamento processador;
+
+    /**
+     * Valida e grava a folha como RECEBIDA, sem mover dinheiro. Linhas inválidas ficam
+     * REJEITADA com o motivo e não entram no total; as contas de destino saem de um
+     * SELECT só e as linhas são gravadas em lote.
+     */
+    @Override
+    @Transactional
+    public FolhaPagamentoEntity receber(FolhaPagamentoEntity folha, List<LinhaFolhaPagamentoEntity> linhas) {
+        if (linhas == null || linhas.isEmpty()) {
+            throw new IllegalArgumentException("Folha sem linhas");
+        }
+        ContaCorrenteEntity origem = folha.getContaOrigem();
+        if (origem.getStatusConta() != StatusConta.ATIVA) {
+            throw new IllegalArgumentException("Conta origem não está ativa");
+        }
+        Set<Long> ids = new HashSet<>();
+        for (LinhaFolhaPagamentoEntity l : linhas) {
+            if (l.getContaDestinoId() != null) {
+                ids.add(l.getContaDestinoId());
+            }
+        }
+        Map<Long, ContaEntity> destinos = contaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ContaEntity::getId, Function.identity()));
+
+        Dinheiro total = Dinheiro.ZERO;
+        int rejeitadas = 0;
+        for (int i = 0; i < linhas.size(); i++) {
+            LinhaFolhaPagamentoEntity l = linhas.get(i);
+            l.setLinha(i + 1);
+            String motivo = motivoRejeicao(l, origem, destinos);
+            if (motivo == null) {
+                l.setStatusLinha(StatusLinhaFolha.PENDENTE);
+                total = total.somar(l.getValor());
+            } else {
+                l.setStatusLinha(StatusLinhaFolha.REJEITADA);
+                l.setMotivo(motivo);
+                rejeitadas++;
+            }
+        }
+        folha.setTotal(total);
+        folha.setLinhas(linhas.size());
+        folha.setCreditadas(0);
+        folha.setRejeitadas(rejeitadas);
+        folha.setStatusFolha(StatusFolha.RECEBIDA);
+        folha.setCriadaEm(Instant.now());
+        FolhaPagamentoEntity salva = repo.save(folha);
+
+        jdbc.batchUpdate(SQL_INSERIR_LINHA, linhas, 1000, (ps, l) -> {
+            ps.setLong(1, salva.getId());
+            ps.setInt(2, l.getLinha());
+            ps.setObject(3, l.getContaDestinoId());
+            ps.setBigDecimal(4, l.getValor() == null ? null : l.getValor().toBigDecimal());
+            ps.setString(5, String.valueOf(l.getStatusLinha().getCodigo()));
+            ps.setString(6, l.getMotivo());
+        });
+        return salva;
+    }
+
+    /**
+     * Sem @Transactional: o processador confirma débito e cada lote de créditos em
+     * transações próprias, que não podem ser engolidas por uma externa.
+     */
+    @Override
+    public FolhaPagamentoEntity processar(Long id) {
+        processador.processar(id);
+        // com open-in-view, folha e conta de origem lidas no receber seguem na sessão da requisição
+        // com o estado de antes do processamento (que foi por SQL)
+        entityManager.clear();
+        return buscarPorId(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FolhaPagamentoEntity buscarPorId(Long id) {
+        return repo.findComContaById(id)
+                .orElseThrow(() -> new RuntimeException("Folha não encontrada"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LinhaFolhaPagamentoEntity> linhas(Long id) {
+        if (!repo.existsById(id)) {
+            throw new RuntimeException("Folha não encontrada");
+        }
+        return linhaRepo.findByFolhaIdOrderByLinha(id);
+    }
+
+    private static String motivoRejeicao(LinhaFolhaPagamentoEntity l, ContaCorrenteEntity origem,
+                                         Map<Long, ContaEntity> destinos) {
+        if (l.getValor() == null || !l.getValor().maiorQue(Dinheiro.ZERO)) {
+            return "Valor deve ser positivo";
+        }
+        if (l.getContaDestinoId() == null) {
+            return "Conta destino não informada";
+        }
+        if (Objects.equals(l.getContaDestinoId(), origem.getId())) {
+            return "Conta destino igual à origem";
+        }
+        ContaEntity destino = destinos.get(l.getContaDestinoId());
+        if (destino == null) {
+            return "Conta destino não encontrada";
+        }
+        if (!(destino instanceof ContaCorrenteEntity)) {
+            return "Conta destino não é conta corrente";
+        }
+        if (destino.getStatusConta() != StatusConta.ATIVA) {
+            return "Conta destino não está ativa";
+        }
+        return null;
+    }
+}
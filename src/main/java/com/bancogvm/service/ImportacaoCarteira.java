@@ -0,0 +1,323 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.ImportacaoProperties;
+import com.bancogvm.repository.importacao.CargaStaging;
+import com.bancogvm.repository.importacao.StagingImportacao;
+import com.bancogvm.service.importacao.ConjuntoLongs;
+import com.bancogvm.service.importacao.Cpf;
+import com.bancogvm.service.importacao.LeitorCsv;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.ResultadoImportacao;
+import com.bancogvm.service.model.ResultadoImportacao.Contagem;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.TipoTitularidade;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação em massa de clientes, contas e titularidades a partir de CSV, no lugar de
+ * milhões de POSTs em /api/clientes, /api/contas e /api/titulares.
+ *
+ * Uma passada em fluxo por arquivo valida formato, CPF e repetição dentro do arquivo e
+ * manda as linhas boas para tabelas de staging (COPY no PostgreSQL). A fusão com
+ * cliente, conta, conta_corrente_entity/conta_poupanca_entity e titular_conta é SQL
+ * por conjunto, na mesma transação: ou entra a carteira inteira (menos os rejeitados),
+ * ou nada. Tudo o que fica de fora vai para um CSV de rejeitados com linha e motivo.
+ *
+ * Colunas (cabeçalho obrigatório, ordem livre):
+ * clientes: cpf, nome, email, data_nascimento, telefone, endereco, login_usuario
+ * contas: agencia, numero_conta, tipo_conta (CORRENTE|POUPANCA), saldo, status_conta,
+ * limite_cheque_especial, taxa_rendimento_anual, data_aniversario
+ * titulares: cpf, agencia, numero_conta, tipo_titularidade
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportacaoCarteira {
+
+    private static final DateTimeFormatter CARIMBO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transacoes;
+    private final ImportacaoProperties props;
+    private final VersaoRecursos versoes;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Qualquer um dos arquivos pode ser nulo; titulares podem apontar para clientes e
+     * contas deste mesmo lote ou já cadastrados.
+     */
+    public ResultadoImportacao importar(Reader clientes, Reader contas, Reader titulares) {
+        if (clientes == null && contas == null && titulares == null) {
+            throw new IllegalArgumentException("Envie ao menos um arquivo: clientes, contas ou titulares");
+        }
+        long inicio = System.nanoTime();
+        Instant agora = Instant.now();
+        Path caminho = props.getDiretorioRejeitados().resolve("rejeitados-" + CARIMBO.format(agora) + ".csv");
+
+        ResultadoImportacao resultado;
+        try (Rejeitados rejeitados = new Rejeitados(caminho)) {
+            Contagem[] contagens = transacoes.execute(status -> jdbc.execute((ConnectionCallback<Contagem[]>) conexao -> {
+                try {
+                    return importar(new StagingImportacao(conexao), agora, clientes, contas, titulares, rejeitados);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            resultado = new ResultadoImportacao(contagens[0], contagens[1], contagens[2],
+                    rejeitados.getTotal() > 0 ? caminho.toString() : null,
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // os INSERTs não passaram pelo Hibernate: o cache de consultas (findByCpf etc.) não sabe deles
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+        log.info("Importação concluída em {} ms: clientes {}, contas {}, titulares {}",
+                resultado.duracaoMs(), resultado.clientes(), resultado.contas(), resultado.titulares());
+        return resultado;
+    }
+
+    private Contagem[] importar(StagingImportacao staging, Instant agora, Reader clientes, Reader contas,
+                                Reader titulares, Rejeitados rejeitados) throws SQLException, IOException {
+        staging.criarTabelas();
+        long clientesLidos = clientes == null ? 0 : carregar("clientes", clientes, staging.carga(
+                StagingImportacao.CLIENTES, StagingImportacao.COLUNAS_CLIENTE), validarCliente(), rejeitados);
+        long contasLidas = contas == null ? 0 : carregar("contas", contas, staging.carga(
+                StagingImportacao.CONTAS, StagingImportacao.COLUNAS_CONTA), validarConta(), rejeitados);
+        long titularesLidos = titulares == null ? 0 : carregar("titulares", titulares, staging.carga(
+                StagingImportacao.TITULARES, StagingImportacao.COLUNAS_TITULAR), validarTitular(), rejeitados);
+        staging.indexar();
+
+        long clientesImportados = staging.fundirClientes(agora,
+                (linha, registro) -> rejeitados.adicionar("clientes", linha, "CPF já cadastrado", registro));
+        long contasImportadas = staging.fundirContas(agora,
+                (linha, registro) -> rejeitados.adicionar("contas", linha, "Conta já cadastrada", registro));
+        long titularesImportados = staging.fundirTitulares(agora,
+                (linha, registro) -> rejeitados.adicionar("titulares", linha, "Cliente não encontrado", registro),
+                (linha, registro) -> rejeitados.adicionar("titulares", linha, "Conta não encontrada", registro),
+                (linha, registro) -> rejeitados.adicionar("titulares", linha, "Titularidade já cadastrada", registro));
+
+        if (clientesImportados > 0) {
+            versoes.incrementar(VersaoRecursos.CLIENTES);
+        }
+        if (contasImportadas > 0) {
+            versoes.incrementar(VersaoRecursos.CONTAS);
+        }
+        if (titularesImportados > 0) {
+            versoes.incrementar(VersaoRecursos.TITULARES);
+        }
+        return new Contagem[]{
+                new Contagem(clientesLidos, rejeitados.de("clientes"), clientesImportados),
+                new Contagem(contasLidas, rejeitados.de("contas"), contasImportadas),
+                new Contagem(titularesLidos, rejeitados.de("titulares"), titularesImportados)};
+    }
+
+    @FunctionalInterface
+    private interface Validacao {
+        /** Valores na ordem das colunas do staging, sem a linha. IllegalArgumentException rejeita. */
+        Object[] validar(LeitorCsv.Registro registro);
+    }
+
+    private long carregar(String arquivo, Reader entrada, CargaStaging carga, Validacao validacao,
+                          Rejeitados rejeitados) throws IOException, SQLException {
+        long lidas = 0;
+        try (carga; LeitorCsv csv = new LeitorCsv(entrada)) {
+            while (true) {
+                LeitorCsv.Registro registro;
+                try {
+                    registro = csv.proximo();
+                } catch (IllegalArgumentException e) {
+                    lidas++;
+                    rejeitados.adicionar(arquivo, csv.getNumeroLinha(), e.getMessage(), csv.getLinhaAtual());
+                    continue;
+                }
+                if (registro == null) {
+                    break;
+                }
+                lidas++;
+                try {
+                    Object[] valores = validacao.validar(registro);
+                    Object[] linha = new Object[valores.length + 1];
+                    linha[0] = csv.getNumeroLinha();
+                    System.arraycopy(valores, 0, linha, 1, valores.length);
+                    carga.linha(linha);
+                } catch (IllegalArgumentException e) {
+                    rejeitados.adicionar(arquivo, csv.getNumeroLinha(), e.getMessage(), csv.getLinhaAtual());
+                }
+                if (lidas % props.getProgressoLinhas() == 0) {
+                    log.info("Importação de {}: {} linhas lidas, {} rejeitadas", arquivo, lidas, rejeitados.de(arquivo));
+                }
+            }
+            long carregadas = carga.concluir();
+            log.info("Importação de {}: {} linhas lidas, {} no staging", arquivo, lidas, carregadas);
+        }
+        return lidas;
+    }
+
+    private static Validacao validarCliente() {
+        ConjuntoLongs cpfs = new ConjuntoLongs();
+        return r -> {
+            String cpf = Cpf.normalizar(r.get("cpf"));
+            String nome = r.obrigatorio("nome");
+            String email = r.get("email");
+            if (email != null && email.indexOf('@') < 1) {
+                throw new IllegalArgumentException("E-mail inválido: " + email);
+            }
+            LocalDate nascimento = data(r.get("data_nascimento"));
+            if (!cpfs.adicionar(Long.parseLong(cpf))) {
+                throw new IllegalArgumentException("CPF repetido no arquivo");
+            }
+            return new Object[]{cpf, nome, email, nascimento, r.get("telefone"), r.get("endereco"), r.get("login_usuario")};
+        };
+    }
+
+    private static Validacao validarConta() {
+        Set<String> numeros = new HashSet<>();
+        return r -> {
+            String agencia = r.obrigatorio("agencia");
+            String numero = r.obrigatorio("numero_conta");
+            String tipo = r.obrigatorio("tipo_conta").trim().toUpperCase();
+            if (!tipo.equals("CORRENTE") && !tipo.equals("POUPANCA")) {
+                throw new IllegalArgumentException("Tipo de conta inválido: " + tipo);
+            }
+            BigDecimal saldo = valor(r.get("saldo"), "saldo");
+            StatusConta status = r.get("status_conta") == null ? StatusConta.ATIVA : StatusConta.de(r.get("status_conta"));
+            BigDecimal limite = null;
+            BigDecimal taxa = null;
+            LocalDate aniversario = null;
+            if (tipo.equals("CORRENTE")) {
+                limite = valor(r.get("limite_cheque_especial"), "limite_cheque_especial");
+            } else {
+                taxa = r.get("taxa_rendimento_anual") == null ? BigDecimal.ZERO
+                        : decimal(r.get("taxa_rendimento_anual"), "taxa_rendimento_anual");
+                aniversario = data(r.get("data_aniversario"));
+            }
+            if (!numeros.add(agencia + '/' + numero)) {
+                throw new IllegalArgumentException("Conta repetida no arquivo");
+            }
+            return new Object[]{agencia, numero, tipo, saldo, String.valueOf(status.getCodigo()), limite, taxa, aniversario};
+        };
+    }
+
+    private static Validacao validarTitular() {
+        Set<String> vinculos = new HashSet<>();
+        return r -> {
+            String cpf = Cpf.normalizar(r.get("cpf"));
+            String agencia = r.obrigatorio("agencia");
+            String numero = r.obrigatorio("numero_conta");
+            TipoTitularidade tipo = r.get("tipo_titularidade") == null
+                    ? TipoTitularidade.PRINCIPAL : TipoTitularidade.de(r.get("tipo_titularidade"));
+            if (!vinculos.add(cpf + ' ' + agencia + '/' + numero)) {
+                throw new IllegalArgumentException("Titularidade repetida no arquivo");
+            }
+            return new Object[]{cpf, agencia, numero, String.valueOf(tipo.getCodigo())};
+        };
+    }
+
+    private static BigDecimal valor(String texto, String campo) {
+        if (texto == null) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        try {
+            // mesma regra da API: no máximo centavos
+            return Dinheiro.de(texto).toBigDecimal();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido em " + campo + ": " + texto);
+        }
+    }
+
+    private static BigDecimal decimal(String texto, String campo) {
+        try {
+            return new BigDecimal(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido em " + campo + ": " + texto);
+        }
+    }
+
+    private static LocalDate data(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida (use AAAA-MM-DD): " + texto);
+        }
+    }
+
+    /**
+     * CSV de rejeitados (arquivo, linha, motivo, registro). Criado só na primeira rejeição.
+     */
+    private static final class Rejeitados implements AutoCloseable {
+
+        private final Path caminho;
+        private final Map<String, Long> porArquivo = new HashMap<>();
+        private BufferedWriter saida;
+        private long total;
+
+        Rejeitados(Path caminho) {
+            this.caminho = caminho;
+        }
+
+        void adicionar(String arquivo, long linha, String motivo, String registro) {
+            try {
+                if (saida == null) {
+                    Files.createDirectories(caminho.getParent());
+                    saida = Files.newBufferedWriter(caminho, StandardCharsets.UTF_8);
+                    saida.write("arquivo,linha,motivo,registro\n");
+                }
+                saida.write(arquivo + ',' + linha + ',' + csv(motivo) + ',' + csv(registro) + '\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            porArquivo.merge(arquivo, 1L, Long::sum);
+            total++;
+        }
+
+        long de(String arquivo) {
+            return porArquivo.getOrDefault(arquivo, 0L);
+        }
+
+        long getTotal() {
+            return total;
+        }
+
+        private static String csv(String valor) {
+            return valor == null ? "" : '"' + valor.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (saida != null) {
+                saida.close();
+            }
+        }
+    }
+}
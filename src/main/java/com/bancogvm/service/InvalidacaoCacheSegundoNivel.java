@@ -0,0 +1,61 @@
+package com.bancogvm.service;
+
+import com.bancogvm.service.model.BeneficiarioEntity;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.TitularContaEntity;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Invalida, neste nó, as regiões do cache de segundo nível alteradas em qualquer nó.
+ *
+ * O cache é local (Caffeine): o READ_WRITE do Hibernate só invalida no nó que fez a
+ * escrita, e escritas por JDBC/COPY (ImportacaoCarteira) nem isso. Toda escrita desses
+ * recursos já incrementa a versão deles em versao_recurso (VersaoRecursos); aqui cada
+ * nó consulta as versões a cada intervalo e, se uma mudou, esvazia a região da entidade
+ * e as consultas em cache. Atraso máximo visto de outro nó: o intervalo mais o atraso da
+ * réplica (a consulta das versões vai para onde vão as leituras).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvalidacaoCacheSegundoNivel {
+
+    // recursos com região em application.conf; as consultas em cache (findByCpf...) são de cliente
+    private static final Map<String, Class<?>> REGIOES = Map.of(
+            VersaoRecursos.CLIENTES, ClienteEntity.class,
+            VersaoRecursos.TITULARES, TitularContaEntity.class,
+            VersaoRecursos.BENEFICIARIOS, BeneficiarioEntity.class);
+
+    private final VersaoRecursos versoes;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // protegido por this
+    private final Map<String, Long> vistas = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${bancogvm.cache.intervalo-invalidacao-ms:2000}")
+    public synchronized void verificar() {
+        Map<String, Long> atuais = versoes.versoes(REGIOES.keySet().toArray(String[]::new));
+        Cache cache = entityManagerFactory.getCache();
+        boolean mudou = false;
+        for (Map.Entry<String, Class<?>> regiao : REGIOES.entrySet()) {
+            Long atual = atuais.getOrDefault(regiao.getKey(), 0L);
+            // primeira verificação: o que entrou antes dela pode ser anterior a uma escrita
+            if (!atual.equals(vistas.put(regiao.getKey(), atual))) {
+                cache.evict(regiao.getValue());
+                mudou = true;
+                log.debug("Região de {} invalidada: versão {}", regiao.getKey(), atual);
+            }
+        }
+        if (mudou) {
+            cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bancogvm.service;
+
+/**
+ * Saque ou transferência acima de um limite de frequência ou de valor acumulado nas
+ * janelas da conta (LimitesVelocidade). Como {@link SaldoInsuficienteException}, continua
+ * sendo um {@link IllegalArgumentException} e é contada à parte nas métricas.
+ */
+public class LimiteExcedidoException extends IllegalArgumentException {
+
+    public LimiteExcedidoException(String message) {
+        super(message);
+    }
+}
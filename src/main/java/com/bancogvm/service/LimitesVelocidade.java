@@ -0,0 +1,246 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.LimitesVelocidadeProperties;
+import com.bancogvm.repository.CartaoDebitoRepository;
+import com.bancogvm.service.limites.JanelasDeslizantes;
+import com.bancogvm.service.model.CartaoDebitoEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limites de velocidade por conta, conferidos em memória antes do lançamento: quantidade
+ * de saques e de transferências por minuto, hora e dia, e valor acumulado em 24 h contra
+ * limiteSaque/limiteTransferencia do cartão de débito da conta. Sem isso, um limite diário
+ * exigiria somar as transações do dia a cada pedido.
+ *
+ * Cada conta e categoria tem uma JanelasDeslizantes. Ao conferir, o lançamento já fica
+ * reservado nas janelas; se a transação termina FALHOU ou não confirma, a reserva é
+ * desfeita. Na subida, as janelas são refeitas das transações concluídas nas últimas 24 h
+ * que passariam por aqui: créditos de folha e agendamentos executados ficam de fora.
+ *
+ * O estado é deste nó: o que outro nó lançou depois da subida não entra. Para o limite
+ * valer no conjunto, as requisições de uma conta devem ir sempre ao mesmo nó.
+ */
+@Component
+@Slf4j
+public class LimitesVelocidade {
+
+    public static final int MINUTO = 0;
+    public static final int HORA = 1;
+    public static final int DIA = 2;
+
+    private static final long[] DURACOES = {60_000L, 3_600_000L, 86_400_000L};
+    private static final String[] NOMES = {"minuto", "hora", "dia"};
+
+    private static final int SAQUE = 0;
+    private static final int TRANSFERENCIA = 1;
+
+    // limite de valor não informado no cartão, ou conta sem cartão de débito
+    private static final long SEM_LIMITE = -1;
+
+    // mesma regra do lançamento: créditos de folha e agendamentos executados não passam por
+    // reservar, então não entram nas janelas (ix_linha_folha_transacao, ix_agendamento_transacao)
+    private static final String SQL_ULTIMO_DIA = """
+            select t.conta_origem_id, t.tipo_transacao, t.valor, t.data_hora from transacao t
+            where t.data_hora >= ? and t.status_transacao = 'C' and t.tipo_transacao in ('S', 'T', 'E')
+              and not exists (select 1 from linha_folha_pagamento l where l.transacao_id = t.id)
+              and not exists (select 1 from agendamento_transferencia a where a.transacao_id = t.id)
+            order by t.data_hora""";
+
+    private static final TipoTransacao.Conversor TIPOS = new TipoTransacao.Conversor();
+
+    private final JdbcTemplate jdbc;
+    private final CartaoDebitoRepository cartaoRepo;
+    private final LimitesVelocidadeProperties props;
+
+    // chave: contaId * 2 + categoria
+    private volatile ConcurrentHashMap<Long, JanelasDeslizantes> porConta = new ConcurrentHashMap<>();
+
+    // [limite de saque, limite de transferência] em centavos
+    private final Cache<Long, long[]> limitesCartao;
+
+    public LimitesVelocidade(JdbcTemplate jdbc, CartaoDebitoRepository cartaoRepo, LimitesVelocidadeProperties props) {
+        this.jdbc = jdbc;
+        this.cartaoRepo = cartaoRepo;
+        this.props = props;
+        this.limitesCartao = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(props.getValidadeCartoes())
+                .build();
+    }
+
+    /**
+     * Refaz as janelas a partir das transações concluídas nas últimas 24 h, fora as que
+     * registrarSemLimites e a folha de pagamento lançaram. O mapa novo
+     * substitui o anterior inteiro; uma reserva feita durante a leitura pode ficar de fora.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        if (!props.isHabilitado()) {
+            return;
+        }
+        Instant agora = Instant.now();
+        ConcurrentHashMap<Long, JanelasDeslizantes> novo = new ConcurrentHashMap<>();
+        int[] lidas = {0};
+        jdbc.query(SQL_ULTIMO_DIA, rs -> {
+            int categoria = categoria(TIPOS.convertToEntityAttribute(rs.getString(2).charAt(0)));
+            long instante = rs.getObject(4, OffsetDateTime.class).toInstant().toEpochMilli();
+            JanelasDeslizantes janelas = novo.computeIfAbsent(chave(rs.getLong(1), categoria), k -> new JanelasDeslizantes(DURACOES));
+            janelas.avancar(instante);
+            janelas.registrar(instante, Dinheiro.de(rs.getBigDecimal(3)).getCentavos());
+            lidas[0]++;
+        }, agora.minusMillis(DURACOES[DIA]).atOffset(ZoneOffset.UTC));
+        novo.values().forEach(j -> j.avancar(agora.toEpochMilli()));
+        porConta = novo;
+        log.info("Limites de velocidade refeitos: {} lançamentos do último dia em {} contas", lidas[0], novo.size());
+    }
+
+    /**
+     * Confere os limites da conta de origem e já reserva o lançamento nas janelas.
+     * Chamado por registrar com a conta travada; a reserva é desfeita sozinha se a
+     * transação do banco não confirmar.
+     *
+     * @return a reserva, ou null se o tipo não tem limite (depósito) ou os limites estão desligados
+     * @throws LimiteExcedidoException se o lançamento passaria de algum limite
+     */
+    public Reserva reservar(TransacaoEntity t) {
+        int categoria = categoria(t.getTipoTransacao());
+        if (!props.isHabilitado() || categoria < 0) {
+            return null;
+        }
+        long chave = chave(t.getContaOrigem().getId(), categoria);
+        long valor = t.getValor().getCentavos();
+        long limiteDia = limitesCartao.get(t.getContaOrigem().getId(), this::carregarCartao)[categoria];
+        long agora = (t.getDataHora() != null ? t.getDataHora() : Instant.now()).toEpochMilli();
+        int[] maximos = {props.getMaximoPorMinuto(), props.getMaximoPorHora(), props.getMaximoPorDia()};
+        long[] sequencia = new long[1];
+        JanelasDeslizantes reservada = porConta.compute(chave, (k, atual) -> {
+            JanelasDeslizantes janelas = atual != null ? atual : new JanelasDeslizantes(DURACOES);
+            janelas.avancar(agora);
+            for (int j = 0; j < maximos.length; j++) {
+                if (janelas.quantidade(j) >= maximos[j]) {
+                    throw new LimiteExcedidoException("Limite de " + maximos[j] + " "
+                            + (categoria == SAQUE ? "saques" : "transferências") + " por " + NOMES[j] + " excedido");
+                }
+            }
+            if (limiteDia != SEM_LIMITE && janelas.soma(DIA) + valor > limiteDia) {
+                throw new LimiteExcedidoException("Limite diário de " + (categoria == SAQUE ? "saque" : "transferência")
+                        + " de " + Dinheiro.deCentavos(limiteDia) + " excedido");
+            }
+            sequencia[0] = janelas.registrar(agora, valor);
+            return janelas;
+        });
+        Reserva reserva = new Reserva(chave, reservada, sequencia[0]);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        desfazer(reserva);
+                    }
+                }
+            });
+        }
+        return reserva;
+    }
+
+    /**
+     * Tira a reserva das janelas. Desfazer duas vezes não tem efeito.
+     */
+    public void desfazer(Reserva reserva) {
+        if (reserva != null) {
+            // as janelas podem ter sido refeitas desde a reserva: aí ela não está nas novas
+            porConta.computeIfPresent(reserva.chave(), (k, janelas) -> {
+                if (janelas == reserva.janelas()) {
+                    janelas.desfazer(reserva.sequencia());
+                }
+                return janelas;
+            });
+        }
+    }
+
+    /**
+     * Limites do cartão mudaram neste nó: relê na próxima conferência.
+     */
+    public void cartaoAlterado(Long contaId) {
+        limitesCartao.invalidate(contaId);
+    }
+
+    /**
+     * Quantidade e soma (centavos) da conta numa janela, sem reservar nada.
+     */
+    public long[] uso(Long contaId, TipoTransacao tipo, int janela) {
+        long[] uso = new long[2];
+        int categoria = categoria(tipo);
+        if (categoria < 0) {
+            return uso;
+        }
+        porConta.computeIfPresent(chave(contaId, categoria), (k, janelas) -> {
+            janelas.avancar(System.currentTimeMillis());
+            uso[0] = janelas.quantidade(janela);
+            uso[1] = janelas.soma(janela);
+            return janelas;
+        });
+        return uso;
+    }
+
+    @Scheduled(fixedDelayString = "${bancogvm.limites.limpeza-ms:600000}")
+    public void limpar() {
+        long agora = System.currentTimeMillis();
+        ConcurrentHashMap<Long, JanelasDeslizantes> mapa = porConta;
+        for (Long chave : mapa.keySet()) {
+            mapa.computeIfPresent(chave, (k, janelas) -> {
+                janelas.avancar(agora);
+                return janelas.vazia() ? null : janelas;
+            });
+        }
+    }
+
+    private long[] carregarCartao(Long contaId) {
+        long[] limites = {SEM_LIMITE, SEM_LIMITE};
+        // mais de um cartão de débito na conta: vale o maior limite, o lançamento não diz qual cartão usou
+        for (CartaoDebitoEntity c : cartaoRepo.findByContaId(contaId)) {
+            limites[SAQUE] = maior(limites[SAQUE], c.getLimiteSaque());
+            limites[TRANSFERENCIA] = maior(limites[TRANSFERENCIA], c.getLimiteTransferencia());
+        }
+        return limites;
+    }
+
+    private static long maior(long atual, Dinheiro limite) {
+        return limite == null ? atual : Math.max(atual, limite.getCentavos());
+    }
+
+    private static int categoria(TipoTransacao tipo) {
+        if (tipo == null) {
+            return -1;
+        }
+        return switch (tipo) {
+            case SAQUE -> SAQUE;
+            case TRANSFERENCIA, TRANSFERENCIA_EXTERNA -> TRANSFERENCIA;
+            case DEPOSITO -> -1;
+        };
+    }
+
+    private static long chave(long contaId, int categoria) {
+        return contaId * 2 + categoria;
+    }
+
+    public record Reserva(long chave, JanelasDeslizantes janelas, long sequencia) {
+    }
+}
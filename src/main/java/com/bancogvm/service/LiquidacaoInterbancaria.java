@@ -0,0 +1,175 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.LiquidacaoProperties;
+import com.bancogvm.service.liquidacao.CamaraCompensacao;
+import com.bancogvm.service.liquidacao.MensagemLiquidacao;
+import com.bancogvm.service.model.Dinheiro;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Liquida as transferências externas em janelas. A cada intervalo, tudo o que ficou
+ * PENDENTE é compensado por banco favorecido: uma liquidação com a posição líquida e a
+ * quantidade de transferências, e uma mensagem só para a câmara por banco, no lugar de
+ * uma por transferência.
+ *
+ * Fechar e enviar são passos separados, como no outbox: o fechamento grava as
+ * liquidações GERADA e marca as transferências LIQUIDADO numa transação; o envio entrega
+ * cada liquidação GERADA à câmara e só então a marca ENVIADA. Uma queda entre os dois só
+ * atrasa o envio para a próxima janela. As linhas são lidas com SKIP LOCKED: com vários
+ * nós, cada transferência entra numa liquidação só.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiquidacaoInterbancaria {
+
+    private static final String SQL_PENDENTES = """
+            select id, banco_favorecido, valor from pagamento_externo
+            where status_pagamento = 'P'
+            order by id
+            limit ?
+            for update skip locked""";
+
+    private static final String SQL_INSERIR_LIQUIDACAO = """
+            insert into liquidacao_interbancaria (janela, banco_favorecido, quantidade, valor_liquido, status_liquidacao)
+            values (?, ?, ?, ?, 'G')""";
+
+    private static final String SQL_MARCAR_LIQUIDADO = """
+            update pagamento_externo set status_pagamento = 'L', liquidacao_id = ?
+            where id = ?""";
+
+    private static final String SQL_TRAVAR_GERADA = """
+            select janela, banco_favorecido, valor_liquido from liquidacao_interbancaria
+            where id = ? and status_liquidacao = 'G'
+            for update skip locked""";
+
+    private static final String SQL_CREDITOS = """
+            select id, transacao_id, agencia_favorecida, conta_favorecida, cpf_cnpj_favorecido, nome_favorecido, valor
+            from pagamento_externo
+            where liquidacao_id = ?
+            order by id""";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transacoes;
+    private final LiquidacaoProperties props;
+    private final CamaraCompensacao camara;
+    private final MetricasNegocio metricas;
+
+    @Scheduled(fixedDelayString = "${bancogvm.liquidacao.intervalo-ms:60000}")
+    public void executar() {
+        if (props.isHabilitado()) {
+            fecharJanela();
+            enviarGeradas();
+        }
+    }
+
+    /**
+     * Compensa por banco o que está PENDENTE agora. Devolve quantas liquidações gerou.
+     */
+    public int fecharJanela() {
+        Instant janela = Instant.now();
+        int geradas = 0;
+        int lidas;
+        do {
+            int[] resultado = transacoes.execute(status -> fecharLote(janela));
+            lidas = resultado[0];
+            geradas += resultado[1];
+        } while (lidas == props.getLote());
+        return geradas;
+    }
+
+    /**
+     * Entrega à câmara as liquidações GERADA, uma transação por liquidação. Uma que falhe
+     * fica GERADA para a próxima janela, sem impedir as outras. Devolve quantas foram enviadas.
+     */
+    public int enviarGeradas() {
+        List<Long> geradas = jdbc.queryForList(
+                "select id from liquidacao_interbancaria where status_liquidacao = 'G' order by id", Long.class);
+        int enviadas = 0;
+        for (Long id : geradas) {
+            try {
+                if (Boolean.TRUE.equals(transacoes.execute(status -> enviar(id)))) {
+                    enviadas++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Liquidação {} não enviada; nova tentativa na próxima janela: {}", id, e.getMessage(), e);
+            }
+        }
+        return enviadas;
+    }
+
+    private int[] fecharLote(Instant janela) {
+        List<Pendente> pendentes = jdbc.query(SQL_PENDENTES,
+                (rs, i) -> new Pendente(rs.getLong(1), rs.getString(2), Dinheiro.de(rs.getBigDecimal(3))),
+                props.getLote());
+        if (pendentes.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        Map<String, List<Pendente>> porBanco = new TreeMap<>();
+        for (Pendente p : pendentes) {
+            porBanco.computeIfAbsent(p.banco(), b -> new ArrayList<>()).add(p);
+        }
+        OffsetDateTime fechamento = janela.atOffset(ZoneOffset.UTC);
+        for (Map.Entry<String, List<Pendente>> banco : porBanco.entrySet()) {
+            List<Pendente> doBanco = banco.getValue();
+            Dinheiro liquido = doBanco.stream().map(Pendente::valor).reduce(Dinheiro.ZERO, Dinheiro::somar);
+            GeneratedKeyHolder chave = new GeneratedKeyHolder();
+            jdbc.update(con -> {
+                PreparedStatement ps = con.prepareStatement(SQL_INSERIR_LIQUIDACAO, new String[]{"id"});
+                ps.setObject(1, fechamento);
+                ps.setString(2, banco.getKey());
+                ps.setInt(3, doBanco.size());
+                ps.setBigDecimal(4, liquido.toBigDecimal());
+                return ps;
+            }, chave);
+            long liquidacaoId = chave.getKey().longValue();
+            jdbc.batchUpdate(SQL_MARCAR_LIQUIDADO, doBanco, doBanco.size(), (ps, p) -> {
+                ps.setLong(1, liquidacaoId);
+                ps.setLong(2, p.id());
+            });
+        }
+        log.info("Janela {}: {} transferências compensadas em {} liquidações", janela, pendentes.size(), porBanco.size());
+        return new int[]{pendentes.size(), porBanco.size()};
+    }
+
+    private boolean enviar(long liquidacaoId) {
+        // outro nó pode estar enviando a mesma: pula em vez de esperar
+        List<MensagemLiquidacao> gerada = jdbc.query(SQL_TRAVAR_GERADA,
+                (rs, i) -> new MensagemLiquidacao(liquidacaoId, rs.getObject(1, OffsetDateTime.class).toInstant(),
+                        rs.getString(2), Dinheiro.de(rs.getBigDecimal(3)), List.of()),
+                liquidacaoId);
+        if (gerada.isEmpty()) {
+            return false;
+        }
+        MensagemLiquidacao cabecalho = gerada.get(0);
+        List<MensagemLiquidacao.Credito> creditos = jdbc.query(SQL_CREDITOS,
+                (rs, i) -> new MensagemLiquidacao.Credito(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                        rs.getString(4), rs.getString(5), rs.getString(6), Dinheiro.de(rs.getBigDecimal(7))),
+                liquidacaoId);
+        String protocolo = camara.enviar(new MensagemLiquidacao(liquidacaoId, cabecalho.janela(),
+                cabecalho.banco(), cabecalho.valorLiquido(), creditos));
+        jdbc.update("""
+                update liquidacao_interbancaria set status_liquidacao = 'E', protocolo = ?, enviada_em = ?
+                where id = ?""", protocolo, Instant.now().atOffset(ZoneOffset.UTC), liquidacaoId);
+        metricas.liquidacaoEnviada(creditos.size());
+        return true;
+    }
+
+    private record Pendente(long id, String banco, Dinheiro valor) {
+    }
+}
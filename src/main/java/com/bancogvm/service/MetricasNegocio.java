@@ -0,0 +1,151 @@
+package com.bancogvm.service;
+
+import com.bancogvm.service.model.StatusAgendamento;
+import com.bancogvm.service.model.StatusEmprestimo;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+
+/**
+ * Métricas de negócio do caminho de lançamento, empréstimos e cartões,
+ * publicadas em /actuator/prometheus junto com Hikari e Hibernate.
+ * As tags usam só valores de um conjunto fechado para não explodir a cardinalidade.
+ */
+@Component
+@AllArgsConstructor
+public class MetricasNegocio {
+
+    private final MeterRegistry registry;
+
+    public Timer.Sample iniciar() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * @param motivo "nenhum" quando concluída; senão SALDO_INSUFICIENTE, LIMITE_EXCEDIDO, INVALIDA ou ERRO
+     */
+    public void transacaoFinalizada(Timer.Sample sample, TipoTransacao tipo, StatusTransacao status, String motivo) {
+        String tipoTag = tipo != null ? tipo.name() : "INVALIDO";
+        sample.stop(Timer.builder("bancogvm.transacoes")
+                .description("Tempo de processamento de TransacaoService.registrar")
+                .tag("tipo", tipoTag)
+                .tag("status", status.name())
+                .tag("motivo", motivo)
+                .publishPercentileHistogram()
+                .register(registry));
+        if ("SALDO_INSUFICIENTE".equals(motivo)) {
+            Counter.builder("bancogvm.transacoes.saldo.insuficiente")
+                    .description("Saques e transferências rejeitados por falta de saldo")
+                    .tag("tipo", tipoTag)
+                    .register(registry)
+                    .increment();
+        }
+        if ("LIMITE_EXCEDIDO".equals(motivo)) {
+            Counter.builder("bancogvm.transacoes.limite.excedido")
+                    .description("Saques e transferências rejeitados pelos limites de velocidade da conta")
+                    .tag("tipo", tipoTag)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    public void emprestimoTransicao(StatusEmprestimo de, StatusEmprestimo para) {
+        Counter.builder("bancogvm.emprestimos.transicoes")
+                .description("Mudanças de status de empréstimo")
+                .tag("de", de != null ? de.name() : "NOVO")
+                .tag("para", para.name())
+                .register(registry)
+                .increment();
+    }
+
+    public void cartaoStatus(String acao) {
+        Counter.builder("bancogvm.cartoes.status")
+                .description("Bloqueios e desbloqueios de cartão")
+                .tag("acao", acao)
+                .register(registry)
+                .increment();
+    }
+
+    public void outboxAplicados(String projecao, int eventos) {
+        if (eventos > 0) {
+            Counter.builder("bancogvm.outbox.aplicados")
+                    .description("Eventos do outbox aplicados por projeção")
+                    .tag("projecao", projecao)
+                    .register(registry)
+                    .increment(eventos);
+        }
+    }
+
+    public void alerta(String motivo) {
+        Counter.builder("bancogvm.alertas")
+                .description("Alertas gerados a partir do outbox de transações")
+                .tag("motivo", motivo)
+                .register(registry)
+                .increment();
+    }
+
+    public void eventosAssinantes(Collection<?> assinantes) {
+        Gauge.builder("bancogvm.eventos.assinantes", assinantes, Collection::size)
+                .description("Conexões abertas em /api/eventos")
+                .register(registry);
+    }
+
+    /**
+     * @param motivo "lento" (fila cheia), "desconectado" ou "desligamento"
+     */
+    public void eventoAssinanteEncerrado(String motivo) {
+        Counter.builder("bancogvm.eventos.encerrados")
+                .description("Conexões de /api/eventos encerradas pelo servidor")
+                .tag("motivo", motivo)
+                .register(registry)
+                .increment();
+    }
+
+    public void agendamentosPendentes(Supplier<Number> pendentes) {
+        Gauge.builder("bancogvm.agendamentos.pendentes", pendentes)
+                .description("Agendamentos reservados por este nó e ainda não executados")
+                .register(registry);
+    }
+
+    /**
+     * @param atraso da data agendada até o registro da transação
+     */
+    public void agendamentoExecutado(StatusAgendamento status, Duration atraso) {
+        Timer.builder("bancogvm.agendamentos.atraso")
+                .description("Atraso entre a data agendada e a execução da transferência")
+                .tag("status", status.name())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(atraso.isNegative() ? Duration.ZERO : atraso);
+    }
+
+    /**
+     * Uma mensagem por banco e janela; a razão entre os dois contadores é o ganho da compensação.
+     */
+    public void liquidacaoEnviada(int transferencias) {
+        Counter.builder("bancogvm.liquidacao.mensagens")
+                .description("Mensagens de liquidação entregues à câmara")
+                .register(registry)
+                .increment();
+        Counter.builder("bancogvm.liquidacao.transferencias")
+                .description("Transferências externas liquidadas nas mensagens")
+                .register(registry)
+                .increment(transferencias);
+    }
+
+    public void chavesIndexadas(Supplier<Number> chaves) {
+        Gauge.builder("bancogvm.chaves.indexadas", chaves)
+                .description("Chaves de pagamento ativas no índice em memória deste nó")
+                .register(registry);
+    }
+}
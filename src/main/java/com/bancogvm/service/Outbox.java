@@ -0,0 +1,50 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.EventoOutboxRepository;
+import com.bancogvm.service.model.EventoOutboxEntity;
+import com.bancogvm.service.model.TransacaoEntity;
+import com.bancogvm.service.model.TransacaoRegistrada;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Publica eventos no outbox transacional. O INSERT entra na transação de quem
+ * chama: o evento existe se, e somente se, a escrita que o gerou foi confirmada.
+ */
+@Component
+@AllArgsConstructor
+public class Outbox {
+
+    public static final String TRANSACAO_REGISTRADA = "TRANSACAO_REGISTRADA";
+
+    private final EventoOutboxRepository repo;
+    private final ObjectMapper json;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transacaoRegistrada(TransacaoEntity t) {
+        try {
+            repo.save(EventoOutboxEntity.builder()
+                    .tipo(TRANSACAO_REGISTRADA)
+                    .agregadoId(t.getId())
+                    .payload(json.writeValueAsString(TransacaoRegistrada.de(t)))
+                    .criadoEm(Instant.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Evento de transação não serializável", e);
+        }
+    }
+
+    public TransacaoRegistrada lerTransacao(EventoOutboxEntity evento) {
+        try {
+            return json.readValue(evento.getPayload(), TransacaoRegistrada.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Evento " + evento.getId() + " com payload inválido", e);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.FolhaPagamentoProperties;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusFolha;
+import com.bancogvm.service.model.StatusLinhaFolha;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Processa uma folha de pagamento sem transformar a conta de origem em gargalo: pelo
+ * TransacaoService seriam milhares de transações em fila pela mesma linha travada.
+ *
+ * 1. Débito: uma transação trava a origem, confere o saldo contra o total e debita tudo
+ * de uma vez (DEBITADA). Sem saldo, a folha termina FALHOU e nada se move.
+ * 2. Créditos: em lotes de {@code bancogvm.folha.lote} linhas, cada lote numa transação;
+ * as contas de destino são atualizadas em lote e em ordem de id (duas folhas com os
+ * mesmos funcionários travam na mesma ordem) e cada linha ganha a sua TRANSFERENCIA
+ * CONCLUIDA, com evento no outbox como as do registrar.
+ * 3. Conclusão, quando não sobra linha PENDENTE.
+ *
+ * Cada passo trava antes a linha da folha e confere a situação: uma queda no meio deixa
+ * a folha DEBITADA com parte das linhas PENDENTE, e processar de novo (na subida ou por
+ * POST /api/folhas/{id}/retomar) segue de onde parou, mesmo com dois nós ao mesmo tempo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessadorFolhaPagamento {
+
+    private static final String SQL_TRAVAR_FOLHA = """
+            select status_folha, conta_origem_id, total, descricao from folha_pagamento
+            where id = ?
+            for update""";
+
+    private static final String SQL_PENDENTES = """
+            select id, conta_destino_id, valor from linha_folha_pagamento
+            where folha_id = ? and status_linha = 'P'
+            order by conta_destino_id, id
+            limit ?""";
+
+    private static final String SQL_CREDITAR = "update conta set saldo = saldo + ? where id = ?";
+
+    private static final String SQL_INSERIR_TRANSACAO = """
+            insert into transacao (valor, data_hora, tipo_transacao, status_transacao, descricao,
+                                   conta_origem_id, conta_destino_id)
+            values (?, ?, 'T', 'C', ?, ?, ?)""";
+
+    private static final String SQL_MARCAR_CREDITADA = """
+            update linha_folha_pagamento set status_linha = 'C', transacao_id = ?
+            where id = ?""";
+
+    private static final StatusFolha.Conversor SITUACAO = new StatusFolha.Conversor();
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transacoes;
+    private final FolhaPagamentoProperties props;
+    private final Outbox outbox;
+    private final EventosTempoReal eventos;
+    private final VersaoRecursos versoes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarInterrompidas() {
+        if (!props.isRetomarNaSubida()) {
+            return;
+        }
+        List<Long> interrompidas = jdbc.queryForList(
+                "select id from folha_pagamento where status_folha in ('R', 'D') order by id", Long.class);
+        for (Long id : interrompidas) {
+            try {
+                processar(id);
+                log.info("Folha {} retomada", id);
+            } catch (RuntimeException e) {
+                log.error("Falha ao retomar a folha {}: {}", id, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Leva a folha até CONCLUIDA ou FALHOU. Em folha já terminada não faz nada.
+     */
+    public void processar(long folhaId) {
+        long inicio = System.nanoTime();
+        if (!debitar(folhaId)) {
+            return;
+        }
+        int creditadas = 0;
+        for (int lote; (lote = creditarLote(folhaId)) > 0; ) {
+            creditadas += lote;
+        }
+        if (concluir(folhaId)) {
+            log.info("Folha {} concluída: {} linhas creditadas nesta execução em {} ms",
+                    folhaId, creditadas, (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    /**
+     * Debita o total da origem se a folha ainda está RECEBIDA. Devolve se há créditos a
+     * fazer (a folha está DEBITADA).
+     */
+    public boolean debitar(long folhaId) {
+        return Boolean.TRUE.equals(transacoes.execute(status -> {
+            Folha folha = travar(folhaId);
+            if (folha.situacao() != StatusFolha.RECEBIDA) {
+                return folha.situacao() == StatusFolha.DEBITADA;
+            }
+            Dinheiro saldo = jdbc.queryForObject("select saldo from conta where id = ? for update",
+                    (rs, i) -> Dinheiro.de(rs.getBigDecimal(1)), folha.origem());
+            Instant agora = Instant.now();
+            if (saldo.menorQue(folha.total())) {
+                String motivo = "Saldo insuficiente para a folha";
+                jdbc.update("""
+                        update linha_folha_pagamento set status_linha = 'R', motivo = ?
+                        where folha_id = ? and status_linha = 'P'""", motivo, folhaId);
+                jdbc.update("""
+                        update folha_pagamento set status_folha = 'F', motivo = ?, concluida_em = ?,
+                            creditadas = 0, rejeitadas = linhas
+                        where id = ?""", motivo, utc(agora), folhaId);
+                log.warn("Folha {} recusada: saldo {} menor que o total {}", folhaId, saldo, folha.total());
+                return false;
+            }
+            jdbc.update("update conta set saldo = saldo - ? where id = ?", folha.total().toBigDecimal(), folha.origem());
+            jdbc.update("update folha_pagamento set status_folha = 'D' where id = ?", folhaId);
+            versoes.incrementar(VersaoRecursos.CONTAS);
+            return true;
+        }));
+    }
+
+    /**
+     * Credita o próximo lote de linhas PENDENTE da folha DEBITADA numa transação só.
+     * Devolve quantas linhas foram creditadas; zero quando não sobra nada.
+     */
+    public int creditarLote(long folhaId) {
+        List<TransacaoEntity> registradas = transacoes.execute(status -> {
+            Folha folha = travar(folhaId);
+            if (folha.situacao() != StatusFolha.DEBITADA) {
+                return List.<TransacaoEntity>of();
+            }
+            List<Pendente> lote = jdbc.query(SQL_PENDENTES,
+                    (rs, i) -> new Pendente(rs.getLong(1), rs.getLong(2), Dinheiro.de(rs.getBigDecimal(3))),
+                    folhaId, props.getLote());
+            if (lote.isEmpty()) {
+                return List.<TransacaoEntity>of();
+            }
+
+            // um UPDATE por conta, em ordem de id, mesmo que ela apareça em mais de uma linha
+            Map<Long, Dinheiro> creditos = new TreeMap<>();
+            for (Pendente p : lote) {
+                creditos.merge(p.destino(), p.valor(), Dinheiro::somar);
+            }
+            List<Map.Entry<Long, Dinheiro>> porConta = new ArrayList<>(creditos.entrySet());
+            jdbc.batchUpdate(SQL_CREDITAR, porConta, porConta.size(), (ps, c) -> {
+                ps.setBigDecimal(1, c.getValue().toBigDecimal());
+                ps.setLong(2, c.getKey());
+            });
+
+            Instant agora = Instant.now();
+            GeneratedKeyHolder chaves = new GeneratedKeyHolder();
+            jdbc.batchUpdate(con -> con.prepareStatement(SQL_INSERIR_TRANSACAO, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Pendente p = lote.get(i);
+                            ps.setBigDecimal(1, p.valor().toBigDecimal());
+                            ps.setObject(2, utc(agora));
+                            ps.setString(3, folha.descricao());
+                            ps.setLong(4, folha.origem());
+                            ps.setLong(5, p.destino());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return lote.size();
+                        }
+                    }, chaves);
+            List<Map<String, Object>> ids = chaves.getKeyList();
+
+            List<Object[]> marcas = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                marcas.add(new Object[]{((Number) ids.get(i).get("id")).longValue(), lote.get(i).id()});
+            }
+            jdbc.batchUpdate(SQL_MARCAR_CREDITADA, marcas);
+
+            Map<Long, Dinheiro> saldos = saldos(folha.origem(), creditos.keySet());
+            List<TransacaoEntity> transacoesLote = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                Pendente p = lote.get(i);
+                TransacaoEntity t = TransacaoEntity.builder()
+                        .id((Long) marcas.get(i)[0])
+                        .valor(p.valor())
+                        .dataHora(agora)
+                        .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                        .statusTransacao(StatusTransacao.CONCLUIDA)
+                        .descricao(folha.descricao())
+                        .contaOrigem(conta(folha.origem(), saldos))
+                        .contaDestino(conta(p.destino(), saldos))
+                        .build();
+                outbox.transacaoRegistrada(t);
+                transacoesLote.add(t);
+            }
+            versoes.incrementar(VersaoRecursos.CONTAS);
+            versoes.incrementar(VersaoRecursos.TRANSACOES);
+            return transacoesLote;
+        });
+        // fora da transação: o assinante só vê o que foi confirmado
+        registradas.forEach(eventos::transacao);
+        return registradas.size();
+    }
+
+    private boolean concluir(long folhaId) {
+        return Boolean.TRUE.equals(transacoes.execute(status -> {
+            Folha folha = travar(folhaId);
+            if (folha.situacao() != StatusFolha.DEBITADA) {
+                return false;
+            }
+            Map<String, Integer> porSituacao = new HashMap<>();
+            jdbc.query("""
+                    select status_linha, count(*) from linha_folha_pagamento
+                    where folha_id = ? group by status_linha""",
+                    rs -> {
+                        porSituacao.put(rs.getString(1), rs.getInt(2));
+                    }, folhaId);
+            if (porSituacao.containsKey(String.valueOf(StatusLinhaFolha.PENDENTE.getCodigo()))) {
+                return false;
+            }
+            jdbc.update("""
+                    update folha_pagamento set status_folha = 'C', concluida_em = ?, creditadas = ?, rejeitadas = ?
+                    where id = ?""",
+                    utc(Instant.now()),
+                    porSituacao.getOrDefault(String.valueOf(StatusLinhaFolha.CREDITADA.getCodigo()), 0),
+                    porSituacao.getOrDefault(String.valueOf(StatusLinhaFolha.REJEITADA.getCodigo()), 0),
+                    folhaId);
+            return true;
+        }));
+    }
+
+    private Folha travar(long folhaId) {
+        List<Folha> folhas = jdbc.query(SQL_TRAVAR_FOLHA,
+                (rs, i) -> new Folha(SITUACAO.convertToEntityAttribute(rs.getString(1).charAt(0)), rs.getLong(2),
+                        Dinheiro.de(rs.getBigDecimal(3)), rs.getString(4)),
+                folhaId);
+        if (folhas.isEmpty()) {
+            throw new RuntimeException("Folha não encontrada");
+        }
+        return folhas.get(0);
+    }
+
+    // saldos já com o lote aplicado, para os eventos de saldo em tempo real
+    private Map<Long, Dinheiro> saldos(long origem, Set<Long> destinos) {
+        List<Long> ids = new ArrayList<>(destinos);
+        ids.add(origem);
+        String marcadores = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Map<Long, Dinheiro> saldos = new HashMap<>();
+        jdbc.query("select id, saldo from conta where id in (" + marcadores + ")",
+                rs -> {
+                    saldos.put(rs.getLong(1), Dinheiro.de(rs.getBigDecimal(2)));
+                }, ids.toArray());
+        return saldos;
+    }
+
+    // só id e saldo: suficiente para o outbox e para os eventos em tempo real
+    private static ContaCorrenteEntity conta(long id, Map<Long, Dinheiro> saldos) {
+        ContaCorrenteEntity conta = new ContaCorrenteEntity();
+        conta.setId(id);
+        conta.setSaldo(saldos.get(id));
+        return conta;
+    }
+
+    private static OffsetDateTime utc(Instant instante) {
+        return instante.atOffset(ZoneOffset.UTC);
+    }
+
+    private record Folha(StatusFolha situacao, long origem, Dinheiro total, String descricao) {
+    }
+
+    private record Pendente(long id, long destino, Dinheiro valor) {
+    }
+}
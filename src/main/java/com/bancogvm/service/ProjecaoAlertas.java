@@ -0,0 +1,50 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.OutboxProperties;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.EventoOutboxEntity;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TransacaoRegistrada;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Alerta de transação concluída de valor alto (log + métrica bancogvm.alertas).
+ * Entrega pelo menos uma vez: após uma falha no lote o mesmo alerta pode sair de novo.
+ */
+@Component
+@Slf4j
+public class ProjecaoAlertas implements ProjecaoOutbox {
+
+    private final Outbox outbox;
+    private final MetricasNegocio metricas;
+    private final Dinheiro valorMinimo;
+
+    public ProjecaoAlertas(Outbox outbox, MetricasNegocio metricas, OutboxProperties props) {
+        this.outbox = outbox;
+        this.metricas = metricas;
+        this.valorMinimo = Dinheiro.de(props.getAlertaValorMinimo());
+    }
+
+    @Override
+    public String getNome() {
+        return "alertas";
+    }
+
+    @Override
+    public void aplicar(List<EventoOutboxEntity> eventos) {
+        for (EventoOutboxEntity evento : eventos) {
+            if (!Outbox.TRANSACAO_REGISTRADA.equals(evento.getTipo())) {
+                continue;
+            }
+            TransacaoRegistrada t = outbox.lerTransacao(evento);
+            if (t.statusTransacao() == StatusTransacao.CONCLUIDA && !t.valor().menorQue(valorMinimo)) {
+                log.warn("Alerta: {} de {} na conta {} (transação {})",
+                        t.tipoTransacao(), t.valor(), t.contaOrigemId(), t.transacaoId());
+                metricas.alerta("valor_alto");
+            }
+        }
+    }
+}
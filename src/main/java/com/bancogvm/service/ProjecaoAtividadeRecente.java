@@ -0,0 +1,84 @@
+package com.bancogvm.service;
+
+import com.bancogvm.service.model.EventoOutboxEntity;
+import com.bancogvm.service.model.TransacaoRegistrada;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Últimos lançamentos por conta, em memória neste nó. Só contas já em cache são
+ * atualizadas pelo outbox; as demais são carregadas do banco na primeira consulta.
+ * O checkpoint é por nó: cada nó aplica todos os eventos, venha o lançamento de onde vier.
+ * Repetição de evento é inofensiva (deduplicado por id). A expiração curta limita o
+ * atraso quando o carregamento inicial cruza com um evento ainda não aplicado.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjecaoAtividadeRecente implements ProjecaoOutbox {
+
+    public static final int LIMITE = 20;
+
+    private static final Comparator<TransacaoRegistrada> MAIS_NOVA_PRIMEIRO =
+            Comparator.comparing(TransacaoRegistrada::transacaoId).reversed();
+
+    private final Outbox outbox;
+
+    // listas imutáveis trocadas por inteiro: leitura sem trava
+    private final Cache<Long, List<TransacaoRegistrada>> porConta = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    @Override
+    public String getNome() {
+        return "atividade-recente";
+    }
+
+    @Override
+    public boolean isPorNo() {
+        return true;
+    }
+
+    @Override
+    public void aplicar(List<EventoOutboxEntity> eventos) {
+        for (EventoOutboxEntity evento : eventos) {
+            if (!Outbox.TRANSACAO_REGISTRADA.equals(evento.getTipo())) {
+                continue;
+            }
+            TransacaoRegistrada t = outbox.lerTransacao(evento);
+            acrescentar(t.contaOrigemId(), t);
+            if (t.contaDestinoId() != null) {
+                acrescentar(t.contaDestinoId(), t);
+            }
+        }
+    }
+
+    public List<TransacaoRegistrada> recentes(Long contaId, Function<Long, List<TransacaoRegistrada>> carregar) {
+        return porConta.get(contaId, id -> limitar(new ArrayList<>(carregar.apply(id))));
+    }
+
+    private void acrescentar(Long contaId, TransacaoRegistrada t) {
+        porConta.asMap().computeIfPresent(contaId, (id, atuais) -> {
+            if (atuais.stream().anyMatch(a -> a.transacaoId().equals(t.transacaoId()))) {
+                return atuais;
+            }
+            List<TransacaoRegistrada> novas = new ArrayList<>(atuais.size() + 1);
+            novas.add(t);
+            novas.addAll(atuais);
+            return limitar(novas);
+        });
+    }
+
+    private static List<TransacaoRegistrada> limitar(List<TransacaoRegistrada> lista) {
+        lista.sort(MAIS_NOVA_PRIMEIRO);
+        return List.copyOf(lista.subList(0, Math.min(LIMITE, lista.size())));
+    }
+}
@@ -0,0 +1,33 @@
+package com.bancogvm.service;
+
+import com.bancogvm.service.model.EventoOutboxEntity;
+
+import java.util.List;
+
+/**
+ * Consumidor do outbox. Todo bean que implementa esta interface é alimentado pelo
+ * RelayOutbox com um checkpoint próprio.
+ */
+public interface ProjecaoOutbox {
+
+    /**
+     * Chave do checkpoint em checkpoint_projecao. Trocar o nome faz a projeção
+     * recomeçar do evento mais antigo que ainda estiver no outbox.
+     */
+    String getNome();
+
+    /**
+     * Recebe um lote em ordem de id, na mesma transação que avança o checkpoint:
+     * o que a projeção gravar no banco é confirmado junto. Efeitos fora do banco
+     * (log, cache, métricas) podem se repetir se a transação falhar depois deles.
+     */
+    void aplicar(List<EventoOutboxEntity> eventos);
+
+    /**
+     * Projeção em memória: cada nó precisa receber todos os eventos, então o checkpoint
+     * é por nó (nome@nó). O de um nó parado há mais que vida-no deixa de segurar a poda.
+     */
+    default boolean isPorNo() {
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.TotalDiarioTransacaoRepository;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.EventoOutboxEntity;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TotalDiarioTransacaoEntity;
+import com.bancogvm.service.model.TransacaoRegistrada;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Totais por dia e tipo das transações concluídas. O lote é somado em memória antes:
+ * um UPDATE por (dia, tipo) tocado no lote, não um por lançamento. Gravado na transação
+ * do checkpoint, então nunca conta o mesmo evento duas vezes.
+ */
+@Component
+@AllArgsConstructor
+public class ProjecaoTotaisDiarios implements ProjecaoOutbox {
+
+    private final TotalDiarioTransacaoRepository repo;
+    private final Outbox outbox;
+
+    @Override
+    public String getNome() {
+        return "totais-diarios";
+    }
+
+    @Override
+    public void aplicar(List<EventoOutboxEntity> eventos) {
+        Map<Chave, TotalDiarioTransacaoEntity> parciais = new LinkedHashMap<>();
+        for (EventoOutboxEntity evento : eventos) {
+            if (!Outbox.TRANSACAO_REGISTRADA.equals(evento.getTipo())) {
+                continue;
+            }
+            TransacaoRegistrada t = outbox.lerTransacao(evento);
+            if (t.statusTransacao() != StatusTransacao.CONCLUIDA) {
+                continue;
+            }
+            Chave chave = new Chave(LocalDate.ofInstant(t.dataHora(), ZoneOffset.UTC), t.tipoTransacao());
+            TotalDiarioTransacaoEntity parcial = parciais.computeIfAbsent(chave, c -> TotalDiarioTransacaoEntity.builder()
+                    .data(c.data()).tipoTransacao(c.tipo()).valor(Dinheiro.ZERO).build());
+            parcial.setQuantidade(parcial.getQuantidade() + 1);
+            parcial.setValor(parcial.getValor().somar(t.valor()));
+        }
+
+        for (TotalDiarioTransacaoEntity parcial : parciais.values()) {
+            TotalDiarioTransacaoEntity total = repo.findByDataAndTipoTransacao(parcial.getData(), parcial.getTipoTransacao())
+                    .orElseGet(() -> TotalDiarioTransacaoEntity.builder()
+                            .data(parcial.getData()).tipoTransacao(parcial.getTipoTransacao()).valor(Dinheiro.ZERO).build());
+            total.setQuantidade(total.getQuantidade() + parcial.getQuantidade());
+            total.setValor(total.getValor().somar(parcial.getValor()));
+            repo.save(total);
+        }
+    }
+
+    private record Chave(LocalDate data, TipoTransacao tipo) {
+    }
+}
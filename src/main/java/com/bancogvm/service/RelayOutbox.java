@@ -0,0 +1,162 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.OutboxProperties;
+import com.bancogvm.repository.CheckpointProjecaoRepository;
+import com.bancogvm.repository.EventoOutboxRepository;
+import com.bancogvm.service.model.CheckpointProjecaoEntity;
+import com.bancogvm.service.model.EventoOutboxEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drena o outbox para as projeções registradas, em lotes e com entrega pelo menos uma vez:
+ * cada projeção aplica o lote e avança o seu checkpoint na mesma transação. Uma projeção
+ * que falha não segura as outras; o lote dela volta na rodada seguinte.
+ *
+ * Eventos já aplicados por todas as projeções são apagados. Projeções em memória
+ * ({@link ProjecaoOutbox#isPorNo()}) têm um checkpoint por nó, renovado mesmo sem eventos
+ * novos; o de um nó parado há mais que vida-no é apagado e não segura mais a poda.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RelayOutbox {
+
+    private static final String PID_HOST = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final EventoOutboxRepository eventos;
+    private final CheckpointProjecaoRepository checkpoints;
+    private final List<ProjecaoOutbox> projecoes;
+    private final OutboxProperties props;
+    private final TransactionTemplate transacoes;
+    private final MetricasNegocio metricas;
+
+    private long ultimoPodado;
+
+    @Scheduled(fixedDelayString = "${bancogvm.outbox.intervalo-ms:500}")
+    public void executar() {
+        if (props.isHabilitado()) {
+            drenar();
+        }
+    }
+
+    /**
+     * Uma rodada completa. Devolve quantas aplicações houve, somando todas as projeções.
+     */
+    public synchronized int drenar() {
+        int aplicados = 0;
+        for (ProjecaoOutbox projecao : projecoes) {
+            try {
+                int lote;
+                do {
+                    lote = avancar(projecao);
+                    aplicados += lote;
+                } while (lote == props.getLote());
+            } catch (RuntimeException e) {
+                log.warn("Projeção {} falhou; o lote será reentregue: {}", projecao.getNome(), e.getMessage());
+            }
+        }
+        if (aplicados > 0) {
+            podar();
+        }
+        return aplicados;
+    }
+
+    private int avancar(ProjecaoOutbox projecao) {
+        String chave = chave(projecao);
+        Integer aplicados = transacoes.execute(status -> {
+            CheckpointProjecaoEntity checkpoint = checkpoints.findParaAvancar(chave)
+                    .orElseGet(() -> CheckpointProjecaoEntity.builder().projecao(chave)
+                            .ultimoEventoId(projecao.isPorNo() ? inicioPorNo() : 0).build());
+            List<EventoOutboxEntity> lote = prontos(eventos.findByIdGreaterThanOrderById(
+                    checkpoint.getUltimoEventoId(), PageRequest.of(0, props.getLote())), checkpoint.getUltimoEventoId());
+            if (lote.isEmpty()) {
+                // sem eventos o checkpoint por nó não avança: renova para o nó continuar contando na poda
+                if (projecao.isPorNo() && (checkpoint.getAtualizadoEm() == null
+                        || checkpoint.getAtualizadoEm().isBefore(Instant.now().minus(props.getVidaNo().dividedBy(4))))) {
+                    checkpoint.setAtualizadoEm(Instant.now());
+                    checkpoints.save(checkpoint);
+                }
+                return 0;
+            }
+            projecao.aplicar(lote);
+            checkpoint.setUltimoEventoId(lote.get(lote.size() - 1).getId());
+            checkpoint.setAtualizadoEm(Instant.now());
+            checkpoints.save(checkpoint);
+            return lote.size();
+        });
+        metricas.outboxAplicados(projecao.getNome(), aplicados);
+        return aplicados;
+    }
+
+    /**
+     * Ids de IDENTITY são reservados no INSERT e confirmados em qualquer ordem: um buraco
+     * logo após o checkpoint pode ser um lançamento ainda em andamento. O lote para no buraco
+     * até o evento seguinte ficar mais velho que espera-lacuna; aí o buraco é tido como rollback.
+     */
+    private List<EventoOutboxEntity> prontos(List<EventoOutboxEntity> lote, long checkpoint) {
+        Instant limite = Instant.now().minus(props.getEsperaLacuna());
+        long esperado = checkpoint + 1;
+        for (int i = 0; i < lote.size(); i++) {
+            EventoOutboxEntity evento = lote.get(i);
+            if (evento.getId() != esperado && evento.getCriadoEm().isAfter(limite)) {
+                return lote.subList(0, i);
+            }
+            esperado = evento.getId() + 1;
+        }
+        return lote;
+    }
+
+    /**
+     * Nó novo: o cache dele começa vazio e o que já foi confirmado ele lê do banco. Começa
+     * onde as projeções compartilhadas já estão, com as lacunas anteriores resolvidas.
+     */
+    private long inicioPorNo() {
+        return checkpoints.findAll().stream()
+                .filter(c -> !c.getProjecao().contains("@"))
+                .mapToLong(CheckpointProjecaoEntity::getUltimoEventoId).min().orElse(0);
+    }
+
+    private String chave(ProjecaoOutbox projecao) {
+        if (!projecao.isPorNo()) {
+            return projecao.getNome();
+        }
+        return projecao.getNome() + "@" + (props.getNo().isBlank() ? PID_HOST : props.getNo());
+    }
+
+    private void podar() {
+        List<String> compartilhadas = projecoes.stream().filter(p -> !p.isPorNo()).map(ProjecaoOutbox::getNome).toList();
+        List<CheckpointProjecaoEntity> todos = new ArrayList<>(checkpoints.findAllById(compartilhadas));
+        if (todos.size() < compartilhadas.size()) {
+            return;
+        }
+        Instant vivo = Instant.now().minus(props.getVidaNo());
+        for (ProjecaoOutbox projecao : projecoes) {
+            if (!projecao.isPorNo()) {
+                continue;
+            }
+            for (CheckpointProjecaoEntity porNo : checkpoints.findByProjecaoStartingWith(projecao.getNome() + "@")) {
+                if (porNo.getAtualizadoEm() == null || porNo.getAtualizadoEm().isBefore(vivo)) {
+                    log.info("Checkpoint {} parado desde {}; nó fora da poda", porNo.getProjecao(), porNo.getAtualizadoEm());
+                    checkpoints.delete(porNo);
+                } else {
+                    todos.add(porNo);
+                }
+            }
+        }
+        long minimo = todos.stream().mapToLong(CheckpointProjecaoEntity::getUltimoEventoId).min().orElse(0);
+        if (minimo > ultimoPodado) {
+            eventos.deleteAteId(minimo);
+            ultimoPodado = minimo;
+        }
+    }
+}
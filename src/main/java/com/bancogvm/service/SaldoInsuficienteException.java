@@ -0,0 +1,13 @@
+package com.bancogvm.service;
+
+/**
+ * Saque ou transferência acima do saldo disponível. Continua sendo um
+ * {@link IllegalArgumentException} para o {@code GlobalExceptionHandler},
+ * mas permite contar as rejeições separadamente nas métricas.
+ */
+public class SaldoInsuficienteException extends IllegalArgumentException {
+
+    public SaldoInsuficienteException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,12 @@
 package com.bancogvm.service;
 
+import com.bancogvm.service.model.TipoTitularidade;
 import com.bancogvm.service.model.TitularContaEntity;
 import java.util.List;
 
 public interface TitularContaService {
 
-    TitularContaEntity vincular(Long clienteId, Long contaId, String tipo);
+    TitularContaEntity vincular(Long clienteId, Long contaId, TipoTitularidade tipo);
     void desvincular(Long id);
     List<TitularContaEntity> listar();
 }
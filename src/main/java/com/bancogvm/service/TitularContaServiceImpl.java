@@ -5,6 +5,7 @@ import com.bancogvm.service.model.*;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.util.List;
 
@@ -18,7 +19,8 @@ public class TitularContaServiceImpl implements TitularContaService{
     private final ContaRepository contaRepo;
 
     @Override
-    public TitularContaEntity vincular(Long clienteId, Long contaId, String tipo) {
+    @Transactional
+    public TitularContaEntity vincular(Long clienteId, Long contaId, TipoTitularidade tipo) {
         var cliente = clienteRepo.findById(clienteId)
                 .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
         var conta = contaRepo.findById(contaId)
@@ -38,6 +40,7 @@ public class TitularContaServiceImpl implements TitularContaService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TitularContaEntity> listar() {
         return repo.findAll();
     }
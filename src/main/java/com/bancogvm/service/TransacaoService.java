@@ -1,13 +1,27 @@
 package com.bancogvm.service;
 
+import com.bancogvm.service.model.TotalDiarioTransacaoEntity;
 import com.bancogvm.service.model.TransacaoEntity;
+import com.bancogvm.service.model.TransacaoRegistrada;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface TransacaoService {
 
     TransacaoEntity registrar(TransacaoEntity t);
+
+    /**
+     * Como registrar, sem os limites de velocidade (LimitesVelocidade): para lançamentos
+     * que o banco dispara por conta própria, como agendamentos vencidos, que o cliente pediu
+     * com antecedência. Também não contam nas janelas dos lançamentos do cliente.
+     */
+    TransacaoEntity registrarSemLimites(TransacaoEntity t);
     List<TransacaoEntity> listarTodas();
     TransacaoEntity buscarPorId(Long id);
     List<TransacaoEntity> extratoPorConta(Long contaId);
+    List<TransacaoEntity> extratoPorConta(Long contaId, Instant de, Instant ate);
+    List<TotalDiarioTransacaoEntity> totaisDiarios(LocalDate de, LocalDate ate);
+    List<TransacaoRegistrada> recentes(Long contaId);
 }
@@ -1,18 +1,34 @@
 package com.bancogvm.service;
 
 import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TotalDiarioTransacaoRepository;
 import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.repository.arquivo.ArquivoTransacoes;
+import com.bancogvm.repository.arquivo.RegistroArquivado;
 import com.bancogvm.service.model.ContaCorrenteEntity;
 import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TotalDiarioTransacaoEntity;
 import com.bancogvm.service.model.TransacaoEntity;
+import com.bancogvm.service.model.TransacaoRegistrada;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -21,51 +37,127 @@ public class TransacaoServiceImpl implements TransacaoService {
 
     private final TransacaoRepository repo;
     private final ContaRepository contaRepository;
+    private final EntityManager entityManager;
+    private final MetricasNegocio metricas;
+    private final ArquivoTransacoes arquivo;
+    private final Outbox outbox;
+    private final TotalDiarioTransacaoRepository totaisDiarios;
+    private final ProjecaoAtividadeRecente atividadeRecente;
+    private final EventosTempoReal eventos;
+    private final LimitesVelocidade limites;
 
     @Override
     @Transactional
     public TransacaoEntity registrar(TransacaoEntity t) {
+        return registrar(t, true);
+    }
+
+    @Override
+    @Transactional
+    public TransacaoEntity registrarSemLimites(TransacaoEntity t) {
+        return registrar(t, false);
+    }
+
+    private TransacaoEntity registrar(TransacaoEntity t, boolean conferirLimites) {
         t.setDataHora(Instant.now());
-        t.setStatusTransacao("PENDENTE");
+        t.setStatusTransacao(StatusTransacao.PENDENTE);
+        Timer.Sample sample = metricas.iniciar();
+        TipoTransacao tipoTransacao = t.getTipoTransacao();
+        String motivo = "nenhum";
+        LimitesVelocidade.Reserva reserva = null;
 
         try {
-            String tipoTransacao = t.getTipoTransacao().toUpperCase();
+            if (tipoTransacao == null) {
+                throw new IllegalArgumentException("Tipo de transação inválido: null");
+            }
+            travarContas(t);
+            // com a origem travada: dois lançamentos da mesma conta não conferem ao mesmo tempo
+            if (conferirLimites) {
+                reserva = limites.reservar(t);
+            }
 
             switch (tipoTransacao) {
-                case "SAQUE":
-                    processarSaque(t);
-                    break;
-                case "DEPOSITO":
-                    processarDeposito(t);
-                    break;
-                case "TRANSFERENCIA":
-                    processarTransferencia(t);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Tipo de transação inválido: " + tipoTransacao);
+                case SAQUE -> processarSaque(t);
+                case DEPOSITO -> processarDeposito(t);
+                case TRANSFERENCIA -> processarTransferencia(t);
+                case TRANSFERENCIA_EXTERNA -> processarTransferenciaExterna(t);
             }
 
-            t.setStatusTransacao("CONCLUIDA");
-        } catch (Exception e) {
-            t.setStatusTransacao("FALHOU");
+            t.setStatusTransacao(StatusTransacao.CONCLUIDA);
+        } catch (SaldoInsuficienteException e) {
+            t.setStatusTransacao(StatusTransacao.FALHOU);
+            motivo = "SALDO_INSUFICIENTE";
             log.error("Erro ao processar transação: {}", e.getMessage());
+        } catch (LimiteExcedidoException e) {
+            t.setStatusTransacao(StatusTransacao.FALHOU);
+            motivo = "LIMITE_EXCEDIDO";
+            log.error("Erro ao processar transação: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            t.setStatusTransacao(StatusTransacao.FALHOU);
+            motivo = "INVALIDA";
+            log.error("Erro ao processar transação: {}", e.getMessage());
+        } catch (Exception e) {
+            // tag de métrica: conjunto fechado, a classe da exceção fica só no log
+            t.setStatusTransacao(StatusTransacao.FALHOU);
+            motivo = "ERRO";
+            log.error("Erro ao processar transação: {}", e.getMessage(), e);
         }
+        if (t.getStatusTransacao() == StatusTransacao.FALHOU) {
+            limites.desfazer(reserva);
+        }
+        metricas.transacaoFinalizada(sample, tipoTransacao, t.getStatusTransacao(), motivo);
 
-        return repo.save(t);
+        TransacaoEntity salva = repo.save(t);
+        // totais, atividade recente e alertas saem do caminho do lançamento: RelayOutbox
+        outbox.transacaoRegistrada(salva);
+        eventos.transacao(salva);
+        return salva;
+    }
+
+    /**
+     * Relê as contas no primário com SELECT ... FOR UPDATE antes de decidir pelo saldo.
+     * As entidades podem ter vindo de uma leitura na réplica (controller) ou de outra
+     * transação; sempre em ordem de id para duas transferências cruzadas não travarem.
+     */
+    private void travarContas(TransacaoEntity t) {
+        ContaCorrenteEntity origem = t.getContaOrigem();
+        ContaCorrenteEntity destino = t.getContaDestino();
+        if (destino != null && destino.getId() < origem.getId()) {
+            t.setContaDestino(travar(destino));
+            t.setContaOrigem(travar(origem));
+        } else {
+            t.setContaOrigem(travar(origem));
+            if (destino != null) {
+                t.setContaDestino(travar(destino));
+            }
+        }
+    }
+
+    private ContaCorrenteEntity travar(ContaCorrenteEntity conta) {
+        // Primeiro trava, depois lê. find/refresh com lock na herança JOINED geram
+        // SELECT ... JOIN ... FOR UPDATE, que o H2 recusa ou faz como "follow-on locking"
+        // (lê o saldo antes de travar). lock() trava só a linha da tabela raiz.
+        ContaCorrenteEntity gerenciada = entityManager.contains(conta)
+                ? conta
+                : entityManager.find(ContaCorrenteEntity.class, conta.getId());
+        entityManager.flush();
+        entityManager.lock(gerenciada, LockModeType.PESSIMISTIC_WRITE);
+        entityManager.refresh(gerenciada);
+        return gerenciada;
     }
 
     private void processarSaque(TransacaoEntity t) {
         ContaCorrenteEntity conta = t.getContaOrigem();
-        if (conta.getSaldo().compareTo(t.getValor()) < 0) {
-            throw new IllegalArgumentException("Saldo insuficiente para saque");
+        if (conta.getSaldo().menorQue(t.getValor())) {
+            throw new SaldoInsuficienteException("Saldo insuficiente para saque");
         }
-        conta.setSaldo(conta.getSaldo().subtract(t.getValor()));
+        conta.setSaldo(conta.getSaldo().subtrair(t.getValor()));
         contaRepository.save(conta);
     }
 
     private void processarDeposito(TransacaoEntity t) {
         ContaCorrenteEntity conta = t.getContaOrigem();
-        conta.setSaldo(conta.getSaldo().add(t.getValor()));
+        conta.setSaldo(conta.getSaldo().somar(t.getValor()));
         contaRepository.save(conta);
     }
 
@@ -73,33 +165,117 @@ public class TransacaoServiceImpl implements TransacaoService {
         ContaCorrenteEntity origem = t.getContaOrigem();
         ContaCorrenteEntity destino = t.getContaDestino();
 
-        if (origem.getSaldo().compareTo(t.getValor()) < 0) {
-            throw new IllegalArgumentException("Saldo insuficiente para transferência");
+        if (origem.getSaldo().menorQue(t.getValor())) {
+            throw new SaldoInsuficienteException("Saldo insuficiente para transferência");
         }
 
-        origem.setSaldo(origem.getSaldo().subtract(t.getValor()));
-        destino.setSaldo(destino.getSaldo().add(t.getValor()));
+        origem.setSaldo(origem.getSaldo().subtrair(t.getValor()));
+        destino.setSaldo(destino.getSaldo().somar(t.getValor()));
 
         contaRepository.save(origem);
         contaRepository.save(destino);
     }
 
+    // o crédito é do outro banco: aqui só o débito; a liquidação sai por LiquidacaoInterbancaria
+    private void processarTransferenciaExterna(TransacaoEntity t) {
+        ContaCorrenteEntity origem = t.getContaOrigem();
+        if (origem.getSaldo().menorQue(t.getValor())) {
+            throw new SaldoInsuficienteException("Saldo insuficiente para transferência externa");
+        }
+        origem.setSaldo(origem.getSaldo().subtrair(t.getValor()));
+        contaRepository.save(origem);
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<TransacaoEntity> listarTodas() {
-        return repo.findAll();
+        return repo.findAllComContas();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TransacaoEntity buscarPorId(Long id) {
-        return repo.findById(id)
+        return repo.findComContasById(id)
                 .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TransacaoEntity> extratoPorConta(Long contaId) {
         List<TransacaoEntity> saídas = repo.findByContaOrigemId(contaId);
         List<TransacaoEntity> entradas = repo.findByContaDestinoId(contaId);
         saídas.addAll(entradas);
-        return saídas;
+        return comArquivadas(arquivo.buscar(contaId), saídas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransacaoEntity> extratoPorConta(Long contaId, Instant de, Instant ate) {
+        if (!de.isBefore(ate)) {
+            throw new IllegalArgumentException("Período inválido: início deve ser anterior ao fim");
+        }
+        List<TransacaoEntity> saídas = repo.findByContaOrigemIdNoPeriodo(contaId, de, ate);
+        List<TransacaoEntity> entradas = repo.findByContaDestinoIdNoPeriodo(contaId, de, ate);
+        saídas.addAll(entradas);
+        return comArquivadas(arquivo.buscar(contaId, de, ate), saídas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TotalDiarioTransacaoEntity> totaisDiarios(LocalDate de, LocalDate ate) {
+        if (de.isAfter(ate)) {
+            throw new IllegalArgumentException("Período inválido: início deve ser anterior ao fim");
+        }
+        return totaisDiarios.findByDataBetweenOrderByDataAscTipoTransacaoAsc(de, ate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransacaoRegistrada> recentes(Long contaId) {
+        return atividadeRecente.recentes(contaId, id ->
+                repo.findTop20ByContaOrigemIdOrContaDestinoIdOrderByIdDesc(id, id).stream()
+                        .map(TransacaoRegistrada::de)
+                        .toList());
+    }
+
+    /**
+     * Meses antigos vêm do arquivo frio (ArquivamentoTransacoes), à frente dos lançamentos do banco.
+     * As contas das arquivadas saem de um SELECT só; sem nada arquivado, nenhum comando a mais.
+     * Uma linha ainda presente no banco (queda entre exportar e apagar) vale a do banco.
+     */
+    private List<TransacaoEntity> comArquivadas(List<RegistroArquivado> arquivadas, List<TransacaoEntity> doBanco) {
+        if (arquivadas.isEmpty()) {
+            return doBanco;
+        }
+        Set<Long> noBanco = new HashSet<>();
+        doBanco.forEach(t -> noBanco.add(t.getId()));
+        Set<Long> contaIds = new HashSet<>();
+        for (RegistroArquivado r : arquivadas) {
+            contaIds.add(r.contaOrigemId());
+            if (r.contaDestinoId() != null) {
+                contaIds.add(r.contaDestinoId());
+            }
+        }
+        Map<Long, ContaEntity> contas = contaRepository.findAllById(contaIds).stream()
+                .collect(Collectors.toMap(ContaEntity::getId, Function.identity()));
+
+        List<TransacaoEntity> extrato = new ArrayList<>(arquivadas.size() + doBanco.size());
+        for (RegistroArquivado r : arquivadas) {
+            if (noBanco.contains(r.id())) {
+                continue;
+            }
+            extrato.add(TransacaoEntity.builder()
+                    .id(r.id())
+                    .dataHora(r.dataHora())
+                    .valor(r.valor())
+                    .tipoTransacao(r.tipoTransacao())
+                    .statusTransacao(r.statusTransacao())
+                    .descricao(r.descricao())
+                    .contaOrigem((ContaCorrenteEntity) contas.get(r.contaOrigemId()))
+                    .contaDestino(r.contaDestinoId() == null ? null : (ContaCorrenteEntity) contas.get(r.contaDestinoId()))
+                    .build());
+        }
+        extrato.addAll(doBanco);
+        return extrato;
     }
 }
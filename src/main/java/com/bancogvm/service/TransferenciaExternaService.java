@@ -0,0 +1,15 @@
+package com.bancogvm.service;
+
+import com.bancogvm.service.model.BeneficiarioEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.PagamentoExternoEntity;
+import com.bancogvm.service.model.TransacaoEntity;
+
+import java.util.List;
+
+public interface TransferenciaExternaService {
+
+    TransacaoEntity transferir(ContaCorrenteEntity origem, BeneficiarioEntity beneficiario, Dinheiro valor, String descricao);
+    List<PagamentoExternoEntity> listarPorConta(Long contaId);
+}
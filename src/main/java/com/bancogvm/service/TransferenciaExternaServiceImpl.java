@@ -0,0 +1,78 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.PagamentoExternoRepository;
+import com.bancogvm.repository.TitularContaRepository;
+import com.bancogvm.service.model.BeneficiarioEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.PagamentoExternoEntity;
+import com.bancogvm.service.model.StatusPagamentoExterno;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class TransferenciaExternaServiceImpl implements TransferenciaExternaService {
+
+    private final TransacaoService transacaoService;
+    private final PagamentoExternoRepository repo;
+    private final TitularContaRepository titularRepo;
+
+    /**
+     * Debita a origem já (TRANSFERENCIA_EXTERNA) e deixa o crédito PENDENTE para a próxima
+     * janela de liquidação, na mesma transação: sem saldo, a transação fica FALHOU e nada
+     * vai para a câmara.
+     */
+    @Override
+    @Transactional
+    public TransacaoEntity transferir(ContaCorrenteEntity origem, BeneficiarioEntity b, Dinheiro valor, String descricao) {
+        if (valor == null || !valor.maiorQue(Dinheiro.ZERO)) {
+            throw new IllegalArgumentException("Valor da transferência deve ser positivo");
+        }
+        if (b.getBancoFavorecido() == null || b.getBancoFavorecido().isBlank()) {
+            throw new IllegalArgumentException("Beneficiário sem banco favorecido");
+        }
+        Long clienteId = b.getCliente().getId();
+        boolean titular = titularRepo.findByContaId(origem.getId()).stream()
+                .anyMatch(t -> t.getCliente().getId().equals(clienteId));
+        if (!titular) {
+            throw new IllegalArgumentException("Beneficiário não é de um titular da conta de origem");
+        }
+
+        TransacaoEntity t = transacaoService.registrar(TransacaoEntity.builder()
+                .tipoTransacao(TipoTransacao.TRANSFERENCIA_EXTERNA)
+                .valor(valor)
+                .descricao(descricao)
+                .contaOrigem(origem)
+                .build());
+        if (t.getStatusTransacao() == StatusTransacao.CONCLUIDA) {
+            repo.save(PagamentoExternoEntity.builder()
+                    .transacaoId(t.getId())
+                    .contaOrigem(t.getContaOrigem())
+                    .beneficiario(b)
+                    .bancoFavorecido(b.getBancoFavorecido())
+                    .agenciaFavorecida(b.getAgenciaFavorecida())
+                    .contaFavorecida(b.getContaFavorecida())
+                    .nomeFavorecido(b.getNomeFavorecido())
+                    .cpfCnpjFavorecido(b.getCpfCnpjFavorecido())
+                    .valor(valor)
+                    .statusPagamento(StatusPagamentoExterno.PENDENTE)
+                    .criadoEm(Instant.now())
+                    .build());
+        }
+        return t;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PagamentoExternoEntity> listarPorConta(Long contaId) {
+        return repo.findByContaOrigemIdOrderByIdDesc(contaId);
+    }
+}
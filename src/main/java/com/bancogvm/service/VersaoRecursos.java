@@ -0,0 +1,182 @@
+package com.bancogvm.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Versão por recurso REST, usada para gerar ETags fortes sem montar a
+ * listagem. Cada escrita confirmada incrementa a versão do recurso; o ETag
+ * de uma listagem combina as versões de todos os recursos que aparecem no
+ * JSON (ex.: cartões serializam a conta, então dependem de CARTOES e CONTAS).
+ *
+ * As versões ficam no banco (versao_recurso), não na memória do nó: a escrita
+ * feita em um nó muda o ETag de todos. O incremento entra na própria transação
+ * da escrita, logo antes do commit, e fica visível junto com os dados, inclusive
+ * na réplica; a leitura das versões vai para onde vai a listagem (réplica ou
+ * primário), então nunca rotula dados antigos com a versão nova.
+ */
+@Component
+@Slf4j
+public class VersaoRecursos implements SmartInitializingSingleton {
+
+    public static final String CLIENTES = "clientes";
+    public static final String CONTAS = "contas";
+    public static final String CARTOES = "cartoes";
+    public static final String TRANSACOES = "transacoes";
+    public static final String EMPRESTIMOS = "emprestimos";
+    public static final String TITULARES = "titulares";
+    public static final String BENEFICIARIOS = "beneficiarios";
+
+    private static final List<String> RECURSOS =
+            List.of(CLIENTES, CONTAS, CARTOES, TRANSACOES, EMPRESTIMOS, TITULARES, BENEFICIARIOS);
+
+    // linhas por recurso: escritas simultâneas se espalham em vez de esperar pela mesma linha
+    static final int FATIAS = 16;
+
+    private static final String SQL_INCREMENTAR =
+            "update versao_recurso set versao = versao + 1 where recurso = ? and fatia = ?";
+
+    private static final String SQL_CRIAR = """
+            insert into versao_recurso (recurso, fatia, versao)
+            select ?, ?, 0 where not exists (select 1 from versao_recurso where recurso = ? and fatia = ?)""";
+
+    // tudo sob demanda: o listener JPA depende daqui e a fábrica de EntityManager ainda está sendo montada
+    private final ObjectProvider<JdbcTemplate> jdbc;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private volatile TransactionTemplate leitura;
+
+    public VersaoRecursos(ObjectProvider<JdbcTemplate> jdbc, ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                          ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.jdbc = jdbc;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Cria as fatias que faltam, antes de o servidor aceitar requisições. Dois nós
+     * subindo juntos podem tentar a mesma linha: quem perde ignora.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer existentes = jdbc.getObject().queryForObject("select count(*) from versao_recurso", Integer.class);
+        if (existentes != null && existentes >= RECURSOS.size() * FATIAS) {
+            return;
+        }
+        for (String recurso : RECURSOS) {
+            for (int fatia = 0; fatia < FATIAS; fatia++) {
+                try {
+                    jdbc.getObject().update(SQL_CRIAR, recurso, fatia, recurso, fatia);
+                } catch (DuplicateKeyException e) {
+                    // criada por outro nó
+                }
+            }
+        }
+    }
+
+    public long versao(String recurso) {
+        return versoes(recurso).getOrDefault(recurso, 0L);
+    }
+
+    public String etag(String... recursos) {
+        Map<String, Long> versoes = versoes(recursos);
+        StringBuilder sb = new StringBuilder("\"v");
+        for (String recurso : recursos) {
+            sb.append('-').append(Long.toString(versoes.getOrDefault(recurso, 0L), 36));
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Incrementa a versão na transação corrente, uma vez por recurso, logo antes do
+     * commit: se fosse depois, a réplica poderia ter os dados novos com a versão velha
+     * por um instante; se fosse na hora, a linha da fatia ficaria travada a transação
+     * inteira. Fora de transação, incrementa na hora.
+     */
+    public void incrementar(String recurso) {
+        if (!RECURSOS.contains(recurso)) {
+            throw new IllegalArgumentException("Recurso sem versão: " + recurso);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbc.getObject().update(SQL_INCREMENTAR, recurso, ThreadLocalRandom.current().nextInt(FATIAS));
+            return;
+        }
+        Incrementos pendentes = (Incrementos) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            pendentes = new Incrementos();
+            TransactionSynchronizationManager.bindResource(this, pendentes);
+            TransactionSynchronizationManager.registerSynchronization(pendentes);
+        }
+        pendentes.recursos.add(recurso);
+    }
+
+    /**
+     * Versão atual de cada recurso pedido; recurso sem escrita nenhuma fica de fora.
+     */
+    public Map<String, Long> versoes(String... recursos) {
+        String marcadores = String.join(", ", Collections.nCopies(recursos.length, "?"));
+        String sql = "select recurso, sum(versao) from versao_recurso where recurso in (" + marcadores
+                + ") group by recurso";
+        // read-only: vai à réplica quando a listagem também iria
+        return leitura().execute(status -> jdbc.getObject().query(sql, rs -> {
+            Map<String, Long> versoes = new HashMap<>();
+            while (rs.next()) {
+                versoes.put(rs.getString(1), rs.getLong(2));
+            }
+            return versoes;
+        }, (Object[]) recursos));
+    }
+
+    private TransactionTemplate leitura() {
+        TransactionTemplate template = leitura;
+        if (template == null) {
+            template = new TransactionTemplate(transactionManager.getObject());
+            template.setReadOnly(true);
+            leitura = template;
+        }
+        return template;
+    }
+
+    private final class Incrementos implements TransactionSynchronization {
+
+        // em ordem: duas transações pegam as fatias dos recursos na mesma ordem e não se travam
+        private final Set<String> recursos = new TreeSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // alterações de entidade só disparam o listener no flush, que o commit faria depois daqui
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory.getObject());
+            if (em != null) {
+                em.flush();
+            }
+            int fatia = ThreadLocalRandom.current().nextInt(FATIAS);
+            for (String recurso : recursos) {
+                jdbc.getObject().update(SQL_INCREMENTAR, recurso, fatia);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(VersaoRecursos.this);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.bancogvm.service.agendamento;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roda de temporização hierárquica: agendar e vencer custam O(1), qualquer que seja o
+ * número de itens, no lugar de uma fila de prioridade com O(log n) por item.
+ *
+ * O nível 0 tem {@code tamanho} baldes de {@code tique} ms; cada nível acima tem baldes
+ * {@code tamanho} vezes mais largos e é criado só quando um vencimento não cabe nos de
+ * baixo. Quando o relógio entra no período de um balde de nível alto, os itens dele descem
+ * para o nível de baixo; no nível 0 vencem ao fim do tique.
+ *
+ * Não é thread-safe: quem usa sincroniza.
+ */
+public class RodaTemporizacao<T> {
+
+    private final long tique;
+    private final int tamanho;
+    private final List<Nivel<T>> niveis = new ArrayList<>();
+
+    // início do tique corrente, múltiplo de tique
+    private long agora;
+    private int itens;
+
+    public RodaTemporizacao(long tiqueMs, int tamanho, long inicioMs) {
+        if (tiqueMs < 1 || tamanho < 2) {
+            throw new IllegalArgumentException("Roda inválida: tique " + tiqueMs + " ms, " + tamanho + " baldes");
+        }
+        this.tique = tiqueMs;
+        this.tamanho = tamanho;
+        this.agora = inicioMs - Math.floorMod(inicioMs, tiqueMs);
+        niveis.add(new Nivel<>(tiqueMs, tamanho));
+    }
+
+    /**
+     * Guarda o item para vencer em {@code vencimentoMs}. Se já venceu, vai direto
+     * para {@code vencidos} e não entra na roda.
+     */
+    public void agendar(T valor, long vencimentoMs, List<T> vencidos) {
+        if (vencimentoMs < agora) {
+            vencidos.add(valor);
+            return;
+        }
+        inserir(new Item<>(valor, vencimentoMs));
+        itens++;
+    }
+
+    /**
+     * Avança o relógio até {@code ateMs} e devolve, em ordem de tique, o que venceu.
+     */
+    public List<T> avancar(long ateMs) {
+        List<T> vencidos = new ArrayList<>();
+        if (itens == 0) {
+            // roda vazia: nada a vencer nem a descer, o relógio só pula
+            agora = Math.max(agora, ateMs - Math.floorMod(ateMs, tique));
+            return vencidos;
+        }
+        while (agora + tique <= ateMs) {
+            // o balde do tique corrente cobre [agora, agora + tique): vence inteiro agora
+            ArrayDeque<Item<T>> balde = niveis.get(0).balde(agora);
+            for (Item<T> item; (item = balde.poll()) != null; ) {
+                vencidos.add(item.valor);
+                itens--;
+            }
+            agora += tique;
+            // de cima para baixo: o que desce de um nível pode cair no balde que o próximo vai redistribuir
+            for (int i = niveis.size() - 1; i >= 1; i--) {
+                Nivel<T> nivel = niveis.get(i);
+                if (agora % nivel.intervalo == 0) {
+                    ArrayDeque<Item<T>> descendo = nivel.balde(agora);
+                    for (Item<T> item; (item = descendo.poll()) != null; ) {
+                        inserir(item);
+                    }
+                }
+            }
+        }
+        return vencidos;
+    }
+
+    public int getItens() {
+        return itens;
+    }
+
+    private void inserir(Item<T> item) {
+        for (int i = 0; ; i++) {
+            if (i == niveis.size()) {
+                Nivel<T> abaixo = niveis.get(i - 1);
+                niveis.add(new Nivel<>(Math.multiplyExact(abaixo.intervalo, tamanho), tamanho));
+            }
+            Nivel<T> nivel = niveis.get(i);
+            long base = agora - agora % nivel.intervalo;
+            if (item.vencimento < base + nivel.intervalo * tamanho) {
+                nivel.balde(item.vencimento).add(item);
+                return;
+            }
+        }
+    }
+
+    private record Item<T>(T valor, long vencimento) {
+    }
+
+    private static final class Nivel<T> {
+
+        final long intervalo;
+        final ArrayDeque<Item<T>>[] baldes;
+
+        @SuppressWarnings("unchecked")
+        Nivel(long intervalo, int tamanho) {
+            this.intervalo = intervalo;
+            this.baldes = new ArrayDeque[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                baldes[i] = new ArrayDeque<>();
+            }
+        }
+
+        ArrayDeque<Item<T>> balde(long instante) {
+            return baldes[(int) ((instante / intervalo) % baldes.length)];
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.bancogvm.service.chave;
+
+import com.bancogvm.service.model.TipoChave;
+
+/**
+ * Resposta de GET /api/chaves/resolver: saiu do índice em memória, sem consulta ao banco.
+ */
+public record ChaveResolvida(String chave, TipoChave tipoChave, long contaId) {
+}
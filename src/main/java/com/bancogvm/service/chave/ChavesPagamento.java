@@ -0,0 +1,124 @@
+package com.bancogvm.service.chave;
+
+import com.bancogvm.service.importacao.Cpf;
+import com.bancogvm.service.model.TipoChave;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canônica e impressão das chaves de pagamento. Quem registra e quem resolve passam
+ * pela mesma normalização, então "529.982.247-25" e "52998224725" são a mesma chave.
+ *
+ * O tipo sai do próprio texto: com @ é e-mail, com + na frente é telefone, no formato de
+ * UUID é aleatória, e só dígitos é CPF (11) ou CNPJ (14). Telefone sem + seria confundido
+ * com CPF, por isso vai sempre com +55.
+ */
+public final class ChavesPagamento {
+
+    private static final Pattern UUID = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private ChavesPagamento() {
+    }
+
+    /**
+     * @throws IllegalArgumentException se o texto não tem a forma de nenhum tipo de chave
+     */
+    public static String normalizar(String chave) {
+        if (chave == null || chave.isBlank()) {
+            throw new IllegalArgumentException("Chave obrigatória");
+        }
+        String texto = chave.trim();
+        if (texto.indexOf('@') > 0) {
+            return texto.toLowerCase();
+        }
+        String minusculo = texto.toLowerCase();
+        if (UUID.matcher(minusculo).matches()) {
+            return minusculo;
+        }
+        String digitos = digitos(texto);
+        if (texto.startsWith("+")) {
+            if (digitos.length() < 12 || digitos.length() > 13) {
+                throw new IllegalArgumentException("Telefone inválido: " + chave);
+            }
+            return "+" + digitos;
+        }
+        if (digitos.length() != 11 && digitos.length() != 14) {
+            throw new IllegalArgumentException("Chave inválida: " + chave);
+        }
+        return digitos;
+    }
+
+    /**
+     * Tipo de uma chave já normalizada.
+     */
+    public static TipoChave tipo(String normalizada) {
+        if (normalizada.indexOf('@') > 0) {
+            return TipoChave.EMAIL;
+        }
+        if (normalizada.startsWith("+")) {
+            return TipoChave.TELEFONE;
+        }
+        if (normalizada.length() == 36) {
+            return TipoChave.ALEATORIA;
+        }
+        return normalizada.length() == 11 ? TipoChave.CPF : TipoChave.CNPJ;
+    }
+
+    /**
+     * Valor de registro a partir de um dado do cadastro: valida o CPF e completa o
+     * telefone nacional (DDD + número) com +55.
+     */
+    public static String paraRegistro(TipoChave tipo, String valor) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Cliente sem " + tipo.name().toLowerCase() + " para a chave");
+        }
+        String normalizada = switch (tipo) {
+            case CPF -> Cpf.normalizar(valor);
+            case TELEFONE -> {
+                String digitos = digitos(valor);
+                yield normalizar(valor.trim().startsWith("+") ? valor : "+55" + digitos);
+            }
+            default -> normalizar(valor);
+        };
+        if (tipo(normalizada) != tipo) {
+            throw new IllegalArgumentException("Valor não é uma chave " + tipo + ": " + valor);
+        }
+        return normalizada;
+    }
+
+    /**
+     * Primeiros 64 bits do SHA-256 da chave normalizada. Nunca 0, que o índice usa como
+     * posição vazia.
+     */
+    public static long hash(String normalizada) {
+        byte[] d = SHA256.get().digest(normalizada.getBytes(StandardCharsets.UTF_8));
+        long h = 0;
+        for (int i = 0; i < 8; i++) {
+            h = (h << 8) | (d[i] & 0xff);
+        }
+        return h != 0 ? h : 1;
+    }
+
+    private static String digitos(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,162 @@
+package com.bancogvm.service.chave;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Tabela hash de endereçamento aberto de impressão de chave (64 bits) para conta e tipo,
+ * em dois long[] paralelos: 16 bytes por posição, sem objeto por chave nem String, e a
+ * busca é uma sondagem linear em memória contígua.
+ *
+ * O valor empacota o código do tipo nos 8 bits altos e o id da conta nos 56 de baixo.
+ * Impressão 0 marca posição vazia; valor 0 é "não encontrado" (ids começam em 1).
+ *
+ * Leituras são otimistas (StampedLock) e não bloqueiam; escritas, raras perto das
+ * leituras, passam pelo lock de escrita. A remoção desloca para trás os itens seguintes
+ * da sequência, sem lápides, então a tabela não degrada com registros e remoções.
+ */
+public final class IndiceChaves {
+
+    private static final long MASCARA_CONTA = (1L << 56) - 1;
+
+    private final StampedLock trava = new StampedLock();
+
+    private long[] hashes;
+    private long[] valores;
+    private int tamanho;
+
+    public IndiceChaves(int capacidadeInicial) {
+        int capacidade = Math.max(16, Integer.highestOneBit(Math.max(1, capacidadeInicial - 1) << 1));
+        hashes = new long[capacidade];
+        valores = new long[capacidade];
+    }
+
+    public static long valor(long contaId, char tipo) {
+        if (contaId < 1 || contaId > MASCARA_CONTA) {
+            throw new IllegalArgumentException("Conta fora da faixa do índice: " + contaId);
+        }
+        return ((long) tipo << 56) | contaId;
+    }
+
+    public static long conta(long valor) {
+        return valor & MASCARA_CONTA;
+    }
+
+    public static char tipo(long valor) {
+        return (char) (valor >>> 56);
+    }
+
+    /**
+     * @return o valor guardado para a impressão, ou 0 se não há
+     */
+    public long buscar(long hash) {
+        long carimbo = trava.tryOptimisticRead();
+        long valor = procurar(hashes, valores, hash);
+        if (!trava.validate(carimbo)) {
+            // uma escrita passou no meio: repete com o lock de leitura
+            carimbo = trava.readLock();
+            try {
+                valor = procurar(hashes, valores, hash);
+            } finally {
+                trava.unlockRead(carimbo);
+            }
+        }
+        return valor;
+    }
+
+    public void colocar(long hash, long valor) {
+        long carimbo = trava.writeLock();
+        try {
+            // carga máxima de 3/4: acima disso as sequências de sondagem crescem rápido
+            if ((tamanho + 1) * 4L > hashes.length * 3L) {
+                redimensionar(hashes.length * 2);
+            }
+            if (inserir(hashes, valores, hash, valor)) {
+                tamanho++;
+            }
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    public void remover(long hash) {
+        long carimbo = trava.writeLock();
+        try {
+            long[] h = hashes;
+            long[] v = valores;
+            int mascara = h.length - 1;
+            int i = (int) hash & mascara;
+            while (h[i] != hash) {
+                if (h[i] == 0) {
+                    return;
+                }
+                i = (i + 1) & mascara;
+            }
+            // desloca para o buraco quem está depois dele na sequência e não começaria depois
+            for (int j = (i + 1) & mascara; h[j] != 0; j = (j + 1) & mascara) {
+                int inicio = (int) h[j] & mascara;
+                if (((j - inicio) & mascara) >= ((j - i) & mascara)) {
+                    h[i] = h[j];
+                    v[i] = v[j];
+                    i = j;
+                }
+            }
+            h[i] = 0;
+            v[i] = 0;
+            tamanho--;
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    private static long procurar(long[] h, long[] v, long hash) {
+        // numa leitura otimista os arrays podem ser de gerações diferentes; validate descarta
+        if (h.length != v.length) {
+            return 0;
+        }
+        int mascara = h.length - 1;
+        int i = (int) hash & mascara;
+        for (int n = 0; n < h.length; n++) {
+            long atual = h[i];
+            if (atual == hash) {
+                return v[i];
+            }
+            if (atual == 0) {
+                return 0;
+            }
+            i = (i + 1) & mascara;
+        }
+        return 0;
+    }
+
+    private static boolean inserir(long[] h, long[] v, long hash, long valor) {
+        int mascara = h.length - 1;
+        int i = (int) hash & mascara;
+        while (h[i] != 0) {
+            if (h[i] == hash) {
+                v[i] = valor;
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        // valor antes da impressão: quem lê de forma otimista não vê a impressão com valor 0
+        v[i] = valor;
+        h[i] = hash;
+        return true;
+    }
+
+    private void redimensionar(int capacidade) {
+        long[] h = new long[capacidade];
+        long[] v = new long[capacidade];
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                inserir(h, v, hashes[i], valores[i]);
+            }
+        }
+        hashes = h;
+        valores = v;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bancogvm.service.importacao;
+
+/**
+ * Conjunto de long com endereçamento aberto: 8 bytes por elemento em vez dos ~60 de um
+ * HashSet&lt;Long&gt;. Detecta CPF repetido em arquivos com milhões de clientes.
+ * O zero não é aceito (marca posição vazia); CPF válido nunca é zero.
+ */
+public class ConjuntoLongs {
+
+    private long[] tabela = new long[1 << 16];
+    private int tamanho;
+
+    /** {@code false} se o valor já estava no conjunto. */
+    public boolean adicionar(long valor) {
+        if (valor == 0) {
+            throw new IllegalArgumentException("zero não é suportado");
+        }
+        if ((tamanho + 1) * 2 > tabela.length) {
+            crescer();
+        }
+        if (!inserir(tabela, valor)) {
+            return false;
+        }
+        tamanho++;
+        return true;
+    }
+
+    private static boolean inserir(long[] tabela, long valor) {
+        int mascara = tabela.length - 1;
+        int i = Long.hashCode(valor * 0x9E3779B97F4A7C15L) & mascara;
+        while (tabela[i] != 0) {
+            if (tabela[i] == valor) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        tabela[i] = valor;
+        return true;
+    }
+
+    private void crescer() {
+        long[] nova = new long[tabela.length * 2];
+        for (long valor : tabela) {
+            if (valor != 0) {
+                inserir(nova, valor);
+            }
+        }
+        tabela = nova;
+    }
+}
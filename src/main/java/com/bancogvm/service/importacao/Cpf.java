@@ -0,0 +1,66 @@
+package com.bancogvm.service.importacao;
+
+/**
+ * Validação de CPF (dígitos verificadores, módulo 11). Aceita com ou sem pontuação.
+ */
+public final class Cpf {
+
+    private Cpf() {
+    }
+
+    /**
+     * Os 11 dígitos do CPF, sem pontuação.
+     *
+     * @throws IllegalArgumentException se o formato ou os dígitos verificadores não conferem
+     */
+    public static String normalizar(String cpf) {
+        if (cpf == null || cpf.isBlank()) {
+            throw new IllegalArgumentException("CPF obrigatório");
+        }
+        StringBuilder digitos = new StringBuilder(11);
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            } else if (c != '.' && c != '-' && c != ' ') {
+                throw new IllegalArgumentException("CPF inválido: " + cpf);
+            }
+        }
+        if (digitos.length() != 11 || !digitosVerificadoresConferem(digitos)) {
+            throw new IllegalArgumentException("CPF inválido: " + cpf);
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * CPF de 11 dígitos a partir dos 9 primeiros (0 a 999.999.999), com os verificadores
+     * calculados. Usado para gerar massa de teste.
+     */
+    public static String comDigitos(long base) {
+        if (base < 0 || base > 999_999_999L) {
+            throw new IllegalArgumentException("Base de CPF fora da faixa: " + base);
+        }
+        StringBuilder digitos = new StringBuilder(11).append(String.format("%09d", base));
+        digitos.append(digito(digitos, 9));
+        digitos.append(digito(digitos, 10));
+        return digitos.toString();
+    }
+
+    private static boolean digitosVerificadoresConferem(CharSequence d) {
+        boolean todosIguais = true;
+        for (int i = 1; i < 11; i++) {
+            todosIguais &= d.charAt(i) == d.charAt(0);
+        }
+        // 000.000.000-00, 111.111.111-11 etc. passam no cálculo mas não são emitidos
+        return !todosIguais && digito(d, 9) == d.charAt(9) - '0' && digito(d, 10) == d.charAt(10) - '0';
+    }
+
+    private static int digito(CharSequence d, int posicao) {
+        int soma = 0;
+        for (int i = 0; i < posicao; i++) {
+            soma += (d.charAt(i) - '0') * (posicao + 1 - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,141 @@
+package com.bancogvm.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura em fluxo de CSV com cabeçalho: uma linha por vez, nada acumulado em memória.
+ * Separador vírgula, campos entre aspas opcionais ("" dentro das aspas é uma aspa).
+ * Campo com quebra de linha não é suportado; a linha sai como malformada.
+ */
+public class LeitorCsv implements AutoCloseable {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> colunas = new HashMap<>();
+    private long numeroLinha;
+    private String linhaAtual;
+
+    public LeitorCsv(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader b ? b : new BufferedReader(reader, 1 << 16);
+        String cabecalho = lerLinha();
+        if (cabecalho == null) {
+            return;
+        }
+        List<String> nomes = dividir(cabecalho.startsWith("\uFEFF") ? cabecalho.substring(1) : cabecalho);
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim().toLowerCase(), i);
+        }
+    }
+
+    /**
+     * Próximo registro ou {@code null} no fim do arquivo. Linhas em branco são puladas.
+     *
+     * @throws IllegalArgumentException linha malformada; a leitura pode continuar na seguinte
+     */
+    public Registro proximo() throws IOException {
+        String linha;
+        do {
+            linha = lerLinha();
+            if (linha == null) {
+                return null;
+            }
+        } while (linha.isBlank());
+        return new Registro(dividir(linha));
+    }
+
+    /** Número (1 = cabeçalho) da última linha lida. */
+    public long getNumeroLinha() {
+        return numeroLinha;
+    }
+
+    /** Texto original da última linha lida, para o arquivo de rejeitados. */
+    public String getLinhaAtual() {
+        return linhaAtual;
+    }
+
+    public boolean temColuna(String nome) {
+        return colunas.containsKey(nome);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String lerLinha() throws IOException {
+        linhaAtual = reader.readLine();
+        if (linhaAtual != null) {
+            numeroLinha++;
+        }
+        return linhaAtual;
+    }
+
+    static List<String> dividir(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean aspas = false;
+        boolean citado = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (aspas) {
+                if (c == '"') {
+                    if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else {
+                        aspas = false;
+                    }
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"' && campo.toString().isBlank()) {
+                campo.setLength(0);
+                aspas = true;
+                citado = true;
+            } else if (c == ',') {
+                campos.add(citado ? campo.toString() : campo.toString().trim());
+                campo.setLength(0);
+                citado = false;
+            } else {
+                campo.append(c);
+            }
+        }
+        if (aspas) {
+            throw new IllegalArgumentException("CSV malformado: aspas não fechadas");
+        }
+        campos.add(citado ? campo.toString() : campo.toString().trim());
+        return campos;
+    }
+
+    public final class Registro {
+
+        private final List<String> campos;
+
+        private Registro(List<String> campos) {
+            this.campos = campos;
+        }
+
+        /** Valor da coluna; {@code null} se ausente ou vazio. */
+        public String get(String coluna) {
+            Integer indice = colunas.get(coluna);
+            if (indice == null || indice >= campos.size()) {
+                return null;
+            }
+            String valor = campos.get(indice);
+            return valor.isEmpty() ? null : valor;
+        }
+
+        public String obrigatorio(String coluna) {
+            String valor = get(coluna);
+            if (valor == null || valor.isBlank()) {
+                throw new IllegalArgumentException("Campo " + coluna + " é obrigatório");
+            }
+            return valor;
+        }
+    }
+}
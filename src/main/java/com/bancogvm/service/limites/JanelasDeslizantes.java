@@ -0,0 +1,133 @@
+package com.bancogvm.service.limites;
+
+import java.util.Arrays;
+
+/**
+ * Quantidade e soma de lançamentos de uma conta em várias janelas deslizantes ao mesmo
+ * tempo (ex.: 1 min, 1 h, 24 h), sobre um único buffer circular de instantes e valores.
+ *
+ * Cada janela guarda a posição do lançamento mais antigo que ainda cabe nela e os totais
+ * correntes; avançar o relógio só retira da frente o que saiu de cada janela, então
+ * conferir os limites custa O(1) amortizado, qualquer que seja o movimento da conta.
+ * O buffer só guarda o que está dentro da janela mais longa e começa com 4 posições:
+ * 16 bytes por lançamento do último dia, nada para conta parada.
+ *
+ * Não é thread-safe: quem usa sincroniza.
+ */
+public final class JanelasDeslizantes {
+
+    // lançamento desfeito depois de registrado (transação que não confirmou)
+    private static final long DESFEITO = -1;
+
+    private final long[] duracoes;
+    private final long[] inicio;
+    private final int[] quantidade;
+    private final long[] soma;
+
+    private long[] instantes = new long[4];
+    private long[] centavos = new long[4];
+
+    // sequências absolutas: o lançamento n fica na posição n & (capacidade - 1)
+    private long primeiro;
+    private long proximo;
+
+    /**
+     * @param duracoesMs em ordem crescente; a última é por quanto tempo cada lançamento fica guardado
+     */
+    public JanelasDeslizantes(long... duracoesMs) {
+        for (int i = 1; i < duracoesMs.length; i++) {
+            if (duracoesMs[i] <= duracoesMs[i - 1]) {
+                throw new IllegalArgumentException("Janelas fora de ordem: " + Arrays.toString(duracoesMs));
+            }
+        }
+        this.duracoes = duracoesMs.clone();
+        this.inicio = new long[duracoesMs.length];
+        this.quantidade = new int[duracoesMs.length];
+        this.soma = new long[duracoesMs.length];
+    }
+
+    /**
+     * Retira de cada janela o que ficou para trás em {@code agoraMs}.
+     */
+    public void avancar(long agoraMs) {
+        int mascara = instantes.length - 1;
+        for (int j = 0; j < duracoes.length; j++) {
+            long limite = agoraMs - duracoes[j];
+            long n = inicio[j];
+            for (; n < proximo && instantes[(int) n & mascara] <= limite; n++) {
+                long v = centavos[(int) n & mascara];
+                if (v != DESFEITO) {
+                    quantidade[j]--;
+                    soma[j] -= v;
+                }
+            }
+            inicio[j] = n;
+        }
+        primeiro = inicio[duracoes.length - 1];
+    }
+
+    /**
+     * Acrescenta um lançamento em todas as janelas, sem conferir limite. O instante deve
+     * ser o do último {@link #avancar}. Devolve a sequência, para {@link #desfazer}.
+     */
+    public long registrar(long instanteMs, long valorCentavos) {
+        if (proximo - primeiro == instantes.length) {
+            crescer();
+        }
+        int i = (int) proximo & (instantes.length - 1);
+        instantes[i] = instanteMs;
+        centavos[i] = valorCentavos;
+        for (int j = 0; j < duracoes.length; j++) {
+            quantidade[j]++;
+            soma[j] += valorCentavos;
+        }
+        return proximo++;
+    }
+
+    /**
+     * Tira das janelas um lançamento registrado. Sem efeito se já saiu de todas ou já foi desfeito.
+     */
+    public void desfazer(long sequencia) {
+        if (sequencia < primeiro || sequencia >= proximo) {
+            return;
+        }
+        int i = (int) sequencia & (instantes.length - 1);
+        long v = centavos[i];
+        if (v == DESFEITO) {
+            return;
+        }
+        centavos[i] = DESFEITO;
+        for (int j = 0; j < duracoes.length; j++) {
+            if (sequencia >= inicio[j]) {
+                quantidade[j]--;
+                soma[j] -= v;
+            }
+        }
+    }
+
+    public int quantidade(int janela) {
+        return quantidade[janela];
+    }
+
+    public long soma(int janela) {
+        return soma[janela];
+    }
+
+    // nada guardado: a conta pode sair do mapa
+    public boolean vazia() {
+        return primeiro == proximo;
+    }
+
+    private void crescer() {
+        int capacidade = instantes.length;
+        long[] novosInstantes = new long[capacidade * 2];
+        long[] novosCentavos = new long[capacidade * 2];
+        int novaMascara = capacidade * 2 - 1;
+        for (long n = primeiro; n < proximo; n++) {
+            novosInstantes[(int) n & novaMascara] = instantes[(int) n & (capacidade - 1)];
+            novosCentavos[(int) n & novaMascara] = centavos[(int) n & (capacidade - 1)];
+        }
+        instantes = novosInstantes;
+        centavos = novosCentavos;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bancogvm.service.liquidacao;
+
+/**
+ * Câmara de compensação que recebe as mensagens de liquidação.
+ */
+public interface CamaraCompensacao {
+
+    /**
+     * Entrega a mensagem e devolve o protocolo. Reenviar a mesma liquidação (mesmo id)
+     * não pode gerar outra: o envio é repetido se a confirmação no banco falhar.
+     */
+    String enviar(MensagemLiquidacao mensagem);
+}
@@ -0,0 +1,57 @@
+package com.bancogvm.service.liquidacao;
+
+import com.bancogvm.config.LiquidacaoProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Substituto local da câmara: grava cada mensagem como um arquivo de liquidação no
+ * diretório configurado, no formato de registros H (cabeçalho), D (crédito) e T (trailer).
+ * O nome vem do id da liquidação e a gravação é por arquivo temporário mais rename, então
+ * reenviar sobrescreve o mesmo arquivo inteiro.
+ */
+@Component
+@AllArgsConstructor
+public class CamaraCompensacaoArquivo implements CamaraCompensacao {
+
+    private final LiquidacaoProperties props;
+
+    @Override
+    public String enviar(MensagemLiquidacao m) {
+        Path arquivo = props.getDiretorio().resolve("liquidacao-" + m.liquidacaoId() + "-" + m.banco() + ".txt");
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(props.getDiretorio());
+            try (BufferedWriter w = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+                w.write(String.join(";", "H", m.banco(), String.valueOf(m.liquidacaoId()), m.janela().toString(),
+                        String.valueOf(m.creditos().size()), m.valorLiquido().toString()));
+                w.newLine();
+                for (MensagemLiquidacao.Credito c : m.creditos()) {
+                    w.write(String.join(";", "D", String.valueOf(c.pagamentoId()), String.valueOf(c.transacaoId()),
+                            texto(c.agencia()), texto(c.conta()), texto(c.cpfCnpj()), texto(c.nome()),
+                            c.valor().toString()));
+                    w.newLine();
+                }
+                w.write(String.join(";", "T", String.valueOf(m.creditos().size()), m.valorLiquido().toString()));
+                w.newLine();
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar a liquidação " + m.liquidacaoId(), e);
+        }
+        return arquivo.toString();
+    }
+
+    // o separador não pode aparecer dentro de um campo
+    private static String texto(String valor) {
+        return valor == null ? "" : valor.replace(';', ' ');
+    }
+}
@@ -0,0 +1,26 @@
+package com.bancogvm.service.liquidacao;
+
+import com.bancogvm.service.model.Dinheiro;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * O que vai para a câmara por banco e janela: a posição líquida e, para o banco
+ * creditar os favorecidos, uma linha por transferência.
+ */
+public record MensagemLiquidacao(long liquidacaoId,
+                                 Instant janela,
+                                 String banco,
+                                 Dinheiro valorLiquido,
+                                 List<Credito> creditos) {
+
+    public record Credito(long pagamentoId,
+                          long transacaoId,
+                          String agencia,
+                          String conta,
+                          String cpfCnpj,
+                          String nome,
+                          Dinheiro valor) {
+    }
+}
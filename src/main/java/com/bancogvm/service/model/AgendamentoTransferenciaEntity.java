@@ -0,0 +1,74 @@
+package com.bancogvm.service.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * TRANSFERENCIA agendada para uma data futura. Na hora, o ExecutorAgendamentos a registra
+ * pelo TransacaoService e guarda o id da transação gerada.
+ *
+ * transacaoId não é chave estrangeira: no PostgreSQL a chave de transacao é (id, data_hora).
+ */
+@Entity
+@Table(name = "agendamento_transferencia")
+@NamedEntityGraph(name = AgendamentoTransferenciaEntity.GRAFO_CONTAS, attributeNodes = {
+        @NamedAttributeNode("contaOrigem"),
+        @NamedAttributeNode("contaDestino")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AgendamentoTransferenciaEntity {
+
+    public static final String GRAFO_CONTAS = "AgendamentoTransferencia.contas";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "conta_origem_id")
+    private ContaCorrenteEntity contaOrigem;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "conta_destino_id")
+    private ContaCorrenteEntity contaDestino;
+
+    @Column(nullable = false)
+    private Dinheiro valor;
+
+    private String descricao;
+
+    @Column(nullable = false)
+    private Instant dataExecucao;
+
+    @Column(nullable = false)
+    private StatusAgendamento statusAgendamento;
+
+    private Instant criadoEm;
+    private Instant executadoEm;
+    private Long transacaoId;
+
+    // reserva do nó que vai executar: só quem tem o mesmo token registra a transação
+    @JsonIgnore
+    private String reservadoPor;
+    @JsonIgnore
+    private Instant reservadoAte;
+    @JsonIgnore
+    private Long reserva;
+}
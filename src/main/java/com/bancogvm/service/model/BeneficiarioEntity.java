@@ -1,6 +1,8 @@
 package com.bancogvm.service.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -9,9 +11,15 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "beneficiario")
+@EntityListeners(VersaoRecursoListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "beneficiario")
+@NamedEntityGraph(name = BeneficiarioEntity.GRAFO_CLIENTE, attributeNodes = @NamedAttributeNode("cliente"))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class BeneficiarioEntity {
 
+    public static final String GRAFO_CLIENTE = "Beneficiario.cliente";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -22,7 +30,7 @@ public class BeneficiarioEntity {
     private String agenciaFavorecida;
     private String contaFavorecida;
     private String tipoContaFavorecida;
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false)
     private ClienteEntity cliente;
 }
\ No newline at end of file
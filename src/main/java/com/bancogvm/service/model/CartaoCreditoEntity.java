@@ -8,28 +8,27 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 
 @Entity
 @DiscriminatorValue("CREDITO")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class CartaoCreditoEntity extends CartaoEntity {
 
-    private BigDecimal limiteCredito;
+    private Dinheiro limiteCredito;
     private int diaFechamento;
     private int diaVencimento;
 
-    public boolean realizarCompra(BigDecimal valor) {
+    public boolean realizarCompra(Dinheiro valor) {
         // lógica simples: permitir se houver limite
-        BigDecimal disponivel = limiteCredito; // ou calcule com fatura
-        return disponivel.compareTo(valor) >= 0;
+        Dinheiro disponivel = limiteCredito; // ou calcule com fatura
+        return !disponivel.menorQue(valor);
     }
 
-    public void pagarFatura(BigDecimal valor) {
+    public void pagarFatura(Dinheiro valor) {
         // aqui reduz valor da fatura pendente (não modelada)
     }
 
-    public BigDecimal consultarLimiteDisponivel() {
+    public Dinheiro consultarLimiteDisponivel() {
         return limiteCredito;
     }
 
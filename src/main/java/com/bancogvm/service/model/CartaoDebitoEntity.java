@@ -8,18 +8,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 
 @Entity
 @DiscriminatorValue("DEBITO")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class CartaoDebitoEntity extends CartaoEntity {
 
-    private BigDecimal limiteSaque;
-    private BigDecimal limiteTransferencia;
+    private Dinheiro limiteSaque;
+    private Dinheiro limiteTransferencia;
 
-    public boolean realizarTransacaoDebito(BigDecimal valor) {
-        return valor.compareTo(limiteSaque) <= 0;
+    public boolean realizarTransacaoDebito(Dinheiro valor) {
+        return !valor.maiorQue(limiteSaque);
     }
 
     @Override
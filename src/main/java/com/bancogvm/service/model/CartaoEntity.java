@@ -9,13 +9,22 @@ import lombok.Setter;
 
 import java.time.Instant;
 
+/**
+ * Sem cache de segundo nível de propósito: o cache é por nó, e um cartão bloqueado
+ * não pode continuar ativo na cópia de outro nó. Não anotar com {@code @Cache}/{@code @Cacheable}.
+ */
 @Entity
 @Table(name = "cartao")
+@EntityListeners(VersaoRecursoListener.class)
+@NamedEntityGraph(name = CartaoEntity.GRAFO_CONTA, attributeNodes = @NamedAttributeNode("conta"))
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "tipo_cartao")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public abstract class CartaoEntity {
 
+    // listagem de cartões: a conta vinculada é serializada junto
+    public static final String GRAFO_CONTA = "Cartao.conta";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -25,21 +34,21 @@ public abstract class CartaoEntity {
     private Instant dataEmissao;
     private Instant dataValidade;
     private String cvvHash;
-    private String statusCartao;
-    @ManyToOne(optional = false)
+    private StatusCartao statusCartao;
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "conta_id", nullable = false)
     private ContaCorrenteEntity conta;
 
     public void ativar() {
-        setStatusCartao("ATIVO");
+        setStatusCartao(StatusCartao.ATIVO);
     }
 
     public void bloquear() {
-        setStatusCartao("BLOQUEADO");
+        setStatusCartao(StatusCartao.BLOQUEADO);
     }
 
     public void desbloquear() {
-        setStatusCartao("ATIVO");
+        setStatusCartao(StatusCartao.ATIVO);
     }
 
     public abstract String getTipoCartao();
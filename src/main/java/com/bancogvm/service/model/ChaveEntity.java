@@ -0,0 +1,75 @@
+package com.bancogvm.service.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Chave de pagamento instantâneo apontando para uma conta corrente. O valor é copiado do
+ * cadastro do cliente no registro (CPF, e-mail, telefone) e gravado já normalizado
+ * (ChavesPagamento.normalizar).
+ *
+ * hashChave é a impressão de 64 bits que o índice em memória (DiretorioChaves) guarda no
+ * lugar do texto; a unicidade no banco garante que duas chaves nunca dividem a mesma.
+ * Remover só desativa: registrar a mesma chave de novo reaproveita a linha.
+ */
+@Entity
+@Table(name = "chave_pagamento", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chave_pagamento_chave", columnNames = "chave"),
+        @UniqueConstraint(name = "uk_chave_pagamento_hash", columnNames = "hash_chave")})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ChaveEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private TipoChave tipoChave;
+
+    @Column(nullable = false)
+    private String chave;
+
+    @Column(nullable = false)
+    private long hashChave;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "conta_id", nullable = false)
+    @JsonIgnore
+    private ContaCorrenteEntity conta;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    @JsonIgnore
+    private ClienteEntity cliente;
+
+    private boolean ativa;
+
+    private Instant criadaEm;
+
+    // lida pela sincronização incremental dos outros nós
+    @Column(nullable = false)
+    private Instant atualizadaEm;
+
+    // só o id: o proxy devolve sem ir ao banco
+    @JsonProperty("contaId")
+    public Long getContaId() {
+        return conta != null ? conta.getId() : null;
+    }
+}
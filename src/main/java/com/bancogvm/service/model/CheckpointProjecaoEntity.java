@@ -0,0 +1,29 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Último evento do outbox já aplicado por uma projeção. Avança na mesma transação
+ * em que a projeção grava o seu resultado.
+ */
+@Entity
+@Table(name = "checkpoint_projecao")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CheckpointProjecaoEntity {
+
+    @Id
+    private String projecao;
+
+    private long ultimoEventoId;
+
+    private Instant atualizadoEm;
+}
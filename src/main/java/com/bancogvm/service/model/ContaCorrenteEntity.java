@@ -8,19 +8,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @Entity
 @DiscriminatorValue("CORRENTE")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ContaCorrenteEntity extends ContaEntity {
 
-    private BigDecimal limiteChequeEspecial;
+    private Dinheiro limiteChequeEspecial;
 
-    public boolean sacar(BigDecimal valor) {
-        BigDecimal disponivel = getSaldo().add(limiteChequeEspecial);
-        if (disponivel.compareTo(valor) >= 0) {
-            setSaldo(getSaldo().subtract(valor));
+    public boolean sacar(Dinheiro valor) {
+        Dinheiro disponivel = getSaldo().somar(limiteChequeEspecial);
+        if (!disponivel.menorQue(valor)) {
+            setSaldo(getSaldo().subtrair(valor));
             return true;
         }
         return false;
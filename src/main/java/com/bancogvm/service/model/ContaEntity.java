@@ -1,6 +1,7 @@
 package com.bancogvm.service.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -8,15 +9,21 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Sem cache de segundo nível de propósito: saldo é lido para decidir saques e
+ * transferências e nunca pode ser servido de uma cópia antiga. Não anotar com
+ * {@code @Cache}/{@code @Cacheable}.
+ */
 @Entity
 @Table(name = "conta")
+@EntityListeners(VersaoRecursoListener.class)
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "tipo_conta")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public abstract class ContaEntity {
 
@@ -26,9 +33,9 @@ public abstract class ContaEntity {
 
     private String numeroConta;
     private String agencia;
-    private BigDecimal saldo;
+    private Dinheiro saldo;
     private Instant dataAbertura;
-    private String statusConta;
+    private StatusConta statusConta;
     @OneToMany(mappedBy = "conta", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<CartaoEntity> cartoes = new ArrayList<>();
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 
 @Entity
@@ -20,10 +21,11 @@ public class ContaPoupancaEntity extends ContaEntity {
     private LocalDate dataAniversario;
 
     public void calcularRendimentoMensal() {
-        BigDecimal mensal = getSaldo()
+        // juros não são caminho quente: calcula em BigDecimal e arredonda para centavos
+        BigDecimal mensal = getSaldo().toBigDecimal()
                 .multiply(taxaRendimentoAnual)
-                .divide(BigDecimal.valueOf(12), 2, BigDecimal.ROUND_HALF_UP);
-        setSaldo(getSaldo().add(mensal));
+                .divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
+        setSaldo(getSaldo().somar(Dinheiro.de(mensal)));
     }
 
 }
\ No newline at end of file
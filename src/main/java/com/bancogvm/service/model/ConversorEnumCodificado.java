@@ -0,0 +1,42 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Base dos conversores JPA de {@link EnumCodificado} para char(1).
+ * Cada enum declara o seu como classe aninhada {@code Conversor} com autoApply.
+ */
+public abstract class ConversorEnumCodificado<E extends Enum<E> & EnumCodificado>
+        implements AttributeConverter<E, Character> {
+
+    // indexado pelo próprio código: busca sem laço nem boxing do lado do banco
+    private final E[] porCodigo;
+
+    @SuppressWarnings("unchecked")
+    protected ConversorEnumCodificado(Class<E> tipo) {
+        porCodigo = (E[]) java.lang.reflect.Array.newInstance(tipo, 128);
+        for (E valor : tipo.getEnumConstants()) {
+            if (porCodigo[valor.getCodigo()] != null) {
+                throw new IllegalStateException("Código repetido em " + tipo.getSimpleName() + ": " + valor.getCodigo());
+            }
+            porCodigo[valor.getCodigo()] = valor;
+        }
+    }
+
+    @Override
+    public Character convertToDatabaseColumn(E valor) {
+        return valor == null ? null : valor.getCodigo();
+    }
+
+    @Override
+    public E convertToEntityAttribute(Character codigo) {
+        if (codigo == null) {
+            return null;
+        }
+        E valor = codigo < porCodigo.length ? porCodigo[codigo] : null;
+        if (valor == null) {
+            throw new IllegalStateException("Código desconhecido: " + codigo);
+        }
+        return valor;
+    }
+}
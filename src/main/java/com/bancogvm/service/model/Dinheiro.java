@@ -0,0 +1,114 @@
+package com.bancogvm.service.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário em centavos (long), imutável.
+ * Substitui BigDecimal no caminho de lançamento: somar/subtrair/comparar não alocam
+ * nada além do resultado e estouro vira ArithmeticException em vez de valor errado.
+ * No JSON e no banco continua sendo um número com 2 casas (ver {@link DinheiroConverter}).
+ */
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+
+    public static final Dinheiro ZERO = new Dinheiro(0L);
+
+    private static final int CASAS = 2;
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0L ? ZERO : new Dinheiro(centavos);
+    }
+
+    /**
+     * Conversão exata; valores com mais de 2 casas decimais são rejeitados.
+     */
+    @JsonCreator
+    public static Dinheiro de(BigDecimal valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return deCentavos(valor.setScale(CASAS, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor monetário inválido: " + valor.toPlainString());
+        }
+    }
+
+    /**
+     * Conversão de um valor calculado (juros, rendimento), arredondando para centavos.
+     */
+    public static Dinheiro de(BigDecimal valor, RoundingMode arredondamento) {
+        return valor == null ? null : de(valor.setScale(CASAS, arredondamento));
+    }
+
+    public static Dinheiro de(String valor) {
+        return de(new BigDecimal(valor));
+    }
+
+    public static Dinheiro de(long reais) {
+        return deCentavos(Math.multiplyExact(reais, 100L));
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Dinheiro somar(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro subtrair(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro negar() {
+        return deCentavos(Math.negateExact(centavos));
+    }
+
+    public boolean menorQue(Dinheiro outro) {
+        return centavos < outro.centavos;
+    }
+
+    public boolean maiorQue(Dinheiro outro) {
+        return centavos > outro.centavos;
+    }
+
+    public boolean isNegativo() {
+        return centavos < 0L;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, CASAS);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Dinheiro outro && outro.centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
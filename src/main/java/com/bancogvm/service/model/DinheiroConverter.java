@@ -0,0 +1,24 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Mapeia {@link Dinheiro} para as colunas numéricas existentes (numeric(38,2)),
+ * sem mudar o schema. Aplicado automaticamente a todo atributo do tipo Dinheiro.
+ */
+@Converter(autoApply = true)
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Dinheiro valor) {
+        return valor == null ? null : valor.toBigDecimal();
+    }
+
+    @Override
+    public Dinheiro convertToEntityAttribute(BigDecimal coluna) {
+        return Dinheiro.de(coluna);
+    }
+}
@@ -1,11 +1,15 @@
 package com.bancogvm.service.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,30 +22,38 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "emprestimo")
+@EntityListeners(VersaoRecursoListener.class)
+@NamedEntityGraph(name = EmprestimoEntity.GRAFO_CLIENTE_CONTA, attributeNodes = {
+        @NamedAttributeNode("cliente"),
+        @NamedAttributeNode("contaCredito")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class EmprestimoEntity {
 
+    // listagem de empréstimos: cliente e conta de crédito vão na resposta
+    public static final String GRAFO_CLIENTE_CONTA = "Emprestimo.clienteConta";
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private BigDecimal valorSolicitado;
-    private BigDecimal valorAprovado;
+    private Dinheiro valorSolicitado;
+    private Dinheiro valorAprovado;
     private BigDecimal taxaJurosMensal;
     private Integer numeroParcelas;
-    private BigDecimal valorTotal;
-    private BigDecimal valorParcela;
+    private Dinheiro valorTotal;
+    private Dinheiro valorParcela;
 
     private Instant dataSolicitacao;
     private Instant dataAprovacao;
 
-    private String statusEmprestimo;   // ex: "PENDENTE", "APROVADO", "REJEITADO"
+    private StatusEmprestimo statusEmprestimo;
     private String motivoRejeicao;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
     private ClienteEntity cliente;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "conta_credito_id")
     private ContaCorrenteEntity contaCredito;
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.bancogvm.service.model;
+
+/**
+ * Enum persistido como um código de 1 caractere em vez do nome.
+ * No JSON continua aparecendo pelo nome (ex.: "CONCLUIDA").
+ */
+public interface EnumCodificado {
+
+    char getCodigo();
+}
@@ -0,0 +1,41 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Evento gravado na mesma transação da escrita que o originou (outbox transacional).
+ * O RelayOutbox entrega em ordem de id às projeções; apagado quando todas já o consumiram.
+ */
+@Entity
+@Table(name = "evento_outbox")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class EventoOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 40)
+    private String tipo;
+
+    private Long agregadoId;
+
+    // JSON do evento; o formato é de quem publica o tipo
+    @Column(nullable = false, length = 1000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+}
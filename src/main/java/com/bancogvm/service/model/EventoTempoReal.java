@@ -0,0 +1,30 @@
+package com.bancogvm.service.model;
+
+import java.util.Set;
+
+/**
+ * Evento enviado em /api/eventos. {@code tipo} vira o campo "event:" do SSE e
+ * {@code dados} o JSON de "data:". Contas e cliente servem só para os filtros
+ * dos assinantes e não são serializados.
+ */
+public record EventoTempoReal(String tipo, Set<Long> contas, Long clienteId, Object dados) {
+
+    public static final String SALDO = "saldo";
+    public static final String TRANSACAO = "transacao";
+    public static final String CARTAO = "cartao";
+    public static final String EMPRESTIMO = "emprestimo";
+
+    /**
+     * {@code transacaoId} cresce na ordem em que os lançamentos travaram a conta: o
+     * cliente descarta um saldo com id menor que o último que aplicou.
+     */
+    public record Saldo(Long contaId, Dinheiro saldo, Long transacaoId) {
+    }
+
+    public record Cartao(Long cartaoId, Long contaId, StatusCartao statusCartao) {
+    }
+
+    public record Emprestimo(Long emprestimoId, Long clienteId, Long contaCreditoId, StatusEmprestimo statusEmprestimo,
+                             Dinheiro valorAprovado, String motivoRejeicao) {
+    }
+}
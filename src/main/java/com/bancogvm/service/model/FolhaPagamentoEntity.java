@@ -0,0 +1,59 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Lote de pagamentos de uma conta corrente para muitas (folha de salários). A origem é
+ * debitada uma única vez pelo total das linhas válidas; cada linha recebe o crédito e a
+ * própria TRANSFERENCIA em ProcessadorFolhaPagamento.
+ */
+@Entity
+@Table(name = "folha_pagamento")
+@NamedEntityGraph(name = FolhaPagamentoEntity.GRAFO_CONTA, attributeNodes = @NamedAttributeNode("contaOrigem"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class FolhaPagamentoEntity {
+
+    public static final String GRAFO_CONTA = "FolhaPagamento.conta";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "conta_origem_id")
+    private ContaCorrenteEntity contaOrigem;
+
+    private String descricao;
+
+    // soma das linhas aceitas na validação: o que sai da origem
+    @Column(nullable = false)
+    private Dinheiro total;
+
+    private Integer linhas;
+    private Integer creditadas;
+    private Integer rejeitadas;
+
+    @Column(nullable = false)
+    private StatusFolha statusFolha;
+
+    private String motivo;
+    private Instant criadaEm;
+    private Instant concluidaEm;
+}
@@ -0,0 +1,49 @@
+package com.bancogvm.service.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Um pagamento da folha. contaDestinoId não é chave estrangeira para a linha com conta
+ * inexistente ficar registrada como REJEITADA; transacaoId também não (chave de transacao
+ * no PostgreSQL é (id, data_hora)).
+ */
+@Entity
+@Table(name = "linha_folha_pagamento")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class LinhaFolhaPagamentoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "folha_id")
+    @JsonIgnore
+    private FolhaPagamentoEntity folha;
+
+    // posição no pedido, a partir de 1
+    private Integer linha;
+
+    private Long contaDestinoId;
+    private Dinheiro valor;
+
+    @Column(nullable = false)
+    private StatusLinhaFolha statusLinha;
+
+    private String motivo;
+    private Long transacaoId;
+}
@@ -0,0 +1,49 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Posição líquida com um banco numa janela de liquidação: todas as transferências
+ * pendentes para ele viram uma mensagem só para a câmara, no lugar de uma por transferência.
+ */
+@Entity
+@Table(name = "liquidacao_interbancaria")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class LiquidacaoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // fechamento da janela
+    @Column(nullable = false)
+    private Instant janela;
+
+    @Column(nullable = false)
+    private String bancoFavorecido;
+
+    private Integer quantidade;
+
+    // a pagar ao banco na janela (soma das transferências para ele)
+    @Column(nullable = false)
+    private Dinheiro valorLiquido;
+
+    @Column(nullable = false)
+    private StatusLiquidacao statusLiquidacao;
+
+    // referência devolvida pela câmara (no substituto local, o caminho do arquivo)
+    private String protocolo;
+    private Instant enviadaEm;
+}
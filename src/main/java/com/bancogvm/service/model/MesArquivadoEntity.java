@@ -0,0 +1,32 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Mês que saiu do banco para o arquivo frio e quantos registros o segmento dele tem.
+ * Gravado na mesma transação do DELETE; cada nó confere o próprio diretório contra esta
+ * tabela (ArquivamentoTransacoes). Gravada só por SQL, nunca pelo Hibernate.
+ */
+@Entity
+@Table(name = "mes_arquivado")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MesArquivadoEntity {
+
+    // ano * 100 + mês, como no cabeçalho do segmento
+    @Id
+    private int mes;
+
+    private long registros;
+
+    private Instant arquivadoEm;
+
+    private String arquivadoPor;
+}
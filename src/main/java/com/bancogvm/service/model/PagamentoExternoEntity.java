@@ -0,0 +1,66 @@
+package com.bancogvm.service.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * TRANSFERENCIA_EXTERNA à espera de liquidação. Os dados do favorecido são copiados do
+ * beneficiário no momento da transferência: é isso que vai para a câmara, mesmo que o
+ * cadastro mude depois.
+ *
+ * transacaoId não é chave estrangeira: no PostgreSQL a chave de transacao é (id, data_hora).
+ */
+@Entity
+@Table(name = "pagamento_externo")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PagamentoExternoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long transacaoId;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "conta_origem_id")
+    @JsonIgnore
+    private ContaCorrenteEntity contaOrigem;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "beneficiario_id")
+    @JsonIgnore
+    private BeneficiarioEntity beneficiario;
+
+    @Column(nullable = false)
+    private String bancoFavorecido;
+    private String agenciaFavorecida;
+    private String contaFavorecida;
+    private String nomeFavorecido;
+    private String cpfCnpjFavorecido;
+
+    @Column(nullable = false)
+    private Dinheiro valor;
+
+    @Column(nullable = false)
+    private StatusPagamentoExterno statusPagamento;
+
+    // preenchido quando a janela fecha
+    private Long liquidacaoId;
+
+    private Instant criadoEm;
+}
@@ -0,0 +1,28 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Tarefa agendada que só um nó pode executar por vez: quem a reserva grava o nome e a
+ * validade, e os outros nós pulam a execução até ela vencer. Gravada só por SQL.
+ */
+@Entity
+@Table(name = "reserva_tarefa")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ReservaTarefaEntity {
+
+    @Id
+    private String tarefa;
+
+    private String reservadoPor;
+
+    private Instant reservadoAte;
+}
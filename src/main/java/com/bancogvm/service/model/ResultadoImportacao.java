@@ -0,0 +1,21 @@
+package com.bancogvm.service.model;
+
+/**
+ * Resumo de uma importação de carteira. {@code arquivoRejeitados} é nulo quando nada foi rejeitado.
+ */
+public record ResultadoImportacao(Contagem clientes,
+                                  Contagem contas,
+                                  Contagem titulares,
+                                  String arquivoRejeitados,
+                                  long duracaoMs) {
+
+    /**
+     * @param lidas       registros no arquivo (sem cabeçalho e linhas em branco)
+     * @param rejeitadas  inválidos, repetidos no arquivo ou em conflito com o banco
+     * @param importadas  inseridos nas tabelas definitivas
+     */
+    public record Contagem(long lidas, long rejeitadas, long importadas) {
+
+        public static final Contagem VAZIA = new Contagem(0, 0, 0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação de uma transferência agendada. Código gravado em
+ * agendamento_transferencia.status_agendamento.
+ */
+public enum StatusAgendamento implements EnumCodificado {
+
+    AGENDADO('A'),
+    // reservado por um nó (ExecutorAgendamentos) até reservado_ate; volta a ser reservável depois
+    RESERVADO('R'),
+    EXECUTADO('E'),
+    // registrar devolveu FALHOU (ex.: saldo insuficiente); a transação fica como registro
+    FALHOU('F'),
+    CANCELADO('C');
+
+    private final char codigo;
+
+    StatusAgendamento(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusAgendamento> {
+        public Conversor() {
+            super(StatusAgendamento.class);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação de um cartão. Código gravado em cartao.status_cartao.
+ */
+public enum StatusCartao implements EnumCodificado {
+
+    ATIVO('A'),
+    INATIVO('I'),
+    BLOQUEADO('B');
+
+    private final char codigo;
+
+    StatusCartao(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Converte o texto recebido na API, sem diferenciar maiúsculas de minúsculas.
+     */
+    public static StatusCartao de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("Status de cartão inválido: " + nome);
+        }
+        try {
+            return valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status de cartão inválido: " + nome);
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusCartao> {
+        public Conversor() {
+            super(StatusCartao.class);
+        }
+    }
+}
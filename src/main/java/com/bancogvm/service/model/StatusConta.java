@@ -0,0 +1,45 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação de uma conta. Código gravado em conta.status_conta.
+ */
+public enum StatusConta implements EnumCodificado {
+
+    ATIVA('A'),
+    INATIVA('I'),
+    BLOQUEADA('B');
+
+    private final char codigo;
+
+    StatusConta(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Converte o texto recebido na API, sem diferenciar maiúsculas de minúsculas.
+     */
+    public static StatusConta de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("Status de conta inválido: " + nome);
+        }
+        try {
+            return valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status de conta inválido: " + nome);
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusConta> {
+        public Conversor() {
+            super(StatusConta.class);
+        }
+    }
+}
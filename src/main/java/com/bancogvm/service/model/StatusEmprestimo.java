@@ -0,0 +1,45 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação de um empréstimo. Código gravado em emprestimo.status_emprestimo.
+ */
+public enum StatusEmprestimo implements EnumCodificado {
+
+    PENDENTE('P'),
+    APROVADO('A'),
+    REJEITADO('R');
+
+    private final char codigo;
+
+    StatusEmprestimo(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Converte o texto recebido na API, sem diferenciar maiúsculas de minúsculas.
+     */
+    public static StatusEmprestimo de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("Status de empréstimo inválido: " + nome);
+        }
+        try {
+            return valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status de empréstimo inválido: " + nome);
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusEmprestimo> {
+        public Conversor() {
+            super(StatusEmprestimo.class);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação de uma folha de pagamento. Código gravado em folha_pagamento.status_folha.
+ */
+public enum StatusFolha implements EnumCodificado {
+
+    // linhas gravadas, origem ainda não debitada
+    RECEBIDA('R'),
+    // total debitado da origem de uma vez; créditos em andamento, lote a lote
+    DEBITADA('D'),
+    CONCLUIDA('C'),
+    // saldo insuficiente para o total: nada foi movimentado
+    FALHOU('F');
+
+    private final char codigo;
+
+    StatusFolha(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusFolha> {
+        public Conversor() {
+            super(StatusFolha.class);
+        }
+    }
+}
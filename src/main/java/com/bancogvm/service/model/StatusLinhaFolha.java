@@ -0,0 +1,34 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação de uma linha da folha de pagamento. Código gravado em
+ * linha_folha_pagamento.status_linha.
+ */
+public enum StatusLinhaFolha implements EnumCodificado {
+
+    PENDENTE('P'),
+    // crédito feito; transacaoId aponta a TRANSFERENCIA da linha
+    CREDITADA('C'),
+    // recusada na validação ou pela falta de saldo da folha; motivo preenchido
+    REJEITADA('R');
+
+    private final char codigo;
+
+    StatusLinhaFolha(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusLinhaFolha> {
+        public Conversor() {
+            super(StatusLinhaFolha.class);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação da mensagem de liquidação de um banco numa janela. Código gravado em
+ * liquidacao_interbancaria.status_liquidacao.
+ */
+public enum StatusLiquidacao implements EnumCodificado {
+
+    // fechada no banco; a mensagem ainda não foi entregue à câmara
+    GERADA('G'),
+    ENVIADA('E');
+
+    private final char codigo;
+
+    StatusLiquidacao(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusLiquidacao> {
+        public Conversor() {
+            super(StatusLiquidacao.class);
+        }
+    }
+}
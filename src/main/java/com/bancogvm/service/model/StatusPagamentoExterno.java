@@ -0,0 +1,33 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação de uma transferência para outro banco. Código gravado em
+ * pagamento_externo.status_pagamento.
+ */
+public enum StatusPagamentoExterno implements EnumCodificado {
+
+    // origem já debitada, esperando a próxima janela de liquidação
+    PENDENTE('P'),
+    // entrou numa liquidação (uma por banco por janela)
+    LIQUIDADO('L');
+
+    private final char codigo;
+
+    StatusPagamentoExterno(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusPagamentoExterno> {
+        public Conversor() {
+            super(StatusPagamentoExterno.class);
+        }
+    }
+}
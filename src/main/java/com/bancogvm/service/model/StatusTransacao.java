@@ -0,0 +1,45 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Situação de um lançamento. Código gravado em transacao.status_transacao.
+ */
+public enum StatusTransacao implements EnumCodificado {
+
+    PENDENTE('P'),
+    CONCLUIDA('C'),
+    FALHOU('F');
+
+    private final char codigo;
+
+    StatusTransacao(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Converte o texto recebido na API, sem diferenciar maiúsculas de minúsculas.
+     */
+    public static StatusTransacao de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("Status de transação inválido: " + nome);
+        }
+        try {
+            return valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status de transação inválido: " + nome);
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<StatusTransacao> {
+        public Conversor() {
+            super(StatusTransacao.class);
+        }
+    }
+}
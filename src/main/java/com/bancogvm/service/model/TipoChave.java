@@ -0,0 +1,49 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Tipo de chave de pagamento instantâneo. Código gravado em chave_pagamento.tipo_chave.
+ */
+public enum TipoChave implements EnumCodificado {
+
+    CPF('C'),
+    CNPJ('J'),
+    EMAIL('E'),
+    // +55 com DDD e número, só dígitos depois do +
+    TELEFONE('T'),
+    // UUID gerado no registro, para quem não quer expor documento, e-mail ou telefone
+    ALEATORIA('A');
+
+    private final char codigo;
+
+    TipoChave(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Converte o texto recebido na API, sem diferenciar maiúsculas de minúsculas.
+     */
+    public static TipoChave de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("Tipo de chave inválido: " + nome);
+        }
+        try {
+            return valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de chave inválido: " + nome);
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<TipoChave> {
+        public Conversor() {
+            super(TipoChave.class);
+        }
+    }
+}
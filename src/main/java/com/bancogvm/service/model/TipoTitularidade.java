@@ -0,0 +1,44 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Papel do cliente na conta. Código gravado em titular_conta.tipo_titularidade.
+ */
+public enum TipoTitularidade implements EnumCodificado {
+
+    PRINCIPAL('P'),
+    SECUNDARIO('S');
+
+    private final char codigo;
+
+    TipoTitularidade(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Converte o texto recebido na API, sem diferenciar maiúsculas de minúsculas.
+     */
+    public static TipoTitularidade de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("Tipo de titularidade inválido: " + nome);
+        }
+        try {
+            return valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de titularidade inválido: " + nome);
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<TipoTitularidade> {
+        public Conversor() {
+            super(TipoTitularidade.class);
+        }
+    }
+}
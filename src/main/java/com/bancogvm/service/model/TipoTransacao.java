@@ -0,0 +1,47 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Tipo de lançamento. Código gravado em transacao.tipo_transacao.
+ */
+public enum TipoTransacao implements EnumCodificado {
+
+    DEPOSITO('D'),
+    SAQUE('S'),
+    TRANSFERENCIA('T'),
+    // para beneficiário em outro banco: debita a origem e sai na próxima janela de liquidação
+    TRANSFERENCIA_EXTERNA('E');
+
+    private final char codigo;
+
+    TipoTransacao(char codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public char getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Converte o texto recebido na API, sem diferenciar maiúsculas de minúsculas.
+     */
+    public static TipoTransacao de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("Tipo de transação inválido: " + nome);
+        }
+        try {
+            return valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de transação inválido: " + nome);
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class Conversor extends ConversorEnumCodificado<TipoTransacao> {
+        public Conversor() {
+            super(TipoTransacao.class);
+        }
+    }
+}
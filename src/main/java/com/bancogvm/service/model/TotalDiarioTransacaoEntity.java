@@ -0,0 +1,35 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Quantidade e volume de transações concluídas por dia (UTC) e tipo.
+ * Mantido pela ProjecaoTotaisDiarios a partir do outbox, fora do caminho do lançamento.
+ */
+@Entity
+@Table(name = "total_diario_transacao",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"data", "tipo_transacao"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TotalDiarioTransacaoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDate data;
+    private TipoTransacao tipoTransacao;
+    private long quantidade;
+    private Dinheiro valor;
+}
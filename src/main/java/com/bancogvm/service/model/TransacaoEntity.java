@@ -1,11 +1,15 @@
 package com.bancogvm.service.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,28 +17,35 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
 @Table(name = "transacao")
+@EntityListeners(VersaoRecursoListener.class)
+@NamedEntityGraph(name = TransacaoEntity.GRAFO_CONTAS, attributeNodes = {
+        @NamedAttributeNode("contaOrigem"),
+        @NamedAttributeNode("contaDestino")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class TransacaoEntity {
 
+    // extrato e listagens: traz as duas contas no mesmo SELECT
+    public static final String GRAFO_CONTAS = "Transacao.contas";
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private BigDecimal valor;
+    private Dinheiro valor;
     private Instant dataHora;
-    private String tipoTransacao;      // ex: "DEPOSITO", "SAQUE", "TRANSFERENCIA"
-    private String statusTransacao;    // ex: "PENDENTE", "CONCLUIDA", "FALHOU"
+    private TipoTransacao tipoTransacao;
+    private StatusTransacao statusTransacao;
     private String descricao;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "conta_origem_id")
     private ContaCorrenteEntity contaOrigem;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "conta_destino_id")
     private ContaCorrenteEntity contaDestino;
 }
\ No newline at end of file
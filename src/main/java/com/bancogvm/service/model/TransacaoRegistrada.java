@@ -0,0 +1,26 @@
+package com.bancogvm.service.model;
+
+import java.time.Instant;
+
+/**
+ * Payload do evento TRANSACAO_REGISTRADA no outbox: o lançamento já com status final.
+ */
+public record TransacaoRegistrada(Long transacaoId,
+                                  Instant dataHora,
+                                  Dinheiro valor,
+                                  TipoTransacao tipoTransacao,
+                                  StatusTransacao statusTransacao,
+                                  Long contaOrigemId,
+                                  Long contaDestinoId) {
+
+    public static TransacaoRegistrada de(TransacaoEntity t) {
+        return new TransacaoRegistrada(
+                t.getId(),
+                t.getDataHora(),
+                t.getValor(),
+                t.getTipoTransacao(),
+                t.getStatusTransacao(),
+                t.getContaOrigem() != null ? t.getContaOrigem().getId() : null,
+                t.getContaDestino() != null ? t.getContaDestino().getId() : null);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bancogvm.service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Uma fatia do contador de versão de um recurso REST (VersaoRecursos). A versão do
+ * recurso é a soma das fatias; cada escrita incrementa uma fatia só, então escritas
+ * simultâneas raramente disputam a mesma linha. Gravada só por SQL, nunca pelo Hibernate.
+ */
+@Entity
+@Table(name = "versao_recurso")
+@IdClass(VersaoRecursoEntity.Chave.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class VersaoRecursoEntity {
+
+    @Id
+    private String recurso;
+
+    @Id
+    private int fatia;
+
+    private long versao;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode
+    public static class Chave implements Serializable {
+
+        private String recurso;
+        private int fatia;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bancogvm.service.model;
+
+import com.bancogvm.service.VersaoRecursos;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que avisa {@link VersaoRecursos} sobre toda escrita de entidade,
+ * inclusive as feitas por cascata. Escritas em massa (JPQL/SQL nativo) não
+ * passam por aqui e devem chamar {@link VersaoRecursos#incrementar} diretamente.
+ */
+@Component
+@AllArgsConstructor
+public class VersaoRecursoListener {
+
+    private final VersaoRecursos versoes;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aoAlterar(Object entidade) {
+        versoes.incrementar(recursoDe(entidade));
+    }
+
+    private String recursoDe(Object entidade) {
+        if (entidade instanceof ContaEntity) return VersaoRecursos.CONTAS;
+        if (entidade instanceof CartaoEntity) return VersaoRecursos.CARTOES;
+        if (entidade instanceof TransacaoEntity) return VersaoRecursos.TRANSACOES;
+        if (entidade instanceof EmprestimoEntity) return VersaoRecursos.EMPRESTIMOS;
+        if (entidade instanceof ClienteEntity) return VersaoRecursos.CLIENTES;
+        if (entidade instanceof TitularContaEntity) return VersaoRecursos.TITULARES;
+        if (entidade instanceof BeneficiarioEntity) return VersaoRecursos.BENEFICIARIOS;
+        throw new IllegalArgumentException("Entidade sem recurso versionado: " + entidade.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,223 @@
+-- Executado a cada inicialização, depois do ddl-auto (spring.jpa.defer-datasource-initialization).
+-- Tudo aqui precisa ser idempotente. Comandos separados por "@@" por causa dos blocos DO.
+
+-- Status e tipos gravados como código de 1 caractere (enums EnumCodificado).
+-- Bancos criados antes disso têm varchar com o nome: converte uma única vez.
+-- As colunas antigas aceitavam qualquer texto: antes de alterar, confere que todo valor tem
+-- código e, se não tiver, aborta listando os valores (nada é convertido em NULL calado).
+DO $$
+DECLARE
+    c RECORD;
+    par text;
+    nomes text[];
+    expr text;
+    invalidos text;
+BEGIN
+    FOR c IN
+        SELECT * FROM (VALUES
+            ('transacao',     'tipo_transacao',    'DEPOSITO:D,SAQUE:S,TRANSFERENCIA:T,TRANSFERENCIA_EXTERNA:E'),
+            ('transacao',     'status_transacao',  'PENDENTE:P,CONCLUIDA:C,FALHOU:F'),
+            ('conta',         'status_conta',      'ATIVA:A,INATIVA:I,BLOQUEADA:B'),
+            ('cartao',        'status_cartao',     'ATIVO:A,INATIVO:I,BLOQUEADO:B'),
+            ('emprestimo',    'status_emprestimo', 'PENDENTE:P,APROVADO:A,REJEITADO:R'),
+            ('titular_conta', 'tipo_titularidade', 'PRINCIPAL:P,SECUNDARIO:S')
+        ) AS t(tabela, coluna, codigos)
+    LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema()
+                     AND table_name = c.tabela AND column_name = c.coluna
+                     AND data_type = 'character varying') THEN
+            nomes := ARRAY(SELECT split_part(p, ':', 1) FROM unnest(string_to_array(c.codigos, ',')) AS p);
+            EXECUTE format('SELECT string_agg(DISTINCT quote_literal(%1$I), '', '') FROM %2$I '
+                           || 'WHERE %1$I IS NOT NULL AND NOT (upper(trim(%1$I)) = ANY ($1))',
+                           c.coluna, c.tabela)
+               INTO invalidos USING nomes;
+            IF invalidos IS NOT NULL THEN
+                RAISE EXCEPTION '%.% tem valores sem código: %', c.tabela, c.coluna, invalidos
+                    USING HINT = format('Valores aceitos: %s. Corrija as linhas e reinicie.', c.codigos);
+            END IF;
+            -- USING não aceita subconsulta: monta um CASE com os pares nome:código. O ELSE mantém
+            -- o texto, que não cabe em char(1) e faz o ALTER falhar se algo escapar da conferência
+            expr := format('CASE upper(trim(%I))', c.coluna);
+            FOREACH par IN ARRAY string_to_array(c.codigos, ',') LOOP
+                expr := expr || format(' WHEN %L THEN %L', split_part(par, ':', 1), split_part(par, ':', 2));
+            END LOOP;
+            expr := expr || format(' ELSE %I END', c.coluna);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE char(1) USING %s',
+                           c.tabela, c.coluna, expr);
+        END IF;
+    END LOOP;
+END $$
+@@
+
+-- transacao particionada por mês de data_hora (faixas [início do mês, início do próximo) em UTC).
+-- A tabela comum criada pelo ddl-auto é trocada uma única vez por uma particionada com as mesmas
+-- colunas; as partições dos meses com dados já nascem aqui e ManutencaoParticoesTransacao cuida
+-- das futuras e do arquivamento das antigas. A chave primária passa a incluir data_hora (exigência
+-- do PostgreSQL); o id continua único porque vem de uma sequência só.
+DO $$
+DECLARE
+    inicio date;
+    mes date;
+    seq_max bigint;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class
+               WHERE relname = 'transacao' AND relkind = 'r'
+                 AND relnamespace = current_schema()::regnamespace) THEN
+        ALTER TABLE transacao RENAME TO transacao_legado;
+        ALTER TABLE transacao_legado ALTER COLUMN data_hora SET NOT NULL;
+
+        -- identity não é herdada pelas partições em todas as versões: sequência comum
+        -- (transacao_id_seq é a da identity antiga e some junto com a tabela legada)
+        CREATE SEQUENCE IF NOT EXISTS transacao_id_global_seq;
+        SELECT coalesce(max(id), 0) INTO seq_max FROM transacao_legado;
+        PERFORM setval('transacao_id_global_seq', seq_max + 1, false);
+
+        CREATE TABLE transacao (LIKE transacao_legado INCLUDING DEFAULTS)
+            PARTITION BY RANGE (data_hora);
+        ALTER TABLE transacao ALTER COLUMN id SET DEFAULT nextval('transacao_id_global_seq');
+        ALTER SEQUENCE transacao_id_global_seq OWNED BY transacao.id;
+        -- transacao_pkey continua sendo o nome da PK da tabela legada
+        ALTER TABLE transacao ADD CONSTRAINT pk_transacao PRIMARY KEY (id, data_hora);
+        -- LIKE não copia chaves estrangeiras. O ddl-auto só reconhece uma FK existente se as
+        -- colunas e a tabela referenciada forem as do mapeamento (ContaCorrenteEntity); com
+        -- outra tabela ele cria uma segunda na próxima subida
+        ALTER TABLE transacao ADD CONSTRAINT fk_transacao_conta_origem
+            FOREIGN KEY (conta_origem_id) REFERENCES conta_corrente_entity (id);
+        ALTER TABLE transacao ADD CONSTRAINT fk_transacao_conta_destino
+            FOREIGN KEY (conta_destino_id) REFERENCES conta_corrente_entity (id);
+
+        -- meses que já têm dados até o próximo, mais uma partição padrão para o que escapar
+        SELECT date_trunc('month', coalesce(min(data_hora), now()) AT TIME ZONE 'UTC')::date
+          INTO inicio FROM transacao_legado;
+        mes := inicio;
+        WHILE mes <= (date_trunc('month', now() AT TIME ZONE 'UTC') + interval '1 month')::date LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF transacao FOR VALUES FROM (%L) TO (%L)',
+                           'transacao_p' || to_char(mes, 'YYYYMM'),
+                           mes::text || ' 00:00:00+00',
+                           (mes + interval '1 month')::date::text || ' 00:00:00+00');
+            mes := (mes + interval '1 month')::date;
+        END LOOP;
+        CREATE TABLE transacao_padrao PARTITION OF transacao DEFAULT;
+
+        INSERT INTO transacao SELECT * FROM transacao_legado;
+        DROP TABLE transacao_legado;
+    END IF;
+END $$
+@@
+
+-- Bancos particionados com as FKs apontando para conta: o ddl-auto já criou as do mapeamento
+-- ao lado delas, então as antigas só sobram duplicadas
+DO $$
+DECLARE
+    f RECORD;
+BEGIN
+    FOR f IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = to_regclass('transacao') AND contype = 'f'
+          AND confrelid = to_regclass('conta')
+    LOOP
+        EXECUTE format('ALTER TABLE transacao DROP CONSTRAINT %I', f.conname);
+    END LOOP;
+END $$
+@@
+
+-- Extrato: com data_hora no índice, a consulta por período lê só as partições do intervalo
+CREATE INDEX IF NOT EXISTS ix_transacao_origem_data
+    ON transacao (conta_origem_id, data_hora)
+@@
+
+CREATE INDEX IF NOT EXISTS ix_transacao_destino_data
+    ON transacao (conta_destino_id, data_hora)
+@@
+
+-- Chaves naturais usadas pela importação de carteira (ImportacaoCarteira) para fundir o staging
+CREATE INDEX IF NOT EXISTS ix_cliente_cpf
+    ON cliente (cpf)
+@@
+
+CREATE INDEX IF NOT EXISTS ix_conta_agencia_numero
+    ON conta (agencia, numero_conta)
+@@
+
+CREATE INDEX IF NOT EXISTS ix_titular_conta_cliente_conta
+    ON titular_conta (cliente_id, conta_id)
+@@
+
+-- Índices parciais só com as linhas "quentes": pequenos e com varredura só no índice.
+-- Fila de empréstimos a analisar
+CREATE INDEX IF NOT EXISTS ix_emprestimo_pendente
+    ON emprestimo (data_solicitacao, id) WHERE status_emprestimo = 'P'
+@@
+
+-- Cartões ativos por conta
+CREATE INDEX IF NOT EXISTS ix_cartao_ativo_conta
+    ON cartao (conta_id) WHERE status_cartao = 'A'
+@@
+
+-- Lançamentos que ficaram PENDENTE (queda no meio do registrar)
+CREATE INDEX IF NOT EXISTS ix_transacao_pendente
+    ON transacao (data_hora) WHERE status_transacao = 'P'
+@@
+
+-- Agendamentos a reservar (ExecutorAgendamentos): só AGENDADO e RESERVADO, por vencimento
+CREATE INDEX IF NOT EXISTS ix_agendamento_pendente
+    ON agendamento_transferencia (data_execucao) WHERE status_agendamento IN ('A', 'R')
+@@
+
+-- Agendamentos por conta (GET /api/agendamentos?contaId=)
+CREATE INDEX IF NOT EXISTS ix_agendamento_origem
+    ON agendamento_transferencia (conta_origem_id)
+@@
+
+CREATE INDEX IF NOT EXISTS ix_agendamento_destino
+    ON agendamento_transferencia (conta_destino_id)
+@@
+
+-- Lançamentos que vieram de agendamento: ficam fora das janelas refeitas por LimitesVelocidade
+CREATE INDEX IF NOT EXISTS ix_agendamento_transacao
+    ON agendamento_transferencia (transacao_id) WHERE transacao_id IS NOT NULL
+@@
+
+-- Próximo lote de créditos da folha (ProcessadorFolhaPagamento), já em ordem de conta
+CREATE INDEX IF NOT EXISTS ix_linha_folha_pendente
+    ON linha_folha_pagamento (folha_id, conta_destino_id) WHERE status_linha = 'P'
+@@
+
+-- Linhas de uma folha (GET /api/folhas/{id}/linhas)
+CREATE INDEX IF NOT EXISTS ix_linha_folha_folha
+    ON linha_folha_pagamento (folha_id, linha)
+@@
+
+-- Créditos de folha, também fora das janelas de LimitesVelocidade
+CREATE INDEX IF NOT EXISTS ix_linha_folha_transacao
+    ON linha_folha_pagamento (transacao_id) WHERE transacao_id IS NOT NULL
+@@
+
+-- Transferências externas à espera da próxima janela de liquidação
+CREATE INDEX IF NOT EXISTS ix_pagamento_externo_pendente
+    ON pagamento_externo (id) WHERE status_pagamento = 'P'
+@@
+
+-- Créditos de uma liquidação (mensagem para a câmara) e transferências por conta
+CREATE INDEX IF NOT EXISTS ix_pagamento_externo_liquidacao
+    ON pagamento_externo (liquidacao_id)
+@@
+
+CREATE INDEX IF NOT EXISTS ix_pagamento_externo_origem
+    ON pagamento_externo (conta_origem_id)
+@@
+
+-- Liquidações ainda não entregues à câmara
+CREATE INDEX IF NOT EXISTS ix_liquidacao_gerada
+    ON liquidacao_interbancaria (id) WHERE status_liquidacao = 'G'
+@@
+
+-- Sincronização incremental do índice de chaves (DiretorioChaves) e chaves por conta
+CREATE INDEX IF NOT EXISTS ix_chave_pagamento_atualizada
+    ON chave_pagamento (atualizada_em)
+@@
+
+CREATE INDEX IF NOT EXISTS ix_chave_pagamento_conta
+    ON chave_pagamento (conta_id) WHERE ativa
+@@
@@ -0,0 +1,148 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.repository.AgendamentoTransferenciaRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * TI-15: Transferências Agendadas via API
+ * Objetivo: Verificar agendamento, consulta e cancelamento; a execução é coberta em TU-27.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - API de Agendamentos")
+public class AgendamentoIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AgendamentoTransferenciaRepository agendamentoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    private ContaCorrenteEntity origem;
+    private ContaCorrenteEntity destino;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        origem = conta("AGE-1");
+        destino = conta("AGE-2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendamentoRepository.deleteAll();
+        contaRepository.deleteAll(List.of(origem, destino));
+    }
+
+    @Test
+    @DisplayName("TI-15-CT-01: POST, GET e DELETE /api/agendamentos - Deve agendar, listar por conta e cancelar uma vez")
+    void deveAgendarConsultarECancelar() {
+        Instant quando = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(corpo(quando))
+        .when()
+                .post("/api/agendamentos")
+        .then()
+                .statusCode(200)
+                .body("statusAgendamento", equalTo("AGENDADO"))
+                .body("valor", equalTo(250.00f))
+                .body("contaOrigem.id", equalTo(origem.getId().intValue()))
+                .body("reserva", nullValue())
+                .extract().path("id");
+
+        given()
+                .queryParam("contaId", destino.getId())
+        .when()
+                .get("/api/agendamentos")
+        .then()
+                .statusCode(200)
+                .body("id", contains(id));
+
+        given()
+        .when()
+                .delete("/api/agendamentos/" + id)
+        .then()
+                .statusCode(200)
+                .body("statusAgendamento", equalTo("CANCELADO"));
+
+        // já cancelado: não há o que cancelar
+        given()
+        .when()
+                .delete("/api/agendamentos/" + id)
+        .then()
+                .statusCode(400);
+
+        given()
+        .when()
+                .get("/api/agendamentos/" + id)
+        .then()
+                .statusCode(200)
+                .body("statusAgendamento", equalTo("CANCELADO"));
+    }
+
+    @Test
+    @DisplayName("TI-15-CT-02: POST /api/agendamentos - Deve recusar data passada e agendamento inexistente")
+    void deveRecusarDataPassada() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(corpo(Instant.now().minus(1, ChronoUnit.HOURS)))
+        .when()
+                .post("/api/agendamentos")
+        .then()
+                .statusCode(400);
+
+        given()
+        .when()
+                .get("/api/agendamentos/999999")
+        .then()
+                .statusCode(404);
+    }
+
+    private String corpo(Instant quando) {
+        return String.format("""
+                {
+                    "contaOrigemId": %d,
+                    "contaDestinoId": %d,
+                    "valor": 250.00,
+                    "descricao": "Aluguel",
+                    "dataExecucao": "%s"
+                }
+                """, origem.getId(), destino.getId(), quando);
+    }
+
+    private ContaCorrenteEntity conta(String numero) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta(numero);
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de("1000.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
+        return (ContaCorrenteEntity) contaRepository.save(conta);
+    }
+}
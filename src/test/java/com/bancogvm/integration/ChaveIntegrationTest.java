@@ -0,0 +1,198 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.repository.ChaveRepository;
+import com.bancogvm.repository.ClienteRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TitularContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.DiretorioChaves;
+import com.bancogvm.service.model.ChaveEntity;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.TipoTitularidade;
+import com.bancogvm.service.model.TitularContaEntity;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * TI-17: Chaves de Pagamento via API
+ * Objetivo: Verificar registro, resolução e remoção de chaves e a transferência por chave.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - API de Chaves de Pagamento")
+public class ChaveIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChaveRepository chaveRepository;
+
+    @Autowired
+    private DiretorioChaves diretorio;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private TitularContaRepository titularRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private ClienteEntity cliente;
+    private ContaCorrenteEntity origem;
+    private ContaCorrenteEntity destino;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        cliente = clienteRepository.save(ClienteEntity.builder()
+                .nome("Carla Dias")
+                .cpf("52998224725")
+                .email("carla@email.com")
+                .loginUsuario("carla.chave")
+                .dataCadastro(Instant.now())
+                .build());
+        origem = conta("CHVI-1");
+        destino = conta("CHVI-2");
+        titularRepository.save(TitularContaEntity.builder()
+                .cliente(cliente)
+                .conta(destino)
+                .tipoTitularidade(TipoTitularidade.PRINCIPAL)
+                .dataAssociacao(Instant.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (ChaveEntity c : chaveRepository.findAll()) {
+            c.setAtiva(false);
+            diretorio.atualizar(c);
+        }
+        chaveRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        titularRepository.deleteAll(titularRepository.findByContaId(destino.getId()));
+        contaRepository.delete(origem);
+        contaRepository.delete(destino);
+        clienteRepository.delete(cliente);
+    }
+
+    @Test
+    @DisplayName("TI-17-CT-01: Deve registrar, resolver, transferir por chave e remover")
+    void deveRegistrarResolverETransferir() {
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"tipoChave\": \"email\", \"contaId\": %d, \"clienteId\": %d}",
+                        destino.getId(), cliente.getId()))
+        .when()
+                .post("/api/chaves")
+        .then()
+                .statusCode(200)
+                .body("chave", equalTo("carla@email.com"))
+                .body("tipoChave", equalTo("EMAIL"))
+                .body("contaId", equalTo(destino.getId().intValue()))
+                .extract().path("id");
+
+        given()
+                .queryParam("chave", "Carla@Email.com")
+        .when()
+                .get("/api/chaves/resolver")
+        .then()
+                .statusCode(200)
+                .body("contaId", equalTo(destino.getId().intValue()))
+                .body("tipoChave", equalTo("EMAIL"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"contaOrigemId\": %d, \"chave\": \"carla@email.com\", \"valor\": 300.00}",
+                        origem.getId()))
+        .when()
+                .post("/api/transferencias-chave")
+        .then()
+                .statusCode(200)
+                .body("statusTransacao", equalTo("CONCLUIDA"))
+                .body("tipoTransacao", equalTo("TRANSFERENCIA"));
+
+        given()
+        .when()
+                .get("/api/contas/" + destino.getId())
+        .then()
+                .statusCode(200)
+                .body("saldo", equalTo(1300.00f));
+
+        given()
+        .when()
+                .delete("/api/chaves/" + id)
+        .then()
+                .statusCode(200)
+                .body("ativa", equalTo(false));
+
+        given()
+                .queryParam("chave", "carla@email.com")
+        .when()
+                .get("/api/chaves/resolver")
+        .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("TI-17-CT-02: Deve recusar chave malformada, tipo inválido com 400 e chave sem conta com 404")
+    void deveRecusarRequisicoesInvalidas() {
+        given()
+                .queryParam("chave", "abc")
+        .when()
+                .get("/api/chaves/resolver")
+        .then()
+                .statusCode(400);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"tipoChave\": \"boleto\", \"contaId\": %d, \"clienteId\": %d}",
+                        destino.getId(), cliente.getId()))
+        .when()
+                .post("/api/chaves")
+        .then()
+                .statusCode(400);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"contaOrigemId\": %d, \"chave\": \"ninguem@email.com\", \"valor\": 10.00}",
+                        origem.getId()))
+        .when()
+                .post("/api/transferencias-chave")
+        .then()
+                .statusCode(404);
+    }
+
+    private ContaCorrenteEntity conta(String numero) {
+        ContaCorrenteEntity nova = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        nova.setNumeroConta(numero);
+        nova.setAgencia("0001");
+        nova.setSaldo(Dinheiro.de("1000.00"));
+        nova.setStatusConta(StatusConta.ATIVA);
+        return (ContaCorrenteEntity) contaRepository.save(nova);
+    }
+}
@@ -1,9 +1,14 @@
 package com.bancogvm.integration;
 
 import com.bancogvm.repository.ClienteRepository;
+import com.bancogvm.service.InvalidacaoCacheSegundoNivel;
+import com.bancogvm.service.VersaoRecursos;
 import com.bancogvm.service.model.ClienteEntity;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,12 +16,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
 import java.time.LocalDate;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 /**
@@ -34,6 +41,18 @@ public class ClienteIntegrationTest {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InvalidacaoCacheSegundoNivel invalidacao;
+
+    @Autowired
+    private VersaoRecursos versoes;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
     @BeforeEach
     void setUp() {
         RestAssured.port = port;
@@ -123,4 +142,66 @@ public class ClienteIntegrationTest {
         .then()
                 .statusCode(anyOf(is(400), is(409), is(500))); // Aceitar vários códigos de erro possíveis
     }
+
+    /**
+     * TI-01: Leitura de Cliente pelo cache de segundo nível
+     * Objetivo: Verificar que consultas repetidas ao mesmo cliente são servidas pela região "cliente".
+     */
+    @Test
+    @DisplayName("TI-01-CT-02: GET /api/clientes/{id} - Deve servir leituras repetidas do cache de segundo nível")
+    void deveServirClienteDoCacheDeSegundoNivel() {
+        ClienteEntity cliente = clienteRepository.save(ClienteEntity.builder()
+                .nome("Ana Cache")
+                .cpf("11122233344")
+                .email("ana@teste.com")
+                .dataNascimento(LocalDate.of(1992, 6, 10))
+                .loginUsuario("ana")
+                .dataCadastro(Instant.now())
+                .build());
+
+        // primeira leitura aquece a região "cliente"; a segunda não pode ir ao banco
+        given().when().get("/api/clientes/" + cliente.getId()).then().statusCode(200);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        given()
+        .when()
+                .get("/api/clientes/" + cliente.getId())
+        .then()
+                .statusCode(200)
+                .body("cpf", equalTo("11122233344"));
+
+        var regiao = statistics.getDomainDataRegionStatistics("cliente");
+        assertThat(regiao.getHitCount()).isEqualTo(1);
+        assertThat(regiao.getMissCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("TI-01-CT-03: GET /api/clientes/{id} - Escrita feita em outro nó deve tirar o cliente do cache deste")
+    void deveInvalidarClienteAlteradoEmOutroNo() {
+        ClienteEntity cliente = clienteRepository.save(ClienteEntity.builder()
+                .nome("Bia Antes")
+                .cpf("55566677788")
+                .email("bia@teste.com")
+                .dataNascimento(LocalDate.of(1990, 3, 1))
+                .loginUsuario("bia")
+                .dataCadastro(Instant.now())
+                .build());
+        invalidacao.verificar();
+        given().when().get("/api/clientes/" + cliente.getId()).then().statusCode(200).body("nome", equalTo("Bia Antes"));
+
+        // "outro nó": grava direto no banco, sem passar pelo cache deste, e incrementa a versão
+        jdbc.update("update cliente set nome = ? where id = ?", "Bia Depois", cliente.getId());
+        versoes.incrementar(VersaoRecursos.CLIENTES);
+
+        invalidacao.verificar();
+
+        given()
+        .when()
+                .get("/api/clientes/" + cliente.getId())
+        .then()
+                .statusCode(200)
+                .body("nome", equalTo("Bia Depois"));
+    }
 }
@@ -0,0 +1,157 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.config.Compartimento;
+import com.bancogvm.config.Compartimentos;
+import com.bancogvm.config.CompartimentosProperties;
+import com.bancogvm.repository.ClienteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * TI-20: Compartimentos (bulkheads) por classe de carga
+ * Objetivo: Verificar que o compartimento de relatórios cheio recusa só os relatórios,
+ * com escritas e leituras pontuais atendidas, que as cargas em massa e o trabalho de fundo
+ * ficam no compartimento de lote e que cada compartimento usa o próprio pool.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Compartimentos")
+public class CompartimentoIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompartimentosProperties props;
+
+    @Autowired
+    private Compartimentos compartimentos;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ClienteRepository clienteRepo;
+
+    private int ocupadas;
+
+    private int ocupadasLote;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        props.setHabilitado(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        props.setHabilitado(false);
+        for (; ocupadas > 0; ocupadas--) {
+            compartimentos.sair(Compartimento.RELATORIO);
+        }
+        for (; ocupadasLote > 0; ocupadasLote--) {
+            compartimentos.sair(Compartimento.LOTE);
+        }
+    }
+
+    @Test
+    @DisplayName("TI-20-CT-01: Deve responder 503 aos relatórios com o compartimento cheio e manter escritas e leituras")
+    void deveIsolarRelatorios() {
+        given().when().get("/api/transacoes").then().statusCode(200);
+
+        // todas as vagas de relatório presas, como numa rajada de exportações
+        while (compartimentos.entrar(Compartimento.RELATORIO)) {
+            ocupadas++;
+        }
+        assertThat(ocupadas).isEqualTo(props.getRelatorio().getVagas());
+
+        given()
+        .when()
+                .get("/api/transacoes")
+        .then()
+                .statusCode(503)
+                .header("Retry-After", equalTo("1"))
+                .body("status", equalTo(503))
+                .body("message", containsString("relatorio"));
+        given().when().get("/api/contas").then().statusCode(503);
+
+        // leitura pontual e escrita seguem
+        given().when().get("/api/transacoes/recentes/1").then().statusCode(not(503));
+        given().contentType(ContentType.JSON).body("{}").when().post("/api/clientes").then().statusCode(not(503));
+
+        assertThat(registry.get("bancogvm.compartimento.rejeitados").tag("compartimento", "relatorio")
+                .counter().count()).isGreaterThanOrEqualTo(2);
+        assertThat(registry.get("bancogvm.compartimento.ocupados").tag("compartimento", "relatorio")
+                .gauge().value()).isEqualTo(ocupadas);
+        assertThat(registry.get("bancogvm.compartimento.rejeitados").tag("compartimento", "escrita")
+                .counter().count()).isZero();
+
+        for (; ocupadas > 0; ocupadas--) {
+            compartimentos.sair(Compartimento.RELATORIO);
+        }
+        given().when().get("/api/transacoes").then().statusCode(200);
+    }
+
+    @Test
+    @DisplayName("TI-20-CT-02: Cada compartimento deve pegar conexões do próprio pool")
+    void deveUsarPoolPorCompartimento() {
+        double relatorio = conexoesPegas("relatorio");
+        double leitura = conexoesPegas("leitura");
+
+        given().when().get("/api/clientes").then().statusCode(200);
+        assertThat(conexoesPegas("relatorio")).isGreaterThan(relatorio);
+        assertThat(conexoesPegas("leitura")).isEqualTo(leitura);
+
+        given().when().get("/api/clientes/999999").then().statusCode(404);
+        assertThat(conexoesPegas("leitura")).isGreaterThan(leitura);
+    }
+
+    @Test
+    @DisplayName("TI-20-CT-03: Folha e importação devem ocupar o lote, sem tirar vaga nem conexão dos lançamentos")
+    void deveSepararLote() {
+        while (compartimentos.entrar(Compartimento.LOTE)) {
+            ocupadasLote++;
+        }
+        assertThat(ocupadasLote).isEqualTo(props.getLote().getVagas());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{}")
+        .when()
+                .post("/api/folhas")
+        .then()
+                .statusCode(503)
+                .body("message", containsString("lote"));
+        given().when().post("/api/folhas/1/retomar").then().statusCode(503);
+        given().multiPart("clientes", "clientes.csv", new byte[0]).when().post("/api/importacoes").then().statusCode(503);
+        given().contentType(ContentType.JSON).body("{}").when().post("/api/clientes").then().statusCode(not(503));
+        assertThat(registry.get("bancogvm.compartimento.rejeitados").tag("compartimento", "lote")
+                .counter().count()).isGreaterThanOrEqualTo(3);
+
+        // fora de requisição (como nos agendadores) a conexão sai do pool de lote
+        double lote = conexoesPegas("lote");
+        double escrita = conexoesPegas("escrita");
+        clienteRepo.count();
+        assertThat(conexoesPegas("lote")).isGreaterThan(lote);
+        assertThat(conexoesPegas("escrita")).isEqualTo(escrita);
+    }
+
+    private double conexoesPegas(String compartimento) {
+        return registry.get("hikaricp.connections.acquire").tag("pool", "bancogvm-" + compartimento)
+                .timer().count();
+    }
+}
@@ -0,0 +1,214 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.config.ConcorrenciaProperties;
+import com.bancogvm.config.LimiteAdaptativo;
+import com.bancogvm.config.LimiteConcorrenciaFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * TI-19: Limite Adaptativo de Escritas Simultâneas
+ * Objetivo: Verificar o 503 imediato quando as vagas de escrita acabam, as leituras
+ * passando livres, o lote recusado antes das escritas unitárias e o ajuste AIMD do limite.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Limite de concorrência")
+public class ConcorrenciaIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ConcorrenciaProperties props;
+
+    @Autowired
+    private LimiteAdaptativo limite;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final Deque<LimiteAdaptativo.Vaga> ocupadas = new ArrayDeque<>();
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        props.setHabilitado(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        props.setHabilitado(false);
+        liberarTodas();
+    }
+
+    @Test
+    @DisplayName("TI-19-CT-01: Deve responder 503 às escritas sem vaga, recusar lote antes e manter as leituras")
+    void deveRecusarEscritasSemVaga() {
+        // metade do limite ocupada: lote já não entra, escrita unitária ainda passa do filtro
+        int metade = (int) (limite.getLimite() * props.getFracaoLote());
+        ocupar(metade);
+        given()
+                .contentType(ContentType.JSON)
+                .body("{}")
+        .when()
+                .post("/api/folhas")
+        .then()
+                .statusCode(503)
+                .header("Retry-After", equalTo("1"))
+                .body("status", equalTo(503))
+                .body("error", equalTo("Service Unavailable"));
+        given().contentType(ContentType.JSON).body("{}").when().post("/api/clientes")
+                .then().statusCode(not(503));
+
+        // a vaga da escrita acima é devolvida depois que a resposta já saiu
+        aguardarEmAndamento(ocupadas.size());
+
+        // todas ocupadas: escrita recusada, leitura atende
+        for (LimiteAdaptativo.Vaga vaga = limite.adquirir(1.0); vaga != null; vaga = limite.adquirir(1.0)) {
+            ocupadas.push(vaga);
+        }
+        given().contentType(ContentType.JSON).body("{}").when().post("/api/clientes")
+                .then().statusCode(503);
+        given().when().get("/api/clientes").then().statusCode(200);
+
+        assertThat(registry.get("bancogvm.concorrencia.rejeitadas").tag("classe", "lote").counter().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("bancogvm.concorrencia.rejeitadas").tag("classe", "escrita").counter().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("bancogvm.concorrencia.em.andamento").gauge().value())
+                .isEqualTo(ocupadas.size());
+
+        liberarTodas();
+        given().contentType(ContentType.JSON).body("{}").when().post("/api/clientes")
+                .then().statusCode(not(503));
+    }
+
+    @Test
+    @DisplayName("TI-19-CT-02: Deve reduzir o limite com respostas lentas ou falhas e voltar a subir com rápidas")
+    void deveAjustarLimitePeloTempoDeResposta() {
+        ConcorrenciaProperties config = new ConcorrenciaProperties();
+        config.setLimiteInicial(10);
+        config.setMinimo(2);
+        config.setMaximo(12);
+        config.setJanelaBase(Duration.ofHours(1));
+        AtomicLong relogio = new AtomicLong(1_000_000_000L);
+        LimiteAdaptativo aimd = new LimiteAdaptativo(config, relogio::get);
+
+        // base de 10 ms com o limite em uso: sobe
+        for (int i = 0; i < 20; i++) {
+            responder(aimd, relogio, 10, false, 8);
+        }
+        assertThat(aimd.getLimite()).isGreaterThan(10).isLessThanOrEqualTo(12);
+
+        // 50 ms é mais que o dobro da base: cai, mas uma vez por tempo de resposta
+        double antes = aimd.getLimite();
+        LimiteAdaptativo.Vaga[] vagas = {aimd.adquirir(1.0), aimd.adquirir(1.0), aimd.adquirir(1.0)};
+        relogio.addAndGet(50_000_000L);
+        for (LimiteAdaptativo.Vaga vaga : vagas) {
+            aimd.liberar(vaga, true, false);
+        }
+        assertThat(aimd.getLimite()).isCloseTo(antes * 0.9, within(1e-9));
+
+        // falha reduz mesmo rápida; nunca abaixo do mínimo
+        for (int i = 0; i < 100; i++) {
+            responder(aimd, relogio, 10, true, 1);
+        }
+        assertThat(aimd.getLimite()).isEqualTo(2.0);
+        assertThat(aimd.getEmAndamento()).isZero();
+
+        // rápidas de novo com o limite em uso: volta a subir
+        for (int i = 0; i < 5; i++) {
+            responder(aimd, relogio, 10, false, 1);
+        }
+        assertThat(aimd.getLimite()).isGreaterThan(2.0);
+    }
+
+    @Test
+    @DisplayName("TI-19-CT-03: Relógio negativo não deve ser confundido com falta de vaga nem vazar vagas")
+    void deveAceitarRelogioNegativo() throws Exception {
+        ConcorrenciaProperties config = new ConcorrenciaProperties();
+        config.setLimiteInicial(4);
+        config.setMinimo(2);
+        config.setMaximo(8);
+        // System.nanoTime() tem origem arbitrária: pode ser negativo, inclusive perto de Long.MIN_VALUE
+        AtomicLong relogio = new AtomicLong(Long.MIN_VALUE + 1_000);
+        LimiteAdaptativo aimd = new LimiteAdaptativo(config, relogio::get);
+
+        for (int i = 0; i < 50; i++) {
+            responder(aimd, relogio, 10, false, 1);
+        }
+        assertThat(relogio.get()).isNegative();
+        assertThat(aimd.getEmAndamento()).isZero();
+        assertThat(aimd.getLimite()).isGreaterThan(4);
+
+        // pelo filtro: a vaga de entrada negativa atende e é devolvida
+        LimiteConcorrenciaFilter filtro = new LimiteConcorrenciaFilter(aimd, props, new ObjectMapper(), new SimpleMeterRegistry());
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("POST", "/api/clientes"), resposta, new MockFilterChain());
+        assertThat(resposta.getStatus()).isEqualTo(200);
+        assertThat(aimd.getEmAndamento()).isZero();
+    }
+
+    private static void responder(LimiteAdaptativo aimd, AtomicLong relogio, long ms, boolean falhou, int ocupadas) {
+        LimiteAdaptativo.Vaga[] outras = new LimiteAdaptativo.Vaga[ocupadas];
+        for (int i = 0; i < ocupadas; i++) {
+            outras[i] = aimd.adquirir(1.0);
+        }
+        LimiteAdaptativo.Vaga vaga = aimd.adquirir(1.0);
+        relogio.addAndGet(ms * 1_000_000L);
+        aimd.liberar(vaga, true, falhou);
+        for (LimiteAdaptativo.Vaga outra : outras) {
+            if (outra != null) {
+                aimd.liberar(outra, false, false);
+            }
+        }
+    }
+
+    private void aguardarEmAndamento(int esperado) {
+        long limiteEspera = System.nanoTime() + 5_000_000_000L;
+        while (limite.getEmAndamento() != esperado && System.nanoTime() < limiteEspera) {
+            Thread.onSpinWait();
+        }
+        assertThat(limite.getEmAndamento()).isEqualTo(esperado);
+    }
+
+    private void ocupar(int vagas) {
+        for (int i = 0; i < vagas; i++) {
+            LimiteAdaptativo.Vaga vaga = limite.adquirir(1.0);
+            assertThat(vaga).isNotNull();
+            ocupadas.push(vaga);
+        }
+    }
+
+    private void liberarTodas() {
+        while (!ocupadas.isEmpty()) {
+            limite.liberar(ocupadas.pop(), false, false);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.config.MedicaoSqlFilter;
+import com.bancogvm.repository.CartaoRepository;
+import com.bancogvm.repository.ClienteRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.EmprestimoRepository;
+import com.bancogvm.repository.TitularContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.CartaoDebitoEntity;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.EmprestimoEntity;
+import com.bancogvm.service.model.StatusCartao;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusEmprestimo;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTitularidade;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TitularContaEntity;
+import com.bancogvm.service.model.TransacaoEntity;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * TI-11: Contagem de comandos SQL por endpoint de leitura
+ * Garante que as associações LAZY + grafos de entidade não reintroduzem N+1:
+ * a quantidade de SELECTs (cabeçalho X-Sql-Comandos) não pode crescer com o
+ * número de linhas retornadas.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Contagem de SQL por endpoint")
+public class ConsultaSqlIntegrationTest {
+
+    private static final int QTD_CONTAS = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private EmprestimoRepository emprestimoRepository;
+
+    @Autowired
+    private CartaoRepository cartaoRepository;
+
+    @Autowired
+    private TitularContaRepository titularContaRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private Long contaExtratoId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        limpar();
+
+        List<ClienteEntity> clientes = new ArrayList<>();
+        List<ContaCorrenteEntity> contas = new ArrayList<>();
+        for (int i = 0; i < QTD_CONTAS; i++) {
+            ClienteEntity cliente = clienteRepository.save(ClienteEntity.builder()
+                    .nome("Cliente " + i)
+                    .cpf(String.format("%011d", i + 1))
+                    .email("cliente" + i + "@email.com")
+                    .dataNascimento(LocalDate.of(1990, 1, 1))
+                    .loginUsuario("cliente" + i)
+                    .dataCadastro(Instant.now())
+                    .build());
+            clientes.add(cliente);
+
+            ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                    .limiteChequeEspecial(Dinheiro.ZERO)
+                    .build();
+            conta.setNumeroConta("1000" + i);
+            conta.setAgencia("0001");
+            conta.setSaldo(Dinheiro.de("1000"));
+            conta.setStatusConta(StatusConta.ATIVA);
+            conta = (ContaCorrenteEntity) contaRepository.save(conta);
+            contas.add(conta);
+
+            titularContaRepository.save(TitularContaEntity.builder()
+                    .cliente(cliente)
+                    .conta(conta)
+                    .tipoTitularidade(TipoTitularidade.PRINCIPAL)
+                    .dataAssociacao(Instant.now())
+                    .build());
+
+            CartaoDebitoEntity cartao = CartaoDebitoEntity.builder()
+                    .limiteSaque(Dinheiro.de("500"))
+                    .limiteTransferencia(Dinheiro.de("500"))
+                    .build();
+            cartao.setNumeroCartao("400000000000000" + i);
+            cartao.setNomeTitular(cliente.getNome());
+            cartao.setStatusCartao(StatusCartao.ATIVO);
+            cartao.setConta(conta);
+            cartaoRepository.save(cartao);
+
+            emprestimoRepository.save(EmprestimoEntity.builder()
+                    .valorSolicitado(Dinheiro.de("1000"))
+                    .statusEmprestimo(StatusEmprestimo.PENDENTE)
+                    .dataSolicitacao(Instant.now())
+                    .cliente(cliente)
+                    .contaCredito(conta)
+                    .build());
+        }
+
+        // transferências em anel: cada conta aparece como origem e como destino
+        for (int i = 0; i < QTD_CONTAS; i++) {
+            transacaoRepository.save(TransacaoEntity.builder()
+                    .valor(Dinheiro.de(10))
+                    .dataHora(Instant.now())
+                    .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                    .statusTransacao(StatusTransacao.CONCLUIDA)
+                    .contaOrigem(contas.get(i))
+                    .contaDestino(contas.get((i + 1) % QTD_CONTAS))
+                    .build());
+        }
+        contaExtratoId = contas.get(0).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+    }
+
+    private void limpar() {
+        emprestimoRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        cartaoRepository.deleteAll();
+        titularContaRepository.deleteAll();
+        contaRepository.deleteAll();
+        clienteRepository.deleteAll();
+    }
+
+    // quantidade de comandos SQL que a requisição executou, informada pelo MedicaoSqlFilter
+    private int comandosExecutados(String caminho, int esperados) {
+        String header = given().when().get(caminho)
+                .then().statusCode(200).body("$", hasSize(esperados))
+                .extract().header(MedicaoSqlFilter.HEADER_COMANDOS);
+        return Integer.parseInt(header);
+    }
+
+    @Test
+    @DisplayName("TI-11-CT-01: GET /api/transacoes - Deve carregar transações e contas em um único SELECT")
+    void listagemDeTransacoesSemNMaisUm() {
+        int comandos = comandosExecutados("/api/transacoes", QTD_CONTAS);
+
+        assertThat(comandos).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TI-11-CT-02: GET /api/transacoes/extrato/{contaId} - Deve usar um SELECT por sentido")
+    void extratoSemNMaisUm() {
+        int comandos = comandosExecutados("/api/transacoes/extrato/" + contaExtratoId, 2);
+
+        assertThat(comandos).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("TI-11-CT-03: GET /api/emprestimos - Deve carregar cliente e conta sem N+1")
+    void listagemDeEmprestimosSemNMaisUm() {
+        int comandos = comandosExecutados("/api/emprestimos", QTD_CONTAS);
+
+        // 1 SELECT com cliente/conta + 1 lote de beneficiarios + 1 lote de titularidades
+        assertThat(comandos).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("TI-11-CT-04: GET /api/titulares - Deve listar vínculos sem carregar cliente e conta")
+    void listagemDeTitularesSemNMaisUm() {
+        int comandos = comandosExecutados("/api/titulares", QTD_CONTAS);
+
+        assertThat(comandos).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TI-11-CT-05: GET /api/cartoes - Deve carregar cartões e contas em um único SELECT")
+    void listagemDeCartoesSemNMaisUm() {
+        int comandos = comandosExecutados("/api/cartoes", QTD_CONTAS);
+
+        assertThat(comandos).isEqualTo(1);
+    }
+}
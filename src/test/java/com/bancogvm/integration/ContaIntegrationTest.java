@@ -3,6 +3,7 @@ package com.bancogvm.integration;
 import com.bancogvm.repository.ClienteRepository;
 import com.bancogvm.repository.ContaRepository;
 import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.VersaoRecursos;
 import com.bancogvm.service.model.ClienteEntity;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
@@ -42,6 +44,9 @@ public class ContaIntegrationTest {
     @Autowired
     private TransacaoRepository transacaoRepository;
 
+    @Autowired
+    private JdbcTemplate jdbc;
+
     private Long clienteId;
 
     @BeforeEach
@@ -106,6 +111,106 @@ public class ContaIntegrationTest {
                 .body("dataAbertura", notNullValue());
     }
 
+    /**
+     * TI-03: GET condicional da listagem de contas
+     * Objetivo: Verificar que If-None-Match devolve 304 enquanto nada muda e que
+     * uma escrita invalida o ETag.
+     */
+    @Test
+    @DisplayName("TI-03-CT-02: GET /api/contas - Deve responder 304 com ETag válido e 200 após alteração")
+    void deveResponderNaoModificadoComEtag() {
+        String etag = given()
+        .when()
+                .get("/api/contas")
+        .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .extract()
+                .header("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+        .when()
+                .get("/api/contas")
+        .then()
+                .statusCode(304);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "numeroConta": "55555-5",
+                            "agencia": "0001",
+                            "saldo": 0.00,
+                            "statusConta": "ATIVA",
+                            "limiteChequeEspecial": 0.00
+                        }
+                        """)
+        .when()
+                .post("/api/contas/corrente")
+        .then()
+                .statusCode(anyOf(is(200), is(201)));
+
+        given()
+                .header("If-None-Match", etag)
+        .when()
+                .get("/api/contas")
+        .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(etag)))
+                .body("numeroConta", hasItem("55555-5"));
+    }
+
+    @Test
+    @DisplayName("TI-03-CT-03: GET /api/contas - ETag deve mudar com saldo alterado e com escrita feita por outro nó")
+    void etagDeveValerEntreNos() {
+        Long id = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "numeroConta": "55555-6",
+                            "agencia": "0001",
+                            "saldo": 0.00,
+                            "statusConta": "ATIVA",
+                            "limiteChequeEspecial": 0.00
+                        }
+                        """)
+        .when()
+                .post("/api/contas/corrente")
+        .then()
+                .extract().jsonPath().getLong("id");
+        String etag = given().when().get("/api/contas").then().statusCode(200).extract().header("ETag");
+
+        // só o UPDATE do saldo, que o Hibernate manda no flush do commit
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("""
+                        {"tipoTransacao": "DEPOSITO", "valor": 10.00, "contaDestinoId": %d}
+                        """, id))
+        .when()
+                .post("/api/transacoes")
+        .then()
+                .statusCode(200)
+                .body("statusTransacao", equalTo("CONCLUIDA"));
+        String depoisDoDeposito = given()
+                .header("If-None-Match", etag)
+        .when()
+                .get("/api/contas")
+        .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        // outro nó escreveu: este não tem nada em memória, só a versão no banco
+        jdbc.update("update versao_recurso set versao = versao + 1 where recurso = ? and fatia = 3", VersaoRecursos.CONTAS);
+        given()
+                .header("If-None-Match", depoisDoDeposito)
+        .when()
+                .get("/api/contas")
+        .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(depoisDoDeposito)));
+    }
+
     /**
      * TI-04: Processamento de Transação de Depósito via API
      * Objetivo: Verificar o fluxo completo de depósito, incluindo atualização de saldo.
@@ -0,0 +1,155 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.config.CotasProperties;
+import com.bancogvm.config.LimitadorRequisicoes;
+import com.bancogvm.config.RegraCota;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * TI-18: Cotas de Requisições por Cliente
+ * Objetivo: Verificar o 429 com Retry-After ao esgotar a cota, a cota separada das
+ * integrações com chave conhecida e a troca das regras em tempo de execução.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.endpoints.web.exposure.include=health,cotas")
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Cotas de requisições")
+public class CotaIntegrationTest {
+
+    private static final String CHAVE = "integracao-teste";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CotasProperties props;
+
+    @Autowired
+    private LimitadorRequisicoes limitador;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        props.setHabilitado(true);
+        props.setChavesConhecidas(List.of(CHAVE));
+        // rajada de 3 e uma ficha a cada 100 s: a quarta seguida não passa
+        limitador.recarregar(new LimitadorRequisicoes.Cotas(new RegraCota(null, null, 1000, 1000),
+                List.of(new RegraCota("GET", "/api/contas", 3, 0.01))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        props.setHabilitado(false);
+        props.setChavesConhecidas(List.of());
+        limitador.recarregar(new LimitadorRequisicoes.Cotas(props.getPadrao(), props.getRotas()));
+    }
+
+    @Test
+    @DisplayName("TI-18-CT-01: Deve responder 429 com Retry-After ao esgotar a cota, com cota própria para chave conhecida")
+    void deveLimitarPorCliente() {
+        for (int i = 0; i < 3; i++) {
+            given().when().get("/api/contas").then().statusCode(200);
+        }
+        given()
+        .when()
+                .get("/api/contas")
+        .then()
+                .statusCode(429)
+                .header("Retry-After", notNullValue())
+                .body("status", equalTo(429))
+                .body("error", equalTo("Too Many Requests"));
+        int retryAfter = Integer.parseInt(given().when().get("/api/contas").then().extract().header("Retry-After"));
+        assertThat(retryAfter).isBetween(1, 100);
+
+        // outra rota usa a cota padrão; chave desconhecida conta pelo IP
+        given().when().get("/api/clientes").then().statusCode(200);
+        given().header("X-Api-Key", "qualquer").when().get("/api/contas").then().statusCode(429);
+
+        for (int i = 0; i < 3; i++) {
+            given().header("X-Api-Key", CHAVE).when().get("/api/contas").then().statusCode(200);
+        }
+        given().header("X-Api-Key", CHAVE).when().get("/api/contas").then().statusCode(429);
+
+        assertThat(registry.get("bancogvm.cotas.rejeitadas").tags("rota", "/api/contas", "metodo", "GET")
+                .counter().count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("TI-18-CT-02: POST /actuator/cotas - Deve trocar as regras sem reiniciar, recusar regra inválida e não aceitar troca pela API")
+    void deveRecarregarRegras() {
+        for (int i = 0; i < 3; i++) {
+            given().when().get("/api/contas").then().statusCode(200);
+        }
+        given().when().get("/api/contas").then().statusCode(429);
+
+        // a troca não é rota da API: quem tem cota não aumenta a própria
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"padrao\": {\"capacidade\": 1000, \"porSegundo\": 1000}, \"rotas\": []}")
+        .when()
+                .put("/api/cotas")
+        .then()
+                .statusCode(not(200));
+        given().when().get("/api/contas").then().statusCode(429);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"metodo\": \"GET\", \"padrao\": \"/api/contas\", \"capacidade\": 0, \"porSegundo\": 1}")
+        .when()
+                .post("/actuator/cotas")
+        .then()
+                .statusCode(400);
+
+        // a rota estreita sai e uma mais larga entra no fim
+        given()
+                .queryParam("metodo", "GET")
+                .queryParam("padrao", "/api/contas")
+        .when()
+                .delete("/actuator/cotas")
+        .then()
+                .statusCode(200)
+                .body("rotas", hasSize(0));
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"metodo\": \"GET\", \"padrao\": \"/api/contas/**\", \"capacidade\": 50, \"porSegundo\": 5}")
+        .when()
+                .post("/actuator/cotas")
+        .then()
+                .statusCode(200)
+                .body("rotas", hasSize(1))
+                .body("rotas[0].capacidade", equalTo(50));
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"capacidade\": 1000, \"porSegundo\": 1000}")
+        .when()
+                .post("/actuator/cotas")
+        .then()
+                .statusCode(200)
+                .body("rotas", hasSize(1));
+        given().queryParam("padrao", "/api/inexistente").when().delete("/actuator/cotas").then().statusCode(404);
+
+        given().when().get("/api/contas").then().statusCode(200);
+        given().when().get("/actuator/cotas").then().statusCode(200).body("padrao.porSegundo", equalTo(1000.0f));
+        assertThat(registry.get("bancogvm.cotas.limite").tags("rota", "/api/contas/**").gauge().value()).isEqualTo(5.0);
+    }
+}
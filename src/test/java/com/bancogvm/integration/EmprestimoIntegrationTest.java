@@ -6,6 +6,8 @@ import com.bancogvm.repository.EmprestimoRepository;
 import com.bancogvm.repository.TransacaoRepository;
 import com.bancogvm.service.model.ClienteEntity;
 import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.AfterEach;
@@ -17,7 +19,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 
@@ -77,12 +78,12 @@ public class EmprestimoIntegrationTest {
 
         // Criar conta
         ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.ZERO)
+                .limiteChequeEspecial(Dinheiro.ZERO)
                 .build();
         conta.setNumeroConta("33333-3");
         conta.setAgencia("0001");
-        conta.setSaldo(BigDecimal.ZERO);
-        conta.setStatusConta("ATIVA");
+        conta.setSaldo(Dinheiro.ZERO);
+        conta.setStatusConta(StatusConta.ATIVA);
         conta = (ContaCorrenteEntity) contaRepository.save(conta);
         contaId = conta.getId();
     }
@@ -0,0 +1,186 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.EventosTempoReal;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TI-14: Stream de eventos em tempo real (SSE)
+ * Objetivo: Verificar que GET /api/eventos entrega, depois do commit, só os eventos
+ * das contas filtradas, com o saldo já atualizado.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Eventos em tempo real")
+public class EventosIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private EventosTempoReal eventos;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Long contaA;
+    private Long contaB;
+    private InputStream stream;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        transacaoRepository.deleteAll();
+        contaA = conta("EVT-A");
+        contaB = conta("EVT-B");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (stream != null) {
+            stream.close();
+        }
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAllById(List.of(contaA, contaB));
+    }
+
+    @Test
+    @DisplayName("TI-14-CT-01: GET /api/eventos?contas= - Deve receber transação e saldo só da conta filtrada")
+    void deveReceberEventosDaContaFiltrada() throws Exception {
+        BlockingQueue<String> linhas = assinar("/api/eventos?contas=" + contaA);
+
+        depositar(contaB, "5.00");
+        depositar(contaA, "25.00");
+
+        // mesma fila por assinante: o evento de B, se escapasse do filtro, chegaria antes
+        List<String> tipos = new ArrayList<>();
+        JsonNode saldo = null;
+        while (saldo == null) {
+            String linha = linhas.poll(10, TimeUnit.SECONDS);
+            assertThat(linha).as("evento não chegou; recebidos: %s", tipos).isNotNull();
+            if (linha.startsWith("event:")) {
+                tipos.add(linha.substring(6));
+            } else if (linha.startsWith("data:")) {
+                JsonNode dados = objectMapper.readTree(linha.substring(5));
+                JsonNode conta = dados.has("contaId") ? dados.get("contaId") : dados.get("contaOrigemId");
+                assertThat(conta.asLong()).isEqualTo(contaA);
+                if ("saldo".equals(tipos.get(tipos.size() - 1))) {
+                    saldo = dados;
+                }
+            }
+        }
+
+        assertThat(tipos).containsExactly("transacao", "saldo");
+        assertThat(saldo.get("saldo").decimalValue()).isEqualByComparingTo("125.00");
+    }
+
+    @Test
+    @DisplayName("TI-14-CT-02: GET /api/eventos - Deve liberar o assinante quando o cliente fecha a conexão")
+    void deveRemoverAssinanteDesconectado() throws Exception {
+        int antes = eventos.getAssinantes();
+        assinar("/api/eventos");
+        assertThat(eventos.getAssinantes()).isEqualTo(antes + 1);
+
+        stream.close();
+        stream = null;
+        // o servidor só percebe ao escrever: o heartbeat é quem encontra a conexão morta
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (eventos.getAssinantes() > antes && System.nanoTime() < limite) {
+            eventos.heartbeat();
+            Thread.sleep(100);
+        }
+
+        assertThat(eventos.getAssinantes()).isEqualTo(antes);
+    }
+
+    private BlockingQueue<String> assinar(String caminho) throws Exception {
+        HttpClient cliente = HttpClient.newHttpClient();
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + port + caminho))
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        // devolve ao receber os cabeçalhos: a assinatura já está registrada
+        HttpResponse<InputStream> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        assertThat(resposta.headers().firstValue("Content-Type")).hasValueSatisfying(
+                tipo -> assertThat(tipo).startsWith("text/event-stream"));
+
+        stream = resposta.body();
+        BlockingQueue<String> linhas = new LinkedBlockingQueue<>();
+        Thread leitor = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                String linha;
+                while ((linha = reader.readLine()) != null) {
+                    linhas.add(linha);
+                }
+            } catch (Exception e) {
+                // stream fechado pelo teste
+            }
+        }, "leitor-sse");
+        leitor.setDaemon(true);
+        leitor.start();
+        return linhas;
+    }
+
+    private void depositar(Long contaId, String valor) {
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("""
+                        {"tipoTransacao": "DEPOSITO", "valor": %s, "contaDestinoId": %d}
+                        """, valor, contaId))
+        .when()
+                .post("/api/transacoes")
+        .then()
+                .statusCode(200);
+    }
+
+    private Long conta(String numero) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta(numero);
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de("100.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
+        return contaRepository.save(conta).getId();
+    }
+}
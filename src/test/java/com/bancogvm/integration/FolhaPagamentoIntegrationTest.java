@@ -0,0 +1,154 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.FolhaPagamentoRepository;
+import com.bancogvm.repository.LinhaFolhaPagamentoRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * TI-16: Folha de Pagamento via API
+ * Objetivo: Verificar o pagamento em lote de uma conta para várias e a consulta por linha.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - API de Folha de Pagamento")
+public class FolhaPagamentoIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FolhaPagamentoRepository folhaRepository;
+
+    @Autowired
+    private LinhaFolhaPagamentoRepository linhaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    private ContaCorrenteEntity empresa;
+    private ContaCorrenteEntity funcionario1;
+    private ContaCorrenteEntity funcionario2;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        empresa = conta("FOLI-0", "5000.00");
+        funcionario1 = conta("FOLI-1", "0.00");
+        funcionario2 = conta("FOLI-2", "0.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        linhaRepository.deleteAll();
+        folhaRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll(List.of(empresa, funcionario1, funcionario2));
+    }
+
+    @Test
+    @DisplayName("TI-16-CT-01: POST /api/folhas - Deve pagar as linhas válidas e informar o resultado de cada uma")
+    void devePagarFolhaViaAPI() {
+        String corpo = String.format("""
+                {
+                    "contaOrigemId": %d,
+                    "descricao": "Salário julho",
+                    "linhas": [
+                        {"contaDestinoId": %d, "valor": 1500.00},
+                        {"contaDestinoId": %d, "valor": 2500.00},
+                        {"contaDestinoId": 999999, "valor": 100.00}
+                    ]
+                }
+                """, empresa.getId(), funcionario1.getId(), funcionario2.getId());
+
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(corpo)
+        .when()
+                .post("/api/folhas")
+        .then()
+                .statusCode(200)
+                .body("statusFolha", equalTo("CONCLUIDA"))
+                .body("total", equalTo(4000.00f))
+                .body("creditadas", equalTo(2))
+                .body("rejeitadas", equalTo(1))
+                .body("contaOrigem.saldo", equalTo(1000.00f))
+                .extract().path("id");
+
+        given()
+        .when()
+                .get("/api/folhas/" + id + "/linhas")
+        .then()
+                .statusCode(200)
+                .body("statusLinha", contains("CREDITADA", "CREDITADA", "REJEITADA"))
+                .body("[0].transacaoId", notNullValue())
+                .body("[2].motivo", equalTo("Conta destino não encontrada"));
+
+        given()
+        .when()
+                .get("/api/contas/" + funcionario2.getId())
+        .then()
+                .statusCode(200)
+                .body("saldo", equalTo(2500.00f));
+
+        // retomar folha concluída não muda nada
+        given()
+        .when()
+                .post("/api/folhas/" + id + "/retomar")
+        .then()
+                .statusCode(200)
+                .body("statusFolha", equalTo("CONCLUIDA"))
+                .body("contaOrigem.saldo", equalTo(1000.00f));
+    }
+
+    @Test
+    @DisplayName("TI-16-CT-02: POST /api/folhas - Deve recusar folha sem linhas e consultar folha inexistente com 404")
+    void deveRecusarFolhaSemLinhas() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"contaOrigemId\": %d, \"linhas\": []}", empresa.getId()))
+        .when()
+                .post("/api/folhas")
+        .then()
+                .statusCode(400);
+
+        given()
+        .when()
+                .get("/api/folhas/999999")
+        .then()
+                .statusCode(404);
+    }
+
+    private ContaCorrenteEntity conta(String numero, String saldo) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta(numero);
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de(saldo));
+        conta.setStatusConta(StatusConta.ATIVA);
+        return (ContaCorrenteEntity) contaRepository.save(conta);
+    }
+}
@@ -0,0 +1,96 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * TI-13: Endpoint Prometheus com métricas de negócio, Hikari e Hibernate
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Métricas Prometheus")
+public class MetricasIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    private Long contaId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll();
+
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta("88888-8");
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de("10.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
+        contaId = contaRepository.save(conta).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("TI-13-CT-01: GET /actuator/prometheus - Deve expor timer de transações, rejeições, Hikari e Hibernate")
+    void deveExporMetricasNoFormatoPrometheus() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("""
+                        {
+                            "tipoTransacao": "SAQUE",
+                            "valor": 50.00,
+                            "contaOrigemId": %d
+                        }
+                        """, contaId))
+        .when()
+                .post("/api/transacoes")
+        .then()
+                .statusCode(200)
+                .body("statusTransacao", equalTo("FALHOU"));
+
+        given()
+        .when()
+                .get("/actuator/prometheus")
+        .then()
+                .statusCode(200)
+                .body(containsString("bancogvm_transacoes_seconds_count{"))
+                .body(containsString("motivo=\"SALDO_INSUFICIENTE\""))
+                .body(containsString("bancogvm_transacoes_saldo_insuficiente_total{"))
+                .body(containsString("hikaricp_connections_active"))
+                .body(containsString("hibernate_statements_total"));
+    }
+}
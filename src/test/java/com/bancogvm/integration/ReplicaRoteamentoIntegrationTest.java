@@ -0,0 +1,233 @@
+package com.bancogvm.integration;
+
+import com.bancogvm.config.LeituraPrimaria;
+import com.bancogvm.config.RoteamentoDataSource;
+import com.bancogvm.repository.CartaoRepository;
+import com.bancogvm.repository.ClienteRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TitularContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.CartaoDebitoEntity;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusCartao;
+import com.bancogvm.service.model.StatusConta;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * TI-12: Roteamento leitura/escrita entre primário e réplica
+ * A "réplica" aqui é um segundo pool apontando para o mesmo H2 em memória:
+ * o que se verifica é qual pool atendeu cada leitura, não a replicação em si.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "bancogvm.datasource.replica.url=jdbc:h2:mem:testdb",
+        "bancogvm.datasource.replica.username=sa",
+        "bancogvm.datasource.replica.password=",
+        "bancogvm.datasource.replica.driver-class-name=org.h2.Driver",
+        "bancogvm.datasource.replica.lag-query="
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Roteamento para réplica de leitura")
+public class ReplicaRoteamentoIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoteamentoDataSource roteamento;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private CartaoRepository cartaoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TitularContaRepository titularContaRepository;
+
+    private Long contaId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll();
+
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta("77777-7");
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de("300.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
+        contaId = contaRepository.save(conta).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transacaoRepository.deleteAll();
+        cartaoRepository.deleteAll();
+        titularContaRepository.deleteAll();
+        clienteRepository.deleteAll();
+        contaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("TI-12-CT-01: GET /api/contas/{id} - Leitura read-only deve ir para a réplica")
+    void leituraVaiParaReplica() {
+        long antes = roteamento.getLeiturasReplica();
+
+        given()
+        .when()
+                .get("/api/contas/" + contaId)
+        .then()
+                .statusCode(200)
+                .body("numeroConta", equalTo("77777-7"));
+
+        assertThat(roteamento.getLeiturasReplica()).isGreaterThan(antes);
+    }
+
+    @Test
+    @DisplayName("TI-12-CT-02: GET /api/contas/{id} - Header X-Ler-Primario deve fixar a leitura no primário")
+    void leituraFixadaVaiParaPrimario() {
+        long replicaAntes = roteamento.getLeiturasReplica();
+        long desviadasAntes = roteamento.getLeiturasDesviadas();
+
+        given()
+                .header(LeituraPrimaria.HEADER, "true")
+        .when()
+                .get("/api/contas/" + contaId)
+        .then()
+                .statusCode(200);
+
+        assertThat(roteamento.getLeiturasReplica()).isEqualTo(replicaAntes);
+        assertThat(roteamento.getLeiturasDesviadas()).isGreaterThan(desviadasAntes);
+    }
+
+    @Test
+    @DisplayName("TI-12-CT-03: POST /api/transacoes - Escrita deve debitar saldo lido do primário")
+    void escritaUsaPrimario() {
+        String saqueJson = String.format("""
+                {
+                    "tipoTransacao": "SAQUE",
+                    "valor": 100.00,
+                    "descricao": "Saque com réplica ativa",
+                    "contaOrigemId": %d
+                }
+                """, contaId);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(saqueJson)
+        .when()
+                .post("/api/transacoes")
+        .then()
+                .statusCode(200)
+                .body("statusTransacao", equalTo("CONCLUIDA"));
+
+        Dinheiro saldo = contaRepository.findById(contaId).orElseThrow().getSaldo();
+        assertThat(saldo).isEqualTo(Dinheiro.de("200.00"));
+    }
+
+    @Test
+    @DisplayName("TI-12-CT-04: Depois de uma escrita, o cookie deve manter as leituras seguintes do cliente no primário")
+    void leituraAposEscritaFicaNoPrimario() {
+        String cookie = given()
+                .contentType(ContentType.JSON)
+                .body(String.format("""
+                        {"tipoTransacao": "SAQUE", "valor": 10.00, "contaOrigemId": %d}
+                        """, contaId))
+        .when()
+                .post("/api/transacoes")
+        .then()
+                .statusCode(200)
+                .cookie(LeituraPrimaria.COOKIE)
+                .extract().cookie(LeituraPrimaria.COOKIE);
+        assertThat(Long.parseLong(cookie)).isGreaterThan(System.currentTimeMillis());
+
+        long replicaAntes = roteamento.getLeiturasReplica();
+        given()
+                .cookie(LeituraPrimaria.COOKIE, cookie)
+        .when()
+                .get("/api/contas/" + contaId)
+        .then()
+                .statusCode(200)
+                .body("saldo", equalTo(290.0f));
+        assertThat(roteamento.getLeiturasReplica()).isEqualTo(replicaAntes);
+
+        // prazo vencido: a réplica já alcançou a escrita
+        given()
+                .cookie(LeituraPrimaria.COOKIE, Long.toString(System.currentTimeMillis() - 1))
+        .when()
+                .get("/api/contas/" + contaId)
+        .then()
+                .statusCode(200);
+        assertThat(roteamento.getLeiturasReplica()).isGreaterThan(replicaAntes);
+    }
+
+    @Test
+    @DisplayName("TI-12-CT-05: Ler, alterar e gravar (vínculo de titular, bloqueio de cartão) deve ler do primário")
+    void leituraDeEscritaVaiParaPrimario() {
+        ClienteEntity cliente = clienteRepository.save(ClienteEntity.builder()
+                .nome("Cliente Réplica")
+                .cpf("77777777777")
+                .email("replica@email.com")
+                .dataNascimento(LocalDate.of(1990, 1, 1))
+                .loginUsuario("replica")
+                .dataCadastro(Instant.now())
+                .build());
+        CartaoDebitoEntity cartao = CartaoDebitoEntity.builder()
+                .limiteSaque(Dinheiro.de("500"))
+                .limiteTransferencia(Dinheiro.de("500"))
+                .build();
+        cartao.setNumeroCartao("4000000000007777");
+        cartao.setNomeTitular("Titular Réplica");
+        cartao.setStatusCartao(StatusCartao.ATIVO);
+        cartao.setConta((ContaCorrenteEntity) contaRepository.findById(contaId).orElseThrow());
+        Long cartaoId = cartaoRepository.save(cartao).getId();
+        long replicaAntes = roteamento.getLeiturasReplica();
+
+        // uma réplica atrasada devolveria a entidade de antes e o save desfaria outra mudança
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("""
+                        {"clienteId": %d, "contaId": %d, "tipoTitularidade": "PRINCIPAL"}
+                        """, cliente.getId(), contaId))
+        .when()
+                .post("/api/titulares")
+        .then()
+                .statusCode(200);
+        given()
+        .when()
+                .post("/api/cartoes/" + cartaoId + "/bloquear")
+        .then()
+                .statusCode(200);
+
+        assertThat(roteamento.getLeiturasReplica()).isEqualTo(replicaAntes);
+        assertThat(cartaoRepository.findById(cartaoId).orElseThrow().getStatusCartao()).isEqualTo(StatusCartao.BLOQUEADO);
+    }
+}
@@ -1,8 +1,14 @@
 package com.bancogvm.integration;
 
+import com.bancogvm.config.MedicaoSqlFilter;
 import com.bancogvm.repository.ContaRepository;
 import com.bancogvm.repository.TransacaoRepository;
 import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.AfterEach;
@@ -14,9 +20,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 /**
@@ -49,22 +59,22 @@ public class TransacaoIntegrationTest {
 
         // Criar contas para testes
         ContaCorrenteEntity contaOrigem = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.ZERO)
+                .limiteChequeEspecial(Dinheiro.ZERO)
                 .build();
         contaOrigem.setNumeroConta("11111-1");
         contaOrigem.setAgencia("0001");
-        contaOrigem.setSaldo(BigDecimal.valueOf(500.00));
-        contaOrigem.setStatusConta("ATIVA");
+        contaOrigem.setSaldo(Dinheiro.de("500.00"));
+        contaOrigem.setStatusConta(StatusConta.ATIVA);
         contaOrigem = (ContaCorrenteEntity) contaRepository.save(contaOrigem);
         contaOrigemId = contaOrigem.getId();
 
         ContaCorrenteEntity contaDestino = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.ZERO)
+                .limiteChequeEspecial(Dinheiro.ZERO)
                 .build();
         contaDestino.setNumeroConta("22222-2");
         contaDestino.setAgencia("0001");
-        contaDestino.setSaldo(BigDecimal.valueOf(100.00));
-        contaDestino.setStatusConta("ATIVA");
+        contaDestino.setSaldo(Dinheiro.de("100.00"));
+        contaDestino.setStatusConta(StatusConta.ATIVA);
         contaDestino = (ContaCorrenteEntity) contaRepository.save(contaDestino);
         contaDestinoId = contaDestino.getId();
     }
@@ -131,6 +141,38 @@ public class TransacaoIntegrationTest {
                 .body("statusTransacao", notNullValue());
     }
 
+    /**
+     * TI-06: Orçamento de SQL da Transferência
+     * Objetivo: Garantir que o lançamento de uma transferência não cresce em comandos SQL
+     * (leitura das contas, SELECT FOR UPDATE em ordem de id, dois UPDATEs de saldo, o INSERT
+     * da transação e o do evento no outbox, somando 12 comandos hoje).
+     */
+    @Test
+    @DisplayName("TI-06-CT-02: POST /api/transacoes - Transferência deve caber no orçamento de SQL")
+    void transferenciaDentroDoOrcamentoDeSql() {
+        String transacaoJson = String.format("""
+                {
+                    "tipoTransacao": "TRANSFERENCIA",
+                    "valor": 10.00,
+                    "contaOrigemId": %d,
+                    "contaDestinoId": %d
+                }
+                """, contaOrigemId, contaDestinoId);
+
+        String comandos = given()
+                .contentType(ContentType.JSON)
+                .body(transacaoJson)
+        .when()
+                .post("/api/transacoes")
+        .then()
+                .statusCode(200)
+                .body("statusTransacao", equalTo("CONCLUIDA"))
+                .extract()
+                .header(MedicaoSqlFilter.HEADER_COMANDOS);
+
+        assertThat(Integer.parseInt(comandos)).isLessThanOrEqualTo(12);
+    }
+
     /**
      * TI-07: Solicitação de Empréstimo via API (movido para EmprestimoIntegrationTest)
      */
@@ -181,4 +223,56 @@ public class TransacaoIntegrationTest {
                 .statusCode(200)
                 .body("$", not(empty()));
     }
+
+    /**
+     * TI-10: Extrato por Período
+     * Objetivo: Verificar se o extrato com de/ate traz só os lançamentos do intervalo
+     * (a consulta que, no PostgreSQL, lê apenas as partições mensais do período).
+     */
+    @Test
+    @DisplayName("TI-10-CT-02: GET /api/transacoes/extrato/{contaId}?de&ate - Deve filtrar pelo período")
+    void deveFiltrarExtratoPorPeriodo() {
+        ContaCorrenteEntity conta = (ContaCorrenteEntity) contaRepository.findById(contaOrigemId).orElseThrow();
+        Instant agora = Instant.now();
+        for (Instant dataHora : new Instant[]{agora.minus(60, ChronoUnit.DAYS), agora}) {
+            transacaoRepository.save(TransacaoEntity.builder()
+                    .valor(Dinheiro.de(10))
+                    .dataHora(dataHora)
+                    .tipoTransacao(TipoTransacao.DEPOSITO)
+                    .statusTransacao(StatusTransacao.CONCLUIDA)
+                    .contaOrigem(conta)
+                    .build());
+        }
+        LocalDate hoje = LocalDate.ofInstant(agora, ZoneOffset.UTC);
+
+        given()
+                .queryParam("de", hoje.minusDays(7).toString())
+                .queryParam("ate", hoje.toString())
+        .when()
+                .get("/api/transacoes/extrato/" + contaOrigemId)
+        .then()
+                .statusCode(200)
+                .body("$", hasSize(1));
+
+        given()
+                .queryParam("de", hoje.minusDays(90).toString())
+                .queryParam("ate", hoje.toString())
+        .when()
+                .get("/api/transacoes/extrato/" + contaOrigemId)
+        .then()
+                .statusCode(200)
+                .body("$", hasSize(2));
+    }
+
+    @Test
+    @DisplayName("TI-10-CT-03: GET /api/transacoes/extrato/{contaId}?de&ate - Deve rejeitar período invertido")
+    void deveRejeitarPeriodoInvertido() {
+        given()
+                .queryParam("de", "2025-02-01")
+                .queryParam("ate", "2025-01-01")
+        .when()
+                .get("/api/transacoes/extrato/" + contaOrigemId)
+        .then()
+                .statusCode(400);
+    }
 }
@@ -0,0 +1,278 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.ArquivoTransacoesProperties;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.repository.arquivo.ArquivoTransacoes;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TU-23: Arquivo Frio de Transações
+ * Meses antigos saem do banco para segmentos colunares em disco e continuam aparecendo,
+ * iguais, no extrato. Sem @Transactional: o arquivamento grava arquivo e apaga em transações próprias.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes Unitários - ArquivamentoTransacoes")
+public class ArquivamentoTransacoesTest {
+
+    @TempDir
+    static Path diretorio;
+
+    @DynamicPropertySource
+    static void diretorioArquivo(DynamicPropertyRegistry registry) {
+        registry.add("bancogvm.arquivo.diretorio", () -> diretorio.toString());
+    }
+
+    private static final YearMonth MES_ANTIGO = YearMonth.now(ZoneOffset.UTC).minusMonths(30);
+
+    @Autowired
+    private ArquivamentoTransacoes arquivamento;
+
+    @Autowired
+    private ArquivoTransacoes arquivo;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ArquivoTransacoesProperties props;
+
+    @Autowired
+    private VersaoRecursos versoes;
+
+    @Autowired
+    private TransactionTemplate transacoes;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private ContaCorrenteEntity contaA;
+    private ContaCorrenteEntity contaB;
+
+    @BeforeEach
+    void setUp() {
+        transacaoRepository.deleteAll();
+        contaA = conta("ARQ-A");
+        contaB = conta("ARQ-B");
+    }
+
+    @AfterEach
+    void tearDown() {
+        transacaoRepository.deleteAll();
+        jdbc.update("delete from mes_arquivado");
+        jdbc.update("delete from reserva_tarefa");
+        contaRepository.deleteAll(List.of(contaA, contaB));
+    }
+
+    @Test
+    @DisplayName("TU-23-CT-01: Deve tirar o mês antigo do banco e manter o extrato idêntico")
+    void deveArquivarMesAntigoSemMudarExtrato() {
+        Instant antigo = MES_ANTIGO.atDay(10).atTime(14, 30, 15, 123_456_000).toInstant(ZoneOffset.UTC);
+        salvar(antigo, TipoTransacao.TRANSFERENCIA, "1234.56", contaA, contaB, "Aluguel – março ✓");
+        salvar(antigo.plusSeconds(60), TipoTransacao.DEPOSITO, "0.01", contaA, null, null);
+        salvar(antigo.plusSeconds(120), TipoTransacao.SAQUE, "99.90", contaB, null, "Saque");
+        salvar(Instant.now(), TipoTransacao.DEPOSITO, "10.00", contaA, null, "Recente");
+        List<TransacaoEntity> antes = transacaoService.extratoPorConta(contaA.getId());
+
+        int removidas = arquivamento.arquivarAntesDe(YearMonth.now(ZoneOffset.UTC).minusMonths(24));
+
+        assertThat(removidas).isEqualTo(3);
+        assertThat(transacaoRepository.count()).isEqualTo(1);
+        assertThat(arquivo.meses()).contains(MES_ANTIGO);
+
+        List<TransacaoEntity> depois = transacaoService.extratoPorConta(contaA.getId());
+        assertThat(depois).hasSize(3);
+        assertThat(depois)
+                .usingRecursiveFieldByFieldElementComparatorOnFields(
+                        "id", "dataHora", "valor", "tipoTransacao", "statusTransacao", "descricao",
+                        "contaOrigem.id", "contaDestino.id")
+                .containsExactlyInAnyOrderElementsOf(antes);
+
+        // a conta B vê a transferência pelo próprio bloco do segmento
+        assertThat(transacaoService.extratoPorConta(contaB.getId()))
+                .extracting(TransacaoEntity::getTipoTransacao)
+                .containsExactlyInAnyOrder(TipoTransacao.TRANSFERENCIA, TipoTransacao.SAQUE);
+    }
+
+    @Test
+    @DisplayName("TU-23-CT-02: Extrato por período deve ler só os meses arquivados do intervalo")
+    void deveFiltrarArquivadasPorPeriodo() {
+        Instant antigo = MES_ANTIGO.atDay(5).atStartOfDay().toInstant(ZoneOffset.UTC);
+        salvar(antigo, TipoTransacao.DEPOSITO, "50.00", contaA, null, "No período");
+        salvar(antigo.plus(40, ChronoUnit.DAYS), TipoTransacao.DEPOSITO, "70.00", contaA, null, "Mês seguinte");
+        arquivamento.arquivarAntesDe(YearMonth.now(ZoneOffset.UTC).minusMonths(24));
+
+        List<TransacaoEntity> extrato = transacaoService.extratoPorConta(contaA.getId(),
+                antigo.minus(1, ChronoUnit.DAYS), antigo.plus(1, ChronoUnit.DAYS));
+
+        assertThat(extrato).extracting(TransacaoEntity::getDescricao).containsExactly("No período");
+    }
+
+    @Test
+    @DisplayName("TU-23-CT-03: Rearquivar o mês deve acrescentar uma parte ao que já estava arquivado")
+    void deveSomarAoSegmentoExistente() {
+        Instant antigo = MES_ANTIGO.atDay(3).atStartOfDay().toInstant(ZoneOffset.UTC);
+        salvar(antigo, TipoTransacao.DEPOSITO, "1.00", contaA, null, "Primeira");
+        arquivamento.arquivarMes(MES_ANTIGO);
+
+        // chegou depois (ex.: importação retroativa): entra em outra parte do mesmo mês
+        salvar(antigo.plusSeconds(1), TipoTransacao.DEPOSITO, "2.00", contaA, null, "Retroativa");
+        arquivamento.arquivarMes(MES_ANTIGO);
+
+        assertThat(transacaoRepository.count()).isZero();
+        assertThat(transacaoService.extratoPorConta(contaA.getId()))
+                .extracting(TransacaoEntity::getDescricao)
+                .containsExactlyInAnyOrder("Primeira", "Retroativa");
+    }
+
+    @Test
+    @DisplayName("TU-23-CT-04: Outro nó no mesmo diretório deve abrir o segmento novo sem reiniciar")
+    void deveAbrirSegmentoGravadoPorOutroNo() {
+        ArquivoTransacoes doOutroNo = new ArquivoTransacoes(diretorio);
+        ArquivamentoTransacoes outroNo = new ArquivamentoTransacoes(
+                transacaoRepository, doOutroNo, props, versoes, transacoes, jdbc);
+        // mês que nenhum outro caso usa: o diretório é o mesmo para a classe toda
+        YearMonth mes = MES_ANTIGO.minusMonths(2);
+        Instant antigo = mes.atDay(7).atStartOfDay().toInstant(ZoneOffset.UTC);
+        salvar(antigo, TipoTransacao.DEPOSITO, "5.00", contaA, null, "Do outro nó");
+        salvar(antigo.plusSeconds(1), TipoTransacao.DEPOSITO, "6.00", contaB, null, null);
+
+        arquivamento.arquivarMes(mes);
+        assertThat(doOutroNo.registros(mes)).isZero();
+
+        outroNo.sincronizar();
+
+        assertThat(doOutroNo.registros(mes)).isEqualTo(2);
+        assertThat(doOutroNo.buscar(contaA.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("TU-23-CT-05: Nó sem os segmentos já apagados do banco deve subir, mas não arquivar")
+    void deveRecusarArquivarComDiretorioNaoCompartilhado(@TempDir Path local) {
+        ArquivamentoTransacoes noIsolado = new ArquivamentoTransacoes(
+                transacaoRepository, new ArquivoTransacoes(local), props, versoes, transacoes, jdbc);
+        Instant antigo = MES_ANTIGO.atDay(8).atStartOfDay().toInstant(ZoneOffset.UTC);
+        salvar(antigo, TipoTransacao.DEPOSITO, "5.00", contaA, null, "Só no compartilhado");
+        arquivamento.arquivarMes(MES_ANTIGO);
+
+        // só loga: o resto do banco continua servindo e a montagem pode voltar
+        noIsolado.conferirNaSubida();
+
+        // regravar o mês a partir de um diretório vazio perderia o que já saiu do banco
+        salvar(antigo.plusSeconds(1), TipoTransacao.DEPOSITO, "1.00", contaA, null, "Retroativa");
+        assertThatThrownBy(() -> noIsolado.arquivarMes(MES_ANTIGO))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(MES_ANTIGO.toString());
+        assertThat(transacaoRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TU-23-CT-06: Só o nó com a reserva deve arquivar")
+    void deveArquivarSoComReserva() {
+        Instant antigo = MES_ANTIGO.atDay(9).atStartOfDay().toInstant(ZoneOffset.UTC);
+        salvar(antigo, TipoTransacao.DEPOSITO, "5.00", contaA, null, "Reservado");
+        jdbc.update("insert into reserva_tarefa (tarefa, reservado_por, reservado_ate) values (?, ?, ?)",
+                ArquivamentoTransacoes.TAREFA, "outro-no", OffsetDateTime.now(ZoneOffset.UTC).plusMinutes(10));
+
+        assertThat(arquivamento.arquivarAntesDe(YearMonth.now(ZoneOffset.UTC).minusMonths(24))).isZero();
+        assertThat(transacaoRepository.count()).isEqualTo(1);
+
+        // o outro nó caiu e a reserva venceu
+        jdbc.update("update reserva_tarefa set reservado_ate = ?", OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+
+        assertThat(arquivamento.arquivarAntesDe(YearMonth.now(ZoneOffset.UTC).minusMonths(24))).isEqualTo(1);
+        assertThat(jdbc.queryForObject("select reservado_por from reserva_tarefa", String.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("TU-23-CT-07: Mês acima do tamanho máximo deve se dividir em segmentos sem perder a transferência")
+    void deveDividirMesEmVariosSegmentos() throws Exception {
+        // 1 byte: cada conta fecha a sua parte
+        ArquivamentoTransacoes pequeno = new ArquivamentoTransacoes(
+                transacaoRepository, new ArquivoTransacoes(diretorio, 1), props, versoes, transacoes, jdbc);
+        YearMonth mes = MES_ANTIGO.minusMonths(3);
+        Instant antigo = mes.atDay(11).atStartOfDay().toInstant(ZoneOffset.UTC);
+        salvar(antigo, TipoTransacao.TRANSFERENCIA, "30.00", contaA, contaB, "Entre partes");
+        salvar(antigo.plusSeconds(1), TipoTransacao.DEPOSITO, "1.00", contaA, null, null);
+        salvar(antigo.plusSeconds(2), TipoTransacao.SAQUE, "2.00", contaB, null, null);
+
+        assertThat(pequeno.arquivarMes(mes)).isEqualTo(3);
+
+        try (var partes = Files.list(diretorio)) {
+            assertThat(partes.filter(p -> p.getFileName().toString().startsWith("transacoes-" + mes.toString().replace("-", ""))))
+                    .hasSize(2);
+        }
+        // a transferência conta uma vez, pela parte da origem
+        assertThat(jdbc.queryForObject("select registros from mes_arquivado where mes = ?", Long.class,
+                mes.getYear() * 100 + mes.getMonthValue())).isEqualTo(3);
+
+        arquivamento.sincronizar();
+        assertThat(arquivo.registros(mes)).isEqualTo(3);
+        assertThat(transacaoService.extratoPorConta(contaA.getId()))
+                .extracting(TransacaoEntity::getTipoTransacao)
+                .containsExactly(TipoTransacao.TRANSFERENCIA, TipoTransacao.DEPOSITO);
+        assertThat(transacaoService.extratoPorConta(contaB.getId()))
+                .extracting(TransacaoEntity::getTipoTransacao)
+                .containsExactly(TipoTransacao.TRANSFERENCIA, TipoTransacao.SAQUE);
+    }
+
+    private void salvar(Instant dataHora, TipoTransacao tipo, String valor,
+                        ContaCorrenteEntity origem, ContaCorrenteEntity destino, String descricao) {
+        transacaoRepository.save(TransacaoEntity.builder()
+                .dataHora(dataHora)
+                .tipoTransacao(tipo)
+                .statusTransacao(StatusTransacao.CONCLUIDA)
+                .valor(Dinheiro.de(valor))
+                .contaOrigem(origem)
+                .contaDestino(destino)
+                .descricao(descricao)
+                .build());
+    }
+
+    private ContaCorrenteEntity conta(String numero) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta(numero);
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de("100.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
+        return (ContaCorrenteEntity) contaRepository.save(conta);
+    }
+}
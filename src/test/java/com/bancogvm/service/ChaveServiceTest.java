@@ -0,0 +1,268 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.BeneficiarioRepository;
+import com.bancogvm.repository.ChaveRepository;
+import com.bancogvm.repository.ClienteRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TitularContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.chave.ChaveResolvida;
+import com.bancogvm.service.chave.ChavesPagamento;
+import com.bancogvm.service.chave.IndiceChaves;
+import com.bancogvm.service.model.BeneficiarioEntity;
+import com.bancogvm.service.model.ChaveEntity;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoChave;
+import com.bancogvm.service.model.TipoTitularidade;
+import com.bancogvm.service.model.TitularContaEntity;
+import com.bancogvm.service.model.TransacaoEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TU-30: Diretório de Chaves de Pagamento
+ * Registro a partir do cadastro do cliente, resolução pelo índice em memória (em qualquer
+ * formatação da chave), sincronização com o que outro nó gravou e transferência por chave.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes Unitários - Chaves de pagamento")
+public class ChaveServiceTest {
+
+    @Autowired
+    private ChaveService service;
+
+    @Autowired
+    private DiretorioChaves diretorio;
+
+    @Autowired
+    private ChaveRepository chaveRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Autowired
+    private TitularContaRepository titularRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private ClienteEntity ana;
+    private ClienteEntity bruno;
+    private ContaCorrenteEntity contaAna;
+    private ContaCorrenteEntity contaBruno;
+
+    @BeforeEach
+    void setUp() {
+        ana = clienteRepository.save(ClienteEntity.builder()
+                .nome("Ana Souza")
+                .cpf("529.982.247-25")
+                .email("Ana.Souza@Email.com")
+                .telefone("(48) 98888-7777")
+                .dataNascimento(LocalDate.of(1988, 5, 20))
+                .loginUsuario("ana.chave")
+                .dataCadastro(Instant.now())
+                .build());
+        bruno = clienteRepository.save(ClienteEntity.builder()
+                .nome("Bruno Lima")
+                .cpf("11144477735")
+                .email("bruno@email.com")
+                .loginUsuario("bruno.chave")
+                .dataCadastro(Instant.now())
+                .build());
+        contaAna = conta("CHV-1", ana);
+        contaBruno = conta("CHV-2", bruno);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (ChaveEntity c : chaveRepository.findAll()) {
+            c.setAtiva(false);
+            diretorio.atualizar(c);
+        }
+        chaveRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        beneficiarioRepository.deleteAll();
+        titularRepository.deleteAll(titularRepository.findByContaId(contaAna.getId()));
+        titularRepository.deleteAll(titularRepository.findByContaId(contaBruno.getId()));
+        contaRepository.delete(contaAna);
+        contaRepository.delete(contaBruno);
+        clienteRepository.delete(ana);
+        clienteRepository.delete(bruno);
+    }
+
+    @Test
+    @DisplayName("TU-30-CT-01: Deve registrar chaves do cadastro e resolvê-las em qualquer formatação")
+    void deveRegistrarEResolver() {
+        ChaveEntity cpf = service.registrar(TipoChave.CPF, contaAna, ana);
+        ChaveEntity email = service.registrar(TipoChave.EMAIL, contaAna, ana);
+        ChaveEntity telefone = service.registrar(TipoChave.TELEFONE, contaAna, ana);
+        ChaveEntity aleatoria = service.registrar(TipoChave.ALEATORIA, contaAna, ana);
+
+        assertThat(cpf.getChave()).isEqualTo("52998224725");
+        assertThat(email.getChave()).isEqualTo("ana.souza@email.com");
+        assertThat(telefone.getChave()).isEqualTo("+5548988887777");
+        assertThat(ChavesPagamento.tipo(aleatoria.getChave())).isEqualTo(TipoChave.ALEATORIA);
+
+        assertThat(service.resolver("529.982.247-25")).contains(
+                new ChaveResolvida("52998224725", TipoChave.CPF, contaAna.getId()));
+        assertThat(service.resolver(" ANA.SOUZA@email.com ").map(ChaveResolvida::contaId)).contains(contaAna.getId());
+        assertThat(service.resolver("+55 (48) 98888-7777").map(ChaveResolvida::tipoChave)).contains(TipoChave.TELEFONE);
+        assertThat(service.resolver(aleatoria.getChave().toUpperCase()).map(ChaveResolvida::contaId))
+                .contains(contaAna.getId());
+        assertThat(service.resolver("11144477735")).isEmpty();
+        assertThatThrownBy(() -> service.resolver("não é chave")).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(service.listarPorConta(contaAna.getId())).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("TU-30-CT-02: Deve recusar chave repetida ou de quem não é titular e reaproveitar chave removida")
+    void deveControlarUnicidadeETitularidade() {
+        ChaveEntity cpf = service.registrar(TipoChave.CPF, contaAna, ana);
+
+        assertThatThrownBy(() -> service.registrar(TipoChave.CPF, contaAna, ana))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Chave já registrada");
+        assertThatThrownBy(() -> service.registrar(TipoChave.CPF, contaBruno, ana))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cliente não é titular da conta");
+        assertThatThrownBy(() -> service.registrar(TipoChave.TELEFONE, contaBruno, bruno))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        service.remover(cpf.getId());
+        assertThat(service.resolver("52998224725")).isEmpty();
+        assertThat(service.listarPorConta(contaAna.getId())).isEmpty();
+
+        // Ana passa a ser titular da conta do Bruno e leva a chave para lá
+        titularRepository.save(TitularContaEntity.builder()
+                .cliente(ana)
+                .conta(contaBruno)
+                .tipoTitularidade(TipoTitularidade.SECUNDARIO)
+                .dataAssociacao(Instant.now())
+                .build());
+        ChaveEntity movida = service.registrar(TipoChave.CPF, contaBruno, ana);
+        assertThat(movida.getId()).isEqualTo(cpf.getId());
+        assertThat(service.resolver("52998224725").map(ChaveResolvida::contaId)).contains(contaBruno.getId());
+    }
+
+    @Test
+    @DisplayName("TU-30-CT-03: Deve transferir pela chave e pelo CPF de um beneficiário cadastrado")
+    void deveTransferirPorChave() {
+        service.registrar(TipoChave.EMAIL, contaBruno, bruno);
+        service.registrar(TipoChave.CPF, contaBruno, bruno);
+
+        TransacaoEntity t = service.transferir(contaAna, "Bruno@Email.com", Dinheiro.de("150.00"), "Almoço");
+        assertThat(t.getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+        assertThat(t.getContaDestino().getId()).isEqualTo(contaBruno.getId());
+
+        BeneficiarioEntity b = beneficiarioRepository.save(BeneficiarioEntity.builder()
+                .nomeFavorecido("Bruno Lima")
+                .cpfCnpjFavorecido("111.444.777-35")
+                .bancoFavorecido("999")
+                .cliente(ana)
+                .build());
+        service.transferirParaBeneficiario(contaAna, b, Dinheiro.de("50.00"), null);
+
+        assertThat(contaRepository.findById(contaAna.getId()).orElseThrow().getSaldo()).isEqualTo(Dinheiro.de("800.00"));
+        assertThat(contaRepository.findById(contaBruno.getId()).orElseThrow().getSaldo()).isEqualTo(Dinheiro.de("1200.00"));
+
+        assertThatThrownBy(() -> service.transferir(contaAna, "ninguem@email.com", Dinheiro.de("1.00"), null))
+                .hasMessage("Chave não encontrada");
+        assertThatThrownBy(() -> service.transferir(contaBruno, "bruno@email.com", Dinheiro.de("1.00"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("TU-30-CT-04: A sincronização deve trazer chaves registradas e removidas por outro nó")
+    void deveSincronizarAlteracoesDeOutroNo() {
+        Instant agora = Instant.now();
+        jdbc.update("""
+                insert into chave_pagamento (tipo_chave, chave, hash_chave, conta_id, cliente_id, ativa, criada_em, atualizada_em)
+                values ('E', ?, ?, ?, ?, true, ?, ?)""",
+                "bruno@email.com", ChavesPagamento.hash("bruno@email.com"), contaBruno.getId(), bruno.getId(),
+                agora.atOffset(ZoneOffset.UTC), agora.atOffset(ZoneOffset.UTC));
+        assertThat(service.resolver("bruno@email.com")).isEmpty();
+
+        assertThat(diretorio.sincronizar()).isGreaterThanOrEqualTo(1);
+        assertThat(service.resolver("bruno@email.com").map(ChaveResolvida::contaId)).contains(contaBruno.getId());
+
+        jdbc.update("update chave_pagamento set ativa = false, atualizada_em = ? where chave = ?",
+                Instant.now().atOffset(ZoneOffset.UTC), "bruno@email.com");
+        diretorio.sincronizar();
+        assertThat(service.resolver("bruno@email.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TU-30-CT-05: O índice deve se comportar como um mapa sob inserções e remoções intercaladas")
+    void indiceDeveEquivalerAUmMapa() {
+        IndiceChaves indice = new IndiceChaves(16);
+        Map<Long, Long> esperado = new HashMap<>();
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        // poucas impressões distintas e só 12 bits baixos variando: muita colisão de posição
+        for (int i = 0; i < 50_000; i++) {
+            long hash = ((long) aleatorio.nextInt(1, 3000) << 20) | aleatorio.nextInt(1, 4096);
+            if (aleatorio.nextInt(3) == 0) {
+                indice.remover(hash);
+                esperado.remove(hash);
+            } else {
+                long valor = IndiceChaves.valor(aleatorio.nextLong(1, 1_000_000), 'C');
+                indice.colocar(hash, valor);
+                esperado.put(hash, valor);
+            }
+        }
+        assertThat(indice.tamanho()).isEqualTo(esperado.size());
+        esperado.forEach((hash, valor) -> assertThat(indice.buscar(hash)).isEqualTo(valor));
+        for (int i = 0; i < 10_000; i++) {
+            long hash = ((long) aleatorio.nextInt(1, 3000) << 20) | aleatorio.nextInt(1, 4096);
+            assertThat(indice.buscar(hash)).isEqualTo(esperado.getOrDefault(hash, 0L));
+        }
+    }
+
+    private ContaCorrenteEntity conta(String numero, ClienteEntity titular) {
+        ContaCorrenteEntity nova = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        nova.setNumeroConta(numero);
+        nova.setAgencia("0001");
+        nova.setSaldo(Dinheiro.de("1000.00"));
+        nova.setStatusConta(StatusConta.ATIVA);
+        ContaCorrenteEntity salva = (ContaCorrenteEntity) contaRepository.save(nova);
+        titularRepository.save(TitularContaEntity.builder()
+                .cliente(titular)
+                .conta(salva)
+                .tipoTitularidade(TipoTitularidade.PRINCIPAL)
+                .dataAssociacao(Instant.now())
+                .build());
+        return salva;
+    }
+}
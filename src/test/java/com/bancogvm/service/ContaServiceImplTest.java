@@ -4,6 +4,8 @@ import com.bancogvm.repository.ContaRepository;
 import com.bancogvm.service.model.ContaCorrenteEntity;
 import com.bancogvm.service.model.ContaEntity;
 import com.bancogvm.service.model.ContaPoupancaEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -54,12 +56,12 @@ public class ContaServiceImplTest {
     void deveCriarContaCorrenteValida() {
         // Given
         ContaCorrenteEntity contaCorrente = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.valueOf(1000.00))
+                .limiteChequeEspecial(Dinheiro.de("1000.00"))
                 .build();
         contaCorrente.setNumeroConta("12345-6");
         contaCorrente.setAgencia("0001");
-        contaCorrente.setSaldo(BigDecimal.valueOf(0.00));
-        contaCorrente.setStatusConta("ATIVA");
+        contaCorrente.setSaldo(Dinheiro.de("0.00"));
+        contaCorrente.setStatusConta(StatusConta.ATIVA);
 
         // When
         ContaCorrenteEntity contaSalva = contaService.criarCorrente(contaCorrente);
@@ -68,7 +70,7 @@ public class ContaServiceImplTest {
         assertThat(contaSalva).isNotNull();
         assertThat(contaSalva.getId()).isNotNull();
         assertThat(contaSalva.getDataAbertura()).isNotNull();
-        assertThat(contaSalva.getLimiteChequeEspecial()).isEqualByComparingTo(BigDecimal.valueOf(1000.00));
+        assertThat(contaSalva.getLimiteChequeEspecial()).isEqualTo(Dinheiro.de("1000.00"));
         assertThat(contaSalva.getAgencia()).isEqualTo("0001");
         assertThat(contaSalva.getNumeroConta()).isEqualTo("12345-6");
     }
@@ -87,8 +89,8 @@ public class ContaServiceImplTest {
                 .build();
         contaPoupanca.setNumeroConta("98765-4");
         contaPoupanca.setAgencia("0001");
-        contaPoupanca.setSaldo(BigDecimal.valueOf(0.00));
-        contaPoupanca.setStatusConta("ATIVA");
+        contaPoupanca.setSaldo(Dinheiro.de("0.00"));
+        contaPoupanca.setStatusConta(StatusConta.ATIVA);
 
         // When
         ContaPoupancaEntity contaSalva = contaService.criarPoupanca(contaPoupanca);
@@ -111,21 +113,21 @@ public class ContaServiceImplTest {
     void deveValidarSaldoInsuficiente() {
         // Given
         ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.valueOf(0.00))
+                .limiteChequeEspecial(Dinheiro.de("0.00"))
                 .build();
         conta.setNumeroConta("11111-1");
         conta.setAgencia("0001");
-        conta.setSaldo(BigDecimal.valueOf(100.00));
-        conta.setStatusConta("ATIVA");
+        conta.setSaldo(Dinheiro.de("100.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
 
         ContaCorrenteEntity contaSalva = contaService.criarCorrente(conta);
 
         // When
-        boolean sucesso = contaSalva.sacar(BigDecimal.valueOf(150.00));
+        boolean sucesso = contaSalva.sacar(Dinheiro.de("150.00"));
 
         // Then
         assertThat(sucesso).isFalse();
-        assertThat(contaSalva.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(100.00));
+        assertThat(contaSalva.getSaldo()).isEqualTo(Dinheiro.de("100.00"));
     }
 
     /**
@@ -137,21 +139,21 @@ public class ContaServiceImplTest {
     void devePermitirSaqueComSaldoSuficiente() {
         // Given
         ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.valueOf(0.00))
+                .limiteChequeEspecial(Dinheiro.de("0.00"))
                 .build();
         conta.setNumeroConta("22222-2");
         conta.setAgencia("0001");
-        conta.setSaldo(BigDecimal.valueOf(100.00));
-        conta.setStatusConta("ATIVA");
+        conta.setSaldo(Dinheiro.de("100.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
 
         ContaCorrenteEntity contaSalva = contaService.criarCorrente(conta);
 
         // When
-        boolean sucesso = contaSalva.sacar(BigDecimal.valueOf(50.00));
+        boolean sucesso = contaSalva.sacar(Dinheiro.de("50.00"));
 
         // Then
         assertThat(sucesso).isTrue();
-        assertThat(contaSalva.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(50.00));
+        assertThat(contaSalva.getSaldo()).isEqualTo(Dinheiro.de("50.00"));
     }
 
     /**
@@ -163,12 +165,12 @@ public class ContaServiceImplTest {
     void deveBuscarContaPorId() {
         // Given
         ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.valueOf(500.00))
+                .limiteChequeEspecial(Dinheiro.de("500.00"))
                 .build();
         conta.setNumeroConta("33333-3");
         conta.setAgencia("0001");
-        conta.setSaldo(BigDecimal.valueOf(1000.00));
-        conta.setStatusConta("ATIVA");
+        conta.setSaldo(Dinheiro.de("1000.00"));
+        conta.setStatusConta(StatusConta.ATIVA);
 
         ContaCorrenteEntity contaSalva = contaService.criarCorrente(conta);
         Long idSalvo = contaSalva.getId();
@@ -180,6 +182,6 @@ public class ContaServiceImplTest {
         assertThat(contaEncontrada).isNotNull();
         assertThat(contaEncontrada.getId()).isEqualTo(idSalvo);
         assertThat(contaEncontrada.getNumeroConta()).isEqualTo("33333-3");
-        assertThat(contaEncontrada.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(1000.00));
+        assertThat(contaEncontrada.getSaldo()).isEqualTo(Dinheiro.de("1000.00"));
     }
 }
@@ -0,0 +1,127 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.EventosTempoRealProperties;
+import com.bancogvm.service.model.EventoTempoReal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TU-25: Fan-out de eventos SSE
+ * Sem contexto Spring: emitters de teste no lugar das conexões, para controlar quem é lento.
+ */
+@DisplayName("Testes Unitários - EventosTempoReal")
+public class EventosTempoRealTest {
+
+    private static final int BUFFER = 4;
+
+    // registra os envios; o lento trava no primeiro até o teste liberar
+    static class EmitterDeTeste extends SseEmitter {
+        final AtomicInteger enviados = new AtomicInteger();
+        final CountDownLatch liberar;
+        final CountDownLatch completado = new CountDownLatch(1);
+
+        EmitterDeTeste(boolean lento) {
+            liberar = new CountDownLatch(lento ? 1 : 0);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> itens) throws IOException {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            enviados.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            completado.countDown();
+        }
+    }
+
+    private SimpleMeterRegistry registry;
+    private EventosTempoReal eventos;
+
+    @BeforeEach
+    void setUp() {
+        EventosTempoRealProperties props = new EventosTempoRealProperties();
+        props.setBuffer(BUFFER);
+        props.setDespachantes(2);
+        registry = new SimpleMeterRegistry();
+        eventos = new EventosTempoReal(props, null, new ObjectMapper(), new MetricasNegocio(registry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventos.encerrar();
+    }
+
+    @Test
+    @DisplayName("TU-25-CT-01: Deve desconectar o assinante lento sem atrasar os outros")
+    void deveDesconectarAssinanteLento() throws Exception {
+        EmitterDeTeste lento = new EmitterDeTeste(true);
+        EmitterDeTeste rapido = new EmitterDeTeste(false);
+        eventos.registrar(lento, Set.of(1L), null);
+        eventos.registrar(rapido, Set.of(1L), null);
+
+        int publicados = BUFFER * 3;
+        for (int i = 0; i < publicados; i++) {
+            eventos.publicar(new EventoTempoReal(EventoTempoReal.CARTAO, Set.of(1L), null, Map.of("i", i)));
+            // o rápido acompanha o ritmo; o lento acumula até estourar a fila
+            int esperados = i + 1;
+            esperar(() -> rapido.enviados.get() == esperados);
+        }
+
+        esperar(() -> rapido.enviados.get() == publicados);
+        assertThat(eventos.getAssinantes()).isEqualTo(1);
+        assertThat(registry.get("bancogvm.eventos.encerrados").tag("motivo", "lento").counter().count()).isEqualTo(1);
+
+        // o despachante preso no send do lento termina e fecha a conexão
+        lento.liberar.countDown();
+        assertThat(lento.completado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(lento.enviados.get()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TU-25-CT-02: Deve entregar só a quem filtrou a conta ou o cliente do evento")
+    void deveRespeitarFiltros() throws Exception {
+        EmitterDeTeste conta1 = new EmitterDeTeste(false);
+        EmitterDeTeste conta2 = new EmitterDeTeste(false);
+        EmitterDeTeste cliente7 = new EmitterDeTeste(false);
+        EmitterDeTeste todos = new EmitterDeTeste(false);
+        eventos.registrar(conta1, Set.of(1L), null);
+        eventos.registrar(conta2, Set.of(2L), null);
+        eventos.registrar(cliente7, Set.of(), 7L);
+        eventos.registrar(todos, Set.of(), null);
+
+        eventos.publicar(new EventoTempoReal(EventoTempoReal.SALDO, Set.of(1L), null, Map.of()));
+        eventos.publicar(new EventoTempoReal(EventoTempoReal.EMPRESTIMO, Set.of(3L), 7L, Map.of()));
+
+        esperar(() -> todos.enviados.get() == 2);
+        esperar(() -> conta1.enviados.get() == 1 && cliente7.enviados.get() == 1);
+        assertThat(conta2.enviados.get()).isZero();
+    }
+
+    private static void esperar(java.util.function.BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tempo esgotado").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.AgendamentosProperties;
+import com.bancogvm.repository.AgendamentoTransferenciaRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.AgendamentoTransferenciaEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusAgendamento;
+import com.bancogvm.service.model.StatusConta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TU-27: Transferências Agendadas
+ * O executor (agendamento desligado nos testes; reservar e executar chamados à mão) dispara
+ * só o que venceu, uma única vez, mesmo com dois nós disputando as mesmas linhas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes Unitários - ExecutorAgendamentos")
+public class ExecutorAgendamentosTest {
+
+    @Autowired
+    private ExecutorAgendamentos executor;
+
+    @Autowired
+    private AgendamentoTransferenciaRepository agendamentoRepository;
+
+    @Autowired
+    private AgendamentoService agendamentoService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transacoes;
+
+    @Autowired
+    private MetricasNegocio metricas;
+
+    private ContaCorrenteEntity origem;
+    private ContaCorrenteEntity destino;
+
+    @BeforeEach
+    void setUp() {
+        origem = conta("AGX-1", "1000.00");
+        destino = conta("AGX-2", "0.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendamentoRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll(List.of(origem, destino));
+    }
+
+    @Test
+    @DisplayName("TU-27-CT-01: Deve executar só o que venceu e marcar EXECUTADO com o lançamento")
+    void deveExecutarSoOQueVenceu() {
+        AgendamentoTransferenciaEntity vencido = agendar("100.00", Instant.now().minusSeconds(1));
+        AgendamentoTransferenciaEntity futuro = agendar("50.00", Instant.now().plus(Duration.ofHours(1)));
+
+        assertThat(executor.reservar()).isEqualTo(1);
+        assertThat(executor.executarVencidos()).isEqualTo(1);
+
+        AgendamentoTransferenciaEntity executado = agendamentoRepository.findById(vencido.getId()).orElseThrow();
+        assertThat(executado.getStatusAgendamento()).isEqualTo(StatusAgendamento.EXECUTADO);
+        assertThat(executado.getTransacaoId()).isNotNull();
+        assertThat(executado.getReserva()).isNull();
+        assertThat(saldo(origem)).isEqualTo(Dinheiro.de("900.00"));
+        assertThat(saldo(destino)).isEqualTo(Dinheiro.de("100.00"));
+        // fora do horizonte: nem reservado
+        assertThat(agendamentoRepository.findById(futuro.getId()).orElseThrow().getStatusAgendamento())
+                .isEqualTo(StatusAgendamento.AGENDADO);
+        assertThat(executor.getPendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("TU-27-CT-02: Deve marcar FALHOU quando falta saldo na hora da execução")
+    void deveFalharSemSaldo() {
+        AgendamentoTransferenciaEntity a = agendar("5000.00", Instant.now().minusSeconds(1));
+
+        executor.reservar();
+        executor.executarVencidos();
+
+        AgendamentoTransferenciaEntity falhou = agendamentoRepository.findById(a.getId()).orElseThrow();
+        assertThat(falhou.getStatusAgendamento()).isEqualTo(StatusAgendamento.FALHOU);
+        assertThat(falhou.getTransacaoId()).isNotNull();
+        assertThat(saldo(origem)).isEqualTo(Dinheiro.de("1000.00"));
+    }
+
+    @Test
+    @DisplayName("TU-27-CT-03: Reserva vencida deve passar para outro nó e o primeiro não executa de novo")
+    void naoDeveExecutarDuasVezesEntreNos() {
+        AgendamentoTransferenciaEntity a = agendar("100.00", Instant.now().minusSeconds(1));
+        ExecutorAgendamentos noA = no("no-a", Duration.ofMillis(1));
+        ExecutorAgendamentos noB = no("no-b", Duration.ofMinutes(15));
+
+        assertThat(noA.reservar()).isEqualTo(1);
+        // A reservou com validade de 1 ms: a reserva já venceu e B pega a linha
+        sleep(5);
+        assertThat(noB.reservar()).isEqualTo(1);
+        assertThat(noA.reservar()).isZero();
+
+        assertThat(noA.executarVencidos()).isZero();
+        assertThat(noB.executarVencidos()).isEqualTo(1);
+
+        assertThat(agendamentoRepository.findById(a.getId()).orElseThrow().getStatusAgendamento())
+                .isEqualTo(StatusAgendamento.EXECUTADO);
+        assertThat(saldo(origem)).isEqualTo(Dinheiro.de("900.00"));
+        assertThat(noA.getPendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("TU-27-CT-04: Deve recarregar as próprias reservas depois de reiniciar e pular as canceladas")
+    void deveRecarregarAposReinicio() {
+        AgendamentoTransferenciaEntity a = agendar("100.00", Instant.now().minusSeconds(1));
+        AgendamentoTransferenciaEntity cancelado = agendar("10.00", Instant.now().minusSeconds(1));
+        assertThat(no("no-c", Duration.ofMinutes(15)).reservar()).isEqualTo(2);
+        agendamentoService.cancelar(cancelado.getId());
+
+        // o nó caiu antes de executar; volta com o mesmo nome e memória vazia
+        ExecutorAgendamentos reiniciado = no("no-c", Duration.ofMinutes(15));
+        assertThat(reiniciado.recarregar()).isEqualTo(1);
+        assertThat(reiniciado.executarVencidos()).isEqualTo(1);
+
+        assertThat(agendamentoRepository.findById(a.getId()).orElseThrow().getStatusAgendamento())
+                .isEqualTo(StatusAgendamento.EXECUTADO);
+        assertThat(agendamentoRepository.findById(cancelado.getId()).orElseThrow().getStatusAgendamento())
+                .isEqualTo(StatusAgendamento.CANCELADO);
+        assertThat(saldo(origem)).isEqualTo(Dinheiro.de("900.00"));
+    }
+
+    private ExecutorAgendamentos no(String nome, Duration validade) {
+        AgendamentosProperties props = new AgendamentosProperties();
+        props.setNo(nome);
+        props.setValidadeReserva(validade);
+        return new ExecutorAgendamentos(jdbc, transacoes, transacaoService, props, metricas);
+    }
+
+    private AgendamentoTransferenciaEntity agendar(String valor, Instant quando) {
+        // direto no repositório: o serviço recusa data passada
+        return agendamentoRepository.save(AgendamentoTransferenciaEntity.builder()
+                .contaOrigem(origem)
+                .contaDestino(destino)
+                .valor(Dinheiro.de(valor))
+                .dataExecucao(quando)
+                .statusAgendamento(StatusAgendamento.AGENDADO)
+                .criadoEm(Instant.now())
+                .build());
+    }
+
+    private Dinheiro saldo(ContaCorrenteEntity conta) {
+        return contaRepository.findById(conta.getId()).orElseThrow().getSaldo();
+    }
+
+    private ContaCorrenteEntity conta(String numero, String saldo) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta(numero);
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de(saldo));
+        conta.setStatusConta(StatusConta.ATIVA);
+        return (ContaCorrenteEntity) contaRepository.save(conta);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
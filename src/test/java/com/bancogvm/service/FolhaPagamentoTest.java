@@ -0,0 +1,200 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.FolhaPagamentoRepository;
+import com.bancogvm.repository.LinhaFolhaPagamentoRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.FolhaPagamentoEntity;
+import com.bancogvm.service.model.LinhaFolhaPagamentoEntity;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusFolha;
+import com.bancogvm.service.model.StatusLinhaFolha;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TU-28: Folha de Pagamento em Lote
+ * Um débito na origem pelo total, créditos em lotes (bancogvm.folha.lote=2 nos testes),
+ * uma TRANSFERENCIA por linha e retomada sem crédito em dobro depois de uma interrupção.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes Unitários - Folha de pagamento")
+public class FolhaPagamentoTest {
+
+    @Autowired
+    private FolhaPagamentoService service;
+
+    @Autowired
+    private ProcessadorFolhaPagamento processador;
+
+    @Autowired
+    private FolhaPagamentoRepository folhaRepository;
+
+    @Autowired
+    private LinhaFolhaPagamentoRepository linhaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    private final List<ContaEntity> contas = new ArrayList<>();
+    private ContaCorrenteEntity empresa;
+    private ContaCorrenteEntity f1;
+    private ContaCorrenteEntity f2;
+    private ContaCorrenteEntity f3;
+
+    @BeforeEach
+    void setUp() {
+        empresa = conta("FOL-0", "10000.00", StatusConta.ATIVA);
+        f1 = conta("FOL-1", "0.00", StatusConta.ATIVA);
+        f2 = conta("FOL-2", "10.00", StatusConta.ATIVA);
+        f3 = conta("FOL-3", "0.00", StatusConta.ATIVA);
+    }
+
+    @AfterEach
+    void tearDown() {
+        linhaRepository.deleteAll();
+        folhaRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll(contas);
+    }
+
+    @Test
+    @DisplayName("TU-28-CT-01: Deve debitar o total uma vez, creditar cada linha e rejeitar as inválidas")
+    void devePagarFolha() {
+        ContaCorrenteEntity inativa = conta("FOL-4", "0.00", StatusConta.INATIVA);
+        FolhaPagamentoEntity folha = service.receber(folha(), List.of(
+                linha(f3, "300.00"),
+                linha(f1, "100.00"),
+                linha(f2, "200.00"),
+                linha(inativa, "50.00"),
+                linha(f1, "0.00"),
+                linha(null, "10.00")));
+        assertThat(folha.getStatusFolha()).isEqualTo(StatusFolha.RECEBIDA);
+        assertThat(folha.getTotal()).isEqualTo(Dinheiro.de("600.00"));
+
+        FolhaPagamentoEntity paga = service.processar(folha.getId());
+
+        assertThat(paga.getStatusFolha()).isEqualTo(StatusFolha.CONCLUIDA);
+        assertThat(paga.getCreditadas()).isEqualTo(3);
+        assertThat(paga.getRejeitadas()).isEqualTo(3);
+        assertThat(saldo(empresa)).isEqualTo(Dinheiro.de("9400.00"));
+        assertThat(saldo(f1)).isEqualTo(Dinheiro.de("100.00"));
+        assertThat(saldo(f2)).isEqualTo(Dinheiro.de("210.00"));
+        assertThat(saldo(f3)).isEqualTo(Dinheiro.de("300.00"));
+        assertThat(saldo(inativa)).isEqualTo(Dinheiro.ZERO);
+
+        List<LinhaFolhaPagamentoEntity> linhas = service.linhas(folha.getId());
+        assertThat(linhas).extracting(LinhaFolhaPagamentoEntity::getStatusLinha).containsExactly(
+                StatusLinhaFolha.CREDITADA, StatusLinhaFolha.CREDITADA, StatusLinhaFolha.CREDITADA,
+                StatusLinhaFolha.REJEITADA, StatusLinhaFolha.REJEITADA, StatusLinhaFolha.REJEITADA);
+        assertThat(linhas.get(3).getMotivo()).isEqualTo("Conta destino não está ativa");
+        // cada linha creditada aponta a própria TRANSFERENCIA, que aparece no extrato do funcionário
+        for (LinhaFolhaPagamentoEntity l : linhas.subList(0, 3)) {
+            TransacaoEntity t = transacaoRepository.findComContasById(l.getTransacaoId()).orElseThrow();
+            assertThat(t.getTipoTransacao()).isEqualTo(TipoTransacao.TRANSFERENCIA);
+            assertThat(t.getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+            assertThat(t.getValor()).isEqualTo(l.getValor());
+            assertThat(t.getContaOrigem().getId()).isEqualTo(empresa.getId());
+            assertThat(t.getContaDestino().getId()).isEqualTo(l.getContaDestinoId());
+        }
+
+        // já concluída: processar de novo não move nada
+        service.processar(folha.getId());
+        assertThat(saldo(empresa)).isEqualTo(Dinheiro.de("9400.00"));
+    }
+
+    @Test
+    @DisplayName("TU-28-CT-02: Deve falhar a folha inteira sem mover dinheiro quando o total passa do saldo")
+    void deveFalharSemSaldo() {
+        FolhaPagamentoEntity folha = service.receber(folha(), List.of(
+                linha(f1, "6000.00"),
+                linha(f2, "5000.00")));
+
+        FolhaPagamentoEntity falhou = service.processar(folha.getId());
+
+        assertThat(falhou.getStatusFolha()).isEqualTo(StatusFolha.FALHOU);
+        assertThat(falhou.getRejeitadas()).isEqualTo(2);
+        assertThat(saldo(empresa)).isEqualTo(Dinheiro.de("10000.00"));
+        assertThat(saldo(f1)).isEqualTo(Dinheiro.ZERO);
+        assertThat(service.linhas(folha.getId()))
+                .allSatisfy(l -> assertThat(l.getMotivo()).isEqualTo("Saldo insuficiente para a folha"));
+    }
+
+    @Test
+    @DisplayName("TU-28-CT-03: Deve retomar folha interrompida a partir das linhas pendentes, sem crédito em dobro")
+    void deveRetomarFolhaInterrompida() {
+        FolhaPagamentoEntity folha = service.receber(folha(), List.of(
+                linha(f1, "100.00"),
+                linha(f2, "200.00"),
+                linha(f3, "300.00")));
+
+        // queda depois do débito e do primeiro lote (2 linhas)
+        assertThat(processador.debitar(folha.getId())).isTrue();
+        assertThat(processador.creditarLote(folha.getId())).isEqualTo(2);
+        assertThat(service.buscarPorId(folha.getId()).getStatusFolha()).isEqualTo(StatusFolha.DEBITADA);
+        assertThat(saldo(empresa)).isEqualTo(Dinheiro.de("9400.00"));
+        assertThat(saldo(f3)).isEqualTo(Dinheiro.ZERO);
+
+        // o que a subida (retomar-na-subida) ou POST /api/folhas/{id}/retomar fazem
+        FolhaPagamentoEntity retomada = service.processar(folha.getId());
+
+        assertThat(retomada.getStatusFolha()).isEqualTo(StatusFolha.CONCLUIDA);
+        assertThat(retomada.getCreditadas()).isEqualTo(3);
+        assertThat(saldo(empresa)).isEqualTo(Dinheiro.de("9400.00"));
+        assertThat(saldo(f1)).isEqualTo(Dinheiro.de("100.00"));
+        assertThat(saldo(f2)).isEqualTo(Dinheiro.de("210.00"));
+        assertThat(saldo(f3)).isEqualTo(Dinheiro.de("300.00"));
+        assertThat(transacaoRepository.findByContaOrigemId(empresa.getId())).hasSize(3);
+    }
+
+    private FolhaPagamentoEntity folha() {
+        return FolhaPagamentoEntity.builder()
+                .contaOrigem(empresa)
+                .descricao("Salários")
+                .build();
+    }
+
+    private static LinhaFolhaPagamentoEntity linha(ContaCorrenteEntity destino, String valor) {
+        return LinhaFolhaPagamentoEntity.builder()
+                .contaDestinoId(destino == null ? null : destino.getId())
+                .valor(Dinheiro.de(valor))
+                .build();
+    }
+
+    private Dinheiro saldo(ContaEntity conta) {
+        return contaRepository.findById(conta.getId()).orElseThrow().getSaldo();
+    }
+
+    private ContaCorrenteEntity conta(String numero, String saldo, StatusConta status) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta(numero);
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de(saldo));
+        conta.setStatusConta(status);
+        ContaCorrenteEntity salva = (ContaCorrenteEntity) contaRepository.save(conta);
+        contas.add(salva);
+        return salva;
+    }
+}
@@ -0,0 +1,193 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.ClienteRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TitularContaRepository;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.ContaPoupancaEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.ResultadoImportacao;
+import com.bancogvm.service.model.ResultadoImportacao.Contagem;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.TipoTitularidade;
+import com.bancogvm.service.model.TitularContaEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TU-26: Importação de Carteira em Massa
+ * CSVs validados em fluxo, carregados em staging (lotes no H2; COPY no PostgreSQL) e
+ * fundidos por SQL de conjunto. Sem @Transactional: a importação abre a própria transação.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes Unitários - ImportacaoCarteira")
+public class ImportacaoCarteiraTest {
+
+    // CPFs com dígitos verificadores válidos
+    private static final String CPF_ANA = "529.982.247-25";
+    private static final String CPF_BRUNO = "11144477735";
+    private static final String CPF_CARLA = "12345678909";
+
+    @Autowired
+    private ImportacaoCarteira importacao;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private TitularContaRepository titularContaRepository;
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+    }
+
+    private void limpar() {
+        titularContaRepository.deleteAll();
+        contaRepository.deleteAll();
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("TU-26-CT-01: Deve importar clientes, contas dos dois tipos e titularidades")
+    void deveImportarCarteira() {
+        // resultado vazio no cache de consultas: precisa ser invalidado pela importação
+        assertThat(clienteRepository.findByCpf("52998224725")).isEmpty();
+
+        ResultadoImportacao resultado = importacao.importar(
+                new StringReader("""
+                        cpf,nome,email,data_nascimento
+                        %s,Ana Souza,ana@email.com,1990-05-10
+                        %s,"Bruno, o ""Filho""\",,
+                        """.formatted(CPF_ANA, CPF_BRUNO)),
+                new StringReader("""
+                        agencia,numero_conta,tipo_conta,saldo,limite_cheque_especial,taxa_rendimento_anual,data_aniversario
+                        0001,90001-1,CORRENTE,1500.50,300.00,,
+                        0001,90002-2,poupanca,200,,0.06,2024-01-15
+                        """),
+                new StringReader("""
+                        cpf,agencia,numero_conta,tipo_titularidade
+                        %s,0001,90001-1,PRINCIPAL
+                        %s,0001,90001-1,SECUNDARIO
+                        %s,0001,90002-2,
+                        """.formatted(CPF_ANA, CPF_BRUNO, CPF_ANA)));
+
+        assertThat(resultado.clientes()).isEqualTo(new Contagem(2, 0, 2));
+        assertThat(resultado.contas()).isEqualTo(new Contagem(2, 0, 2));
+        assertThat(resultado.titulares()).isEqualTo(new Contagem(3, 0, 3));
+        assertThat(resultado.arquivoRejeitados()).isNull();
+
+        ClienteEntity ana = clienteRepository.findByCpf("52998224725").orElseThrow();
+        assertThat(ana.getDataNascimento()).isEqualTo(LocalDate.of(1990, 5, 10));
+        assertThat(ana.getDataCadastro()).isNotNull();
+        assertThat(clienteRepository.findByCpf(CPF_BRUNO).orElseThrow().getNome()).isEqualTo("Bruno, o \"Filho\"");
+
+        Map<String, ContaEntity> contas = contaRepository.findAll().stream()
+                .collect(Collectors.toMap(ContaEntity::getNumeroConta, c -> c));
+        ContaCorrenteEntity corrente = (ContaCorrenteEntity) contas.get("90001-1");
+        assertThat(corrente.getSaldo()).isEqualTo(Dinheiro.de("1500.50"));
+        assertThat(corrente.getLimiteChequeEspecial()).isEqualTo(Dinheiro.de("300.00"));
+        assertThat(corrente.getStatusConta()).isEqualTo(StatusConta.ATIVA);
+        ContaPoupancaEntity poupanca = (ContaPoupancaEntity) contas.get("90002-2");
+        assertThat(poupanca.getDataAniversario()).isEqualTo(LocalDate.of(2024, 1, 15));
+
+        List<TitularContaEntity> titulares = titularContaRepository.findAll();
+        assertThat(titulares).extracting(t -> t.getCliente().getCpf() + " " + t.getConta().getNumeroConta()
+                        + " " + t.getTipoTitularidade())
+                .containsExactlyInAnyOrder(
+                        "52998224725 90001-1 PRINCIPAL",
+                        CPF_BRUNO + " 90001-1 SECUNDARIO",
+                        "52998224725 90002-2 PRINCIPAL");
+
+        // o cadastro pela API enxerga o CPF importado
+        assertThatThrownBy(() -> clienteService.cadastrar(ClienteEntity.builder().cpf(CPF_BRUNO).nome("X").build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CPF já cadastrado");
+    }
+
+    @Test
+    @DisplayName("TU-26-CT-02: Deve rejeitar inválidos, repetidos e conflitos com o banco, com linha e motivo")
+    void deveGerarArquivoDeRejeitados() throws Exception {
+        clienteRepository.save(ClienteEntity.builder()
+                .nome("Carla Existente").cpf(CPF_CARLA).dataCadastro(Instant.now()).build());
+
+        ResultadoImportacao resultado = importacao.importar(
+                new StringReader("""
+                        cpf,nome
+                        %s,Ana
+                        123.456.789-00,Dígito errado
+                        %s,Ana de novo
+                        %s,Carla repetida no banco
+                        "sem fim,Aspas
+                        """.formatted(CPF_ANA, CPF_ANA, CPF_CARLA)),
+                new StringReader("""
+                        agencia,numero_conta,tipo_conta,saldo
+                        0001,80001-1,CORRENTE,10.00
+                        0001,80002-2,INVESTIMENTO,10.00
+                        0001,80003-3,CORRENTE,10.001
+                        """),
+                new StringReader("""
+                        cpf,agencia,numero_conta
+                        %s,0001,80001-1
+                        %s,0001,99999-9
+                        11144477735,0001,80001-1
+                        """.formatted(CPF_ANA, CPF_ANA)));
+
+        assertThat(resultado.clientes()).isEqualTo(new Contagem(5, 4, 1));
+        assertThat(resultado.contas()).isEqualTo(new Contagem(3, 2, 1));
+        assertThat(resultado.titulares()).isEqualTo(new Contagem(3, 2, 1));
+        assertThat(clienteRepository.count()).isEqualTo(2);
+
+        List<String> rejeitados = Files.readAllLines(Path.of(resultado.arquivoRejeitados()));
+        assertThat(rejeitados).containsExactly(
+                "arquivo,linha,motivo,registro",
+                "clientes,3,\"CPF inválido: 123.456.789-00\",\"123.456.789-00,Dígito errado\"",
+                "clientes,4,\"CPF repetido no arquivo\",\"" + CPF_ANA + ",Ana de novo\"",
+                "clientes,6,\"CSV malformado: aspas não fechadas\",\"\"\"sem fim,Aspas\"",
+                "contas,3,\"Tipo de conta inválido: INVESTIMENTO\",\"0001,80002-2,INVESTIMENTO,10.00\"",
+                "contas,4,\"Valor monetário inválido: 10.001\",\"0001,80003-3,CORRENTE,10.001\"",
+                "clientes,5,\"CPF já cadastrado\",\"" + CPF_CARLA + "\"",
+                "titulares,4,\"Cliente não encontrado\",\"11144477735 0001/80001-1\"",
+                "titulares,3,\"Conta não encontrada\",\"52998224725 0001/99999-9\"");
+    }
+
+    @Test
+    @DisplayName("TU-26-CT-03: Deve exigir ao menos um arquivo")
+    void deveExigirArquivo() {
+        assertThatThrownBy(() -> importacao.importar(null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
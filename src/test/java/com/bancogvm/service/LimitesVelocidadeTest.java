@@ -0,0 +1,293 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.LimitesVelocidadeProperties;
+import com.bancogvm.repository.AgendamentoTransferenciaRepository;
+import com.bancogvm.repository.CartaoRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.FolhaPagamentoRepository;
+import com.bancogvm.repository.LinhaFolhaPagamentoRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.limites.JanelasDeslizantes;
+import com.bancogvm.service.model.AgendamentoTransferenciaEntity;
+import com.bancogvm.service.model.CartaoDebitoEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.FolhaPagamentoEntity;
+import com.bancogvm.service.model.LinhaFolhaPagamentoEntity;
+import com.bancogvm.service.model.StatusAgendamento;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusFolha;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TU-31: Limites de Velocidade por Conta
+ * Quantidade por janela deslizante e valor acumulado em 24 h contra o limite do cartão
+ * de débito, conferidos em memória e refeitos das transações do último dia na subida.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes Unitários - Limites de velocidade")
+public class LimitesVelocidadeTest {
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private LimitesVelocidade limites;
+
+    @Autowired
+    private LimitesVelocidadeProperties props;
+
+    @Autowired
+    private CartaoService cartaoService;
+
+    @Autowired
+    private CartaoRepository cartaoRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private TransactionTemplate transacoes;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ExecutorAgendamentos executor;
+
+    @Autowired
+    private AgendamentoTransferenciaRepository agendamentoRepository;
+
+    @Autowired
+    private FolhaPagamentoService folhaService;
+
+    @Autowired
+    private FolhaPagamentoRepository folhaRepository;
+
+    @Autowired
+    private LinhaFolhaPagamentoRepository linhaRepository;
+
+    private ContaCorrenteEntity conta;
+    private ContaCorrenteEntity destino;
+
+    @BeforeEach
+    void setUp() {
+        props.setHabilitado(true);
+        conta = conta("VEL-1");
+        destino = conta("VEL-2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        props.setHabilitado(false);
+        props.setMaximoPorMinuto(10);
+        agendamentoRepository.deleteAll();
+        linhaRepository.deleteAll();
+        folhaRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        cartaoRepository.deleteAll();
+        contaRepository.delete(conta);
+        contaRepository.delete(destino);
+    }
+
+    @Test
+    @DisplayName("TU-31-CT-01: As janelas devem deslizar, crescer e desfazer lançamentos")
+    void janelasDevemDeslizar() {
+        JanelasDeslizantes janelas = new JanelasDeslizantes(1_000, 10_000);
+        janelas.avancar(0);
+        janelas.registrar(0, 100);
+        janelas.avancar(600);
+        long segundo = janelas.registrar(600, 200);
+        janelas.avancar(1_500);
+        janelas.registrar(1_500, 400);
+
+        // em 1 500 ms o de 0 ms já saiu da janela de 1 s, não da de 10 s
+        assertThat(janelas.quantidade(0)).isEqualTo(2);
+        assertThat(janelas.soma(0)).isEqualTo(600);
+        assertThat(janelas.quantidade(1)).isEqualTo(3);
+        assertThat(janelas.soma(1)).isEqualTo(700);
+
+        janelas.desfazer(segundo);
+        janelas.desfazer(segundo);
+        assertThat(janelas.soma(0)).isEqualTo(400);
+        assertThat(janelas.soma(1)).isEqualTo(500);
+
+        // passa da capacidade inicial sem perder nada
+        for (int i = 0; i < 20; i++) {
+            janelas.avancar(2_000 + i);
+            janelas.registrar(2_000 + i, 1);
+        }
+        assertThat(janelas.quantidade(1)).isEqualTo(22);
+        assertThat(janelas.soma(1)).isEqualTo(520);
+        assertThat(janelas.quantidade(0)).isEqualTo(21);
+
+        janelas.avancar(20_000);
+        assertThat(janelas.quantidade(1)).isZero();
+        assertThat(janelas.soma(1)).isZero();
+        assertThat(janelas.vazia()).isTrue();
+    }
+
+    @Test
+    @DisplayName("TU-31-CT-02: Deve recusar saque acima do limite diário acumulado do cartão de débito")
+    void deveAplicarLimiteDiarioDoCartao() {
+        CartaoDebitoEntity cartao = CartaoDebitoEntity.builder()
+                .limiteSaque(Dinheiro.de("300.00"))
+                .limiteTransferencia(Dinheiro.de("1000.00"))
+                .build();
+        cartao.setNumeroCartao("4000000000009999");
+        cartao.setNomeTitular("Titular Velocidade");
+        cartao.setConta(conta);
+        cartaoService.emitirDebito(cartao);
+
+        assertThat(saque("200.00").getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+        assertThat(saque("150.00").getStatusTransacao()).isEqualTo(StatusTransacao.FALHOU);
+        assertThat(saque("100.00").getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+        // transferências têm limite próprio
+        assertThat(transferencia("250.00").getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+
+        assertThat(limites.uso(conta.getId(), TipoTransacao.SAQUE, LimitesVelocidade.DIA))
+                .containsExactly(2, 30_000);
+        assertThat(contaRepository.findById(conta.getId()).orElseThrow().getSaldo()).isEqualTo(Dinheiro.de("450.00"));
+    }
+
+    @Test
+    @DisplayName("TU-31-CT-03: Deve limitar a quantidade por minuto sem contar transação que falhou ou não confirmou")
+    void deveLimitarQuantidadePorMinuto() {
+        props.setMaximoPorMinuto(3);
+
+        assertThat(transferencia("5000.00").getStatusTransacao()).isEqualTo(StatusTransacao.FALHOU);
+        transacoes.executeWithoutResult(status -> {
+            transferencia("10.00");
+            status.setRollbackOnly();
+        });
+        assertThat(limites.uso(conta.getId(), TipoTransacao.TRANSFERENCIA, LimitesVelocidade.MINUTO)).containsExactly(0, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(transferencia("10.00").getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+        }
+        assertThat(transferencia("10.00").getStatusTransacao()).isEqualTo(StatusTransacao.FALHOU);
+        // saque é outra categoria
+        assertThat(saque("10.00").getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+    }
+
+    @Test
+    @DisplayName("TU-31-CT-04: Deve refazer as janelas a partir das transações concluídas nas últimas 24 h")
+    void deveReconstruirDoUltimoDia() {
+        saque("10.00");
+        saque("20.00");
+        TransacaoEntity antiga = saque("40.00");
+        jdbc.update("update transacao set data_hora = ? where id = ?",
+                Instant.now().minus(Duration.ofHours(25)).atOffset(ZoneOffset.UTC), antiga.getId());
+
+        limites.reconstruir();
+
+        assertThat(limites.uso(conta.getId(), TipoTransacao.SAQUE, LimitesVelocidade.DIA)).containsExactly(2, 3_000);
+        assertThat(limites.uso(conta.getId(), TipoTransacao.SAQUE, LimitesVelocidade.MINUTO)).containsExactly(2, 3_000);
+    }
+
+    @Test
+    @DisplayName("TU-31-CT-05: Agendamentos vencidos devem executar todos, sem contar nos limites do cliente")
+    void agendamentosNaoDevemPararNoLimite() {
+        props.setMaximoPorMinuto(3);
+        List<AgendamentoTransferenciaEntity> agendados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            agendados.add(agendamentoRepository.save(AgendamentoTransferenciaEntity.builder()
+                    .contaOrigem(conta)
+                    .contaDestino(destino)
+                    .valor(Dinheiro.de("10.00"))
+                    .dataExecucao(Instant.now().minusSeconds(1))
+                    .statusAgendamento(StatusAgendamento.AGENDADO)
+                    .criadoEm(Instant.now())
+                    .build()));
+        }
+
+        executor.reservar();
+        assertThat(executor.executarVencidos()).isEqualTo(5);
+        // na subida vale a mesma regra
+        limites.reconstruir();
+
+        for (AgendamentoTransferenciaEntity a : agendados) {
+            assertThat(agendamentoRepository.findById(a.getId()).orElseThrow().getStatusAgendamento())
+                    .isEqualTo(StatusAgendamento.EXECUTADO);
+        }
+        assertThat(limites.uso(conta.getId(), TipoTransacao.TRANSFERENCIA, LimitesVelocidade.MINUTO)).containsExactly(0, 0);
+        assertThat(transferencia("10.00").getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+        assertThat(contaRepository.findById(conta.getId()).orElseThrow().getSaldo()).isEqualTo(Dinheiro.de("940.00"));
+    }
+
+    @Test
+    @DisplayName("TU-31-CT-06: Créditos de folha não devem contar nas janelas, nem ao lançar nem ao refazer na subida")
+    void folhaNaoDeveContarNasJanelas() {
+        props.setMaximoPorMinuto(3);
+        List<LinhaFolhaPagamentoEntity> linhas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            linhas.add(LinhaFolhaPagamentoEntity.builder()
+                    .contaDestinoId(destino.getId())
+                    .valor(Dinheiro.de("10.00"))
+                    .build());
+        }
+        FolhaPagamentoEntity folha = folhaService.receber(FolhaPagamentoEntity.builder()
+                .contaOrigem(conta)
+                .descricao("Salários")
+                .build(), linhas);
+        assertThat(folhaService.processar(folha.getId()).getStatusFolha()).isEqualTo(StatusFolha.CONCLUIDA);
+        transferencia("10.00");
+
+        limites.reconstruir();
+
+        assertThat(limites.uso(conta.getId(), TipoTransacao.TRANSFERENCIA, LimitesVelocidade.MINUTO))
+                .containsExactly(1, 1_000);
+        assertThat(transferencia("10.00").getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+    }
+
+    private TransacaoEntity saque(String valor) {
+        return transacaoService.registrar(TransacaoEntity.builder()
+                .tipoTransacao(TipoTransacao.SAQUE)
+                .valor(Dinheiro.de(valor))
+                .contaOrigem(conta)
+                .build());
+    }
+
+    private TransacaoEntity transferencia(String valor) {
+        return transacaoService.registrar(TransacaoEntity.builder()
+                .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                .valor(Dinheiro.de(valor))
+                .contaOrigem(conta)
+                .contaDestino(destino)
+                .build());
+    }
+
+    private ContaCorrenteEntity conta(String numero) {
+        ContaCorrenteEntity nova = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        nova.setNumeroConta(numero);
+        nova.setAgencia("0001");
+        nova.setSaldo(Dinheiro.de("1000.00"));
+        nova.setStatusConta(StatusConta.ATIVA);
+        return (ContaCorrenteEntity) contaRepository.save(nova);
+    }
+}
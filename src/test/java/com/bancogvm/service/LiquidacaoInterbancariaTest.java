@@ -0,0 +1,224 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.LiquidacaoProperties;
+import com.bancogvm.repository.BeneficiarioRepository;
+import com.bancogvm.repository.ClienteRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.LiquidacaoRepository;
+import com.bancogvm.repository.PagamentoExternoRepository;
+import com.bancogvm.repository.TitularContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.BeneficiarioEntity;
+import com.bancogvm.service.model.ClienteEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.LiquidacaoEntity;
+import com.bancogvm.service.model.PagamentoExternoEntity;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusLiquidacao;
+import com.bancogvm.service.model.StatusPagamentoExterno;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTitularidade;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TitularContaEntity;
+import com.bancogvm.service.model.TransacaoEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TU-29: Transferências Externas e Liquidação em Janelas
+ * A origem é debitada na hora; a janela (fechada à mão, o agendamento fica desligado nos
+ * testes) compensa por banco e gera uma mensagem por banco, não uma por transferência.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes Unitários - Transferências externas e liquidação")
+public class LiquidacaoInterbancariaTest {
+
+    @Autowired
+    private TransferenciaExternaService service;
+
+    @Autowired
+    private LiquidacaoInterbancaria liquidacao;
+
+    @Autowired
+    private LiquidacaoProperties props;
+
+    @Autowired
+    private PagamentoExternoRepository pagamentoRepository;
+
+    @Autowired
+    private LiquidacaoRepository liquidacaoRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Autowired
+    private TitularContaRepository titularRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private ClienteEntity cliente;
+    private ContaCorrenteEntity conta;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(ClienteEntity.builder()
+                .nome("Ana Souza")
+                .cpf("52998224725")
+                .email("ana@email.com")
+                .dataNascimento(LocalDate.of(1988, 5, 20))
+                .loginUsuario("ana.liq")
+                .dataCadastro(Instant.now())
+                .build());
+        ContaCorrenteEntity nova = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        nova.setNumeroConta("LIQ-1");
+        nova.setAgencia("0001");
+        nova.setSaldo(Dinheiro.de("1000.00"));
+        nova.setStatusConta(StatusConta.ATIVA);
+        conta = (ContaCorrenteEntity) contaRepository.save(nova);
+        titularRepository.save(TitularContaEntity.builder()
+                .cliente(cliente)
+                .conta(conta)
+                .tipoTitularidade(TipoTitularidade.PRINCIPAL)
+                .dataAssociacao(Instant.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pagamentoRepository.deleteAll();
+        liquidacaoRepository.deleteAll();
+        transacaoRepository.deleteAll();
+        beneficiarioRepository.deleteAll();
+        titularRepository.deleteAll(titularRepository.findByContaId(conta.getId()));
+        contaRepository.delete(conta);
+        clienteRepository.delete(cliente);
+        if (Files.isDirectory(props.getDiretorio())) {
+            try (var arquivos = Files.walk(props.getDiretorio())) {
+                arquivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("TU-29-CT-01: Deve gerar uma liquidação e uma mensagem por banco com a soma das transferências")
+    void deveLiquidarPorBanco() throws IOException {
+        BeneficiarioEntity maria = beneficiario("Maria", "001", "1234", "55555-5");
+        BeneficiarioEntity joao = beneficiario("João", "001", "4321", "66666-6");
+        BeneficiarioEntity loja = beneficiario("Loja", "237", "0100", "77777-7");
+
+        TransacaoEntity t = service.transferir(conta, maria, Dinheiro.de("100.00"), "Aluguel");
+        service.transferir(conta, joao, Dinheiro.de("50.00"), null);
+        service.transferir(conta, maria, Dinheiro.de("25.50"), null);
+        service.transferir(conta, loja, Dinheiro.de("200.00"), null);
+
+        assertThat(t.getTipoTransacao()).isEqualTo(TipoTransacao.TRANSFERENCIA_EXTERNA);
+        assertThat(t.getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+        assertThat(contaRepository.findById(conta.getId()).orElseThrow().getSaldo()).isEqualTo(Dinheiro.de("624.50"));
+        assertThat(service.listarPorConta(conta.getId()))
+                .extracting(PagamentoExternoEntity::getStatusPagamento)
+                .containsOnly(StatusPagamentoExterno.PENDENTE);
+
+        assertThat(liquidacao.fecharJanela()).isEqualTo(2);
+        assertThat(liquidacao.enviarGeradas()).isEqualTo(2);
+
+        List<LiquidacaoEntity> liquidacoes = liquidacaoRepository.findAll(Sort.by("bancoFavorecido"));
+        assertThat(liquidacoes).extracting(LiquidacaoEntity::getBancoFavorecido).containsExactly("001", "237");
+        LiquidacaoEntity banco001 = liquidacoes.get(0);
+        assertThat(banco001.getQuantidade()).isEqualTo(3);
+        assertThat(banco001.getValorLiquido()).isEqualTo(Dinheiro.de("175.50"));
+        assertThat(banco001.getStatusLiquidacao()).isEqualTo(StatusLiquidacao.ENVIADA);
+
+        List<String> mensagem = Files.readAllLines(Path.of(banco001.getProtocolo()));
+        assertThat(mensagem).hasSize(5);
+        assertThat(mensagem.get(0)).startsWith("H;001;" + banco001.getId()).endsWith(";3;175.50");
+        assertThat(mensagem.get(1)).contains(";1234;55555-5;").endsWith(";100.00");
+        assertThat(mensagem.get(4)).isEqualTo("T;3;175.50");
+        try (var arquivos = Files.list(props.getDiretorio())) {
+            assertThat(arquivos.count()).isEqualTo(2);
+        }
+
+        assertThat(pagamentoRepository.findByLiquidacaoIdOrderById(banco001.getId()))
+                .extracting(PagamentoExternoEntity::getStatusPagamento)
+                .containsOnly(StatusPagamentoExterno.LIQUIDADO);
+
+        // janela seguinte sem nada novo: nenhuma mensagem
+        assertThat(liquidacao.fecharJanela()).isZero();
+        assertThat(liquidacao.enviarGeradas()).isZero();
+    }
+
+    @Test
+    @DisplayName("TU-29-CT-02: Sem saldo, deve registrar FALHOU e não mandar nada para a liquidação")
+    void naoDeveLiquidarSemSaldo() {
+        BeneficiarioEntity maria = beneficiario("Maria", "001", "1234", "55555-5");
+
+        TransacaoEntity t = service.transferir(conta, maria, Dinheiro.de("5000.00"), null);
+
+        assertThat(t.getStatusTransacao()).isEqualTo(StatusTransacao.FALHOU);
+        assertThat(service.listarPorConta(conta.getId())).isEmpty();
+        assertThat(liquidacao.fecharJanela()).isZero();
+    }
+
+    @Test
+    @DisplayName("TU-29-CT-03: Deve recusar beneficiário que não é de um titular da conta")
+    void deveRecusarBeneficiarioDeOutroCliente() {
+        ClienteEntity outro = clienteRepository.save(ClienteEntity.builder()
+                .nome("Outro")
+                .cpf("11144477735")
+                .loginUsuario("outro.liq")
+                .dataCadastro(Instant.now())
+                .build());
+        BeneficiarioEntity alheio = beneficiarioRepository.save(BeneficiarioEntity.builder()
+                .nomeFavorecido("Alheio")
+                .bancoFavorecido("001")
+                .cliente(outro)
+                .build());
+        try {
+            assertThatThrownBy(() -> service.transferir(conta, alheio, Dinheiro.de("10.00"), null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(contaRepository.findById(conta.getId()).orElseThrow().getSaldo()).isEqualTo(Dinheiro.de("1000.00"));
+        } finally {
+            beneficiarioRepository.delete(alheio);
+            clienteRepository.delete(outro);
+        }
+    }
+
+    private BeneficiarioEntity beneficiario(String nome, String banco, String agencia, String numero) {
+        return beneficiarioRepository.save(BeneficiarioEntity.builder()
+                .nomeFavorecido(nome)
+                .cpfCnpjFavorecido("12345678909")
+                .bancoFavorecido(banco)
+                .agenciaFavorecida(agencia)
+                .contaFavorecida(numero)
+                .tipoContaFavorecida("CORRENTE")
+                .cliente(cliente)
+                .build());
+    }
+}
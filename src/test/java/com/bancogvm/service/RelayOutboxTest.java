@@ -0,0 +1,267 @@
+package com.bancogvm.service;
+
+import com.bancogvm.config.OutboxProperties;
+import com.bancogvm.repository.CheckpointProjecaoRepository;
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.EventoOutboxRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.CheckpointProjecaoEntity;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.EventoOutboxEntity;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TotalDiarioTransacaoEntity;
+import com.bancogvm.service.model.TransacaoEntity;
+import com.bancogvm.service.model.TransacaoRegistrada;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TU-24: Outbox Transacional e Projeções
+ * Cada lançamento grava um evento no outbox; o relay (chamado à mão, o agendamento fica
+ * desligado nos testes) entrega às projeções com checkpoint próprio e reentrega após falha.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes Unitários - RelayOutbox e projeções")
+public class RelayOutboxTest {
+
+    @TestConfiguration
+    static class ProjecaoInstavelConfig {
+        @Bean
+        ProjecaoInstavel projecaoInstavel() {
+            return new ProjecaoInstavel();
+        }
+    }
+
+    // falha na primeira entrega depois de armada; guarda os ids recebidos
+    static class ProjecaoInstavel implements ProjecaoOutbox {
+        final List<Long> recebidos = new ArrayList<>();
+        boolean falharProxima;
+
+        @Override
+        public String getNome() {
+            return "teste-instavel";
+        }
+
+        @Override
+        public void aplicar(List<EventoOutboxEntity> eventos) {
+            if (falharProxima) {
+                falharProxima = false;
+                throw new IllegalStateException("falha simulada");
+            }
+            eventos.forEach(e -> recebidos.add(e.getAgregadoId()));
+        }
+    }
+
+    @Autowired
+    private RelayOutbox relay;
+
+    @Autowired
+    private ProjecaoInstavel instavel;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private CheckpointProjecaoRepository checkpointRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private TransactionTemplate transacoes;
+
+    @Autowired
+    private MetricasNegocio metricas;
+
+    private ContaCorrenteEntity contaA;
+    private ContaCorrenteEntity contaB;
+
+    @BeforeEach
+    void setUp() {
+        transacaoRepository.deleteAll();
+        contaA = conta("OUT-A", "1000.00");
+        contaB = conta("OUT-B", "50.00");
+        // o que outros testes deixaram no outbox não entra nas contas deste
+        relay.drenar();
+        instavel.recebidos.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAll(List.of(contaA, contaB));
+    }
+
+    @Test
+    @DisplayName("TU-24-CT-01: Deve alimentar totais diários, atividade recente e alertas uma única vez")
+    void deveAlimentarProjecoes() {
+        LocalDate hoje = LocalDate.now(ZoneOffset.UTC);
+        Map<TipoTransacao, TotalDiarioTransacaoEntity> antes = totais(hoje);
+        double alertasAntes = alertas();
+        // A entra no cache antes dos lançamentos: passa a ser atualizada pelo outbox
+        assertThat(transacaoService.recentes(contaA.getId())).isEmpty();
+
+        TransacaoEntity deposito = registrar(TipoTransacao.DEPOSITO, "100.00", contaA, null);
+        TransacaoEntity transferencia = registrar(TipoTransacao.TRANSFERENCIA, "30.00", contaA, contaB);
+        registrar(TipoTransacao.SAQUE, "1000000.00", contaB, null); // FALHOU: fora dos totais
+        TransacaoEntity grande = registrar(TipoTransacao.DEPOSITO, "20000.00", contaA, null);
+
+        assertThat(relay.drenar()).isPositive();
+
+        Map<TipoTransacao, TotalDiarioTransacaoEntity> depois = totais(hoje);
+        assertThat(quantidade(depois, TipoTransacao.DEPOSITO) - quantidade(antes, TipoTransacao.DEPOSITO)).isEqualTo(2);
+        assertThat(valor(depois, TipoTransacao.DEPOSITO).subtrair(valor(antes, TipoTransacao.DEPOSITO)))
+                .isEqualTo(Dinheiro.de("20100.00"));
+        assertThat(quantidade(depois, TipoTransacao.TRANSFERENCIA) - quantidade(antes, TipoTransacao.TRANSFERENCIA)).isEqualTo(1);
+        assertThat(quantidade(depois, TipoTransacao.SAQUE)).isEqualTo(quantidade(antes, TipoTransacao.SAQUE));
+        assertThat(alertas() - alertasAntes).isEqualTo(1);
+
+        assertThat(transacaoService.recentes(contaA.getId()))
+                .extracting(TransacaoRegistrada::transacaoId)
+                .containsExactly(grande.getId(), transferencia.getId(), deposito.getId());
+        // B não estava em cache: vem do banco na primeira consulta
+        assertThat(transacaoService.recentes(contaB.getId())).hasSize(2);
+
+        // nada novo: nenhuma projeção reaplica e os totais não mudam
+        assertThat(relay.drenar()).isZero();
+        assertThat(quantidade(totais(hoje), TipoTransacao.DEPOSITO)).isEqualTo(quantidade(depois, TipoTransacao.DEPOSITO));
+
+        // todas as projeções passaram do último evento: outbox podado
+        assertThat(eventoOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("TU-24-CT-02: Projeção que falha deve receber o lote de novo sem atrasar as outras")
+    void deveReentregarAposFalha() {
+        TransacaoEntity deposito = registrar(TipoTransacao.DEPOSITO, "10.00", contaA, null);
+        instavel.falharProxima = true;
+
+        relay.drenar();
+
+        long checkpointInstavel = checkpoint("teste-instavel");
+        assertThat(checkpoint("totais-diarios")).isGreaterThan(checkpointInstavel);
+        assertThat(instavel.recebidos).isEmpty();
+        // ainda falta uma projeção: o evento continua no outbox
+        assertThat(eventoOutboxRepository.count()).isPositive();
+
+        relay.drenar();
+
+        assertThat(instavel.recebidos).containsExactly(deposito.getId());
+        assertThat(checkpoint("teste-instavel")).isEqualTo(checkpoint("totais-diarios"));
+        assertThat(eventoOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("TU-24-CT-03: Atividade recente em cache em outro nó deve receber o lançamento feito neste")
+    void deveAtualizarAtividadeRecenteDeOutroNo() {
+        // "nó B": projeção e relay próprios, mesmo banco e outbox
+        OutboxProperties propsB = new OutboxProperties();
+        propsB.setNo("no-b");
+        propsB.setLote(outboxProperties.getLote());
+        ProjecaoAtividadeRecente recentesB = new ProjecaoAtividadeRecente(outbox);
+        RelayOutbox relayB = new RelayOutbox(eventoOutboxRepository, checkpointRepository,
+                List.of(recentesB), propsB, transacoes, metricas);
+        relayB.drenar();
+        assertThat(recentesB.recentes(contaA.getId(), id -> List.of())).isEmpty();
+
+        // lançado e drenado primeiro "no nó A": o checkpoint de A não pode esconder o evento de B
+        TransacaoEntity deposito = registrar(TipoTransacao.DEPOSITO, "15.00", contaA, null);
+        relay.drenar();
+        assertThat(eventoOutboxRepository.count()).as("B ainda não aplicou: nada podado").isPositive();
+
+        relayB.drenar();
+
+        assertThat(recentesB.recentes(contaA.getId(), id -> List.of()))
+                .extracting(TransacaoRegistrada::transacaoId)
+                .containsExactly(deposito.getId());
+
+        // B parado além de vida-no: o checkpoint dele sai e a poda segue sem ele
+        CheckpointProjecaoEntity doB = checkpointRepository.findById("atividade-recente@no-b").orElseThrow();
+        doB.setAtualizadoEm(doB.getAtualizadoEm().minus(outboxProperties.getVidaNo().multipliedBy(2)));
+        checkpointRepository.save(doB);
+        registrar(TipoTransacao.DEPOSITO, "1.00", contaA, null);
+        relay.drenar();
+        assertThat(checkpointRepository.findById("atividade-recente@no-b")).isEmpty();
+        assertThat(eventoOutboxRepository.count()).isZero();
+    }
+
+    private TransacaoEntity registrar(TipoTransacao tipo, String valor, ContaCorrenteEntity origem, ContaCorrenteEntity destino) {
+        return transacaoService.registrar(TransacaoEntity.builder()
+                .tipoTransacao(tipo)
+                .valor(Dinheiro.de(valor))
+                .contaOrigem(origem)
+                .contaDestino(destino)
+                .build());
+    }
+
+    private Map<TipoTransacao, TotalDiarioTransacaoEntity> totais(LocalDate dia) {
+        return transacaoService.totaisDiarios(dia, dia).stream()
+                .collect(Collectors.toMap(TotalDiarioTransacaoEntity::getTipoTransacao, t -> t));
+    }
+
+    private static long quantidade(Map<TipoTransacao, TotalDiarioTransacaoEntity> totais, TipoTransacao tipo) {
+        TotalDiarioTransacaoEntity total = totais.get(tipo);
+        return total == null ? 0 : total.getQuantidade();
+    }
+
+    private static Dinheiro valor(Map<TipoTransacao, TotalDiarioTransacaoEntity> totais, TipoTransacao tipo) {
+        TotalDiarioTransacaoEntity total = totais.get(tipo);
+        return total == null ? Dinheiro.ZERO : total.getValor();
+    }
+
+    private double alertas() {
+        var contador = meterRegistry.find("bancogvm.alertas").tag("motivo", "valor_alto").counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    private long checkpoint(String projecao) {
+        return checkpointRepository.findById(projecao).map(CheckpointProjecaoEntity::getUltimoEventoId).orElse(0L);
+    }
+
+    private ContaCorrenteEntity conta(String numero, String saldo) {
+        ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                .limiteChequeEspecial(Dinheiro.ZERO)
+                .build();
+        conta.setNumeroConta(numero);
+        conta.setAgencia("0001");
+        conta.setSaldo(Dinheiro.de(saldo));
+        conta.setStatusConta(StatusConta.ATIVA);
+        return (ContaCorrenteEntity) contaRepository.save(conta);
+    }
+}
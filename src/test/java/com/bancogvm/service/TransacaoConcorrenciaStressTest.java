@@ -0,0 +1,204 @@
+package com.bancogvm.service;
+
+import com.bancogvm.repository.ContaRepository;
+import com.bancogvm.repository.TransacaoRepository;
+import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.ContaEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
+import com.bancogvm.service.model.TransacaoEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TU-22: Invariantes de Saldo sob Concorrência
+ * Várias threads lançam saques, depósitos e transferências aleatórios sobre poucas contas
+ * "quentes". Sem @Transactional na classe: cada registrar roda na própria transação, como em produção.
+ *
+ * Duração configurável para soak test antes de release:
+ * mvn test -Dtest=TransacaoConcorrenciaStressTest -Dstress.duracao=600 -Dstress.threads=16
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes de Estresse - Concorrência em TransacaoServiceImpl")
+public class TransacaoConcorrenciaStressTest {
+
+    private static final int DURACAO_SEGUNDOS = Integer.getInteger("stress.duracao", 3);
+    private static final int THREADS = Integer.getInteger("stress.threads", 8);
+    private static final int QTD_CONTAS = Integer.getInteger("stress.contas", 4);
+    private static final long SEMENTE = Long.getLong("stress.semente", System.nanoTime());
+
+    private static final Dinheiro SALDO_INICIAL = Dinheiro.de(1000);
+    // o serviço só aceita saque/transferência até o saldo: o piso permitido é zero
+    private static final Dinheiro PISO = Dinheiro.ZERO;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    private final List<Long> contaIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // sortear() precisa de um destino diferente da origem para as transferências
+        assertThat(QTD_CONTAS).as("stress.contas").isGreaterThanOrEqualTo(2);
+        transacaoRepository.deleteAll();
+        for (int i = 0; i < QTD_CONTAS; i++) {
+            ContaCorrenteEntity conta = ContaCorrenteEntity.builder()
+                    .limiteChequeEspecial(Dinheiro.ZERO)
+                    .build();
+            conta.setNumeroConta("STRESS-" + i);
+            conta.setAgencia("0001");
+            conta.setSaldo(SALDO_INICIAL);
+            conta.setStatusConta(StatusConta.ATIVA);
+            contaIds.add(contaRepository.save(conta).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transacaoRepository.deleteAll();
+        contaRepository.deleteAllById(contaIds);
+    }
+
+    @Test
+    @DisplayName("TU-22-CT-01: Deve conservar o dinheiro, respeitar o piso e refletir cada CONCLUIDA uma única vez")
+    void deveManterInvariantesSobConcorrencia() throws Exception {
+        Map<Long, StatusTransacao> statusDevolvido = new ConcurrentHashMap<>();
+        AtomicLong erros = new AtomicLong();
+        CountDownLatch largada = new CountDownLatch(1);
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURACAO_SEGUNDOS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> trabalhos = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            SplittableRandom aleatorio = new SplittableRandom(SEMENTE + t);
+            trabalhos.add(executor.submit(() -> {
+                largada.await();
+                while (System.nanoTime() < fim) {
+                    try {
+                        TransacaoEntity salva = transacaoService.registrar(sortear(aleatorio));
+                        statusDevolvido.put(salva.getId(), salva.getStatusTransacao());
+                    } catch (RuntimeException e) {
+                        // timeout de lock etc.: a transação inteira volta atrás, nada a conferir
+                        erros.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> trabalho : trabalhos) {
+            trabalho.get();
+        }
+        executor.shutdown();
+
+        List<TransacaoEntity> gravadas = transacaoRepository.findAllComContas();
+        Map<Long, Dinheiro> saldos = contaRepository.findAllById(contaIds).stream()
+                .collect(Collectors.toMap(ContaEntity::getId, ContaEntity::getSaldo));
+
+        assertThat(statusDevolvido).as("semente %d", SEMENTE).isNotEmpty();
+
+        // cada transação devolvida ao chamador está gravada uma vez, com o mesmo status
+        assertThat(gravadas).hasSize(statusDevolvido.size());
+        assertThat(gravadas).allSatisfy(t ->
+                assertThat(t.getStatusTransacao()).isEqualTo(statusDevolvido.get(t.getId())));
+
+        // nenhuma conta abaixo do piso
+        assertThat(saldos.values()).allSatisfy(saldo -> assertThat(saldo).isGreaterThanOrEqualTo(PISO));
+
+        // saldo final = inicial + efeito de cada CONCLUIDA, conta a conta
+        Map<Long, Dinheiro> esperados = new HashMap<>();
+        contaIds.forEach(id -> esperados.put(id, SALDO_INICIAL));
+        Dinheiro entradas = Dinheiro.ZERO;
+        Dinheiro saidas = Dinheiro.ZERO;
+        for (TransacaoEntity t : gravadas) {
+            if (t.getStatusTransacao() != StatusTransacao.CONCLUIDA) {
+                continue;
+            }
+            Long origem = t.getContaOrigem().getId();
+            switch (t.getTipoTransacao()) {
+                case DEPOSITO -> {
+                    esperados.merge(origem, t.getValor(), Dinheiro::somar);
+                    entradas = entradas.somar(t.getValor());
+                }
+                case SAQUE -> {
+                    esperados.merge(origem, t.getValor(), Dinheiro::subtrair);
+                    saidas = saidas.somar(t.getValor());
+                }
+                case TRANSFERENCIA -> {
+                    esperados.merge(origem, t.getValor(), Dinheiro::subtrair);
+                    esperados.merge(t.getContaDestino().getId(), t.getValor(), Dinheiro::somar);
+                }
+            }
+        }
+        for (Long id : contaIds) {
+            assertThat(saldos.get(id)).as("conta %d, semente %d", id, SEMENTE).isEqualTo(esperados.get(id));
+        }
+
+        // dinheiro total conservado: transferências não criam nem destroem saldo
+        Dinheiro total = saldos.values().stream().reduce(Dinheiro.ZERO, Dinheiro::somar);
+        Dinheiro totalEsperado = Dinheiro.deCentavos(SALDO_INICIAL.getCentavos() * QTD_CONTAS).somar(entradas).subtrair(saidas);
+        assertThat(total).isEqualTo(totalEsperado);
+
+        // a carga tem de ter movido dinheiro de fato, não só esbarrado em saldo e locks
+        assertThat(gravadas)
+                .as("%d gravadas, %d erros, %d threads, %ds, semente %d",
+                        gravadas.size(), erros.get(), THREADS, DURACAO_SEGUNDOS, SEMENTE)
+                .anyMatch(t -> t.getStatusTransacao() == StatusTransacao.CONCLUIDA);
+    }
+
+    // saques e transferências grandes o bastante para esbarrar no saldo com frequência
+    private TransacaoEntity sortear(SplittableRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(10);
+        TipoTransacao tipo = sorteio < 2 ? TipoTransacao.DEPOSITO : sorteio < 4 ? TipoTransacao.SAQUE : TipoTransacao.TRANSFERENCIA;
+        Dinheiro valor = Dinheiro.deCentavos(aleatorio.nextInt(1, 40_000));
+
+        Long origem = contaIds.get(aleatorio.nextInt(contaIds.size()));
+        Long destino = contaIds.get(aleatorio.nextInt(contaIds.size()));
+        while (destino.equals(origem)) {
+            destino = contaIds.get(aleatorio.nextInt(contaIds.size()));
+        }
+        return TransacaoEntity.builder()
+                .tipoTransacao(tipo)
+                .valor(valor)
+                .contaOrigem(referencia(origem))
+                .contaDestino(tipo == TipoTransacao.TRANSFERENCIA ? referencia(destino) : null)
+                .build();
+    }
+
+    // só o id: registrar relê e trava a conta no banco
+    private static ContaCorrenteEntity referencia(Long id) {
+        ContaCorrenteEntity conta = new ContaCorrenteEntity();
+        conta.setId(id);
+        return conta;
+    }
+}
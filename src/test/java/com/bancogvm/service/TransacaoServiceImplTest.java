@@ -3,7 +3,12 @@ package com.bancogvm.service;
 import com.bancogvm.repository.ContaRepository;
 import com.bancogvm.repository.TransacaoRepository;
 import com.bancogvm.service.model.ContaCorrenteEntity;
+import com.bancogvm.service.model.Dinheiro;
+import com.bancogvm.service.model.StatusConta;
+import com.bancogvm.service.model.StatusTransacao;
+import com.bancogvm.service.model.TipoTransacao;
 import com.bancogvm.service.model.TransacaoEntity;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +18,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -37,6 +41,9 @@ public class TransacaoServiceImplTest {
     @Autowired
     private ContaRepository contaRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private ContaCorrenteEntity contaOrigem;
     private ContaCorrenteEntity contaDestino;
 
@@ -47,21 +54,21 @@ public class TransacaoServiceImplTest {
 
         // Criar contas para testes
         contaOrigem = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.ZERO)
+                .limiteChequeEspecial(Dinheiro.ZERO)
                 .build();
         contaOrigem.setNumeroConta("11111-1");
         contaOrigem.setAgencia("0001");
-        contaOrigem.setSaldo(BigDecimal.valueOf(500.00));
-        contaOrigem.setStatusConta("ATIVA");
+        contaOrigem.setSaldo(Dinheiro.de("500.00"));
+        contaOrigem.setStatusConta(StatusConta.ATIVA);
         contaOrigem = (ContaCorrenteEntity) contaRepository.save(contaOrigem);
 
         contaDestino = ContaCorrenteEntity.builder()
-                .limiteChequeEspecial(BigDecimal.ZERO)
+                .limiteChequeEspecial(Dinheiro.ZERO)
                 .build();
         contaDestino.setNumeroConta("22222-2");
         contaDestino.setAgencia("0001");
-        contaDestino.setSaldo(BigDecimal.valueOf(100.00));
-        contaDestino.setStatusConta("ATIVA");
+        contaDestino.setSaldo(Dinheiro.de("100.00"));
+        contaDestino.setStatusConta(StatusConta.ATIVA);
         contaDestino = (ContaCorrenteEntity) contaRepository.save(contaDestino);
     }
 
@@ -80,8 +87,8 @@ public class TransacaoServiceImplTest {
     void deveProcessarDepositoValido() {
         // Given
         TransacaoEntity deposito = TransacaoEntity.builder()
-                .tipoTransacao("DEPOSITO")
-                .valor(BigDecimal.valueOf(200.00))
+                .tipoTransacao(TipoTransacao.DEPOSITO)
+                .valor(Dinheiro.de("200.00"))
                 .descricao("Depósito inicial")
                 .contaOrigem(contaDestino)
                 .build();
@@ -93,8 +100,8 @@ public class TransacaoServiceImplTest {
         assertThat(transacaoSalva).isNotNull();
         assertThat(transacaoSalva.getId()).isNotNull();
         assertThat(transacaoSalva.getDataHora()).isNotNull();
-        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo("CONCLUIDA");
-        assertThat(transacaoSalva.getValor()).isEqualByComparingTo(BigDecimal.valueOf(200.00));
+        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+        assertThat(transacaoSalva.getValor()).isEqualTo(Dinheiro.de("200.00"));
     }
 
     /**
@@ -106,8 +113,8 @@ public class TransacaoServiceImplTest {
     void deveProcessarSaqueValido() {
         // Given
         TransacaoEntity saque = TransacaoEntity.builder()
-                .tipoTransacao("SAQUE")
-                .valor(BigDecimal.valueOf(100.00))
+                .tipoTransacao(TipoTransacao.SAQUE)
+                .valor(Dinheiro.de("100.00"))
                 .descricao("Saque teste")
                 .contaOrigem(contaOrigem)
                 .build();
@@ -118,8 +125,8 @@ public class TransacaoServiceImplTest {
         // Then
         assertThat(transacaoSalva).isNotNull();
         assertThat(transacaoSalva.getId()).isNotNull();
-        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo("CONCLUIDA");
-        assertThat(transacaoSalva.getTipoTransacao()).isEqualTo("SAQUE");
+        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
+        assertThat(transacaoSalva.getTipoTransacao()).isEqualTo(TipoTransacao.SAQUE);
     }
 
     /**
@@ -131,8 +138,8 @@ public class TransacaoServiceImplTest {
     void deveIniciarTransacaoComoPendente() {
         // Given
         TransacaoEntity transacao = TransacaoEntity.builder()
-                .tipoTransacao("TRANSFERENCIA")
-                .valor(BigDecimal.valueOf(50.00))
+                .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                .valor(Dinheiro.de("50.00"))
                 .descricao("Transferência teste")
                 .contaOrigem(contaOrigem)
                 .contaDestino(contaDestino)
@@ -142,7 +149,7 @@ public class TransacaoServiceImplTest {
         TransacaoEntity transacaoSalva = transacaoService.registrar(transacao);
 
         // Then
-        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo("CONCLUIDA");
+        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
         assertThat(transacaoSalva.getDataHora()).isNotNull();
     }
 
@@ -155,8 +162,8 @@ public class TransacaoServiceImplTest {
     void deveProcessarTransferenciaValida() {
         // Given
         TransacaoEntity transferencia = TransacaoEntity.builder()
-                .tipoTransacao("TRANSFERENCIA")
-                .valor(BigDecimal.valueOf(150.00))
+                .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                .valor(Dinheiro.de("150.00"))
                 .descricao("Transferência entre contas")
                 .contaOrigem(contaOrigem)
                 .contaDestino(contaDestino)
@@ -167,7 +174,7 @@ public class TransacaoServiceImplTest {
 
         // Then
         assertThat(transacaoSalva).isNotNull();
-        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo("CONCLUIDA");
+        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo(StatusTransacao.CONCLUIDA);
         assertThat(transacaoSalva.getContaOrigem().getId()).isEqualTo(contaOrigem.getId());
         assertThat(transacaoSalva.getContaDestino().getId()).isEqualTo(contaDestino.getId());
     }
@@ -181,22 +188,22 @@ public class TransacaoServiceImplTest {
     void deveRetornarExtratoDaConta() {
         // Given
         TransacaoEntity transacao1 = TransacaoEntity.builder()
-                .tipoTransacao("DEPOSITO")
-                .valor(BigDecimal.valueOf(100.00))
+                .tipoTransacao(TipoTransacao.DEPOSITO)
+                .valor(Dinheiro.de("100.00"))
                 .contaOrigem(contaOrigem)
                 .build();
         transacaoService.registrar(transacao1);
 
         TransacaoEntity transacao2 = TransacaoEntity.builder()
-                .tipoTransacao("SAQUE")
-                .valor(BigDecimal.valueOf(50.00))
+                .tipoTransacao(TipoTransacao.SAQUE)
+                .valor(Dinheiro.de("50.00"))
                 .contaOrigem(contaOrigem)
                 .build();
         transacaoService.registrar(transacao2);
 
         TransacaoEntity transacao3 = TransacaoEntity.builder()
-                .tipoTransacao("TRANSFERENCIA")
-                .valor(BigDecimal.valueOf(25.00))
+                .tipoTransacao(TipoTransacao.TRANSFERENCIA)
+                .valor(Dinheiro.de("25.00"))
                 .contaOrigem(contaOrigem)
                 .contaDestino(contaDestino)
                 .build();
@@ -209,6 +216,48 @@ public class TransacaoServiceImplTest {
         assertThat(extrato).isNotNull();
         assertThat(extrato).hasSizeGreaterThanOrEqualTo(3);
         assertThat(extrato).extracting(TransacaoEntity::getTipoTransacao)
-                .contains("DEPOSITO", "SAQUE", "TRANSFERENCIA");
+                .contains(TipoTransacao.DEPOSITO, TipoTransacao.SAQUE, TipoTransacao.TRANSFERENCIA);
+    }
+
+    /**
+     * TU-21: Métrica de Rejeição por Saldo Insuficiente
+     * Objetivo: Verificar se um saque acima do saldo é contado como FALHOU/SALDO_INSUFICIENTE.
+     */
+    @Test
+    @DisplayName("TU-21-CT-01: Deve contar saque sem saldo nas métricas de transação")
+    void deveContarRejeicaoPorSaldoInsuficiente() {
+        double antes = meterRegistry.counter("bancogvm.transacoes.saldo.insuficiente", "tipo", "SAQUE").count();
+
+        TransacaoEntity saque = TransacaoEntity.builder()
+                .tipoTransacao(TipoTransacao.SAQUE)
+                .valor(Dinheiro.de("1000.00"))
+                .contaOrigem(contaOrigem)
+                .build();
+        TransacaoEntity transacaoSalva = transacaoService.registrar(saque);
+
+        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo(StatusTransacao.FALHOU);
+        assertThat(meterRegistry.counter("bancogvm.transacoes.saldo.insuficiente", "tipo", "SAQUE").count())
+                .isEqualTo(antes + 1);
+        assertThat(meterRegistry.find("bancogvm.transacoes")
+                .tags("tipo", "SAQUE", "status", "FALHOU", "motivo", "SALDO_INSUFICIENTE")
+                .timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("TU-21-CT-02: Deve usar motivo de conjunto fechado para falhas que não são de saldo")
+    void deveUsarMotivoFechadoParaOutrasFalhas() {
+        TransacaoEntity semTipo = TransacaoEntity.builder()
+                .valor(Dinheiro.de("10.00"))
+                .contaOrigem(contaOrigem)
+                .build();
+        TransacaoEntity transacaoSalva = transacaoService.registrar(semTipo);
+
+        assertThat(transacaoSalva.getStatusTransacao()).isEqualTo(StatusTransacao.FALHOU);
+        assertThat(meterRegistry.find("bancogvm.transacoes")
+                .tags("tipo", "INVALIDO", "status", "FALHOU", "motivo", "INVALIDA")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find("bancogvm.transacoes")
+                .tag("motivo", "IllegalArgumentException")
+                .timer()).isNull();
     }
 }
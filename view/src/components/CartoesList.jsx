@@ -26,6 +26,12 @@ const CartoesList = ({ onCartaoSelect, onCreateCartao }) => {
 
   useEffect(() => {
     fetchCartoes();
+    // atualiza só o cartão que mudou, sem reler a lista
+    return ApiService.subscribeEventos({}, {
+      cartao: ({ cartaoId, statusCartao }) => {
+        setCartoes((atuais) => atuais.map((c) => (c.id === cartaoId ? { ...c, statusCartao } : c)));
+      },
+    });
   }, []);
 
   useEffect(() => {
@@ -54,7 +60,6 @@ const CartoesList = ({ onCartaoSelect, onCreateCartao }) => {
     if (window.confirm('Tem certeza que deseja bloquear este cartão?')) {
       try {
         await ApiService.bloquearCartao(id);
-        await fetchCartoes();
       } catch (error) {
         console.error('Erro ao bloquear cartão:', error);
         alert('Erro ao bloquear cartão. Tente novamente.');
@@ -66,7 +71,6 @@ const CartoesList = ({ onCartaoSelect, onCreateCartao }) => {
     if (window.confirm('Tem certeza que deseja desbloquear este cartão?')) {
       try {
         await ApiService.desbloquearCartao(id);
-        await fetchCartoes();
       } catch (error) {
         console.error('Erro ao desbloquear cartão:', error);
         alert('Erro ao desbloquear cartão. Tente novamente.');
@@ -25,6 +25,14 @@ const EmprestimosList = ({ onEmprestimoSelect, onCreateEmprestimo }) => {
 
   useEffect(() => {
     fetchEmprestimos();
+    // aplica a decisão no empréstimo da lista, sem reler a lista
+    return ApiService.subscribeEventos({}, {
+      emprestimo: ({ emprestimoId, statusEmprestimo, valorAprovado, motivoRejeicao }) => {
+        setEmprestimos((atuais) => atuais.map((e) => (
+          e.id === emprestimoId ? { ...e, statusEmprestimo, valorAprovado, motivoRejeicao } : e
+        )));
+      },
+    });
   }, []);
 
   useEffect(() => {
@@ -54,7 +62,6 @@ const EmprestimosList = ({ onEmprestimoSelect, onCreateEmprestimo }) => {
     if (valorAprovado && !isNaN(parseFloat(valorAprovado))) {
       try {
         await ApiService.aprovarEmprestimo(id, parseFloat(valorAprovado));
-        await fetchEmprestimos();
       } catch (error) {
         console.error('Erro ao aprovar empréstimo:', error);
         alert('Erro ao aprovar empréstimo. Tente novamente.');
@@ -67,7 +74,6 @@ const EmprestimosList = ({ onEmprestimoSelect, onCreateEmprestimo }) => {
     if (motivo) {
       try {
         await ApiService.rejeitarEmprestimo(id, motivo);
-        await fetchEmprestimos();
       } catch (error) {
         console.error('Erro ao rejeitar empréstimo:', error);
         alert('Erro ao rejeitar empréstimo. Tente novamente.');
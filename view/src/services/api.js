@@ -197,6 +197,21 @@ class ApiService {
       body: JSON.stringify({ motivo }),
     });
   }
+
+  // Stream SSE de /api/eventos. handlers: { saldo, transacao, cartao, emprestimo }.
+  // O EventSource reconecta sozinho; devolve a função que encerra a assinatura.
+  subscribeEventos(filtros = {}, handlers = {}) {
+    const params = new URLSearchParams();
+    (filtros.contas || []).forEach((conta) => params.append('contas', conta));
+    if (filtros.cliente) params.append('cliente', filtros.cliente);
+    const query = params.toString();
+    const source = new EventSource(`${API_BASE_URL}/eventos${query ? `?${query}` : ''}`);
+
+    Object.entries(handlers).forEach(([tipo, handler]) => {
+      source.addEventListener(tipo, (event) => handler(JSON.parse(event.data)));
+    });
+    return () => source.close();
+  }
 }
 
 export default new ApiService();
\ No newline at end of file